@@ -46,6 +46,12 @@ public enum ErrorCodeEnum {
     INVALID_GAME_ACTION(20002, "Invalid game action"),
     ROOM_NOT_FOUND(20003, "Room not found"),
     PLAYER_IN_MATCH_QUEUE(20004, "Player is currently in match queue: {0}. Please cancel queue first."),
+    REPLAY_PLY_OUT_OF_RANGE(20005, "Replay ply range {0}..{1} is outside 0..{2}"),
+    INVALID_BOARD_SIZE(20006, "Board size {0} is not supported"),
+    BOARD_SIZE_MISMATCH(20007, "Room plays on a {0}x{0} board, not {1}x{1}"),
+    GAME_VERSION_CONFLICT(20008, "Game {0} was updated concurrently, please refresh and retry"),
+    GAME_ACTION_QUEUE_FULL(20009, "Too many pending actions for room {0}, please retry"),
+    INVALID_GAME_RULE(20010, "Game rule {0} is not supported"),
     ;
 
     private final int errorCode;
@@ -43,7 +43,7 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Object> {
             if (authHeader == null || authHeader.isEmpty()) {
                 String path = exchange.getRequest().getPath().value();
                 String token = exchange.getRequest().getQueryParams().getFirst("token");
-                if (token != null && !token.isBlank() && (path != null && path.contains("/api/gomoku/rtc/signal/subscribe"))) {
+                if (token != null && !token.isBlank() && isEventStream(path)) {
                     authHeader = "Bearer " + token;
                 }
             }
@@ -93,4 +93,9 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Object> {
                     });
         };
     }
+
+    private static boolean isEventStream(String path) {
+        return path != null && (path.contains("/api/gomoku/rtc/signal/subscribe")
+                || (path.startsWith("/api/gomoku/game/") && path.endsWith("/events")));
+    }
 }
@@ -0,0 +1,13 @@
+package com.goody.nus.se.gomoku.gomoku.api.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRoomRequest {
+    private Integer boardSize;  // 15, 19 or a custom size, null for 15
+    private String rule;  // STANDARD or RENJU, null for STANDARD
+}
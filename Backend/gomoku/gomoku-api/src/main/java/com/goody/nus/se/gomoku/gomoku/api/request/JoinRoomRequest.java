@@ -10,4 +10,9 @@ import lombok.NoArgsConstructor;
 public class JoinRoomRequest {
     private String roomCode;
 //    private String playerId;
+    private Integer boardSize;  // size the joiner expects, null to accept the room's size
+
+    public JoinRoomRequest(String roomCode) {
+        this.roomCode = roomCode;
+    }
 }
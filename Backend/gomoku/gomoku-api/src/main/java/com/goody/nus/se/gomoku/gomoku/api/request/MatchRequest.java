@@ -7,4 +7,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class MatchRequest {
     private String mode;    // causal or ranked
+    private Integer boardSize;  // 15 or 19, null for 15
+    private String rule;  // STANDARD or RENJU, null for STANDARD
 }
@@ -0,0 +1,45 @@
+package com.goody.nus.se.gomoku.gomoku.api.response;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response for archived game replay
+ * Contains the boards for a contiguous range of plies
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameReplayResponse {
+
+    /**
+     * Room ID
+     */
+    private Long roomId;
+
+    /**
+     * Game number in the room
+     */
+    private Integer gameNumber;
+
+    /**
+     * Total number of moves in the game
+     */
+    private Integer totalPlies;
+
+    /**
+     * Ply of the first frame
+     */
+    private Integer fromPly;
+
+    /**
+     * Boards for plies fromPly..fromPly + frames.size() - 1
+     */
+    private List<BitBoard> frames;
+}
@@ -1,5 +1,6 @@
 package com.goody.nus.se.gomoku.gomoku.api.response;
 
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
@@ -62,6 +63,12 @@ public class GameStateResponse {
      */
     private List<GameAction> actionHistory;
 
+    /**
+     * Index in the full action history of the first action in actionHistory
+     * 0 unless the response was requested with sinceVersion and only carries the new actions
+     */
+    private Integer historyOffset;
+
     /**
      * Version for optimistic locking and state tracking
      */
@@ -91,4 +98,9 @@ public class GameStateResponse {
      * Game mode type (RANKED, CASUAL, PRIVATE)
      */
     private String modeType;
+
+    /**
+     * Rule variant (STANDARD, RENJU)
+     */
+    private GameRuleEnum rule;
 }
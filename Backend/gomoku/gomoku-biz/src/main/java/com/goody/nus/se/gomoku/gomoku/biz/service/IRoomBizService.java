@@ -34,7 +34,34 @@ public interface IRoomBizService {
      * @return create room response containing room code
      * @throws com.goody.nus.se.gomoku.common.exception.BizException if player is in match queue
      */
-    CreateRoomResponse createRoom(String playerId);
+    default CreateRoomResponse createRoom(String playerId) {
+        return createRoom(playerId, null);
+    }
+
+    /**
+     * Create a private room on a board of the chosen size with queue validation
+     *
+     * @param playerId  player ID who is creating the room
+     * @param boardSize board edge length, null for the standard 15x15 board
+     * @return create room response containing room code
+     * @throws com.goody.nus.se.gomoku.common.exception.BizException if player is in match queue
+     *                                                               or the size is not supported
+     */
+    default CreateRoomResponse createRoom(String playerId, Integer boardSize) {
+        return createRoom(playerId, boardSize, null);
+    }
+
+    /**
+     * Create a private room on a board of the chosen size under the chosen rule with queue validation
+     *
+     * @param playerId  player ID who is creating the room
+     * @param boardSize board edge length, null for the standard 15x15 board
+     * @param rule      game rule name (STANDARD, RENJU), null for standard Gomoku
+     * @return create room response containing room code
+     * @throws com.goody.nus.se.gomoku.common.exception.BizException if player is in match queue,
+     *                                                               the size or the rule is not supported
+     */
+    CreateRoomResponse createRoom(String playerId, Integer boardSize, String rule);
 
     /**
      * Join a private room with queue validation
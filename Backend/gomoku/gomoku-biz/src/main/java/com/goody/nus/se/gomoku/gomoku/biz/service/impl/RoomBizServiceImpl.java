@@ -10,7 +10,11 @@ import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.biz.service.IRoomBizService;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
 import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
 import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
 import com.goody.nus.se.gomoku.gomoku.room.Service.RoomCodeService;
@@ -19,6 +23,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * Room business service implementation
  *
@@ -49,6 +55,12 @@ public class RoomBizServiceImpl implements IRoomBizService {
     @Autowired
     private IMatchService matchService;
 
+    @Autowired
+    private RoomActionExecutor roomActionExecutor;
+
+    @Autowired
+    private RoomTtlRenewer roomTtlRenewer;
+
     /**
      * {@inheritDoc}
      *
@@ -56,14 +68,20 @@ public class RoomBizServiceImpl implements IRoomBizService {
      * Ensures mutual exclusion between private rooms and match queues.
      */
     @Override
-    public CreateRoomResponse createRoom(String playerId) {
-        log.info("[RoomBiz] Processing create room request for player {}", playerId);
+    public CreateRoomResponse createRoom(String playerId, Integer boardSize, String rule) {
+        log.info("[RoomBiz] Processing create room request for player {}, boardSize={}, rule={}",
+                playerId, boardSize, rule);
+
+        GameRuleEnum gameRule = GameRuleEnum.orDefault(rule);
+        if (gameRule == null) {
+            throw new BizException(ErrorCodeEnum.INVALID_GAME_RULE, rule);
+        }
 
         // Validate player is not in match queue (business validation)
         validateNotInQueue(playerId, "create room");
 
         // Delegate to room service for room creation
-        String roomCode = roomCodeService.createRoom();
+        String roomCode = roomCodeService.createRoom(BoardSizeEnum.orDefault(boardSize), gameRule);
 
         log.info("[RoomBiz] Player {} created private room: {}", playerId, roomCode);
         return new CreateRoomResponse(roomCode);
@@ -115,8 +133,10 @@ public class RoomBizServiceImpl implements IRoomBizService {
      * <p>This method orchestrates:
      * <ol>
      *   <li>Query roomId by room code to check if game is active</li>
-     *   <li>If game is active, send a SURRENDER action to the game module</li>
+     *   <li>If game is active, send a SURRENDER action to the game module, on the room's lane of
+     *       {@link RoomActionExecutor} like any other action</li>
      *   <li>Leave the room in the room module</li>
+     *   <li>Forget the room code's last TTL renewal, since leaving shortened or deleted it</li>
      * </ol>
      *
      * @param request leave room request containing room code
@@ -153,7 +173,7 @@ public class RoomBizServiceImpl implements IRoomBizService {
                         .type(ActionType.SURRENDER)
                         .build();
                 log.info("[RoomBiz] Player {} leaving active room {}, sending SURRENDER", playerId, roomCode);
-                gameService.executeAction(roomId, Long.parseLong(playerId), surrenderRequest);
+                surrender(roomId, Long.parseLong(playerId), surrenderRequest);
             } catch (BizException e) {
                 log.warn("[RoomBiz] Ignore SURRENDER failure for player {} in room {}: {}",
                         playerId, roomCode, e.getMessage());
@@ -164,9 +184,24 @@ public class RoomBizServiceImpl implements IRoomBizService {
 
         // Proceed to leave room (always)
         LeaveRoomResponse response = roomCodeService.leaveRoom(request, playerId);
+        roomTtlRenewer.forget(roomCode);
 
         log.info("[RoomBiz] Player {} successfully left room {} with status: {}",
                 playerId, roomCode, response.getStatus());
         return response;
     }
+
+    /**
+     * Apply the leaving player's surrender in order with the room's queued actions
+     */
+    private void surrender(Long roomId, Long playerId, GomokuActionRequest request) {
+        try {
+            roomActionExecutor.submit(roomId, () -> gameService.executeAction(roomId, playerId, request)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
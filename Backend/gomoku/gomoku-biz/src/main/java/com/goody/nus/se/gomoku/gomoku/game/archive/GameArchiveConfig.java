@@ -0,0 +1,12 @@
+package com.goody.nus.se.gomoku.gomoku.game.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Finished game archival configuration
+ */
+@Configuration
+@EnableConfigurationProperties(GameArchiveProperties.class)
+public class GameArchiveConfig {
+}
@@ -0,0 +1,32 @@
+package com.goody.nus.se.gomoku.gomoku.game.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Finished game archival configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.game-archive")
+public class GameArchiveProperties {
+
+    /**
+     * Most finished games written in one bulk insert; a full batch is written at once
+     */
+    private int batchSize = 100;
+
+    /**
+     * Longest time in milliseconds a finished game waits in the buffer before it is written
+     */
+    private long flushIntervalMillis = 200;
+
+    /**
+     * Most finished games buffered; once full, games are written one by one on the caller's thread
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Writes of a game before its archival is given up
+     */
+    private int maxAttempts = 5;
+}
@@ -0,0 +1,178 @@
+package com.goody.nus.se.gomoku.gomoku.game.archive;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes finished games to the history collection in batches
+ *
+ * <p>A restart no longer waits for its own insert: the finished game is snapshotted into a
+ * {@link GameHistoryDocument} and buffered, and the buffer is written with one bulk insert
+ * once it holds {@link GameArchiveProperties#getBatchSize()} games or after
+ * {@link GameArchiveProperties#getFlushIntervalMillis()}, whichever comes first.
+ *
+ * <p>Each game gets a future that completes once its insert is acknowledged. Writes are
+ * idempotent on {@code room_game_idx}, so a failed batch is retried as a whole, up to
+ * {@link GameArchiveProperties#getMaxAttempts()} times. If the buffer is full the game is
+ * written on the caller's thread instead, and the buffer is drained on shutdown.
+ */
+@Slf4j
+@Component
+public class GameArchiveWriter {
+
+    private final IGameHistoryService gameHistoryService;
+    private final GameArchiveProperties properties;
+    private final BlockingQueue<Pending> buffer;
+
+    private ScheduledExecutorService flusher;
+
+    public GameArchiveWriter(IGameHistoryService gameHistoryService, GameArchiveProperties properties) {
+        this.gameHistoryService = gameHistoryService;
+        this.properties = properties;
+        this.buffer = new LinkedBlockingQueue<>(properties.getCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-archive-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushIntervalMillis();
+        flusher.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("[GameArchive] Started: batchSize={}, flushInterval={}ms, capacity={}",
+                properties.getBatchSize(), interval, properties.getCapacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+        if (!buffer.isEmpty()) {
+            log.error("[GameArchive] {} finished games could not be archived before shutdown", buffer.size());
+        }
+    }
+
+    /**
+     * Archive a finished game
+     *
+     * <p>The game is copied before this returns, so the caller may reset it right away.
+     *
+     * @param gameDoc    The finished game
+     * @param gameNumber Sequential game number within the room
+     * @param endReason  How the game ended
+     * @return completes once the archive is stored, or exceptionally if it was given up
+     */
+    public CompletableFuture<Void> archive(GameDocument gameDoc, Integer gameNumber, String endReason) {
+        Pending pending = new Pending(GameHistoryDocument.fromGameDocument(gameDoc, gameNumber, endReason));
+        if (!buffer.offer(pending)) {
+            log.warn("[GameArchive] Buffer full, archiving roomId={} gameNumber={} directly",
+                    gameDoc.getRoomId(), gameNumber);
+            write(List.of(pending), false);
+            return pending.future;
+        }
+        if (buffer.size() >= properties.getBatchSize() && flusher != null) {
+            try {
+                flusher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down, stop() drains what is left
+            }
+        }
+        return pending.future;
+    }
+
+    /**
+     * Number of finished games waiting to be written
+     */
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Write buffered games in batches until the buffer is empty or a batch fails
+     */
+    void drain() {
+        try {
+            while (flush() == properties.getBatchSize()) {
+                // A full batch may mean more are waiting
+            }
+        } catch (Exception e) {
+            log.error("[GameArchive] Flush failed", e);
+        }
+    }
+
+    /**
+     * Write one batch of buffered games
+     *
+     * @return number of games taken from the buffer, 0 if the batch failed and was put back
+     */
+    int flush() {
+        List<Pending> batch = new ArrayList<>();
+        buffer.drainTo(batch, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        return write(batch, true) ? batch.size() : 0;
+    }
+
+    /**
+     * @param requeue put a failed batch back into the buffer for a later attempt
+     * @return whether the batch was stored
+     */
+    private boolean write(List<Pending> batch, boolean requeue) {
+        try {
+            gameHistoryService.archiveAll(batch.stream().map(pending -> pending.history).toList());
+        } catch (RuntimeException e) {
+            log.error("[GameArchive] Failed to archive {} games", batch.size(), e);
+            for (Pending pending : batch) {
+                pending.attempts++;
+                if (!requeue || pending.attempts >= properties.getMaxAttempts() || !buffer.offer(pending)) {
+                    log.error("[GameArchive] Giving up on roomId={} gameNumber={} after {} attempts",
+                            pending.history.getRoomId(), pending.history.getGameNumber(), pending.attempts);
+                    pending.future.completeExceptionally(e);
+                }
+            }
+            return false;
+        }
+        for (Pending pending : batch) {
+            pending.future.complete(null);
+        }
+        return true;
+    }
+
+    /**
+     * A finished game waiting to be written
+     */
+    private static final class Pending {
+        private final GameHistoryDocument history;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int attempts;
+
+        Pending(GameHistoryDocument history) {
+            this.history = history;
+        }
+    }
+}
@@ -0,0 +1,809 @@
+package com.goody.nus.se.gomoku.gomoku.game.cache;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.codec.GameActionCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.ActionHistoryPackingListener;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Authoritative in-process store for the GameDocument of active rooms
+ *
+ * <p>Actions read and mutate the cached document under a per-room lock, so a move costs no
+ * MongoDB round trip. Changes are written behind:
+ * <ul>
+ *   <li>Coalescing: a room changed several times within the durability window is saved once</li>
+ *   <li>Durability window: no change stays in memory only for longer than
+ *       {@link GameStateCacheProperties#getDurabilityWindowMillis()}</li>
+ *   <li>Forced flush: the action that finishes a game or starts the next one is saved
+ *       before it returns, so results and restarts never wait for the window</li>
+ *   <li>Shutdown: every pending change is saved when the context closes</li>
+ * </ul>
+ *
+ * <p>The cache is bounded by {@link GameStateCacheProperties#getMaxRooms()} and drops rooms
+ * idle for longer than {@link GameStateCacheProperties#getIdleTimeoutMillis()}; evicted
+ * rooms are flushed first and reloaded from MongoDB on their next access.
+ *
+ * <p>Saves are conditional on the version the room was loaded or last saved with (see
+ * {@link GameRepository#replaceIfVersion}). If another instance has written the room in the
+ * meantime, the room is rebased: the stored game is reloaded and the actions acknowledged
+ * here since the last save are applied to it again, so none of them is silently dropped. An
+ * action the stored state no longer allows is logged as lost together with the ones after
+ * it. A synchronous save that conflicts fails its own action with
+ * {@link ErrorCodeEnum#GAME_VERSION_CONFLICT}, after rebasing the ones before it, so the caller
+ * can retry it against the fresh state.
+ * A room without unsaved changes is checked against the stored version at most every
+ * {@link GameStateCacheProperties#getRevalidateMillis()} and reloaded if another instance has
+ * written it, so no sticky routing is needed to read it fresh.
+ *
+ * <p>A save whose history only grew since the previous one is written as a delta (see
+ * {@link GameRepository#appendIfVersion}), so a move costs a small update instead of a
+ * rewrite of the whole document. The first save after a load, and any save after a reset,
+ * undo or seat change, replaces the document.
+ *
+ * <p>For pollers the cache also remembers how long the history was at each recent version
+ * (see {@link #readSince}), as long as the history has only grown since; an undo or reset
+ * starts over, so pollers behind it get the full history again.
+ *
+ * <p>With {@link GameJournal} enabled, every change is journaled locally before it is
+ * acknowledged, and the journal of a previous run is written to MongoDB on start, so the
+ * durability window no longer risks acknowledged changes if the process crashes.
+ *
+ * <p>A change can be held back until another write has been stored (see {@link #saveAfter}),
+ * which keeps a restarted room from being saved before the archive of its finished game.
+ */
+@Slf4j
+@Component
+public class GameStateCache {
+
+    private static final long MIN_TICK_MILLIS = 10;
+    private static final long WRITE_THROUGH_TICK_MILLIS = 1000;
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+    /**
+     * Conflicts in a row after which a room stops rebasing and is dropped
+     */
+    static final int MAX_REBASE_ATTEMPTS = 3;
+    /**
+     * Versions per room whose history length is remembered for {@link #readSince}
+     */
+    static final int MAX_HISTORY_CHECKPOINTS = 256;
+
+    private final GameRepository gameRepository;
+    private final GameStateCacheProperties properties;
+    private final GameJournal gameJournal;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public GameStateCache(GameRepository gameRepository, GameStateCacheProperties properties,
+                          GameJournal gameJournal) {
+        this.gameRepository = gameRepository;
+        this.properties = properties;
+        this.gameJournal = gameJournal;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Changes a crashed run acknowledged but did not save, before any room is loaded
+        gameJournal.recover(gameRepository);
+        long tick = tickMillis();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-state-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                sweep(System.currentTimeMillis());
+            } catch (Exception e) {
+                log.error("[GameStateCache] Sweep failed", e);
+            }
+        }, tick, tick, TimeUnit.MILLISECONDS);
+        log.info("[GameStateCache] Started: durabilityWindow={}ms, maxRooms={}, idleTimeout={}ms",
+                properties.getDurabilityWindowMillis(), properties.getMaxRooms(), properties.getIdleTimeoutMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    /**
+     * Read a room's game with exclusive access
+     *
+     * <p>The document must not escape the reader: anything returned has to be copied.
+     *
+     * @param roomId room ID
+     * @param reader receives the document, or null if the room has no game
+     * @return the reader's result
+     */
+    public <T> T read(Long roomId, Function<GameDocument, T> reader) {
+        return readSince(roomId, null, (game, historySize) -> reader.apply(game));
+    }
+
+    /**
+     * Read a room's game with exclusive access, along with how much of its history a caller
+     * holding an earlier version already has
+     *
+     * <p>The document must not escape the reader: anything returned has to be copied.
+     *
+     * @param roomId       room ID
+     * @param sinceVersion version the caller holds, or null
+     * @param reader       receives the document, or null if the room has no game, and the
+     *                     length of its history at sinceVersion, or null if unknown because
+     *                     that version is too old, from before an undo or reset, or was never seen
+     * @return the reader's result
+     */
+    public <T> T readSince(Long roomId, Long sinceVersion, BiFunction<GameDocument, Integer, T> reader) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(roomId, Entry::new);
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue;
+                }
+                GameDocument game = load(entry);
+                if (game == null) {
+                    // Do not keep empty entries for rooms without a game
+                    discard(entry);
+                }
+                Integer historySize = sinceVersion == null ? null : entry.historySizes.get(sinceVersion);
+                return reader.apply(game, historySize);
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Mutate a room's game with exclusive access and schedule it for persistence
+     *
+     * <p>The change is saved immediately if it finishes the game or starts a new one, or if
+     * the durability window is 0, unless it is held back by {@link #saveAfter}; otherwise it
+     * is saved by the background flusher. An immediate save that hits a version conflict
+     * throws {@link BizException} with {@link ErrorCodeEnum#GAME_VERSION_CONFLICT} and the
+     * room reloads on its next access. A {@link BizException} from the writer means the
+     * action was rejected before touching the document, which is kept as is. Any other
+     * exception may have left the document half updated, so the room falls back to its last
+     * saved state with the actions acknowledged since applied again.
+     *
+     * @param roomId  room ID
+     * @param creator creates the game if the room has none yet
+     * @param writer  mutates the document; anything returned has to be copied
+     * @return the writer's result
+     */
+    public <T> T write(Long roomId, Supplier<GameDocument> creator, Function<GameDocument, T> writer) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(roomId, Entry::new);
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue;
+                }
+                GameDocument game = load(entry);
+                if (game == null) {
+                    game = creator.get();
+                }
+                GameStatus statusBefore = game.getStatus();
+                Integer gameCountBefore = game.getGameCount();
+                List<GameAction> historyBefore = game.getActionHistory();
+                int sizeBefore = historyBefore == null ? 0 : historyBefore.size();
+                GameAction lastBefore = sizeBefore == 0 ? null : historyBefore.get(sizeBefore - 1);
+
+                T result;
+                try {
+                    result = writer.apply(game);
+                } catch (BizException e) {
+                    if (entry.game == null) {
+                        discard(entry);
+                    }
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.error("[GameStateCache] Action failed mid-update, reverting roomId={} to last saved state",
+                            roomId);
+                    rebase(entry);
+                    throw e;
+                }
+
+                entry.game = game;
+                entry.pending.add(writer);
+                checkpointHistory(entry, game, sizeBefore, lastBefore);
+                entry.lastAccess = System.currentTimeMillis();
+                if (!entry.dirty) {
+                    entry.dirty = true;
+                    entry.dirtySince = entry.lastAccess;
+                }
+                boolean finished = game.getStatus() == GameStatus.FINISHED && statusBefore != GameStatus.FINISHED;
+                boolean restarted = !Objects.equals(gameCountBefore, game.getGameCount());
+                // A held back change is not journaled either, or recovery could save it early
+                boolean heldBack = entry.saveAfter != null && !entry.saveAfter.isDone();
+                boolean journaled = heldBack || journal(entry, game);
+                if ((finished || restarted || !journaled || properties.getDurabilityWindowMillis() <= 0)
+                        && !flush(entry)) {
+                    // Only this action is rejected, the ones acknowledged before it are kept
+                    entry.pending.remove(entry.pending.size() - 1);
+                    rebase(entry);
+                    throw new BizException(ErrorCodeEnum.GAME_VERSION_CONFLICT, roomId);
+                }
+                return result;
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Hold back saving a room until another write has completed
+     *
+     * <p>For actions whose change must not reach MongoDB before a related write does. Called
+     * from within {@link #write} for the same room; the room is saved as soon as the write
+     * completes, even if it failed, in which case an error is logged.
+     *
+     * @param roomId  room ID
+     * @param written completes once the related write is stored
+     */
+    public void saveAfter(Long roomId, CompletableFuture<?> written) {
+        Entry entry = entries.get(roomId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.lock();
+        try {
+            entry.saveAfter = written;
+        } finally {
+            entry.lock.unlock();
+        }
+        written.whenComplete((result, error) -> flushLater(entry));
+    }
+
+    private void flushLater(Entry entry) {
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                entry.lock.lock();
+                try {
+                    if (!entry.evicted) {
+                        save(entry);
+                    }
+                } finally {
+                    entry.lock.unlock();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down, flushAll saves the room
+        }
+    }
+
+    /**
+     * Journal a change before it is acknowledged
+     *
+     * @return false if the journal is disabled or failed, so the change is only in memory
+     */
+    private boolean journal(Entry entry, GameDocument game) {
+        if (!gameJournal.isEnabled()) {
+            return true;
+        }
+        try {
+            gameJournal.append(game, entry.savedVersion, entry.persisted);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("[GameStateCache] Failed to journal roomId={}, saving it now instead", entry.roomId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Drop a room without saving it, so its next access reloads from MongoDB
+     *
+     * <p>For rooms whose document was changed or removed in MongoDB directly.
+     *
+     * @param roomId room ID
+     */
+    public void invalidate(Long roomId) {
+        Entry entry = entries.get(roomId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.lock();
+        try {
+            if (entry.dirty) {
+                log.warn("[GameStateCache] Dropping unsaved changes of roomId={}", roomId);
+            }
+            discard(entry);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * Save every pending change now
+     */
+    public void flushAll() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MILLIS;
+        for (Entry entry : entries.values()) {
+            entry.lock.lock();
+            try {
+                awaitSaveAfter(entry, deadline);
+                save(entry);
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    private void awaitSaveAfter(Entry entry, long deadline) {
+        CompletableFuture<?> written = entry.saveAfter;
+        if (written == null || written.isDone()) {
+            return;
+        }
+        try {
+            written.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // flush reports the failure, or keeps the room held back
+        }
+    }
+
+    /**
+     * Whether a room is currently held in memory, i.e. was used within the idle timeout
+     *
+     * @param roomId room ID
+     */
+    public boolean contains(Long roomId) {
+        return entries.containsKey(roomId);
+    }
+
+    /**
+     * Number of rooms currently held in memory
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of rooms with changes not yet saved
+     */
+    public int dirtyCount() {
+        int dirty = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.dirty) {
+                dirty++;
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * One flusher pass: save changes that have waited half the durability window, then drop
+     * idle rooms and trim the cache back to its size limit
+     *
+     * <p>Rooms busy with an action are skipped and picked up on the next pass.
+     *
+     * @param now current time in milliseconds
+     */
+    void sweep(long now) {
+        long flushAge = tickMillis();
+        for (Entry entry : entries.values()) {
+            if (!entry.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (entry.dirty && now - entry.dirtySince >= flushAge) {
+                    save(entry);
+                }
+                if (now - entry.lastAccess >= properties.getIdleTimeoutMillis()) {
+                    evict(entry);
+                }
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+
+        int excess = entries.size() - properties.getMaxRooms();
+        if (excess <= 0) {
+            return;
+        }
+        List<Entry> oldest = new ArrayList<>(entries.values());
+        oldest.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+        for (int i = 0; i < oldest.size() && excess > 0; i++) {
+            Entry entry = oldest.get(i);
+            if (!entry.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (evict(entry)) {
+                    excess--;
+                }
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Flusher period, also the age at which a pending change is saved, so a change waits at
+     * most two periods, i.e. one durability window
+     */
+    private long tickMillis() {
+        long window = properties.getDurabilityWindowMillis();
+        return window > 0 ? Math.max(window / 2, MIN_TICK_MILLIS) : WRITE_THROUGH_TICK_MILLIS;
+    }
+
+    private GameDocument load(Entry entry) {
+        long now = System.currentTimeMillis();
+        entry.lastAccess = now;
+        if (entry.conflicted) {
+            rebase(entry);
+            if (entry.conflicted || entry.evicted) {
+                throw new BizException(ErrorCodeEnum.GAME_VERSION_CONFLICT, entry.roomId);
+            }
+        }
+        if (entry.game != null && !entry.dirty
+                && now - entry.validatedAt >= properties.getRevalidateMillis()) {
+            if (!gameRepository.existsWithVersion(entry.roomId, entry.savedVersion)) {
+                log.info("[GameStateCache] roomId={} was written by another instance, reloading", entry.roomId);
+                entry.game = null;
+                entry.savedActions = null;
+                entry.historySizes.clear();
+            }
+            entry.validatedAt = now;
+        }
+        if (entry.game == null) {
+            entry.game = gameRepository.findByRoomId(entry.roomId).orElse(null);
+            entry.validatedAt = now;
+            if (entry.game != null) {
+                entry.persisted = true;
+                entry.savedVersion = entry.game.getVersion();
+                checkpointHistory(entry, entry.game, -1, null);
+            }
+        }
+        return entry.game;
+    }
+
+    /**
+     * Save the entry if it has pending changes, rebasing it on a version conflict
+     */
+    private void save(Entry entry) {
+        if (!flush(entry)) {
+            rebase(entry);
+        }
+    }
+
+    /**
+     * Save the entry if it has pending changes
+     *
+     * <p>A failed save leaves the entry dirty for the next flusher pass, and so does a save
+     * held back by {@link #saveAfter}. A version conflict leaves the entry as it is; the
+     * caller rebases it (see {@link #rebase}).
+     *
+     * @return false on a version conflict
+     */
+    private boolean flush(Entry entry) {
+        if (entry.conflicted) {
+            return false;
+        }
+        if (!entry.dirty || entry.game == null) {
+            return true;
+        }
+        if (entry.saveAfter != null) {
+            if (!entry.saveAfter.isDone()) {
+                return true;
+            }
+            if (entry.saveAfter.isCompletedExceptionally()) {
+                log.error("[GameStateCache] Write required before saving roomId={} failed, saving it anyway",
+                        entry.roomId);
+            }
+            entry.saveAfter = null;
+        }
+        GameDocument game = entry.game;
+        if (entry.persisted && Objects.equals(game.getVersion(), entry.savedVersion)) {
+            // Every stored change must move the version, or a concurrent writer could not detect it
+            game.setVersion(entry.savedVersion == null ? 1L : entry.savedVersion + 1);
+            checkpointHistory(entry, game, historySize(game), lastAction(game));
+        }
+        boolean append = entry.persisted && canAppend(entry, game);
+        boolean saved;
+        try {
+            if (!entry.persisted) {
+                saved = gameRepository.insertIfAbsent(game);
+            } else if (append) {
+                saved = gameRepository.appendIfVersion(game, entry.savedVersion, entry.savedActions.length,
+                        entry.savedActionBaseTime);
+            } else {
+                saved = gameRepository.replaceIfVersion(game, entry.savedVersion);
+            }
+        } catch (Exception e) {
+            log.error("[GameStateCache] Failed to save game roomId={}, will retry", entry.roomId, e);
+            return true;
+        }
+        if (!saved) {
+            log.warn("[GameStateCache] Version conflict on roomId={}, expected version={}",
+                    entry.roomId, entry.savedVersion);
+            return false;
+        }
+        entry.persisted = true;
+        entry.savedVersion = game.getVersion();
+        entry.dirty = false;
+        entry.pending.clear();
+        entry.validatedAt = System.currentTimeMillis();
+        recordSavedHistory(entry, game, append);
+        gameJournal.release(entry.roomId);
+        return true;
+    }
+
+    /**
+     * Reload the stored game of a room another instance has written, apply the actions
+     * acknowledged here since the last save to it again and save the result
+     *
+     * <p>Replaying stops at the first action the stored state no longer allows; it and the
+     * ones after it are logged as lost. If MongoDB cannot be read, the entry is marked as
+     * conflicted and rebased again on its next access or save. After {@link #MAX_REBASE_ATTEMPTS} conflicts in a
+     * row, or if the stored game is gone, the room is dropped.
+     */
+    private void rebase(Entry entry) {
+        List<Function<GameDocument, ?>> writers = new ArrayList<>(entry.pending);
+        if (writers.isEmpty()) {
+            discard(entry);
+            return;
+        }
+        for (int attempt = 0; attempt < MAX_REBASE_ATTEMPTS; attempt++) {
+            GameDocument stored;
+            try {
+                stored = gameRepository.findByRoomId(entry.roomId).orElse(null);
+            } catch (RuntimeException e) {
+                log.error("[GameStateCache] Failed to reload roomId={} for rebase, will retry", entry.roomId, e);
+                entry.conflicted = true;
+                return;
+            }
+            if (stored == null) {
+                break;
+            }
+            entry.conflicted = false;
+            entry.game = stored;
+            entry.persisted = true;
+            entry.savedVersion = stored.getVersion();
+            entry.savedActions = null;
+            entry.dirty = false;
+            entry.pending.clear();
+            gameJournal.release(entry.roomId);
+            checkpointHistory(entry, stored, -1, null);
+
+            for (int i = 0; i < writers.size(); i++) {
+                int sizeBefore = historySize(stored);
+                GameAction lastBefore = lastAction(stored);
+                try {
+                    writers.get(i).apply(stored);
+                } catch (RuntimeException e) {
+                    log.error("[GameStateCache] {} acknowledged action(s) of roomId={} no longer apply after a "
+                            + "concurrent write and are lost", writers.size() - i, entry.roomId, e);
+                    if (!(e instanceof BizException)) {
+                        // The document may be half updated, keep what is stored
+                        discard(entry);
+                        return;
+                    }
+                    break;
+                }
+                entry.pending.add(writers.get(i));
+                checkpointHistory(entry, stored, sizeBefore, lastBefore);
+            }
+            if (entry.pending.isEmpty()) {
+                return;
+            }
+            int replayed = entry.pending.size();
+            entry.dirty = true;
+            entry.dirtySince = System.currentTimeMillis();
+            journal(entry, stored);
+            if (flush(entry)) {
+                log.info("[GameStateCache] Rebased {} action(s) of roomId={} onto a concurrent write",
+                        replayed, entry.roomId);
+                return;
+            }
+            writers = new ArrayList<>(entry.pending);
+        }
+        log.error("[GameStateCache] Could not rebase roomId={}, dropping {} unsaved action(s)",
+                entry.roomId, writers.size());
+        discard(entry);
+    }
+
+    /**
+     * Remember the history length at the game's current version
+     *
+     * <p>Earlier checkpoints stay valid only if the history grew by appending, i.e. it is at
+     * least as long as before and still holds the same action where the old one ended.
+     *
+     * @param sizeBefore history length before the change, -1 to start over
+     * @param lastBefore last action before the change
+     */
+    private static void checkpointHistory(Entry entry, GameDocument game, int sizeBefore, GameAction lastBefore) {
+        int size = historySize(game);
+        boolean appended = sizeBefore >= 0 && size >= sizeBefore
+                && (sizeBefore == 0 || game.getActionHistory().get(sizeBefore - 1) == lastBefore);
+        if (!appended) {
+            entry.historySizes.clear();
+        }
+        Long version = game.getVersion();
+        if (version != null) {
+            Integer known = entry.historySizes.get(version);
+            if (known != null && known != size) {
+                // The history changed without a version bump, callers at this version may hold either
+                entry.historySizes.remove(version);
+            } else {
+                entry.historySizes.put(version, size);
+            }
+        }
+        while (entry.historySizes.size() > MAX_HISTORY_CHECKPOINTS) {
+            entry.historySizes.pollFirstEntry();
+        }
+    }
+
+    private static int historySize(GameDocument game) {
+        return game.getActionHistory() == null ? 0 : game.getActionHistory().size();
+    }
+
+    private static GameAction lastAction(GameDocument game) {
+        int size = historySize(game);
+        return size == 0 ? null : game.getActionHistory().get(size - 1);
+    }
+
+    /**
+     * Whether the changes since the last save are appended actions the stored packed history
+     * can take as they are
+     */
+    private static boolean canAppend(Entry entry, GameDocument game) {
+        List<GameAction> history = game.getActionHistory();
+        GameAction[] saved = entry.savedActions;
+        if (saved == null || entry.savedActionBaseTime == null || history == null || history.size() < saved.length
+                || !Objects.equals(entry.savedGameCount, game.getGameCount())
+                || !Objects.equals(entry.savedBlackPlayerId, game.getBlackPlayerId())
+                || !Objects.equals(entry.savedWhitePlayerId, game.getWhitePlayerId())) {
+            return false;
+        }
+        // An undo removes an earlier action, which shows as a different action at its index
+        for (int i = 0; i < saved.length; i++) {
+            if (history.get(i) != saved[i]) {
+                return false;
+            }
+        }
+        for (int i = saved.length; i < history.size(); i++) {
+            if (!GameActionCodec.canEncode(history.get(i), entry.savedActionBaseTime, game.getBoardSize(),
+                    game.getBlackPlayerId(), game.getWhitePlayerId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remember what the stored history looks like, for the next save to append to
+     */
+    private static void recordSavedHistory(Entry entry, GameDocument game, boolean appended) {
+        List<GameAction> history = game.getActionHistory();
+        if (history == null) {
+            entry.savedActions = null;
+            return;
+        }
+        if (!appended) {
+            entry.savedActionBaseTime = ActionHistoryPackingListener.packedBaseTime(game);
+        }
+        entry.savedActions = history.toArray(new GameAction[0]);
+        entry.savedGameCount = game.getGameCount();
+        entry.savedBlackPlayerId = game.getBlackPlayerId();
+        entry.savedWhitePlayerId = game.getWhitePlayerId();
+    }
+
+    /**
+     * Flush and drop the entry
+     *
+     * @return false if the entry could not be saved and was kept
+     */
+    private boolean evict(Entry entry) {
+        if (entry.evicted) {
+            return false;
+        }
+        save(entry);
+        if (entry.evicted) {
+            return true;
+        }
+        if (entry.dirty) {
+            return false;
+        }
+        discard(entry);
+        return true;
+    }
+
+    private void discard(Entry entry) {
+        entry.evicted = true;
+        entries.remove(entry.roomId, entry);
+        gameJournal.release(entry.roomId);
+    }
+
+    /**
+     * Cached document of one room, guarded by its lock
+     */
+    private static final class Entry {
+        private final Long roomId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private GameDocument game;
+        /**
+         * Whether the room exists in MongoDB, and the version it is stored with
+         */
+        private boolean persisted;
+        private Long savedVersion;
+        /**
+         * Stored history and what it was packed against; null until the entry has saved it,
+         * as a loaded document may hold its history unpacked
+         */
+        private GameAction[] savedActions;
+        private Long savedActionBaseTime;
+        private Integer savedGameCount;
+        private Long savedBlackPlayerId;
+        private Long savedWhitePlayerId;
+        /**
+         * History length by version, over the run of versions whose history only grew
+         */
+        private final NavigableMap<Long, Integer> historySizes = new TreeMap<>();
+        /**
+         * Write that must complete before the entry is saved, see {@link #saveAfter}
+         */
+        private CompletableFuture<?> saveAfter;
+        /**
+         * Writers applied since the last save, applied again by {@link #rebase} on a conflict
+         */
+        private final List<Function<GameDocument, ?>> pending = new ArrayList<>();
+        /**
+         * Set while a conflicted entry could not be reloaded for {@link #rebase}
+         */
+        private boolean conflicted;
+        private volatile boolean dirty;
+        private long dirtySince;
+        private volatile long lastAccess = System.currentTimeMillis();
+        /**
+         * When the entry was last known to match the stored game
+         */
+        private long validatedAt;
+        private boolean evicted;
+
+        Entry(Long roomId) {
+            this.roomId = roomId;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.goody.nus.se.gomoku.gomoku.game.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Game state cache configuration
+ */
+@Configuration
+@EnableConfigurationProperties(GameStateCacheProperties.class)
+public class GameStateCacheConfig {
+}
@@ -0,0 +1,37 @@
+package com.goody.nus.se.gomoku.gomoku.game.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory game state cache configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.game-cache")
+public class GameStateCacheProperties {
+
+    /**
+     * Longest time in milliseconds a change may stay in memory only before it is written
+     * to MongoDB. 0 writes every action through synchronously. Either way an action another
+     * instance wrote concurrently is not dropped: the room is reloaded and the actions not yet
+     * saved are applied to it again.
+     */
+    private long durabilityWindowMillis = 1000;
+
+    /**
+     * Longest time in milliseconds a room without unsaved changes is served from memory before
+     * its stored version is checked again, so a room another instance writes is not read stale
+     * for longer. 0 checks on every access.
+     */
+    private long revalidateMillis = 1000;
+
+    /**
+     * Maximum number of rooms kept in memory, least recently used rooms are evicted first
+     */
+    private int maxRooms = 10_000;
+
+    /**
+     * Rooms with no action or state read for this many milliseconds are evicted
+     */
+    private long idleTimeoutMillis = 10 * 60 * 1000;
+}
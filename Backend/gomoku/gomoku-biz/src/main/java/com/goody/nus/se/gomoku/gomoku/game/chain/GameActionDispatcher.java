@@ -0,0 +1,41 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain;
+
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single-pass validate and execute for hot actions such as MOVE
+ *
+ * <p>Resolves the compiled validate and execute chain arrays once and runs them back to back,
+ * so a move costs two array lookups on top of the chains themselves and allocates nothing in
+ * the dispatch layer.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameActionDispatcher {
+    private final ValidateChainHandler validateChainHandler;
+    private final ExecuteChainHandler executeChainHandler;
+
+    /**
+     * Validate the action and, if valid, execute it
+     *
+     * @param game   game document
+     * @param action action to apply
+     * @return false if validation failed (nothing was executed), true otherwise
+     */
+    public boolean validateAndExecute(GameDocument game, GameAction action) {
+        ValidateChain[] validators = validateChainHandler.resolve(action.getType(), game.getStatus());
+        if (!validateChainHandler.validate(game, action, validators)) {
+            return false;
+        }
+        ExecuteChain[] executors = executeChainHandler.resolve(action.getType());
+        executeChainHandler.execute(game, action, executors);
+        return true;
+    }
+}
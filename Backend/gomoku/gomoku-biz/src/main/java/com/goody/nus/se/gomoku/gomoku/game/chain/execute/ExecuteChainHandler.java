@@ -6,18 +6,22 @@ import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * execute chain handler
  *
+ * <p>The chains are compiled once at startup into pre-sorted arrays indexed by ActionType
+ * ordinal, with chain names kept aside so the per-action loop does no map lookup, iterator
+ * or string work.
+ *
  * @author Haotian
  * @version 1.0, 2025/10/14
  */
@@ -25,19 +29,46 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class ExecuteChainHandler {
+    private static final ExecuteChain[] NO_CHAINS = new ExecuteChain[0];
+
     private final List<ExecuteChain> executeChains;
 
-    private Map<ActionType, List<ExecuteChain>> executeChainMap = new HashMap<>();
+    /**
+     * Sorted chains per action type, indexed by ActionType ordinal
+     */
+    private final ExecuteChain[][] chainsByType = new ExecuteChain[ActionType.values().length][];
+
+    /**
+     * Simple class names aligned with {@link #chainsByType}, only read when logging
+     */
+    private final String[][] namesByType = new String[ActionType.values().length][];
 
     @PostConstruct
     public void init() {
-        executeChainMap = executeChains.stream()
+        Map<ActionType, List<ExecuteChain>> grouped = new EnumMap<>(ActionType.class);
+        executeChains.stream()
                 .sorted(Comparator.comparingInt(ExecuteChain::sort))
-                .flatMap(chain -> chain.getActionTypes().stream()
-                        .map(actionType -> Map.entry(actionType, chain)))
-                .collect(Collectors.groupingBy(Map.Entry::getKey,
-                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
-        log.info("ExecuteChainHandler initialized with chains: {}", executeChainMap);
+                .forEach(chain -> chain.getActionTypes().forEach(actionType ->
+                        grouped.computeIfAbsent(actionType, key -> new ArrayList<>()).add(chain)));
+
+        for (ActionType actionType : ActionType.values()) {
+            ExecuteChain[] chains = grouped.getOrDefault(actionType, List.of()).toArray(NO_CHAINS);
+            chainsByType[actionType.ordinal()] = chains;
+            namesByType[actionType.ordinal()] = Arrays.stream(chains)
+                    .map(chain -> chain.getClass().getSimpleName())
+                    .toArray(String[]::new);
+        }
+        log.info("ExecuteChainHandler initialized with chains: {}", grouped);
+    }
+
+    /**
+     * Look up the compiled chains for an action type
+     *
+     * @param actionType action type
+     * @return the chains to try in order, empty if none are registered
+     */
+    public ExecuteChain[] resolve(ActionType actionType) {
+        return actionType == null ? NO_CHAINS : chainsByType[actionType.ordinal()];
     }
 
     /**
@@ -47,16 +78,28 @@ public class ExecuteChainHandler {
      * @param action action to execute
      */
     public void handle(GameDocument game, GameAction action) {
-        List<ExecuteChain> chains = executeChainMap.get(action.getType());
-        if (CollectionUtils.isEmpty(chains)) {
+        execute(game, action, resolve(action.getType()));
+    }
+
+    /**
+     * Run the first matching chain of those returned by {@link #resolve(ActionType)}
+     *
+     * @param game   game document
+     * @param action action to execute
+     * @param chains resolved chains
+     */
+    public void execute(GameDocument game, GameAction action, ExecuteChain[] chains) {
+        if (chains.length == 0) {
             log.warn("No execution chains found for action type: {}", action);
             return;
         }
-        for (ExecuteChain chain : chains) {
-            log.debug("Executing chain: {} for action type: {}", chain.getClass().getSimpleName(), action);
-            final boolean hit = chain.check(game, action);
-            if (hit) {
-                log.debug("Chain {} matched for action type: {}, executing...", chain.getClass().getSimpleName(), action);
+        for (int i = 0; i < chains.length; i++) {
+            ExecuteChain chain = chains[i];
+            if (chain.check(game, action)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Chain {} matched for action type: {}, executing...",
+                            namesByType[action.getType().ordinal()][i], action);
+                }
                 chain.execute(game, action);
                 // Update game document
                 game.setVersion(game.getVersion() + 1);
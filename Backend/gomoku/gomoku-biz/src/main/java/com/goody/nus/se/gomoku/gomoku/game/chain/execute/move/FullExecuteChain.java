@@ -3,6 +3,7 @@ package com.goody.nus.se.gomoku.gomoku.game.chain.execute.move;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
 import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
@@ -26,27 +27,13 @@ public class FullExecuteChain extends ExecuteChain {
     @Override
     public boolean check(GameDocument game, GameAction action) {
         Position position = action.getPosition();
-        GameStateSnapshot state = game.getCurrentState();
-        int[][] board = state.getBoard();
-        int boardSize = board.length;
-
-        // Check if all positions except the current one are occupied
-        // If yes, placing this stone will make the board full
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                // Skip the position where we're about to place the stone
-                if (i == position.getX() && j == position.getY()) {
-                    continue;
-                }
-                // If we find any empty cell, board won't be full after this move
-                if (board[i][j] == 0) {
-                    return false;
-                }
-            }
-        }
+        BitBoard board = game.getCurrentState().getBoard();
+        int boardSize = board.getSize();
 
-        // All other positions are occupied, this move will fill the board
-        return true;
+        // The target cell is validated empty, so this move fills the board exactly when
+        // every other cell is already occupied (incrementally maintained stone count)
+        return board.isEmpty(position.getX(), position.getY())
+                && board.stoneCount() == boardSize * boardSize - 1;
     }
 
     @Override
@@ -62,7 +49,7 @@ public class FullExecuteChain extends ExecuteChain {
         }
 
         // Place the stone
-        state.getBoard()[position.getX()][position.getY()] = action.getColor().getValue();
+        state.placeStone(position.getX(), position.getY(), action.getColor().getValue());
 
         // Increment move count
         state.setTotalMoves(state.getTotalMoves() + 1);
@@ -46,7 +46,7 @@ public class WinExecuteChain extends ExecuteChain {
         }
 
         // Place the stone
-        state.getBoard()[position.getX()][position.getY()] = action.getColor().getValue();
+        state.placeStone(position.getX(), position.getY(), action.getColor().getValue());
 
         // Increment move count
         state.setTotalMoves(state.getTotalMoves() + 1);
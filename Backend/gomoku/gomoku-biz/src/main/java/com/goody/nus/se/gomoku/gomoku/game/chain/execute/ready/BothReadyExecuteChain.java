@@ -53,7 +53,7 @@ public class BothReadyExecuteChain extends ExecuteChain {
         game.setStatus(GameStatus.PLAYING);
 
         // Set initial turn to BLACK (BLACK always goes first in Gomoku)
-        game.getCurrentState().setCurrentTurn(PlayerColor.BLACK);
+        game.getCurrentState().changeTurn(PlayerColor.BLACK);
 
         // Update room status to PLAYING
         updateRoomStatus(game.getRoomId(), RoomStatusEnum.PLAYING);
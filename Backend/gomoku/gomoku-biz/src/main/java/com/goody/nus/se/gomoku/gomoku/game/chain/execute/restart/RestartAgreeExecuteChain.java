@@ -3,15 +3,18 @@ package com.goody.nus.se.gomoku.gomoku.game.chain.execute.restart;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveWriter;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
 import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
-import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Executes RESTART_AGREE action
@@ -26,7 +29,7 @@ import java.util.List;
  *
  * <p>Design principles:
  * <ul>
- *   <li>Data preservation: Complete game history is saved before reset</li>
+ *   <li>Data preservation: The reset is not saved before the archived game is</li>
  *   <li>Reusability: Uses GameDocument.resetForNewGame() for consistent reset logic</li>
  *   <li>Fairness: Players swap colors each game</li>
  * </ul>
@@ -40,7 +43,10 @@ import java.util.List;
 public class RestartAgreeExecuteChain extends ExecuteChain {
 
     @Autowired
-    private IGameHistoryService gameHistoryService;
+    private GameArchiveWriter gameArchiveWriter;
+
+    @Autowired
+    private GameStateCache gameStateCache;
 
     /**
      * Check if restart can be executed
@@ -57,7 +63,8 @@ public class RestartAgreeExecuteChain extends ExecuteChain {
     /**
      * Execute RESTART_AGREE action
      *
-     * <p>Archives the finished game and resets for a new game.
+     * <p>Archives the finished game and resets for a new game. The archive is written in a
+     * batch, so the reset is kept in memory until the archive is stored.
      *
      * @param game The game document
      * @param action The restart agree action
@@ -68,14 +75,15 @@ public class RestartAgreeExecuteChain extends ExecuteChain {
                 action.getColor(), game.getRestartProposerColor());
 
         // Step 1: Determine end reason from game state
-        String endReason = determineEndReason(game);
+        String endReason = GameHistoryDocument.determineEndReason(game);
 
         // Step 2: Get current game number before reset
         Integer currentGameNumber = game.getGameCount() != null ? game.getGameCount() : 1;
 
-        // Step 3: Archive current game to history
+        // Step 3: Archive current game to history, the reset is saved only once it is stored
         log.info("[Restart] Archiving game #{} to history: roomId={}", currentGameNumber, game.getRoomId());
-        gameHistoryService.archiveGame(game, currentGameNumber, endReason);
+        CompletableFuture<Void> archived = gameArchiveWriter.archive(game, currentGameNumber, endReason);
+        gameStateCache.saveAfter(game.getRoomId(), archived);
 
         // Step 4: Reset game state (increments gameCount, swaps colors, clears state)
         log.info("[Restart] Resetting game state for new game #{}", currentGameNumber + 1);
@@ -88,39 +96,6 @@ public class RestartAgreeExecuteChain extends ExecuteChain {
                 game.getRoomId(), game.getGameCount(), game.getBlackPlayerId(), game.getWhitePlayerId());
     }
 
-    /**
-     * Determine end reason from game state
-     *
-     * @param game The game document
-     * @return Human-readable end reason
-     */
-    private String determineEndReason(GameDocument game) {
-        if (game.getCurrentState() == null) {
-            return "UNKNOWN";
-        }
-
-        Integer winner = game.getCurrentState().getWinner();
-        if (winner == null || winner == -1) {
-            return "ONGOING"; // Shouldn't happen
-        } else if (winner == 0) {
-            return "DRAW";
-        } else {
-            // Check last action for more specific reason
-            GameAction lastAction = game.getLastAction();
-            if (lastAction != null) {
-                ActionType lastType = lastAction.getType();
-                if (lastType == ActionType.SURRENDER) {
-                    return "SURRENDER";
-                } else if (lastType == ActionType.TIMEOUT) {
-                    return "TIMEOUT";
-                } else if (lastType == ActionType.DRAW_AGREE) {
-                    return "DRAW";
-                }
-            }
-            return "WIN"; // Normal win by making 5 in a row
-        }
-    }
-
     @Override
     public List<ActionType> getActionTypes() {
         return List.of(ActionType.RESTART_AGREE);
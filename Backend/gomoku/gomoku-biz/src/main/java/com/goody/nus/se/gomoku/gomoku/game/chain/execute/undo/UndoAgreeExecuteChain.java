@@ -4,6 +4,7 @@ import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.MoveRecord;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import lombok.extern.slf4j.Slf4j;
@@ -29,19 +30,15 @@ public class UndoAgreeExecuteChain extends ExecuteChain {
 
     @Override
     public void execute(GameDocument game, GameAction action) {
-        // Get the last MOVE actions from history
-        List<GameAction> moveActions = game.getActionHistory()
-                .stream()
-                .filter(a -> a.getType() == ActionType.MOVE)
-                .toList();
+        // The move stack mirrors the MOVE actions in history, so the last move is a peek
+        MoveRecord lastMove = game.peekMove();
 
-        if (moveActions.isEmpty()) {
+        if (lastMove == null) {
             log.error("Cannot undo: no moves found in history");
             throw new IllegalStateException("Not enough moves to undo");
         }
 
         PlayerColor undoProposer = game.getUndoProposerColor();
-        GameAction lastMove = moveActions.get(moveActions.size() - 1);
 
         // Determine how many moves to undo based on who made the last move:
         // - If the last move was made by the proposer: undo 1 move (proposer wants to undo their own mistake)
@@ -56,22 +53,18 @@ public class UndoAgreeExecuteChain extends ExecuteChain {
         }
 
         // Validate we have enough moves
-        if (moveActions.size() < movesToUndo) {
-            log.error("Cannot undo: need {} moves but only found {}", movesToUndo, moveActions.size());
+        if (game.getMoveCount() < movesToUndo) {
+            log.error("Cannot undo: need {} moves but only found {}", movesToUndo, game.getMoveCount());
             throw new IllegalStateException("Not enough moves to undo");
         }
 
-        // Remove the last N moves from board and history
+        // Pop the last N moves from the stack (drops them from history) and clear the board
         StringBuilder logMessage = new StringBuilder();
         for (int i = 0; i < movesToUndo; i++) {
-            GameAction moveToUndo = moveActions.get(moveActions.size() - 1 - i);
-            Position pos = moveToUndo.getPosition();
+            Position pos = game.popMove().getPosition();
 
             // Remove stone from board
-            game.getCurrentState().getBoard()[pos.getX()][pos.getY()] = 0;
-
-            // Remove from history
-            game.getActionHistory().removeIf(a -> a == moveToUndo);
+            game.getCurrentState().removeStone(pos.getX(), pos.getY());
 
             if (i > 0) {
                 logMessage.append(", ");
@@ -83,7 +76,7 @@ public class UndoAgreeExecuteChain extends ExecuteChain {
         game.getCurrentState().setTotalMoves(game.getCurrentState().getTotalMoves() - movesToUndo);
 
         // Update current turn to the undo proposer (they get to replay)
-        game.getCurrentState().setCurrentTurn(undoProposer);
+        game.getCurrentState().changeTurn(undoProposer);
 
         log.info("Player {} agreed to undo (proposed by {}). Reverted {} move(s) at positions: {}",
                 action.getColor(),
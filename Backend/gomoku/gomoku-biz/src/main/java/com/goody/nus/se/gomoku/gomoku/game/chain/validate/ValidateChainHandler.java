@@ -1,23 +1,29 @@
 package com.goody.nus.se.gomoku.gomoku.game.chain.validate;
 
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * validate chain handler
  *
+ * <p>The chains are compiled once at startup into arrays indexed by
+ * {@code (ActionType, GameStatus)} ordinals. A status that any chain of the action type does
+ * not accept maps to {@code null}, so the per-action path is two array reads and a loop over
+ * a pre-sorted array, with chain names kept aside for logging only.
+ *
  * @author Haotian
  * @version 1.0, 2025/10/14
  */
@@ -25,19 +31,66 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class ValidateChainHandler {
+    private static final ValidateChain[] NO_CHAINS = new ValidateChain[0];
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
     private final List<ValidateChain> validateChains;
 
-    private Map<ActionType, List<ValidateChain>> validateChainMap = new HashMap<>();
+    /**
+     * Sorted chains per action type, indexed by ActionType ordinal
+     */
+    private final ValidateChain[][] chainsByType = new ValidateChain[ActionType.values().length][];
+
+    /**
+     * Simple class names aligned with {@link #chainsByType}, only read when logging
+     */
+    private final String[][] namesByType = new String[ActionType.values().length][];
+
+    /**
+     * Chains to run per (action type, game status); null when the status is rejected
+     */
+    private final ValidateChain[][][] dispatchTable = new ValidateChain[ActionType.values().length][STATUSES.length][];
 
     @PostConstruct
     public void init() {
-        validateChainMap = validateChains.stream()
+        Map<ActionType, List<ValidateChain>> grouped = new EnumMap<>(ActionType.class);
+        validateChains.stream()
                 .sorted(Comparator.comparingInt(ValidateChain::sort))
-                .flatMap(chain -> chain.getActionTypes().stream()
-                        .map(actionType -> Map.entry(actionType, chain)))
-                .collect(Collectors.groupingBy(Map.Entry::getKey,
-                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
-        log.info("ValidateChainHandler initialized with chains: {}", validateChainMap);
+                .forEach(chain -> chain.getActionTypes().forEach(actionType ->
+                        grouped.computeIfAbsent(actionType, key -> new ArrayList<>()).add(chain)));
+
+        for (ActionType actionType : ActionType.values()) {
+            ValidateChain[] chains = grouped.getOrDefault(actionType, List.of()).toArray(NO_CHAINS);
+            int type = actionType.ordinal();
+            chainsByType[type] = chains;
+            namesByType[type] = Arrays.stream(chains)
+                    .map(chain -> chain.getClass().getSimpleName())
+                    .toArray(String[]::new);
+            for (GameStatus status : STATUSES) {
+                boolean accepted = Arrays.stream(chains).allMatch(chain -> chain.validateStatus() == status);
+                dispatchTable[type][status.ordinal()] = accepted ? chains : null;
+            }
+        }
+        log.info("ValidateChainHandler initialized with chains: {}", grouped);
+    }
+
+    /**
+     * Look up the compiled chains for an action type in a game status
+     *
+     * @param actionType action type
+     * @param status     current game status
+     * @return the chains to run in order, empty if none are registered, or null if some chain
+     * of this action type requires a different status
+     */
+    public ValidateChain[] resolve(ActionType actionType, GameStatus status) {
+        if (actionType == null) {
+            return NO_CHAINS;
+        }
+        ValidateChain[] chains = chainsByType[actionType.ordinal()];
+        if (chains.length == 0) {
+            return chains;
+        }
+        return status == null ? null : dispatchTable[actionType.ordinal()][status.ordinal()];
     }
 
     /**
@@ -48,22 +101,31 @@ public class ValidateChainHandler {
      * @return true if valid, false otherwise
      */
     public boolean handle(GameDocument gameDocument, GameAction action) {
-        List<ValidateChain> chains = validateChainMap.get(action.getType());
-        if (CollectionUtils.isEmpty(chains)) {
+        return validate(gameDocument, action, resolve(action.getType(), gameDocument.getStatus()));
+    }
+
+    /**
+     * Run chains previously returned by {@link #resolve(ActionType, GameStatus)}
+     *
+     * @param gameDocument game document
+     * @param action       action to validate
+     * @param chains       resolved chains, null when the game status was rejected
+     * @return true if valid, false otherwise
+     */
+    public boolean validate(GameDocument gameDocument, GameAction action, ValidateChain[] chains) {
+        if (chains == null) {
+            log.warn("Game status {} does not match required status of validation chains: {} for action type: {}",
+                    gameDocument.getStatus(), Arrays.toString(namesByType[action.getType().ordinal()]), action);
+            return false;
+        }
+        if (chains.length == 0) {
             log.warn("No validation chains found for action type: {}", action);
             return true;
         }
-        for (ValidateChain chain : chains) {
-            log.debug("Executing validation chain: {} for action type: {}", chain.getClass().getSimpleName(), action);
-            final boolean isStatus = chain.validateStatus() == gameDocument.getStatus();
-            if (!isStatus) {
-                log.warn("Game status {} does not match required status {} for validation chain: {} and action type: {}",
-                        gameDocument.getStatus(), chain.validateStatus(), chain.getClass().getSimpleName(), action);
-                return false;
-            }
-            final boolean validate = chain.validate(gameDocument, action);
-            if (!validate) {
-                log.warn("Fail executing validation chain: {} for action type: {}", chain.getClass().getSimpleName(), action);
+        for (int i = 0; i < chains.length; i++) {
+            if (!chains[i].validate(gameDocument, action)) {
+                log.warn("Fail executing validation chain: {} for action type: {}",
+                        namesByType[action.getType().ordinal()][i], action);
                 return false;
             }
         }
@@ -33,11 +33,7 @@ public class BoardSizeValidateChain implements ValidateChain {
             return false;
         }
 
-        Integer boardSize = game.getCurrentState().getBoardSize();
-        if (boardSize == null) {
-            boardSize = 15; // Default board size
-        }
-
+        int boardSize = game.getBoardSize();
         boolean isValid = position.isValid(boardSize);
         if (!isValid) {
             log.warn("Invalid position {} for board size {}", position, boardSize);
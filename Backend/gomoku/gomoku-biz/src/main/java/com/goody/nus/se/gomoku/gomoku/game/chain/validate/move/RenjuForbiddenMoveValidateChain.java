@@ -0,0 +1,55 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain.validate.move;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.util.RenjuPatternTable;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Validates Renju forbidden moves for black (double-three, double-four, overline)
+ * Only applies to rooms whose modeType selects {@link GameRuleEnum#RENJU}
+ */
+@Slf4j
+@Component
+public class RenjuForbiddenMoveValidateChain implements ValidateChain {
+    @Override
+    public GameStatus validateStatus() {
+        return GameStatus.PLAYING;
+    }
+
+    @Override
+    public boolean validate(GameDocument game, GameAction action) {
+        if (action.getColor() != PlayerColor.BLACK
+                || GameRuleEnum.fromModeType(game.getModeType()) != GameRuleEnum.RENJU) {
+            return true;
+        }
+
+        Position position = action.getPosition();
+        RenjuPatternTable.Verdict verdict = RenjuPatternTable.check(game.getCurrentState().getBoard(), position);
+        if (verdict.isForbidden()) {
+            log.warn("Forbidden move for black at ({}, {}): {}", position.getX(), position.getY(), verdict);
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public List<ActionType> getActionTypes() {
+        return List.of(ActionType.MOVE);
+    }
+
+    @Override
+    public int sort() {
+        return 4; // Check after the position is known to be empty
+    }
+}
@@ -3,6 +3,7 @@ package com.goody.nus.se.gomoku.gomoku.game.chain.validate.move;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChain;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
@@ -33,7 +34,7 @@ public class StonePositionValidateChain implements ValidateChain {
             return false;
         }
 
-        int[][] board = game.getCurrentState().getBoard();
+        BitBoard board = game.getCurrentState().getBoard();
         if (board == null) {
             log.error("Game board is null");
             return false;
@@ -43,8 +44,8 @@ public class StonePositionValidateChain implements ValidateChain {
         int y = position.getY();
 
         // Check if position is already occupied
-        if (board[x][y] != 0) {
-            log.warn("Position ({}, {}) is already occupied by player {}", x, y, board[x][y]);
+        if (!board.isEmpty(x, y)) {
+            log.warn("Position ({}, {}) is already occupied by player {}", x, y, board.get(x, y));
             return false;
         }
 
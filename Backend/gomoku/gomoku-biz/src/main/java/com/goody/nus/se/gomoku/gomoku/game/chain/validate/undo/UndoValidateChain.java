@@ -35,15 +35,21 @@ public class UndoValidateChain implements ValidateChain {
         }
 
         // Check that there are moves to undo (at least 1 MOVE action in history)
-        long moveCount = game.getActionHistory().stream()
-                .filter(a -> a.getType() == ActionType.MOVE)
-                .count();
+        int moveCount = game.getMoveCount();
 
         if (moveCount < 1) {
             log.warn("Cannot propose undo: need at least 1 move in history, but have {}", moveCount);
             return false;
         }
 
+        // Undoing after the opponent's move also takes back the proposer's own move
+        // (see UndoAgreeExecuteChain), so the proposer must have moved at least once
+        int required = game.peekMove().getColor() == action.getColor() ? 1 : 2;
+        if (moveCount < required) {
+            log.warn("Cannot propose undo: need {} moves in history, but have {}", required, moveCount);
+            return false;
+        }
+
         return true;
     }
 
@@ -0,0 +1,44 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Everything an action needs to know about its room besides the game itself
+ *
+ * <p>The room code check runs in the background while the game is loaded; call
+ * {@link #requireRoomCode()} before changing the game.
+ */
+@RequiredArgsConstructor
+public class ActionContext {
+
+    @Getter
+    private final RoomMetadata room;
+
+    private final CompletableFuture<Boolean> roomCodeExists;
+
+    /**
+     * Wait for the room code check
+     *
+     * @throws BizException with ROOM_NOT_FOUND if the room code has expired
+     */
+    public void requireRoomCode() {
+        boolean exists;
+        try {
+            exists = roomCodeExists.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (!exists) {
+            throw new BizException(ErrorCodeEnum.ROOM_NOT_FOUND, room.getRoomId());
+        }
+    }
+}
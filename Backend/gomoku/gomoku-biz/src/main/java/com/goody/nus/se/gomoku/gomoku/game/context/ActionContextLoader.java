@@ -0,0 +1,76 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the {@link ActionContext} of a game action with as few round trips as possible
+ *
+ * <p>Room metadata is read from MySQL once per room and then served from memory, bounded like
+ * the game state cache by {@link GameStateCacheProperties#getMaxRooms()}. The room code check
+ * and its TTL renewal are left to {@link RoomTtlRenewer}, which only goes to Redis when the
+ * TTL runs low; that request is started without waiting so it overlaps the game load.
+ */
+@Component
+public class ActionContextLoader {
+
+    private final IGameRoomService gameRoomService;
+    private final RoomTtlRenewer roomTtlRenewer;
+    private final Map<Long, RoomMetadata> rooms;
+
+    public ActionContextLoader(IGameRoomService gameRoomService, RoomTtlRenewer roomTtlRenewer,
+                               GameStateCacheProperties properties) {
+        this.gameRoomService = gameRoomService;
+        this.roomTtlRenewer = roomTtlRenewer;
+        int maxRooms = properties.getMaxRooms();
+        this.rooms = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomMetadata> eldest) {
+                return size() > maxRooms;
+            }
+        });
+    }
+
+    /**
+     * Load a room's metadata and start its room code check
+     *
+     * @param roomId room ID
+     * @return the context, whose room code check may still be running
+     * @throws BizException with GAME_NOT_FOUND if the room does not exist
+     */
+    public ActionContext load(Long roomId) {
+        RoomMetadata room = room(roomId);
+        if (room.getRoomCode() == null) {
+            return new ActionContext(room, CompletableFuture.completedFuture(false));
+        }
+        return new ActionContext(room, roomTtlRenewer.renew(room.getRoomCode()));
+    }
+
+    /**
+     * Metadata of a room, from memory after the first lookup
+     *
+     * @throws BizException with GAME_NOT_FOUND if the room does not exist
+     */
+    public RoomMetadata room(Long roomId) {
+        RoomMetadata room = rooms.get(roomId);
+        if (room != null) {
+            return room;
+        }
+        GameRoomDTO roomDTO = gameRoomService.findById(roomId);
+        if (roomDTO == null) {
+            throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId);
+        }
+        room = RoomMetadata.of(roomDTO);
+        rooms.put(roomId, room);
+        return room;
+    }
+}
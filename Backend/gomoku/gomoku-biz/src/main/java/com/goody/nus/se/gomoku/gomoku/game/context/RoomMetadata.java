@@ -0,0 +1,34 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parts of a room record the action path needs, all fixed when the record is created
+ *
+ * <p>The room status is deliberately left out: it follows the game and is read from the
+ * game document instead. So are the players, who change as they join and leave; the game
+ * document holds the seats.
+ */
+@Getter
+@Builder
+public class RoomMetadata {
+
+    private final Long roomId;
+
+    private final String roomCode;
+
+    private final Byte type;
+
+    /**
+     * Take the fixed fields of a room record
+     */
+    public static RoomMetadata of(GameRoomDTO room) {
+        return RoomMetadata.builder()
+                .roomId(room.getId())
+                .roomCode(room.getRoomCode())
+                .type(room.getType())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Room code TTL renewal configuration
+ */
+@Configuration
+@EnableConfigurationProperties(RoomTtlProperties.class)
+public class RoomTtlConfig {
+}
@@ -0,0 +1,28 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Room code TTL renewal configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.room-ttl")
+public class RoomTtlProperties {
+
+    /**
+     * TTL in minutes a room code is renewed to while its game is played
+     */
+    private int ttlMinutes = 20;
+
+    /**
+     * Renew only once the TTL left, as estimated from the last renewal, drops below this many
+     * minutes. Also bounds how long an action may go on after the room code was deleted.
+     */
+    private int renewBelowMinutes = 15;
+
+    /**
+     * Rooms whose last renewal is remembered; beyond this, expired records are dropped first
+     */
+    private int maxTrackedRooms = 10_000;
+}
@@ -0,0 +1,133 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lazy, coalesced renewal of room code TTLs
+ *
+ * <p>Remembers when each room code was last renewed and contacts Redis only once the TTL left
+ * drops below {@link RoomTtlProperties#getRenewBelowMinutes()}, so a busy room costs one
+ * renewal every few minutes instead of one per action. Actions arriving while a renewal is in
+ * flight share it. A renewal extends all room keys in one pipelined batch (see
+ * {@link RoomCodeDao#touchRoomAsync}) and also reports whether the room code still exists;
+ * between renewals the room code is assumed alive.
+ */
+@Slf4j
+@Component
+public class RoomTtlRenewer {
+
+    private final RoomCodeDao roomCodeDao;
+    private final RoomTtlProperties properties;
+    private final Map<String, Renewal> renewals = new ConcurrentHashMap<>();
+
+    public RoomTtlRenewer(RoomCodeDao roomCodeDao, RoomTtlProperties properties) {
+        this.roomCodeDao = roomCodeDao;
+        this.properties = properties;
+    }
+
+    /**
+     * Renew a room code's TTL if it is running low
+     *
+     * @param roomCode room code
+     * @return future completed with whether the room code exists
+     */
+    public CompletableFuture<Boolean> renew(String roomCode) {
+        return renew(roomCode, System.currentTimeMillis());
+    }
+
+    /**
+     * Forget a room code, so its next action renews it
+     */
+    public void forget(String roomCode) {
+        renewals.remove(roomCode);
+    }
+
+    /**
+     * Number of room codes whose last renewal is remembered
+     */
+    public int size() {
+        return renewals.size();
+    }
+
+    CompletableFuture<Boolean> renew(String roomCode, long now) {
+        Renewal current = renewals.get(roomCode);
+        if (current != null && (current.pending != null || now < current.renewAfter)) {
+            return current.pending != null ? current.pending : CompletableFuture.completedFuture(true);
+        }
+        if (renewals.size() >= properties.getMaxTrackedRooms()) {
+            trim(now);
+        }
+
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        Renewal renewal = new Renewal(pending);
+        // Only the caller that installs the renewal sends it, the others share its result
+        Renewal winner = renewals.compute(roomCode,
+                (code, existing) -> existing == current ? renewal : existing);
+        if (winner != renewal) {
+            return winner.pending != null ? winner.pending : CompletableFuture.completedFuture(true);
+        }
+
+        log.debug("Renewing room code TTL: roomCode={}", roomCode);
+        CompletableFuture<Boolean> touch;
+        try {
+            touch = roomCodeDao.touchRoomAsync(roomCode, properties.getTtlMinutes());
+        } catch (RuntimeException e) {
+            touch = CompletableFuture.failedFuture(e);
+        }
+        touch.whenComplete((exists, error) -> {
+            if (error == null && Boolean.TRUE.equals(exists)) {
+                long fresh = TimeUnit.MINUTES.toMillis(properties.getTtlMinutes() - properties.getRenewBelowMinutes());
+                long expiresAt = now + TimeUnit.MINUTES.toMillis(properties.getTtlMinutes());
+                renewals.replace(roomCode, renewal, new Renewal(now + fresh, expiresAt));
+            } else {
+                // Gone or unknown: the next action asks Redis again
+                renewals.remove(roomCode, renewal);
+            }
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(Boolean.TRUE.equals(exists));
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Drop records whose TTL has run out; if that is not enough, forget everything, which
+     * only costs each room one early renewal
+     */
+    private void trim(long now) {
+        renewals.values().removeIf(renewal -> renewal.pending == null && now >= renewal.expiresAt);
+        if (renewals.size() >= properties.getMaxTrackedRooms()) {
+            renewals.values().removeIf(renewal -> renewal.pending == null);
+        }
+    }
+
+    /**
+     * A renewal in flight, or the result of the last one
+     */
+    private static final class Renewal {
+        private final long renewAfter;
+        private final long expiresAt;
+        private final CompletableFuture<Boolean> pending;
+
+        Renewal(CompletableFuture<Boolean> pending) {
+            this.renewAfter = Long.MAX_VALUE;
+            this.expiresAt = Long.MAX_VALUE;
+            this.pending = pending;
+        }
+
+        Renewal(long renewAfter, long expiresAt) {
+            this.renewAfter = renewAfter;
+            this.expiresAt = expiresAt;
+            this.pending = null;
+        }
+    }
+}
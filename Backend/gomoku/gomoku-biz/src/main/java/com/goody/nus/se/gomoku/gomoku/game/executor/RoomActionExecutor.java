@@ -0,0 +1,125 @@
+package com.goody.nus.se.gomoku.gomoku.game.executor;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer executor for game actions, striped by roomId
+ *
+ * <p>Every room hashes onto one of a fixed set of single-threaded lanes, so the actions of a
+ * room run one after another in arrival order while different rooms run in parallel across
+ * lanes. Each lane has a bounded queue; when it is full the action is rejected with
+ * {@link ErrorCodeEnum#GAME_ACTION_QUEUE_FULL} instead of piling up behind a slow room.
+ *
+ * <p>Lane queue depths and the rejection count are published as Micrometer meters
+ * ({@code gomoku.action.lane.queue}, {@code gomoku.action.lane.rejected}).
+ */
+@Slf4j
+@Component
+public class RoomActionExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final LongAdder rejected = new LongAdder();
+
+    public RoomActionExecutor(RoomActionExecutorProperties properties) {
+        int count = properties.getLanes() > 0 ? properties.getLanes() : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "room-lane-" + i;
+            // AbortPolicy: a full lane throws instead of running the action on the caller
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    runnable -> new Thread(runnable, name));
+        }
+        log.info("[RoomActionExecutor] Started {} lanes, queueCapacity={}", count, properties.getQueueCapacity());
+    }
+
+    /**
+     * Run an action on its room's lane
+     *
+     * @param roomId room ID, selects the lane
+     * @param action the action
+     * @return future completed with the action's result or exception
+     * @throws BizException with GAME_ACTION_QUEUE_FULL if the lane is saturated
+     */
+    public <T> CompletableFuture<T> submit(Long roomId, Supplier<T> action) {
+        try {
+            return CompletableFuture.supplyAsync(action, lanes[laneOf(roomId)]);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("[RoomActionExecutor] Lane {} saturated, rejecting action for roomId={}", laneOf(roomId), roomId);
+            throw new BizException(ErrorCodeEnum.GAME_ACTION_QUEUE_FULL, roomId);
+        }
+    }
+
+    /**
+     * Lane a room's actions run on
+     */
+    public int laneOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Actions waiting on a lane, excluding the one running
+     */
+    public int queueDepth(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * Actions rejected because their lane was saturated
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < lanes.length; i++) {
+            int lane = i;
+            Gauge.builder("gomoku.action.lane.queue", this, executor -> executor.queueDepth(lane))
+                    .description("Game actions waiting on a room lane")
+                    .tag("lane", String.valueOf(lane))
+                    .register(registry);
+        }
+        FunctionCounter.builder("gomoku.action.lane.rejected", rejected, LongAdder::sum)
+                .description("Game actions rejected because their room lane was saturated")
+                .register(registry);
+    }
+
+    /**
+     * Let queued actions finish on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(60, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
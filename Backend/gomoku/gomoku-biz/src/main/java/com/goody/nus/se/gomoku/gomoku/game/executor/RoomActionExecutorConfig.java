@@ -0,0 +1,12 @@
+package com.goody.nus.se.gomoku.gomoku.game.executor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Room action executor configuration
+ */
+@Configuration
+@EnableConfigurationProperties(RoomActionExecutorProperties.class)
+public class RoomActionExecutorConfig {
+}
@@ -0,0 +1,22 @@
+package com.goody.nus.se.gomoku.gomoku.game.executor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Room action executor configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.action-executor")
+public class RoomActionExecutorProperties {
+
+    /**
+     * Number of single-threaded lanes, 0 uses one lane per available processor
+     */
+    private int lanes = 0;
+
+    /**
+     * Pending actions a lane accepts before new ones are rejected
+     */
+    private int queueCapacity = 256;
+}
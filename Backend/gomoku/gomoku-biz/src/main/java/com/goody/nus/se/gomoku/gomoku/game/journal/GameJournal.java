@@ -0,0 +1,536 @@
+package com.goody.nus.se.gomoku.gomoku.game.journal;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.codec.GameActionCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.mongodb.MongoClientSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead journal of game changes held in memory by the game cache
+ *
+ * <p>The cache acknowledges an action before the change reaches MongoDB. With the journal
+ * enabled, every change is first appended to a memory-mapped segment file, so a crash within
+ * the durability window loses nothing: on restart {@link #recover} rebuilds the newest state of
+ * every room and writes it to MongoDB, under the same version check the cache would have used.
+ * Writing to the mapping is a memory copy; the kernel persists the pages even if the process
+ * dies. Only {@code forceOnWrite} protects against losing the machine as well.
+ *
+ * <p>A plain move, one that neither ends the game nor follows an unjournaled change, is
+ * recorded as a delta: the move packed by {@link GameActionCodec} and the version it produced.
+ * Any other change, the first change of a room in a segment, and every
+ * {@code checkpointMoves}-th move are recorded as a full snapshot of the game, so recovery
+ * replays at most that many moves onto a snapshot from the same segment.
+ *
+ * <p>Record layout: {@code int length, int crc32, byte kind, long roomId}, followed for a
+ * snapshot by {@code long baseVersion, byte persisted, BSON document} and for a delta by
+ * {@code long version, long packed move}, where {@code length} and the checksum cover
+ * everything after the checksum. A zero length ends a segment. Segments are reclaimed once
+ * every room with a record in them has been saved.
+ */
+@Slf4j
+public class GameJournal implements AutoCloseable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("game-journal-(\\d+)\\.log");
+    private static final int HEADER_BYTES = 8;
+    private static final byte SNAPSHOT = 0;
+    private static final byte DELTA = 1;
+    private static final int KEY_BYTES = 1 + 8;
+    private static final int SNAPSHOT_FIXED_BYTES = KEY_BYTES + 8 + 1;
+    private static final int DELTA_BYTES = KEY_BYTES + 8 + 8;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    /**
+     * Packed moves use the epoch as their base time, which the codec's timestamp field covers
+     */
+    private static final long DELTA_BASE_TIME = 0L;
+    private static final DocumentCodec CODEC = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnWrite;
+    private final int checkpointMoves;
+    private final MongoConverter converter;
+    /**
+     * Segments left by the previous run, replayed by {@link #recover}
+     */
+    private final List<Path> leftover;
+    /**
+     * Live segments, oldest first; the last one is written to
+     */
+    private final List<Segment> segments = new ArrayList<>();
+    /**
+     * Last record of each room with unsaved records, which the next delta must follow
+     */
+    private final Map<Long, Tail> tails = new HashMap<>();
+    private long nextSequence;
+
+    private GameJournal(Path directory, int segmentBytes, boolean forceOnWrite, int checkpointMoves,
+                        MongoConverter converter, List<Path> leftover, long nextSequence) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnWrite = forceOnWrite;
+        this.checkpointMoves = checkpointMoves;
+        this.converter = converter;
+        this.leftover = leftover;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Journal that records nothing
+     */
+    public static GameJournal disabled() {
+        return new GameJournal(null, 0, false, 0, null, List.of(), 0);
+    }
+
+    /**
+     * Open the journal in a directory, keeping the segments found there for {@link #recover}
+     *
+     * @param directory    segment directory, created if missing
+     * @param segmentBytes size of one segment file
+     * @param forceOnWrite    force every record to disk
+     * @param checkpointMoves moves journaled as deltas before a room is snapshotted again
+     * @param converter       converter between game documents and BSON
+     * @return the journal
+     * @throws IOException if the directory cannot be read or created
+     */
+    public static GameJournal open(Path directory, int segmentBytes, boolean forceOnWrite, int checkpointMoves,
+                                   MongoConverter converter) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> leftover = new ArrayList<>();
+        long last = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(GameJournal::compareSegments)::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    leftover.add(file);
+                    last = Math.max(last, Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        log.info("[GameJournal] Opened {}: {} segment(s) to recover", directory, leftover.size());
+        return new GameJournal(directory, segmentBytes, forceOnWrite, checkpointMoves, converter, leftover, last + 1);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Append a changed game, as a delta if the change is a plain move following the room's
+     * last record, otherwise as a snapshot
+     *
+     * <p>Called under the room's lock, after the change and before it is acknowledged.
+     *
+     * @param game        the game after the change
+     * @param baseVersion version stored in MongoDB the change builds on, or null if not stored yet
+     * @param persisted   whether the game exists in MongoDB
+     * @throws IllegalStateException if the record cannot be written; the change must then not be acknowledged
+     */
+    public void append(GameDocument game, Long baseVersion, boolean persisted) {
+        if (!isEnabled()) {
+            return;
+        }
+        GameAction move = plainMove(game);
+        if (move != null) {
+            synchronized (this) {
+                if (appendDelta(game, move, baseVersion, persisted)) {
+                    return;
+                }
+            }
+        }
+        byte[] record = encode(game, baseVersion, persisted);
+        synchronized (this) {
+            Segment segment = writable(record.length);
+            segment.buffer.put(record);
+            segment.rooms.add(game.getRoomId());
+            tails.put(game.getRoomId(), new Tail(segment, game.getVersion(), historySize(game), baseVersion, persisted));
+            if (forceOnWrite) {
+                segment.buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Append a move as a delta if it directly follows the room's last record in the current
+     * segment and the room is not due for a snapshot
+     *
+     * @return false if a snapshot has to be written instead
+     */
+    private boolean appendDelta(GameDocument game, GameAction move, Long baseVersion, boolean persisted) {
+        Tail tail = tails.get(game.getRoomId());
+        Segment segment = current();
+        if (tail == null || tail.segment != segment || tail.deltas >= checkpointMoves
+                || tail.version == null || !Objects.equals(game.getVersion(), tail.version + 1)
+                || historySize(game) != tail.historySize + 1
+                || !Objects.equals(baseVersion, tail.baseVersion) || persisted != tail.persisted
+                || segment.buffer.remaining() < HEADER_BYTES + DELTA_BYTES + Integer.BYTES) {
+            return false;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(DELTA_BYTES);
+        payload.put(DELTA);
+        payload.putLong(game.getRoomId());
+        payload.putLong(game.getVersion());
+        payload.putLong(GameActionCodec.encode(move, DELTA_BASE_TIME, game.getBoardSize()));
+        segment.buffer.putInt(DELTA_BYTES);
+        segment.buffer.putInt(crc(payload.array(), DELTA_BYTES));
+        segment.buffer.put(payload.array());
+        tail.version = game.getVersion();
+        tail.historySize++;
+        tail.deltas++;
+        if (forceOnWrite) {
+            segment.buffer.force();
+        }
+        return true;
+    }
+
+    /**
+     * The last action of the game if it is a move that left the game in play and can be packed
+     */
+    private static GameAction plainMove(GameDocument game) {
+        int size = historySize(game);
+        if (size == 0 || game.getStatus() != GameStatus.PLAYING || game.getCurrentState() == null) {
+            return null;
+        }
+        GameAction last = game.getActionHistory().get(size - 1);
+        if (last.getType() != ActionType.MOVE || !GameActionCodec.canEncode(last, DELTA_BASE_TIME,
+                game.getBoardSize(), game.getBlackPlayerId(), game.getWhitePlayerId())) {
+            return null;
+        }
+        return last;
+    }
+
+    private static int historySize(GameDocument game) {
+        return game.getActionHistory() == null ? 0 : game.getActionHistory().size();
+    }
+
+    /**
+     * Note that a room's records are no longer needed, because its state was saved or dropped
+     *
+     * @param roomId room ID
+     */
+    public void release(Long roomId) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            tails.remove(roomId);
+            for (Iterator<Segment> iterator = segments.iterator(); iterator.hasNext(); ) {
+                Segment segment = iterator.next();
+                segment.rooms.remove(roomId);
+                if (segment.rooms.isEmpty() && segment != current()) {
+                    iterator.remove();
+                    segment.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write what the previous run journaled but did not save to MongoDB, then drop its segments
+     *
+     * <p>Each room is rebuilt from its newest snapshot and the deltas after it, and written
+     * only if MongoDB still holds the version that snapshot builds on; otherwise the room was
+     * saved after it.
+     *
+     * @param gameRepository game repository
+     * @return number of rooms written
+     */
+    public int recover(GameRepository gameRepository) {
+        if (!isEnabled() || leftover.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<Record>> newest = new LinkedHashMap<>();
+        for (Path file : leftover) {
+            for (Record record : read(file)) {
+                if (!record.isDelta()) {
+                    newest.put(record.roomId, new ArrayList<>(List.of(record)));
+                } else if (newest.containsKey(record.roomId)) {
+                    newest.get(record.roomId).add(record);
+                }
+            }
+        }
+        int written = 0;
+        for (List<Record> records : newest.values()) {
+            if (replay(gameRepository, records)) {
+                written++;
+            }
+        }
+        for (Path file : leftover) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("[GameJournal] Failed to delete recovered segment {}", file, e);
+            }
+        }
+        log.info("[GameJournal] Recovered {} of {} journaled room(s)", written, newest.size());
+        leftover.clear();
+        return written;
+    }
+
+    /**
+     * Segments currently holding unsaved records, including the one written to
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Rebuild a room from its snapshot and the deltas after it and write it
+     *
+     * @param records the snapshot followed by its deltas
+     */
+    private boolean replay(GameRepository gameRepository, List<Record> records) {
+        Record record = records.get(0);
+        GameDocument game = decode(record.bson);
+        for (Record delta : records.subList(1, records.size())) {
+            if (game.getVersion() == null || delta.version != game.getVersion() + 1) {
+                log.warn("[GameJournal] Delta of roomId={} does not follow version {}, replaying up to it",
+                        record.roomId, game.getVersion());
+                break;
+            }
+            applyMove(game, delta);
+        }
+        Optional<GameDocument> stored = gameRepository.findByRoomId(record.roomId);
+        if (!record.persisted) {
+            return stored.isEmpty() && gameRepository.insertIfAbsent(game);
+        }
+        Long storedVersion = stored.map(GameDocument::getVersion).orElse(null);
+        if (stored.isEmpty() || !Objects.equals(storedVersion, record.baseVersion)) {
+            return false;
+        }
+        if (Objects.equals(game.getVersion(), record.baseVersion)) {
+            // The cache bumps the version when it saves; do the same here
+            game.setVersion(record.baseVersion == null ? 1L : record.baseVersion + 1);
+        }
+        return gameRepository.replaceIfVersion(game, record.baseVersion);
+    }
+
+    /**
+     * Apply a delta the way the execute chain applied its move
+     */
+    private static void applyMove(GameDocument game, Record delta) {
+        GameAction move = GameActionCodec.decode(delta.action, DELTA_BASE_TIME, game.getBoardSize(),
+                game.getBlackPlayerId(), game.getWhitePlayerId());
+        long time = move.getTimestamp() != null ? move.getTimestamp() : System.currentTimeMillis();
+        game.playMove(move, time);
+        game.setVersion(delta.version);
+        game.setLastAction(move);
+        game.addActionToHistory(move);
+        game.setUpdateTime(time);
+    }
+
+    private Segment writable(int recordBytes) {
+        Segment segment = current();
+        // Leave room for the zero length that ends the segment
+        if (segment != null && segment.buffer.remaining() >= recordBytes + Integer.BYTES) {
+            return segment;
+        }
+        if (recordBytes + Integer.BYTES > segmentBytes) {
+            throw new IllegalStateException("Journal record of " + recordBytes + " bytes exceeds the segment size");
+        }
+        if (segment != null && segment.rooms.isEmpty()) {
+            segments.remove(segment);
+            segment.delete();
+        }
+        Path file = directory.resolve("game-journal-" + nextSequence++ + ".log");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create journal segment " + file, e);
+        }
+        segments.add(segment);
+        return segment;
+    }
+
+    private Segment current() {
+        return segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    }
+
+    private byte[] encode(GameDocument game, Long baseVersion, boolean persisted) {
+        Document document = new Document();
+        converter.write(game, document);
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(output), document, EncoderContext.builder().build());
+        byte[] bson = output.toByteArray();
+
+        ByteBuffer payload = ByteBuffer.allocate(SNAPSHOT_FIXED_BYTES + bson.length);
+        payload.put(SNAPSHOT);
+        payload.putLong(game.getRoomId());
+        payload.putLong(baseVersion == null ? NO_VERSION : baseVersion);
+        payload.put((byte) (persisted ? 1 : 0));
+        payload.put(bson);
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.capacity());
+        record.putInt(payload.capacity());
+        record.putInt(crc(payload.array(), payload.capacity()));
+        record.put(payload.array());
+        return record.array();
+    }
+
+    private GameDocument decode(byte[] bson) {
+        Document document = CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+        return converter.read(GameDocument.class, document);
+    }
+
+    /**
+     * Records of a segment up to its end or the first torn or corrupt record
+     */
+    static List<Record> read(Path file) {
+        List<Record> records = new ArrayList<>();
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (IOException e) {
+            log.error("[GameJournal] Failed to read segment {}", file, e);
+            return records;
+        }
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int crc = buffer.getInt();
+            if (length < KEY_BYTES || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if (crc(payload, length) != crc) {
+                log.warn("[GameJournal] Corrupt record in {}, ignoring the rest of the segment", file);
+                break;
+            }
+            ByteBuffer fields = ByteBuffer.wrap(payload);
+            byte kind = fields.get();
+            long roomId = fields.getLong();
+            if (kind == DELTA && length == DELTA_BYTES) {
+                records.add(Record.delta(roomId, fields.getLong(), fields.getLong()));
+            } else if (kind == SNAPSHOT && length >= SNAPSHOT_FIXED_BYTES) {
+                long baseVersion = fields.getLong();
+                boolean persisted = fields.get() == 1;
+                byte[] bson = new byte[fields.remaining()];
+                fields.get(bson);
+                records.add(Record.snapshot(roomId, baseVersion == NO_VERSION ? null : baseVersion, persisted, bson));
+            } else {
+                log.warn("[GameJournal] Unknown record in {}, ignoring the rest of the segment", file);
+                break;
+            }
+        }
+        return records;
+    }
+
+    private static int crc(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static int compareSegments(Path a, Path b) {
+        return Long.compare(sequence(a), sequence(b));
+    }
+
+    private static long sequence(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * A journal record: a snapshot with its BSON document, or a delta with the version its move
+     * produced and the packed move
+     */
+    record Record(long roomId, Long baseVersion, boolean persisted, byte[] bson, long version, long action) {
+
+        static Record snapshot(long roomId, Long baseVersion, boolean persisted, byte[] bson) {
+            return new Record(roomId, baseVersion, persisted, bson, 0L, 0L);
+        }
+
+        static Record delta(long roomId, long version, long action) {
+            return new Record(roomId, null, false, null, version, action);
+        }
+
+        boolean isDelta() {
+            return bson == null;
+        }
+    }
+
+    /**
+     * The last record of a room
+     */
+    private static final class Tail {
+        private final Segment segment;
+        private final Long baseVersion;
+        private final boolean persisted;
+        private Long version;
+        private int historySize;
+        private int deltas;
+
+        private Tail(Segment segment, Long version, int historySize, Long baseVersion, boolean persisted) {
+            this.segment = segment;
+            this.version = version;
+            this.historySize = historySize;
+            this.baseVersion = baseVersion;
+            this.persisted = persisted;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        /**
+         * Rooms with a record here that has not been saved yet
+         */
+        private final Set<Long> rooms = new HashSet<>();
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private void delete() {
+            try {
+                // The mapping itself is released once the buffer is collected
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("[GameJournal] Failed to delete segment {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.goody.nus.se.gomoku.gomoku.game.journal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Local game journal configuration
+ */
+@Configuration
+@EnableConfigurationProperties(GameJournalProperties.class)
+public class GameJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public GameJournal gameJournal(GameJournalProperties properties, MongoConverter mongoConverter) throws IOException {
+        if (!properties.isEnabled()) {
+            return GameJournal.disabled();
+        }
+        return GameJournal.open(Path.of(properties.getDirectory()), properties.getSegmentBytes(),
+                properties.isForceOnWrite(), properties.getCheckpointMoves(), mongoConverter);
+    }
+}
@@ -0,0 +1,40 @@
+package com.goody.nus.se.gomoku.gomoku.game.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Local game journal configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.game-journal")
+public class GameJournalProperties {
+
+    /**
+     * Journal every change before it is acknowledged, so changes still waiting in the game
+     * cache's durability window survive a crash and are written to MongoDB on restart
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the journal segments; must not be shared between instances
+     */
+    private String directory = "data/game-journal";
+
+    /**
+     * Size of one memory-mapped segment file in bytes
+     */
+    private int segmentBytes = 64 * 1024 * 1024;
+
+    /**
+     * Moves of a room journaled as deltas before it is snapshotted again, which bounds how
+     * many moves recovery replays per room
+     */
+    private int checkpointMoves = 64;
+
+    /**
+     * Force every record to disk before acknowledging it. Without this a record survives a
+     * crash of the process but not of the machine.
+     */
+    private boolean forceOnWrite = false;
+}
@@ -0,0 +1,14 @@
+package com.goody.nus.se.gomoku.gomoku.game.lifecycle;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Inactive game retirement configuration
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(GameLifecycleProperties.class)
+public class GameLifecycleConfig {
+}
@@ -0,0 +1,180 @@
+package com.goody.nus.se.gomoku.gomoku.game.lifecycle;
+
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retires the games of rooms no longer in use from the {@code games} collection
+ *
+ * <p>Only created with {@code gomoku.game-lifecycle.enabled=true}. Every
+ * {@link GameLifecycleProperties#getIntervalMinutes()} the games collection is scanned
+ * for finished games past {@link GameLifecycleProperties#getFinishedRetentionMinutes()} and
+ * unfinished ones past {@link GameLifecycleProperties#getAbandonedAfterMinutes()}. Games whose
+ * room is still cached or whose room code is still alive in Redis are kept. The rest have their
+ * last game archived to history, as ABANDONED if it was not finished, and are then removed.
+ *
+ * <p>Games are handled in batches of {@link GameLifecycleProperties#getBatchSize()}, each
+ * archived with one bulk insert and removed with one bulk delete, and at most
+ * {@link GameLifecycleProperties#getConcurrency()} batches are in flight on the business
+ * thread pool. Archiving is idempotent and a game is only removed if it has not changed since
+ * it was read, so a batch that fails part way is simply picked up again on the next run.
+ *
+ * @author Haotian
+ * @version 1.0, 2026/10/17
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "gomoku.game-lifecycle", name = "enabled", havingValue = "true")
+public class GameLifecycleJob {
+
+    static final String ABANDONED = "ABANDONED";
+
+    private final GameRepository gameRepository;
+    private final IGameHistoryService gameHistoryService;
+    private final IGameRoomService gameRoomService;
+    private final RoomCodeDao roomCodeDao;
+    private final GameStateCache gameStateCache;
+    private final GameLifecycleProperties properties;
+    private final Executor bizThreadPool;
+
+    public GameLifecycleJob(GameRepository gameRepository, IGameHistoryService gameHistoryService,
+                            IGameRoomService gameRoomService, RoomCodeDao roomCodeDao, GameStateCache gameStateCache,
+                            GameLifecycleProperties properties, @Qualifier("bizThreadPool") Executor bizThreadPool) {
+        this.gameRepository = gameRepository;
+        this.gameHistoryService = gameHistoryService;
+        this.gameRoomService = gameRoomService;
+        this.roomCodeDao = roomCodeDao;
+        this.gameStateCache = gameStateCache;
+        this.properties = properties;
+        this.bizThreadPool = bizThreadPool;
+    }
+
+    /**
+     * Scheduled run, every {@link GameLifecycleProperties#getIntervalMinutes()} after the previous one ends
+     */
+    @Scheduled(initialDelayString = "${gomoku.game-lifecycle.interval-minutes:10}",
+            fixedDelayString = "${gomoku.game-lifecycle.interval-minutes:10}", timeUnit = TimeUnit.MINUTES)
+    public void runScheduled() {
+        try {
+            run(System.currentTimeMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[GameLifecycle] Run failed", e);
+        }
+    }
+
+    /**
+     * Retire every inactive game once
+     *
+     * @param now current time in milliseconds
+     * @return number of games removed
+     * @throws InterruptedException if interrupted while waiting for a free batch slot
+     */
+    int run(long now) throws InterruptedException {
+        long finishedBefore = now - TimeUnit.MINUTES.toMillis(properties.getFinishedRetentionMinutes());
+        long abandonedBefore = now - TimeUnit.MINUTES.toMillis(properties.getAbandonedAfterMinutes());
+        int batchSize = properties.getBatchSize();
+        Semaphore slots = new Semaphore(properties.getConcurrency());
+        List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        Long afterRoomId = null;
+        List<GameDocument> batch;
+        do {
+            batch = gameRepository.findInactiveAfter(afterRoomId, finishedBefore, abandonedBefore, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterRoomId = batch.get(batch.size() - 1).getRoomId();
+            slots.acquire();
+            List<GameDocument> games = batch;
+            batches.add(CompletableFuture.supplyAsync(() -> retire(games), bizThreadPool)
+                    .whenComplete((removed, error) -> slots.release()));
+        } while (batch.size() == batchSize);
+
+        int removed = batches.stream().mapToInt(CompletableFuture::join).sum();
+        if (removed > 0) {
+            log.info("[GameLifecycle] Retired {} inactive games in {} batches", removed, batches.size());
+        }
+        return removed;
+    }
+
+    /**
+     * Archive and remove the games of a batch whose rooms are no longer in use
+     *
+     * @return number of games removed, 0 if the batch failed
+     */
+    private int retire(List<GameDocument> batch) {
+        try {
+            List<GameDocument> retired = batch.stream().filter(this::isUnused).toList();
+            if (retired.isEmpty()) {
+                return 0;
+            }
+            List<GameHistoryDocument> histories = retired.stream()
+                    .filter(GameLifecycleJob::hasMoves)
+                    .map(GameLifecycleJob::lastGame)
+                    .toList();
+            gameHistoryService.archiveAll(histories);
+            return gameRepository.deleteIfVersion(retired);
+        } catch (RuntimeException e) {
+            log.error("[GameLifecycle] Failed to retire batch from roomId={}, will retry next run",
+                    batch.get(0).getRoomId(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Whether nothing still refers to the room: it is not cached and its room code has expired
+     */
+    private boolean isUnused(GameDocument game) {
+        Long roomId = game.getRoomId();
+        if (gameStateCache.contains(roomId)) {
+            return false;
+        }
+        try {
+            GameRoomDTO room = gameRoomService.findById(roomId);
+            return room == null || room.getRoomCode() == null || !roomCodeDao.exists(room.getRoomCode());
+        } catch (RuntimeException e) {
+            log.warn("[GameLifecycle] Could not check room code of roomId={}, keeping its game", roomId, e);
+            return false;
+        }
+    }
+
+    private static boolean hasMoves(GameDocument game) {
+        Integer moves = game.getCurrentState() == null ? null : game.getCurrentState().getTotalMoves();
+        return moves != null && moves > 0;
+    }
+
+    /**
+     * History record of the room's current game, ended when it was last updated
+     */
+    private static GameHistoryDocument lastGame(GameDocument game) {
+        String endReason = game.getStatus() == GameStatus.FINISHED
+                ? GameHistoryDocument.determineEndReason(game)
+                : ABANDONED;
+        Integer gameNumber = game.getGameCount() != null ? game.getGameCount() : 1;
+        GameHistoryDocument history = GameHistoryDocument.fromGameDocument(game, gameNumber, endReason);
+        if (game.getUpdateTime() != null) {
+            history.setEndTime(game.getUpdateTime());
+        }
+        return history;
+    }
+}
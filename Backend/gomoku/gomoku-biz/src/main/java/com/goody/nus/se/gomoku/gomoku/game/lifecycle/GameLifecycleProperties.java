@@ -0,0 +1,43 @@
+package com.goody.nus.se.gomoku.gomoku.game.lifecycle;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Inactive game retirement configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.game-lifecycle")
+public class GameLifecycleProperties {
+
+    /**
+     * Periodically archive and remove games of rooms no longer in use
+     */
+    private boolean enabled = false;
+
+    /**
+     * Minutes between two runs
+     */
+    private long intervalMinutes = 10;
+
+    /**
+     * Finished games not updated for this many minutes are retired. Should exceed the room
+     * code TTL, so players can no longer restart them.
+     */
+    private long finishedRetentionMinutes = 60;
+
+    /**
+     * Unfinished games not updated for this many minutes are retired as abandoned
+     */
+    private long abandonedAfterMinutes = 24 * 60;
+
+    /**
+     * Games read, archived and removed together
+     */
+    private int batchSize = 100;
+
+    /**
+     * Batches processed at the same time
+     */
+    private int concurrency = 2;
+}
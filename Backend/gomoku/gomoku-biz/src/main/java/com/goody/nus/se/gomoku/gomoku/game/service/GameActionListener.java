@@ -0,0 +1,21 @@
+package com.goody.nus.se.gomoku.gomoku.game.service;
+
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+
+/**
+ * Notified after an action has been applied to a room's game
+ *
+ * <p>Called by {@link IGameService#executeAction} once the action is accepted, on the thread
+ * that applied it. Actions are applied on the room's lane of {@link RoomActionExecutor}, so
+ * listeners see the actions of a room one at a time and in order.
+ */
+public interface GameActionListener {
+
+    /**
+     * React to an applied action
+     *
+     * @param roomId   room ID
+     * @param playerId player who acted
+     */
+    void afterAction(Long roomId, Long playerId);
+}
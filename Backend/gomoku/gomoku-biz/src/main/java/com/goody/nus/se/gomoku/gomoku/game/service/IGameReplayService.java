@@ -0,0 +1,52 @@
+package com.goody.nus.se.gomoku.gomoku.game.service;
+
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameReplayResponse;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+
+import java.util.List;
+
+/**
+ * Replay service for archived games
+ *
+ * <p>Rebuilds the board at any ply from the nearest stored checkpoint
+ * (see {@link GameHistoryDocument#CHECKPOINT_INTERVAL}), so seeking applies at most
+ * one checkpoint interval of moves instead of replaying the whole game.
+ */
+public interface IGameReplayService {
+
+    /**
+     * Get the boards for plies fromPly..toPly (inclusive) of an archived game
+     *
+     * @param roomId     Room ID
+     * @param gameNumber Game number in the room
+     * @param playerId   Requesting player ID, must have played the game
+     * @param fromPly    First ply (0 = empty board)
+     * @param toPly      Last ply, at most the total number of moves
+     * @return GameReplayResponse with one frame per ply
+     * @throws BizException if the game is not archived, the player did not play it or the range is invalid
+     */
+    GameReplayResponse getFrames(Long roomId, Integer gameNumber, Long playerId, int fromPly, int toPly);
+
+    /**
+     * Rebuild the board after the given number of moves
+     *
+     * @param history Archived game
+     * @param ply     Number of moves to apply (0 = empty board)
+     * @return A new board
+     * @throws BizException if the ply is out of range
+     */
+    BitBoard boardAtPly(GameHistoryDocument history, int ply);
+
+    /**
+     * Rebuild the boards for plies fromPly..toPly (inclusive)
+     *
+     * @param history Archived game
+     * @param fromPly First ply
+     * @param toPly   Last ply
+     * @return One new board per ply, in order
+     * @throws BizException if the range is invalid
+     */
+    List<BitBoard> frames(GameHistoryDocument history, int fromPly, int toPly);
+}
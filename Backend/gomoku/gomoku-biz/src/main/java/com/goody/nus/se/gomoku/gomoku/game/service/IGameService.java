@@ -21,9 +21,14 @@ public interface IGameService {
      *   <li>Validate chain execution result</li>
      *   <li>Update game document with new state and action</li>
      *   <li>Save to MongoDB</li>
+     *   <li>Notify every {@link GameActionListener}</li>
      *   <li>Return updated state to frontend</li>
      * </ol>
      *
+     * <p>Must run on the room's lane of
+     * {@link com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor}, so the actions of
+     * a room and their notifications stay in order.
+     *
      * @param roomId   Room ID
      * @param playerId Player ID (from URL parameter, authenticated)
      * @param request  Action request containing action type and optional position
@@ -44,4 +49,34 @@ public interface IGameService {
      * @throws BizException if game not found or player not in game
      */
     GameStateResponse getState(Long roomId, Long playerId);
+
+    /**
+     * Query the full game state unless the caller already has the current version
+     *
+     * <p>Used for polls conditional on the ETag: the version is compared before the response
+     * is built, so an unchanged game costs no serialization of its history.
+     *
+     * @param roomId       Room id
+     * @param playerId     Player ID (for access validation)
+     * @param knownVersion Version the caller holds, or null
+     * @return the full state, or null if the game is still at knownVersion
+     * @throws BizException if game not found or player not in game
+     */
+    GameStateResponse getStateIfChanged(Long roomId, Long playerId, Long knownVersion);
+
+    /**
+     * Query what changed in the game state since a version the caller already has
+     *
+     * <p>Used by frontend polling to avoid shipping the whole action history on every poll.
+     * If the history only grew since sinceVersion, {@code actionHistory} holds just the new
+     * actions and {@code historyOffset} says where they start; otherwise the full history
+     * is returned with an offset of 0. All other fields are always complete.
+     *
+     * @param roomId       Room id
+     * @param playerId     Player ID (for access validation)
+     * @param sinceVersion Version the caller holds
+     * @return the changed state, or null if the game is still at sinceVersion
+     * @throws BizException if game not found or player not in game
+     */
+    GameStateResponse getStateSince(Long roomId, Long playerId, Long sinceVersion);
 }
@@ -0,0 +1,162 @@
+package com.goody.nus.se.gomoku.gomoku.game.service.impl;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameReplayResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameReplayService;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.BoardCheckpoint;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpointed replay service implementation
+ *
+ * <p>Seeking to ply k starts from the last checkpoint at or before k and applies the
+ * remaining moves; a frame range seeks once and then applies one move per frame.
+ * Archives stored without checkpoints fall back to replaying from the empty board.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameReplayServiceImpl implements IGameReplayService {
+
+    private final IGameHistoryService gameHistoryService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GameReplayResponse getFrames(Long roomId, Integer gameNumber, Long playerId, int fromPly, int toPly) {
+        GameHistoryDocument history = gameHistoryService.getGameByRoomIdAndNumber(roomId, gameNumber)
+                .orElseThrow(() -> new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId));
+        if (!playerId.equals(history.getBlackPlayerId()) && !playerId.equals(history.getWhitePlayerId())) {
+            throw new BizException(ErrorCodeEnum.PLAYER_NOT_IN_GAME, playerId, roomId);
+        }
+
+        List<GameAction> moves = moveActions(history);
+        List<BitBoard> frames = frames(history, moves, fromPly, toPly);
+        log.debug("Replay frames: roomId={}, gameNumber={}, plies={}..{}", roomId, gameNumber, fromPly, toPly);
+
+        return GameReplayResponse.builder()
+                .roomId(roomId)
+                .gameNumber(gameNumber)
+                .totalPlies(moves.size())
+                .fromPly(fromPly)
+                .frames(frames)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BitBoard boardAtPly(GameHistoryDocument history, int ply) {
+        List<GameAction> moves = moveActions(history);
+        checkRange(ply, ply, moves.size());
+        return seek(history, moves, ply);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BitBoard> frames(GameHistoryDocument history, int fromPly, int toPly) {
+        return frames(history, moveActions(history), fromPly, toPly);
+    }
+
+    private List<BitBoard> frames(GameHistoryDocument history, List<GameAction> moves, int fromPly, int toPly) {
+        checkRange(fromPly, toPly, moves.size());
+
+        BitBoard board = seek(history, moves, fromPly);
+        List<BitBoard> frames = new ArrayList<>(toPly - fromPly + 1);
+        frames.add(board.copy());
+        for (int ply = fromPly; ply < toPly; ply++) {
+            apply(board, moves.get(ply));
+            frames.add(board.copy());
+        }
+        return frames;
+    }
+
+    /**
+     * Rebuild the board at a ply from the nearest checkpoint at or before it
+     */
+    private BitBoard seek(GameHistoryDocument history, List<GameAction> moves, int ply) {
+        BoardCheckpoint checkpoint = nearestCheckpoint(history.getCheckpoints(), ply);
+        BitBoard board;
+        int start;
+        if (checkpoint != null) {
+            board = checkpoint.getBoard().copy();
+            start = checkpoint.getPly();
+        } else {
+            board = new BitBoard(boardSize(history));
+            start = 0;
+        }
+        for (int i = start; i < ply; i++) {
+            apply(board, moves.get(i));
+        }
+        return board;
+    }
+
+    /**
+     * Binary search for the last checkpoint whose ply is at most the target
+     */
+    private static BoardCheckpoint nearestCheckpoint(List<BoardCheckpoint> checkpoints, int ply) {
+        if (checkpoints == null || checkpoints.isEmpty()) {
+            return null;
+        }
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        BoardCheckpoint found = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            BoardCheckpoint candidate = checkpoints.get(mid);
+            if (candidate.getPly() <= ply) {
+                found = candidate;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static List<GameAction> moveActions(GameHistoryDocument history) {
+        List<GameAction> moves = new ArrayList<>();
+        if (history.getActionHistory() == null) {
+            return moves;
+        }
+        for (GameAction action : history.getActionHistory()) {
+            if (action.getType() == ActionType.MOVE && action.getPosition() != null && action.getColor() != null) {
+                moves.add(action);
+            }
+        }
+        return moves;
+    }
+
+    private static void apply(BitBoard board, GameAction move) {
+        board.set(move.getPosition().getX(), move.getPosition().getY(), move.getColor().getValue());
+    }
+
+    private static int boardSize(GameHistoryDocument history) {
+        if (history.getFinalState() != null) {
+            return BoardSizeEnum.orDefault(history.getFinalState().getBoardSize());
+        }
+        return BoardSizeEnum.STANDARD.getSize();
+    }
+
+    private static void checkRange(int fromPly, int toPly, int totalPlies) {
+        if (fromPly < 0 || toPly < fromPly || toPly > totalPlies) {
+            throw new BizException(ErrorCodeEnum.REPLAY_PLY_OUT_OF_RANGE, fromPly, toPly, totalPlies);
+        }
+    }
+}
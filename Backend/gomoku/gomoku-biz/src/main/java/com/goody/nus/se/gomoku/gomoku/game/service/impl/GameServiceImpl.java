@@ -5,22 +5,31 @@ import com.goody.nus.se.gomoku.common.exception.BizException;
 import com.goody.nus.se.gomoku.gomoku.api.request.GomokuActionRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
-import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.RoomTypeEnum;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.game.chain.GameActionDispatcher;
 import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
 import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContext;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContextLoader;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomMetadata;
+import com.goody.nus.se.gomoku.gomoku.game.service.GameActionListener;
 import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
-import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
-import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
 import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
-import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Game service implementation using Chain of Responsibility pattern
  *
@@ -28,7 +37,8 @@ import org.springframework.stereotype.Service;
  * <ul>
  *   <li>Action + Snapshot Pattern: Separates game actions from state snapshots</li>
  *   <li>Chain of Responsibility: Modular validation and processing handlers</li>
- *   <li>MongoDB Storage: Persistent game state with roomId as key</li>
+ *   <li>In-memory State: Active games live in {@link GameStateCache}, written behind to MongoDB</li>
+ *   <li>Optimistic Concurrency: Versioned conditional writes, retried on conflict</li>
  *   <li>Ready Mechanism: Two-phase game start (WAITING -> PLAYING)</li>
  * </ul>
  *
@@ -41,45 +51,128 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class GameServiceImpl implements IGameService {
 
-    private final GameRepository gameRepository;
+    /**
+     * Attempts per action when another instance updates the same room concurrently
+     */
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final GameStateCache gameStateCache;
     private final ValidateChainHandler validateChainHandler;
     private final ExecuteChainHandler executeChainHandler;
-    private final IGameRoomService gameRoomService;
+    private final GameActionDispatcher gameActionDispatcher;
+    private final ActionContextLoader actionContextLoader;
     private final RoomCodeDao roomCodeDao;
+    /**
+     * Resolved on use, as listeners such as the event stream depend on this service
+     */
+    private final ObjectProvider<GameActionListener> gameActionListeners;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public GameStateResponse executeAction(Long roomId, Long playerId, GomokuActionRequest request) {
-        // 1. Check if room exists in database
-        GameRoomDTO roomDTO = gameRoomService.findById(roomId);
-        if (roomDTO == null) {
-            throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId);
+        // 1. Room metadata is cached after the first lookup; the room code check and its TTL
+        // renewal go to Redis in one batch that runs while the game is loaded
+        ActionContext context = actionContextLoader.load(roomId);
+
+        // 2. Load game document from the cache, falling back to MongoDB
+        // A version conflict reloads the room, so a retry re-validates against the newer state
+        GameStateResponse response;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                response = gameStateCache.write(roomId,
+                        // create new game if not found (first action in room)
+                        () -> newGame(context.getRoom(), playerId),
+                        game -> {
+                            // 3. The room code must still be alive before the game changes
+                            context.requireRoomCode();
+                            return applyAction(game, playerId, request);
+                        });
+                break;
+            } catch (BizException e) {
+                if (e.getErrorCode() != ErrorCodeEnum.GAME_VERSION_CONFLICT || attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Version conflict on roomId={}, retrying action {} (attempt {})",
+                        roomId, request.getType(), attempt + 1);
+            }
         }
 
-        // Allow RESTART-related actions even when room is FINISHED
+        // 4. Tell streams and long-polls, still on the room's lane
+        gameActionListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.afterAction(roomId, playerId);
+            } catch (RuntimeException e) {
+                log.warn("Action listener {} failed for roomId={}", listener.getClass().getSimpleName(), roomId, e);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GameStateResponse getState(Long roomId, Long playerId) {
+        return getStateIfChanged(roomId, playerId, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GameStateResponse getStateIfChanged(Long roomId, Long playerId, Long knownVersion) {
+        return gameStateCache.read(roomId, game -> {
+            if (game == null) {
+                throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId);
+            }
+
+            validatePlayer(game, playerId);
+
+            if (knownVersion != null && knownVersion.equals(game.getVersion())) {
+                return null;
+            }
+            return toResponse(game, 0);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GameStateResponse getStateSince(Long roomId, Long playerId, Long sinceVersion) {
+        return gameStateCache.readSince(roomId, sinceVersion, (game, historySize) -> {
+            if (game == null) {
+                throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId);
+            }
+
+            validatePlayer(game, playerId);
+
+            if (sinceVersion != null && sinceVersion.equals(game.getVersion())) {
+                return null;
+            }
+            return toResponse(game, historySize == null ? 0 : historySize);
+        });
+    }
+
+    /**
+     * Validate and apply one action to the room's game
+     *
+     * @param game     Game document, held exclusively by the caller
+     * @param playerId Acting player ID
+     * @param request  Frontend action request
+     * @return Response built from the updated game
+     * @throws BizException if the player or the action is rejected; the game is left untouched
+     */
+    private GameStateResponse applyAction(GameDocument game, Long playerId, GomokuActionRequest request) {
+        // The room is finished exactly when its game is, only a restart may follow
         boolean isRestartAction = request.getType() == ActionType.RESTART
                 || request.getType() == ActionType.RESTART_AGREE
                 || request.getType() == ActionType.RESTART_DISAGREE;
-
-        if (!isRestartAction && roomDTO.getStatus() == RoomStatusEnum.FINISHED.getValue()) {
-            throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId);
-        }
-
-        // 2. Extend room code TTL to keep room active during gameplay
-        final boolean roomCodeExist = roomDTO.getRoomCode() != null && roomCodeDao.exists(roomDTO.getRoomCode());
-        if (!roomCodeExist) {
-            throw new BizException(ErrorCodeEnum.ROOM_NOT_FOUND, roomId);
+        if (!isRestartAction && game.getStatus() == GameStatus.FINISHED) {
+            throw new BizException(ErrorCodeEnum.GAME_NOT_FOUND, game.getRoomId());
         }
-        roomCodeDao.updateRoomTTL(roomDTO.getRoomCode(), 20);
-        log.debug("Extended room code TTL: roomCode={}, roomId={}", roomDTO.getRoomCode(), roomId);
-
-        // 3. Load game document from MongoDB
-        GameDocument game = gameRepository.findByRoomId(roomId)
-                // create new game if not found (first action in room)
-                // Default to CASUAL for fallback cases
-                .orElse(GameDocument.createNewGameWithRandomBlack(roomId, playerId, "CASUAL"));
 
         // 4. Validate player belongs to game
         validatePlayer(game, playerId);
@@ -87,36 +180,47 @@ public class GameServiceImpl implements IGameService {
         // 5. Build action
         GameAction action = buildAction(request, playerId, game);
 
-        // 6. Execute validation chain
-        boolean validate = true;
-        if (action.getType() != ActionType.SURRENDER) {
-            validate = validateChainHandler.handle(game, action);
-        }
-        if (!validate) {
-            throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION, action);
-        }
-
-        // 7. Execute execute chain
-        executeChainHandler.handle(game, action);
+        // 6-7. Moves are the hot path: validate and execute in a single dispatch
+        if (action.getType() == ActionType.MOVE) {
+            if (!gameActionDispatcher.validateAndExecute(game, action)) {
+                throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION, action);
+            }
+        } else {
+            // 6. Execute validation chain
+            boolean validate = true;
+            if (action.getType() != ActionType.SURRENDER) {
+                validate = validateChainHandler.handle(game, action);
+            }
+            if (!validate) {
+                throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION, action);
+            }
 
-        // 8. Save to MongoDB
-        gameRepository.save(game);
+            // 7. Execute execute chain
+            executeChainHandler.handle(game, action);
+        }
 
-        // 9. Return response
-        return toResponse(game);
+        // 8. Return response; the cache persists the document
+        return toResponse(game, 0);
     }
 
     /**
-     * {@inheritDoc}
+     * Game for a room whose game was not initialized when it was matched
+     *
+     * <p>Played on the board and under the rule recorded with the room code, ranked by the room type.
+     *
+     * @param room     room metadata
+     * @param playerId player whose action creates the game
+     * @return the new game document
      */
-    @Override
-    public GameStateResponse getState(Long roomId, Long playerId) {
-        GameDocument game = gameRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new BizException(ErrorCodeEnum.GAME_NOT_FOUND, roomId));
-
-        validatePlayer(game, playerId);
-
-        return toResponse(game);
+    private GameDocument newGame(RoomMetadata room, Long playerId) {
+        String rankingModeType = room.getType() == null
+                ? RoomTypeEnum.CASUAL.name() : RoomTypeEnum.fromValue(room.getType()).name();
+        if (room.getRoomCode() == null) {
+            return GameDocument.createNewGameWithRandomBlack(room.getRoomId(), playerId, rankingModeType);
+        }
+        String modeType = roomCodeDao.getRule(room.getRoomCode()).toModeType(rankingModeType);
+        return GameDocument.createNewGameWithRandomBlack(room.getRoomId(), playerId, modeType,
+                roomCodeDao.getBoardSize(room.getRoomCode()));
     }
 
     /**
@@ -188,25 +292,41 @@ public class GameServiceImpl implements IGameService {
     /**
      * Convert GameDocument to GameStateResponse
      *
-     * @param game Game document
+     * <p>The document is shared through the cache, so the mutable board and history are
+     * copied rather than handed to the serializer.
+     *
+     * @param game          Game document
+     * @param historyOffset Number of leading history actions to leave out
      * @return GameStateResponse
      */
-    private GameStateResponse toResponse(GameDocument game) {
+    private GameStateResponse toResponse(GameDocument game, int historyOffset) {
+        List<GameAction> history = game.getActionHistory();
         return GameStateResponse.builder()
                 .roomId(game.getRoomId())
                 .blackPlayerId(game.getBlackPlayerId())
                 .whitePlayerId(game.getWhitePlayerId())
                 .blackReady(game.getBlackReady())
                 .whiteReady(game.getWhiteReady())
-                .currentState(game.getCurrentState())
+                .currentState(copyState(game.getCurrentState()))
                 .lastAction(game.getLastAction())
-                .actionHistory(game.getActionHistory())
+                .actionHistory(history == null ? null : new ArrayList<>(history.subList(historyOffset, history.size())))
+                .historyOffset(history == null ? null : historyOffset)
                 .version(game.getVersion())
                 .createTime(game.getCreateTime())
                 .updateTime(game.getUpdateTime())
                 .status(game.getStatus())
                 .drawProposerColor(game.getDrawProposerColor())
-                .modeType(game.getModeType())
+                .modeType(GameRuleEnum.rankingModeType(game.getModeType()))
+                .rule(GameRuleEnum.fromModeType(game.getModeType()))
                 .build();
     }
+
+    private GameStateSnapshot copyState(GameStateSnapshot state) {
+        if (state == null) {
+            return null;
+        }
+        GameStateSnapshot copy = state.deepCopy();
+        copy.setSnapshotTime(state.getSnapshotTime());
+        return copy;
+    }
 }
@@ -0,0 +1,322 @@
+package com.goody.nus.se.gomoku.gomoku.game.util;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.BoardGeometry;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+
+/**
+ * Precomputed line-pattern tables for Renju forbidden-move detection
+ *
+ * <p>A candidate black move is examined along each of the four directions through an
+ * 11-cell window centered on the move (5 cells each side). The 10 neighbors are encoded
+ * in base 3 (0=empty, 1=black, 2=white or off-board) into an index of a 3^10 entry table
+ * that is computed once at class load. Each entry already knows, for that line with the
+ * move placed, whether it makes exactly five, an overline, how many distinct fours and
+ * whether an open three is formed, so checking a move is 4 window encodes and 4 lookups.
+ *
+ * <p>The window is 11 cells rather than 9 because telling "exactly five" from an overline
+ * requires the cell just past each end of a five that touches the 9-cell window edge.
+ *
+ * <p>An open three is a three that one more stone turns into a straight four
+ * ({@code .XXXX.}). When a move would make two or more, each is confirmed one level deep: a
+ * three only counts if one of the points completing its straight four is itself allowed for
+ * black. Those points are checked with the tables alone, without confirming their threes.
+ */
+public final class RenjuPatternTable {
+
+    /**
+     * Result of checking a black move
+     */
+    public enum Verdict {
+        /**
+         * Allowed and makes no five
+         */
+        ALLOWED,
+
+        /**
+         * Makes exactly five; wins even if it would also be a double-three or double-four
+         */
+        FIVE,
+
+        /**
+         * Forbidden: six or more in a row
+         */
+        OVERLINE,
+
+        /**
+         * Forbidden: two or more fours
+         */
+        DOUBLE_FOUR,
+
+        /**
+         * Forbidden: two or more open threes
+         */
+        DOUBLE_THREE;
+
+        /**
+         * Whether black may not play this move
+         */
+        public boolean isForbidden() {
+            return this == OVERLINE || this == DOUBLE_FOUR || this == DOUBLE_THREE;
+        }
+    }
+
+    private static final int HALF = 5;
+    private static final int NEIGHBORS = HALF * 2;
+    private static final int EMPTY = 0;
+    private static final int BLACK = 1;
+    private static final int BLOCKED = 2;
+
+    private static final int FOUR_MASK = 0b11;
+    private static final int OPEN_THREE = 1 << 2;
+    private static final int FIVE = 1 << 3;
+    private static final int OVERLINE = 1 << 4;
+
+    /**
+     * Weight of each neighbor in the base-3 code, ordered -5..-1, +1..+5
+     */
+    private static final int[] WEIGHTS = new int[NEIGHBORS];
+
+    private static final byte[] TABLE;
+
+    static {
+        int weight = 1;
+        for (int i = 0; i < NEIGHBORS; i++) {
+            WEIGHTS[i] = weight;
+            weight *= 3;
+        }
+        TABLE = new byte[weight];
+        int[] line = new int[NEIGHBORS + 1];
+        for (int code = 0; code < TABLE.length; code++) {
+            decode(code, line);
+            TABLE[code] = (byte) analyze(line);
+        }
+    }
+
+    private RenjuPatternTable() {
+    }
+
+    /**
+     * Classify a black move on the given board
+     *
+     * @param board    the game board (the target cell must be empty)
+     * @param position the candidate move
+     * @return the verdict for black playing there
+     */
+    public static Verdict check(BitBoard board, Position position) {
+        BoardGeometry geometry = BoardGeometry.of(board.getSize());
+        return check(board, geometry, geometry.index(position.getX(), position.getY()), true);
+    }
+
+    private static Verdict check(BitBoard board, BoardGeometry geometry, int center, boolean confirmThrees) {
+        boolean overline = false;
+        int fours = 0;
+        int threes = 0;
+        int threeDirections = 0;
+        for (int direction = 0; direction < BitBoard.DIRECTION_COUNT; direction++) {
+            int pattern = TABLE[encode(board, geometry, center, direction)];
+            if ((pattern & FIVE) != 0) {
+                return Verdict.FIVE;
+            }
+            overline |= (pattern & OVERLINE) != 0;
+            int lineFours = pattern & FOUR_MASK;
+            fours += lineFours;
+            if (lineFours == 0 && (pattern & OPEN_THREE) != 0) {
+                threes++;
+                threeDirections |= 1 << direction;
+            }
+        }
+        if (overline) {
+            return Verdict.OVERLINE;
+        }
+        if (fours >= 2) {
+            return Verdict.DOUBLE_FOUR;
+        }
+        if (threes >= 2 && (!confirmThrees || realThrees(board, geometry, center, threeDirections) >= 2)) {
+            return Verdict.DOUBLE_THREE;
+        }
+        return Verdict.ALLOWED;
+    }
+
+    /**
+     * Count the open threes a black move at center makes along the given directions that have
+     * a point completing their straight four which is not itself forbidden
+     */
+    private static int realThrees(BitBoard board, BoardGeometry geometry, int center, int directions) {
+        BitBoard placed = board.copy();
+        placed.set(center / board.getSize(), center % board.getSize(), BitBoard.BLACK);
+        int[] line = new int[NEIGHBORS + 1];
+        int[] cells = new int[NEIGHBORS + 1];
+        int real = 0;
+        for (int direction = 0; direction < BitBoard.DIRECTION_COUNT; direction++) {
+            if ((directions & (1 << direction)) == 0) {
+                continue;
+            }
+            decode(encode(board, geometry, center, direction), line);
+            lineCells(geometry, center, direction, cells);
+            for (int e = 1; e < line.length - 1; e++) {
+                if (line[e] != EMPTY) {
+                    continue;
+                }
+                line[e] = BLACK;
+                boolean completes = isStraightFour(line);
+                line[e] = EMPTY;
+                if (completes && !check(placed, geometry, cells[e], false).isForbidden()) {
+                    real++;
+                    break;
+                }
+            }
+        }
+        return real;
+    }
+
+    /**
+     * Cell indices of the 11-cell window through center along one direction, in line order
+     */
+    private static void lineCells(BoardGeometry geometry, int center, int direction, int[] cells) {
+        cells[HALF] = center;
+        for (int i = HALF - 1; i >= 0; i--) {
+            cells[i] = cells[i + 1] == BoardGeometry.OFF_BOARD
+                    ? BoardGeometry.OFF_BOARD : geometry.previous(direction, cells[i + 1]);
+        }
+        for (int i = HALF + 1; i < cells.length; i++) {
+            cells[i] = cells[i - 1] == BoardGeometry.OFF_BOARD
+                    ? BoardGeometry.OFF_BOARD : geometry.next(direction, cells[i - 1]);
+        }
+    }
+
+    /**
+     * Encode the 10 neighbors of a cell along one direction, walking the geometry's neighbor
+     * tables outward from the center so no step needs a bounds check
+     */
+    private static int encode(BitBoard board, BoardGeometry geometry, int center, int direction) {
+        int code = 0;
+        // Before the center: weights HALF-1 down to 0
+        int index = center;
+        for (int i = HALF - 1; i >= 0; i--) {
+            if (index != BoardGeometry.OFF_BOARD) {
+                index = geometry.previous(direction, index);
+            }
+            code += cell(board, index) * WEIGHTS[i];
+        }
+        // After the center: weights HALF up to NEIGHBORS-1
+        index = center;
+        for (int i = HALF; i < NEIGHBORS; i++) {
+            index = geometry.next(direction, index);
+            int cell = cell(board, index);
+            code += cell * WEIGHTS[i];
+            if (cell == BLOCKED) {
+                // Cells past a blocker cannot join a line through the center
+                for (i++; i < NEIGHBORS; i++) {
+                    code += BLOCKED * WEIGHTS[i];
+                }
+                break;
+            }
+        }
+        return code;
+    }
+
+    private static int cell(BitBoard board, int index) {
+        if (index == BoardGeometry.OFF_BOARD) {
+            return BLOCKED;
+        }
+        int value = board.getAt(index);
+        return value == BitBoard.EMPTY ? EMPTY : value == BitBoard.BLACK ? BLACK : BLOCKED;
+    }
+
+    /**
+     * Expand a code into an 11-cell line with the center (index 5) set to black
+     */
+    private static void decode(int code, int[] line) {
+        int i = 0;
+        for (int index = 0; index < line.length; index++) {
+            if (index == HALF) {
+                line[index] = BLACK;
+                continue;
+            }
+            line[index] = (code / WEIGHTS[i++]) % 3;
+        }
+    }
+
+    /**
+     * Compute the pattern flags for one line with the center stone placed
+     */
+    private static int analyze(int[] line) {
+        int run = runThrough(line, HALF);
+        if (run == 5) {
+            return FIVE;
+        }
+        int flags = run > 5 ? OVERLINE : 0;
+
+        // Fours: distinct stone sets that one more stone turns into exactly five
+        int firstFour = -1;
+        int fourCount = 0;
+        for (int e = 1; e < line.length - 1; e++) {
+            if (line[e] != EMPTY) {
+                continue;
+            }
+            line[e] = BLACK;
+            int start = runStart(line, HALF);
+            if (runThrough(line, HALF) == 5 && start <= e && e < start + 5) {
+                int stones = (((1 << 5) - 1) << start) & ~(1 << e);
+                if (fourCount == 0) {
+                    firstFour = stones;
+                    fourCount = 1;
+                } else if (stones != firstFour) {
+                    fourCount = 2;
+                }
+            }
+            line[e] = EMPTY;
+        }
+        flags |= fourCount;
+
+        // Open three: one more stone makes a straight four .XXXX. with both ends making five
+        if (fourCount == 0) {
+            for (int e = 1; e < line.length - 1 && (flags & OPEN_THREE) == 0; e++) {
+                if (line[e] != EMPTY) {
+                    continue;
+                }
+                line[e] = BLACK;
+                if (isStraightFour(line)) {
+                    flags |= OPEN_THREE;
+                }
+                line[e] = EMPTY;
+            }
+        }
+        return flags;
+    }
+
+    private static boolean isStraightFour(int[] line) {
+        if (runThrough(line, HALF) != 4) {
+            return false;
+        }
+        int start = runStart(line, HALF);
+        int end = start + 3;
+        return start - 1 >= 0 && end + 1 < line.length
+                && line[start - 1] == EMPTY && line[end + 1] == EMPTY
+                && makesFive(line, start - 1) && makesFive(line, end + 1);
+    }
+
+    private static boolean makesFive(int[] line, int index) {
+        line[index] = BLACK;
+        boolean five = runThrough(line, index) == 5;
+        line[index] = EMPTY;
+        return five;
+    }
+
+    private static int runStart(int[] line, int index) {
+        int start = index;
+        while (start > 0 && line[start - 1] == BLACK) {
+            start--;
+        }
+        return start;
+    }
+
+    private static int runThrough(int[] line, int index) {
+        int end = index;
+        while (end < line.length - 1 && line[end + 1] == BLACK) {
+            end++;
+        }
+        return end - runStart(line, index) + 1;
+    }
+}
@@ -1,11 +1,13 @@
 package com.goody.nus.se.gomoku.gomoku.game.util;
 
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Utility class for checking win conditions in Gomoku
  * Checks if 5 or more stones in a row exist (horizontal, vertical, or diagonal)
+ * using the incremental run lengths kept by {@link BitBoard}
  *
  * @author Haotian
  * @version 1.0, 2025/10/14
@@ -14,14 +16,21 @@ import lombok.extern.slf4j.Slf4j;
 public class WinConditionChecker {
 
     /**
-     * Check if the last move resulted in a win
+     * Number of stones in a row needed to win
+     */
+    public static final int WIN_LENGTH = 5;
+
+    /**
+     * Check if a move wins the game
+     * Works both before the stone is placed (empty cell) and after (cell holds the color);
+     * either way the answer is a constant-time lookup in the board's run-length index
      *
      * @param board    the game board
-     * @param position the last move position
+     * @param position the move position
      * @param color    the player color value (1 for BLACK, 2 for WHITE)
      * @return true if the move wins the game, false otherwise
      */
-    public static boolean checkWin(int[][] board, Position position, int color) {
+    public static boolean checkWin(BitBoard board, Position position, int color) {
         if (board == null || position == null) {
             return false;
         }
@@ -29,94 +38,23 @@ public class WinConditionChecker {
         int x = position.getX();
         int y = position.getY();
 
-        // Check 4 directions: horizontal, vertical, diagonal, anti-diagonal
-        return checkDirection(board, x, y, color, 1, 0) ||   // Horizontal
-                checkDirection(board, x, y, color, 0, 1) ||   // Vertical
-                checkDirection(board, x, y, color, 1, 1) ||   // Diagonal (\)
-                checkDirection(board, x, y, color, 1, -1);    // Anti-diagonal (/)
-    }
-
-    /**
-     * Check if there are 5 or more stones in a row in a specific direction
-     *
-     * @param board the game board
-     * @param x     the x coordinate
-     * @param y     the y coordinate
-     * @param color the player color value
-     * @param dx    the x direction (-1, 0, or 1)
-     * @param dy    the y direction (-1, 0, or 1)
-     * @return true if 5 or more stones in a row, false otherwise
-     */
-    private static boolean checkDirection(int[][] board, int x, int y, int color, int dx, int dy) {
-        int count = 1; // Count the current stone
-
-        // Count in positive direction
-        count += countStones(board, x, y, color, dx, dy);
-
-        // Count in negative direction
-        count += countStones(board, x, y, color, -dx, -dy);
-
-        return count >= 5;
-    }
-
-    /**
-     * Count consecutive stones in a specific direction
-     *
-     * @param board the game board
-     * @param x     the starting x coordinate
-     * @param y     the starting y coordinate
-     * @param color the player color value
-     * @param dx    the x direction
-     * @param dy    the y direction
-     * @return the count of consecutive stones
-     */
-    private static int countStones(int[][] board, int x, int y, int color, int dx, int dy) {
-        int count = 0;
-        int boardSize = board.length;
-        int currentX = x + dx;
-        int currentY = y + dy;
-
-        while (isValidPosition(currentX, currentY, boardSize) &&
-                board[currentX][currentY] == color) {
-            count++;
-            currentX += dx;
-            currentY += dy;
+        if (board.isEmpty(x, y)) {
+            return board.longestRunIfPlaced(x, y, color) >= WIN_LENGTH;
         }
-
-        return count;
-    }
-
-    /**
-     * Check if a position is valid (within board bounds)
-     *
-     * @param x         the x coordinate
-     * @param y         the y coordinate
-     * @param boardSize the board size
-     * @return true if valid, false otherwise
-     */
-    private static boolean isValidPosition(int x, int y, int boardSize) {
-        return x >= 0 && x < boardSize && y >= 0 && y < boardSize;
+        return board.is(x, y, color) && board.longestRun(x, y) >= WIN_LENGTH;
     }
 
     /**
      * Check if the board is full (draw condition)
+     * Uses the board's stone counter instead of scanning every cell
      *
      * @param board the game board
      * @return true if board is full, false otherwise
      */
-    public static boolean isBoardFull(int[][] board) {
+    public static boolean isBoardFull(BitBoard board) {
         if (board == null) {
             return false;
         }
-
-        for (int[] row : board) {
-            for (int cell : row) {
-                if (cell == 0) {
-                    return false; // Found an empty cell
-                }
-            }
-        }
-
-        return true; // No empty cells found
+        return board.isFull();
     }
 }
@@ -3,6 +3,8 @@ package com.goody.nus.se.gomoku.gomoku.matching.service.impl;
 import com.goody.nus.se.gomoku.gomoku.api.request.MatchRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.CancelMatchResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.MatchResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomTypeEnum;
 import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchBizService;
 import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
@@ -64,8 +66,10 @@ public class MatchBizServiceImpl implements IMatchBizService {
         String mode = request.getMode();
         RoomTypeEnum roomType = "casual".equalsIgnoreCase(mode) ? RoomTypeEnum.CASUAL : RoomTypeEnum.RANKED;
 
-        // Map mode to modeType for ranking system (RANKED, CASUAL, PRIVATE)
-        String modeType = "casual".equalsIgnoreCase(mode) ? "CASUAL" : "RANKED";
+        // Map mode to modeType for ranking system (RANKED, CASUAL, PRIVATE), suffixed with the rule;
+        // the match service already rejected unknown rules
+        String modeType = GameRuleEnum.orDefault(request.getRule())
+                .toModeType("casual".equalsIgnoreCase(mode) ? "CASUAL" : "RANKED");
 
         Long player1Id = Long.parseLong(players.get(0));
         Long player2Id = Long.parseLong(players.get(1));
@@ -96,8 +100,10 @@ public class MatchBizServiceImpl implements IMatchBizService {
         // Step 2: Initialize game state in MongoDB (games collection)
         // This ensures that when clients query game state, the document already exists
         // Note: RoomStateService.initializeGameState() is idempotent, safe to call multiple times
-        roomStateService.initializeGameState(roomId, player1Id, player2Id, modeType);
-        log.info("[MatchBiz] Initialized game state in MongoDB: roomId={}, modeType={}", roomId, modeType);
+        int boardSize = BoardSizeEnum.orDefault(request.getBoardSize());
+        roomStateService.initializeGameState(roomId, player1Id, player2Id, modeType, boardSize);
+        log.info("[MatchBiz] Initialized game state in MongoDB: roomId={}, modeType={}, boardSize={}",
+                roomId, modeType, boardSize);
 
         return response;
     }
@@ -6,18 +6,25 @@ import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.CreateRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutorProperties;
 import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
 import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
 import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
 import com.goody.nus.se.gomoku.gomoku.room.Service.RoomCodeService;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import static com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum.INVALID_GAME_RULE;
 import static com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum.UNKNOWN_ERROR;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,6 +51,12 @@ class RoomBizServiceImplTest {
     @Mock
     private IMatchService matchService;
 
+    @Mock
+    private RoomTtlRenewer roomTtlRenewer;
+
+    @Spy
+    private RoomActionExecutor roomActionExecutor = new RoomActionExecutor(new RoomActionExecutorProperties());
+
     @InjectMocks
     private RoomBizServiceImpl roomBizService;
 
@@ -52,20 +65,25 @@ class RoomBizServiceImplTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        roomActionExecutor.shutdown();
+    }
+
     @Test
     void testCreateRoom_Success() {
         String playerId = "123";
         String roomCode = "ABCD1234";
 
         when(matchService.findPlayerQueue(playerId)).thenReturn(null);
-        when(roomCodeService.createRoom()).thenReturn(roomCode);
+        when(roomCodeService.createRoom(15, GameRuleEnum.STANDARD)).thenReturn(roomCode);
 
         CreateRoomResponse response = roomBizService.createRoom(playerId);
 
         assertNotNull(response);
         assertEquals(roomCode, response.getRoomCode());
         verify(matchService).findPlayerQueue(playerId);
-        verify(roomCodeService).createRoom();
+        verify(roomCodeService).createRoom(15, GameRuleEnum.STANDARD);
     }
 
     @Test
@@ -77,7 +95,15 @@ class RoomBizServiceImplTest {
 
         assertThrows(BizException.class, () -> roomBizService.createRoom(playerId));
         verify(matchService).findPlayerQueue(playerId);
-        verify(roomCodeService, never()).createRoom();
+        verify(roomCodeService, never()).createRoom(anyInt(), any());
+    }
+
+    @Test
+    void testCreateRoom_UnknownRule_ThrowsException() {
+        BizException e = assertThrows(BizException.class, () -> roomBizService.createRoom("123", null, "pente"));
+
+        assertEquals(INVALID_GAME_RULE, e.getErrorCode());
+        verify(roomCodeService, never()).createRoom(anyInt(), any());
     }
 
     @Test
@@ -192,8 +218,10 @@ class RoomBizServiceImplTest {
         assertEquals("success", response.getStatus());
         verify(gameRoomService).findRoomIdByRoomCode(roomCode);
         verify(gameRoomService).findById(roomId);
+        verify(roomActionExecutor).submit(eq(roomId), any());
         verify(gameService).executeAction(eq(roomId), eq(123L), any());
         verify(roomCodeService).leaveRoom(request, playerId);
+        verify(roomTtlRenewer).forget(roomCode);
     }
 
     @Test
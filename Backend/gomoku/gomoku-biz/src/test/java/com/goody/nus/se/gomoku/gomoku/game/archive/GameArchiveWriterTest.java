@@ -0,0 +1,166 @@
+package com.goody.nus.se.gomoku.gomoku.game.archive;
+
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameArchiveWriter
+ */
+class GameArchiveWriterTest {
+
+    @Mock
+    private IGameHistoryService gameHistoryService;
+
+    private GameArchiveProperties properties;
+    private GameArchiveWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new GameArchiveProperties();
+        properties.setBatchSize(3);
+        properties.setCapacity(4);
+        properties.setMaxAttempts(2);
+        // The flusher thread is not started; tests drive flush() directly
+        writer = new GameArchiveWriter(gameHistoryService, properties);
+    }
+
+    @Test
+    void testGamesAreBufferedUntilFlush() {
+        CompletableFuture<Void> first = writer.archive(game(1L), 1, "WIN");
+        CompletableFuture<Void> second = writer.archive(game(2L), 4, "DRAW");
+
+        verify(gameHistoryService, never()).archiveAll(anyList());
+        assertFalse(first.isDone());
+        assertEquals(2, writer.pendingCount());
+
+        assertEquals(2, writer.flush());
+
+        List<GameHistoryDocument> batch = capturedBatch();
+        assertEquals(List.of(1L, 2L), batch.stream().map(GameHistoryDocument::getRoomId).toList());
+        assertEquals(List.of(1, 4), batch.stream().map(GameHistoryDocument::getGameNumber).toList());
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    void testGameIsSnapshottedBeforeReset() {
+        GameDocument game = game(1L);
+        writer.archive(game, 1, "WIN");
+        game.resetForNewGame();
+
+        writer.flush();
+
+        GameHistoryDocument archived = capturedBatch().get(0);
+        assertEquals(100L, archived.getBlackPlayerId());
+        assertEquals(100L, archived.getWinnerId());
+    }
+
+    @Test
+    void testFlushWritesAtMostOneBatch() {
+        for (long roomId = 1; roomId <= 4; roomId++) {
+            writer.archive(game(roomId), 1, "WIN");
+        }
+
+        assertEquals(3, writer.flush());
+        assertEquals(1, writer.pendingCount());
+    }
+
+    @Test
+    void testFullBatchIsWrittenWithoutWaitingForInterval() {
+        properties.setFlushIntervalMillis(60_000);
+        writer.start();
+        try {
+            for (long roomId = 1; roomId <= 3; roomId++) {
+                writer.archive(game(roomId), 1, "WIN");
+            }
+
+            verify(gameHistoryService, timeout(5000)).archiveAll(anyList());
+        } finally {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void testFailedBatchIsRetriedThenGivenUp() {
+        when(gameHistoryService.archiveAll(anyList())).thenThrow(new IllegalStateException("mongo down"));
+        CompletableFuture<Void> archived = writer.archive(game(1L), 1, "WIN");
+
+        assertEquals(0, writer.flush());
+        assertFalse(archived.isDone());
+        assertEquals(1, writer.pendingCount());
+
+        writer.flush();
+        assertTrue(archived.isCompletedExceptionally());
+        assertEquals(0, writer.pendingCount());
+        verify(gameHistoryService, times(2)).archiveAll(anyList());
+    }
+
+    @Test
+    void testFullBufferWritesOnCallerThread() throws Exception {
+        for (long roomId = 1; roomId <= 4; roomId++) {
+            writer.archive(game(roomId), 1, "WIN");
+        }
+
+        CompletableFuture<Void> overflow = writer.archive(game(5L), 1, "WIN");
+
+        overflow.get(1, TimeUnit.SECONDS);
+        assertEquals(5L, capturedBatch().get(0).getRoomId());
+        assertEquals(4, writer.pendingCount());
+    }
+
+    @Test
+    void testStopDrainsBuffer() {
+        for (long roomId = 1; roomId <= 4; roomId++) {
+            writer.archive(game(roomId), 1, "WIN");
+        }
+
+        writer.stop();
+
+        verify(gameHistoryService, times(2)).archiveAll(anyList());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GameHistoryDocument> capturedBatch() {
+        ArgumentCaptor<List<GameHistoryDocument>> batch = ArgumentCaptor.forClass(List.class);
+        verify(gameHistoryService).archiveAll(batch.capture());
+        return batch.getValue();
+    }
+
+    private static GameDocument game(Long roomId) {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.setWinner(1);
+        return GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.FINISHED)
+                .currentState(state)
+                .gameCount(1)
+                .build();
+    }
+}
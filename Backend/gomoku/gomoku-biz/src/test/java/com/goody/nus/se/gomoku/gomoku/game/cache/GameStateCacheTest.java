@@ -0,0 +1,659 @@
+package com.goody.nus.se.gomoku.gomoku.game.cache;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameStateCache
+ */
+class GameStateCacheTest {
+
+    private static final long WINDOW = 1000;
+    private static final long IDLE = 60_000;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameStateCacheProperties properties;
+    private GameStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new GameStateCacheProperties();
+        properties.setDurabilityWindowMillis(WINDOW);
+        properties.setIdleTimeoutMillis(IDLE);
+        // The flusher thread is not started; tests drive sweep() directly
+        cache = new GameStateCache(gameRepository, properties, GameJournal.disabled());
+        when(gameRepository.insertIfAbsent(any())).thenReturn(true);
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(true);
+        when(gameRepository.appendIfVersion(any(), any(), anyInt(), anyLong())).thenReturn(true);
+        when(gameRepository.existsWithVersion(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void testReadLoadsOnceThenServesFromMemory() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        assertSame(game, cache.read(1L, g -> g));
+        assertSame(game, cache.read(1L, g -> g));
+
+        verify(gameRepository, times(1)).findByRoomId(1L);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testUnchangedRoomIsRevalidatedWithoutReload() {
+        properties.setRevalidateMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.read(1L, g -> g);
+        assertSame(game, cache.read(1L, g -> g));
+
+        verify(gameRepository).existsWithVersion(1L, 0L);
+        verify(gameRepository, times(1)).findByRoomId(1L);
+    }
+
+    @Test
+    void testRoomWrittenByAnotherInstanceIsReloaded() {
+        properties.setRevalidateMillis(0);
+        GameDocument stale = game(1L, GameStatus.PLAYING);
+        GameDocument fresh = game(1L, GameStatus.PLAYING);
+        fresh.setVersion(1L);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(gameRepository.existsWithVersion(1L, 0L)).thenReturn(false);
+
+        cache.read(1L, g -> g);
+
+        assertSame(fresh, cache.read(1L, g -> g));
+        assertSame(fresh, cache.read(1L, g -> g));
+        verify(gameRepository, times(2)).findByRoomId(1L);
+    }
+
+    @Test
+    void testReadMissingGameIsNotKept() {
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.empty());
+
+        assertNull(cache.read(1L, g -> g));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testWritesAreCoalescedUntilWindowElapses() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        for (int i = 0; i < 5; i++) {
+            cache.write(1L, () -> null, update(g -> g.setVersion(g.getVersion() + 1)));
+        }
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+        assertEquals(1, cache.dirtyCount());
+
+        // Younger than half the window: not flushed yet
+        cache.sweep(System.currentTimeMillis());
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.dirtyCount());
+        assertEquals(5L, game.getVersion());
+    }
+
+    @Test
+    void testZeroWindowWritesThrough() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+        cache.write(1L, () -> null, update(g -> g.setVersion(2L)));
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        verify(gameRepository, times(1)).appendIfVersion(eq(game), any(), anyInt(), anyLong());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testGameEndIsFlushedImmediately() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+
+        cache.write(1L, () -> null, update(g -> g.setStatus(GameStatus.FINISHED)));
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testRestartIsFlushedImmediately() {
+        GameDocument game = game(1L, GameStatus.FINISHED);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, g -> {
+            g.resetForNewGame();
+            return null;
+        });
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(2, game.getGameCount());
+    }
+
+    @Test
+    void testRestartIsSavedOnlyAfterArchive() {
+        GameDocument game = game(1L, GameStatus.FINISHED);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        CompletableFuture<Void> archived = new CompletableFuture<>();
+
+        cache.write(1L, () -> null, g -> {
+            cache.saveAfter(1L, archived);
+            g.resetForNewGame();
+            return null;
+        });
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+        cache.write(1L, () -> null, update(g -> g.setVersion(g.getVersion() + 1)));
+
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+        assertEquals(1, cache.dirtyCount());
+
+        archived.complete(null);
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testRestartIsSavedWhenArchiveFails() {
+        GameDocument game = game(1L, GameStatus.FINISHED);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        CompletableFuture<Void> archived = new CompletableFuture<>();
+
+        cache.write(1L, () -> null, g -> {
+            cache.saveAfter(1L, archived);
+            g.resetForNewGame();
+            return null;
+        });
+        archived.completeExceptionally(new IllegalStateException("archive failed"));
+        cache.flushAll();
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testJournaledChangeIsReleasedOnceSaved() {
+        GameJournal journal = mock(GameJournal.class);
+        when(journal.isEnabled()).thenReturn(true);
+        cache = new GameStateCache(gameRepository, properties, journal);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+        verify(journal).append(game, 0L, true);
+        verify(journal, never()).release(1L);
+
+        cache.flushAll();
+        verify(journal).release(1L);
+    }
+
+    @Test
+    void testChangeIsSavedImmediatelyWhenJournalFails() {
+        GameJournal journal = mock(GameJournal.class);
+        when(journal.isEnabled()).thenReturn(true);
+        doThrow(new IllegalStateException("disk full")).when(journal).append(any(), any(), anyBoolean());
+        cache = new GameStateCache(gameRepository, properties, journal);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testCreatorUsedWhenRoomHasNoGame() {
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.empty());
+        GameDocument created = game(1L, GameStatus.WAITING);
+
+        cache.write(1L, () -> created, update(g -> g.setVersion(1L)));
+
+        assertSame(created, cache.read(1L, g -> g));
+        verify(gameRepository, times(1)).findByRoomId(1L);
+        assertEquals(1, cache.dirtyCount());
+    }
+
+    @Test
+    void testRejectedActionKeepsDocumentClean() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        assertThrows(BizException.class, () -> cache.write(1L, () -> null, g -> {
+            throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION, g);
+        }));
+
+        assertEquals(0, cache.dirtyCount());
+        assertSame(game, cache.read(1L, g -> g));
+        verify(gameRepository, times(1)).findByRoomId(1L);
+    }
+
+    @Test
+    void testRejectedFirstActionDoesNotKeepCreatedGame() {
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(BizException.class, () -> cache.write(1L, () -> game(1L, GameStatus.WAITING), g -> {
+            throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION, g);
+        }));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testUnexpectedFailureRevertsToSavedState() {
+        GameDocument broken = game(1L, GameStatus.PLAYING);
+        GameDocument saved = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(broken), Optional.of(saved));
+
+        assertThrows(IllegalStateException.class, () -> cache.write(1L, () -> null, g -> {
+            g.setVersion(99L);
+            throw new IllegalStateException("boom");
+        }));
+
+        assertSame(saved, cache.read(1L, g -> g));
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+    }
+
+    @Test
+    void testIdleRoomIsFlushedAndEvicted() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+
+        cache.sweep(System.currentTimeMillis() + IDLE);
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+        assertEquals(0, cache.size());
+        cache.read(1L, g -> g);
+        verify(gameRepository, times(2)).findByRoomId(1L);
+    }
+
+    @Test
+    void testOverCapacityEvictsLeastRecentlyUsed() throws InterruptedException {
+        properties.setMaxRooms(2);
+        for (long roomId = 1; roomId <= 3; roomId++) {
+            when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game(roomId, GameStatus.PLAYING)));
+            cache.read(roomId, g -> g);
+            Thread.sleep(2);
+        }
+        // Touch room 1 so room 2 becomes the least recently used
+        cache.read(1L, g -> g);
+
+        cache.sweep(System.currentTimeMillis());
+
+        assertEquals(2, cache.size());
+        cache.read(2L, g -> g);
+        verify(gameRepository, times(2)).findByRoomId(2L);
+        verify(gameRepository, times(1)).findByRoomId(1L);
+    }
+
+    @Test
+    void testFailedSaveIsRetried() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        doThrow(new RuntimeException("mongo down")).doReturn(true).when(gameRepository).replaceIfVersion(eq(game), any());
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+        assertEquals(1, cache.dirtyCount());
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+        assertEquals(0, cache.dirtyCount());
+        verify(gameRepository, times(2)).replaceIfVersion(eq(game), any());
+    }
+
+    @Test
+    void testStopFlushesPendingChanges() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+
+        cache.stop();
+
+        verify(gameRepository, times(1)).replaceIfVersion(eq(game), any());
+    }
+
+    @Test
+    void testInvalidateReloadsFromRepository() {
+        GameDocument first = game(1L, GameStatus.PLAYING);
+        GameDocument second = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(first), Optional.of(second));
+        cache.read(1L, g -> g);
+
+        cache.invalidate(1L);
+
+        assertSame(second, cache.read(1L, g -> g));
+    }
+
+    @Test
+    void testSaveIsConditionalOnLastSavedVersion() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        properties.setDurabilityWindowMillis(0);
+
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+        cache.write(1L, () -> null, update(g -> g.setVersion(2L)));
+
+        verify(gameRepository).replaceIfVersion(same(game), eq(0L));
+        verify(gameRepository).appendIfVersion(same(game), eq(1L), eq(0), anyLong());
+    }
+
+    @Test
+    void testNewGameIsInserted() {
+        properties.setDurabilityWindowMillis(0);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.empty());
+        GameDocument created = game(1L, GameStatus.WAITING);
+
+        cache.write(1L, () -> created, update(g -> g.setVersion(1L)));
+        cache.write(1L, () -> null, update(g -> g.setVersion(2L)));
+
+        verify(gameRepository).insertIfAbsent(same(created));
+        verify(gameRepository).appendIfVersion(same(created), eq(1L), eq(0), anyLong());
+    }
+
+    @Test
+    void testUnchangedVersionIsBumpedOnSave() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.setBlackReady(true)));
+
+        assertEquals(1L, game.getVersion());
+        verify(gameRepository).replaceIfVersion(same(game), eq(0L));
+    }
+
+    @Test
+    void testConflictOnImmediateSaveFailsActionAndReloads() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument stale = game(1L, GameStatus.PLAYING);
+        GameDocument fresh = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(gameRepository.replaceIfVersion(same(stale), any())).thenReturn(false);
+
+        BizException e = assertThrows(BizException.class,
+                () -> cache.write(1L, () -> null, update(g -> g.setVersion(1L))));
+
+        assertEquals(ErrorCodeEnum.GAME_VERSION_CONFLICT, e.getErrorCode());
+        assertEquals(0, cache.size());
+        assertSame(fresh, cache.read(1L, g -> g));
+    }
+
+    @Test
+    void testConflictOnImmediateSaveKeepsEarlierAcknowledgedMoves() {
+        GameDocument stale = game(1L, GameStatus.PLAYING);
+        GameDocument fresh = game(1L, GameStatus.PLAYING);
+        fresh.addActionToHistory(move(200L, PlayerColor.WHITE, 0, 0, 4_000L));
+        fresh.setVersion(1L);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(gameRepository.replaceIfVersion(same(stale), any())).thenReturn(false);
+        cache.write(1L, () -> null, play(move(100L, PlayerColor.BLACK, 7, 7, 5_000L)));
+
+        BizException e = assertThrows(BizException.class,
+                () -> cache.write(1L, () -> null, update(g -> g.setStatus(GameStatus.FINISHED))));
+
+        assertEquals(ErrorCodeEnum.GAME_VERSION_CONFLICT, e.getErrorCode());
+        verify(gameRepository).replaceIfVersion(same(fresh), eq(1L));
+        assertEquals(2, fresh.getActionHistory().size());
+        assertEquals(GameStatus.PLAYING, fresh.getStatus());
+        assertEquals(0, cache.dirtyCount());
+        assertSame(fresh, cache.read(1L, g -> g));
+    }
+
+    @Test
+    void testConflictOnBackgroundFlushReplaysAcknowledgedMoves() {
+        GameDocument stale = game(1L, GameStatus.PLAYING);
+        GameDocument fresh = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(gameRepository.replaceIfVersion(same(stale), any())).thenReturn(false);
+        GameAction black = move(100L, PlayerColor.BLACK, 7, 7, 5_000L);
+        GameAction white = move(200L, PlayerColor.WHITE, 7, 8, 6_000L);
+        cache.write(1L, () -> null, play(black));
+        cache.write(1L, () -> null, play(white));
+        // Another instance writes the room before this one saves
+        fresh.addActionToHistory(move(100L, PlayerColor.BLACK, 0, 0, 4_000L));
+        fresh.setVersion(1L);
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+
+        verify(gameRepository).replaceIfVersion(same(fresh), eq(1L));
+        assertEquals(3, fresh.getActionHistory().size());
+        assertSame(black, fresh.getActionHistory().get(1));
+        assertSame(white, fresh.getActionHistory().get(2));
+        assertEquals(3L, fresh.getVersion());
+        assertEquals(0, cache.dirtyCount());
+        assertSame(fresh, cache.read(1L, g -> g));
+    }
+
+    @Test
+    void testConflictOnBackgroundFlushDropsRoomAfterRepeatedRebases() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(false);
+        cache.write(1L, () -> null, update(g -> g.setVersion(1L)));
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+
+        verify(gameRepository, times(1 + GameStateCache.MAX_REBASE_ATTEMPTS)).replaceIfVersion(any(), any());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.dirtyCount());
+    }
+
+    @Test
+    void testConflictedRoomIsRebasedOnceRepositoryIsBack() {
+        GameDocument stale = game(1L, GameStatus.PLAYING);
+        GameDocument fresh = game(1L, GameStatus.PLAYING);
+        fresh.setVersion(1L);
+        when(gameRepository.findByRoomId(1L))
+                .thenReturn(Optional.of(stale))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(Optional.of(fresh));
+        when(gameRepository.replaceIfVersion(same(stale), any())).thenReturn(false);
+        cache.write(1L, () -> null, play(move(100L, PlayerColor.BLACK, 7, 7, 5_000L)));
+
+        cache.sweep(System.currentTimeMillis() + WINDOW);
+        assertEquals(1, cache.dirtyCount());
+
+        assertSame(fresh, cache.read(1L, g -> g));
+        assertEquals(1, fresh.getActionHistory().size());
+        verify(gameRepository).replaceIfVersion(same(fresh), eq(1L));
+    }
+
+    @Test
+    void testAppendedMovesAreSavedAsDelta() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(100L, PlayerColor.BLACK, 7, 7, 5_000L))));
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(200L, PlayerColor.WHITE, 7, 8, 6_000L))));
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(100L, PlayerColor.BLACK, 8, 8, 7_000L))));
+
+        // The first save after a load cannot know how the stored history is laid out
+        verify(gameRepository).replaceIfVersion(same(game), eq(0L));
+        verify(gameRepository).appendIfVersion(same(game), eq(1L), eq(1), eq(5_000L));
+        verify(gameRepository).appendIfVersion(same(game), eq(2L), eq(2), eq(5_000L));
+    }
+
+    @Test
+    void testUndoIsSavedAsReplacement() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, update(g -> {
+            g.addActionToHistory(move(100L, PlayerColor.BLACK, 7, 7, 5_000L));
+            g.addActionToHistory(move(200L, PlayerColor.WHITE, 7, 8, 6_000L));
+        }));
+
+        cache.write(1L, () -> null, update(g -> {
+            g.popMove();
+            g.addActionToHistory(move(200L, PlayerColor.WHITE, 9, 9, 7_000L));
+        }));
+
+        verify(gameRepository).replaceIfVersion(same(game), eq(1L));
+        verify(gameRepository, never()).appendIfVersion(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testRestartIsSavedAsReplacement() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(100L, PlayerColor.BLACK, 7, 7, 5_000L))));
+
+        cache.write(1L, () -> null, update(GameDocument::resetForNewGame));
+
+        verify(gameRepository).replaceIfVersion(same(game), eq(1L));
+        verify(gameRepository, never()).appendIfVersion(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testUnpackableActionIsSavedAsReplacement() {
+        properties.setDurabilityWindowMillis(0);
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(100L, PlayerColor.BLACK, 7, 7, 5_000L))));
+
+        // Older than the stored base time, so it cannot be packed against it
+        cache.write(1L, () -> null, update(g -> g.addActionToHistory(move(200L, PlayerColor.WHITE, 7, 8, 4_000L))));
+
+        verify(gameRepository).replaceIfVersion(same(game), eq(1L));
+        verify(gameRepository, never()).appendIfVersion(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testReadSinceKnowsHistoryLengthAtEarlierVersions() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, play(move(100L, PlayerColor.BLACK, 7, 7, 5_000L)));
+        cache.write(1L, () -> null, play(move(200L, PlayerColor.WHITE, 7, 8, 6_000L)));
+
+        assertEquals(Integer.valueOf(0), cache.<Integer>readSince(1L, 0L, (g, size) -> size));
+        assertEquals(Integer.valueOf(1), cache.<Integer>readSince(1L, 1L, (g, size) -> size));
+        assertEquals(Integer.valueOf(2), cache.<Integer>readSince(1L, 2L, (g, size) -> size));
+        assertNull(cache.<Integer>readSince(1L, 99L, (g, size) -> size));
+        assertNull(cache.<Integer>readSince(1L, null, (g, size) -> size));
+    }
+
+    @Test
+    void testReadSinceForgetsVersionsBeforeUndoOrReset() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+        cache.write(1L, () -> null, play(move(100L, PlayerColor.BLACK, 7, 7, 5_000L)));
+        cache.write(1L, () -> null, play(move(200L, PlayerColor.WHITE, 7, 8, 6_000L)));
+
+        cache.write(1L, () -> null, update(g -> {
+            g.popMove();
+            g.setVersion(g.getVersion() + 1);
+        }));
+        assertNull(cache.<Integer>readSince(1L, 1L, (g, size) -> size));
+        assertEquals(Integer.valueOf(1), cache.<Integer>readSince(1L, 3L, (g, size) -> size));
+
+        cache.write(1L, () -> null, update(g -> {
+            g.resetForNewGame();
+            g.setVersion(g.getVersion() + 1);
+        }));
+        assertNull(cache.<Integer>readSince(1L, 3L, (g, size) -> size));
+        assertEquals(Integer.valueOf(0), cache.<Integer>readSince(1L, 4L, (g, size) -> size));
+    }
+
+    @Test
+    void testReadSinceKeepsBoundedCheckpoints() {
+        GameDocument game = game(1L, GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game));
+
+        for (int i = 0; i < GameStateCache.MAX_HISTORY_CHECKPOINTS; i++) {
+            cache.write(1L, () -> null, play(move(100L, PlayerColor.BLACK, i % 15, i / 15, 5_000L + i)));
+        }
+
+        assertNull(cache.<Integer>readSince(1L, 0L, (g, size) -> size));
+        assertEquals(Integer.valueOf(1), cache.<Integer>readSince(1L, 1L, (g, size) -> size));
+    }
+
+    private static GameAction move(Long playerId, PlayerColor color, int x, int y, long timestamp) {
+        return GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(playerId)
+                .color(color)
+                .position(Position.of(x, y))
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static Function<GameDocument, Void> update(Consumer<GameDocument> change) {
+        return game -> {
+            change.accept(game);
+            return null;
+        };
+    }
+
+    /**
+     * Append an action and bump the version, as the execute chain does
+     */
+    private static Function<GameDocument, Void> play(GameAction action) {
+        return update(game -> {
+            game.addActionToHistory(action);
+            game.setVersion(game.getVersion() + 1);
+        });
+    }
+
+    private static GameDocument game(Long roomId, GameStatus status) {
+        return GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(status)
+                .version(0L)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .build();
+    }
+}
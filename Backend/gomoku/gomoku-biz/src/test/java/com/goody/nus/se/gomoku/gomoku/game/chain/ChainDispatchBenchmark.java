@@ -0,0 +1,137 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.move.BoardSizeValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.move.RenjuForbiddenMoveValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.move.StonePositionValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.move.TurnValidateChain;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the compiled chain dispatch layer
+ *
+ * <p>Runs the real MOVE validate chains against a fixed position, and an execute chain that
+ * never matches so the game document is left untouched between invocations. With the GC
+ * profiler, {@code gc.alloc.rate.norm} should report 0 B/op for every benchmark here.
+ *
+ * <p>Run with {@code mvn -pl gomoku/gomoku-biz test-compile} followed by the {@link #main}
+ * method on the test classpath. The class name does not end in Test, so surefire skips it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainDispatchBenchmark {
+
+    private ValidateChainHandler validateChainHandler;
+    private ExecuteChainHandler executeChainHandler;
+    private GameActionDispatcher dispatcher;
+    private GameDocument game;
+    private GameAction move;
+
+    @Setup
+    public void setUp() {
+        validateChainHandler = new ValidateChainHandler(List.of(
+                new BoardSizeValidateChain(),
+                new TurnValidateChain(),
+                new StonePositionValidateChain(),
+                new RenjuForbiddenMoveValidateChain()));
+        validateChainHandler.init();
+        executeChainHandler = new ExecuteChainHandler(List.of(new NeverMatchingChain()));
+        executeChainHandler.init();
+        dispatcher = new GameActionDispatcher(validateChainHandler, executeChainHandler);
+
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.setCurrentTurn(PlayerColor.BLACK);
+        game = GameDocument.builder()
+                .roomId(1L)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .modeType("CASUAL_RENJU")
+                .status(GameStatus.PLAYING)
+                .currentState(state)
+                .actionHistory(new ArrayList<>())
+                .version(0L)
+                .build();
+        move = GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(100L)
+                .color(PlayerColor.BLACK)
+                .position(Position.of(7, 7))
+                .build();
+    }
+
+    @Benchmark
+    public boolean validateOnly() {
+        return validateChainHandler.handle(game, move);
+    }
+
+    @Benchmark
+    public void executeOnly() {
+        executeChainHandler.handle(game, move);
+    }
+
+    @Benchmark
+    public boolean fusedMove() {
+        return dispatcher.validateAndExecute(game, move);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChainDispatchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Execute chain that is always consulted but never applies, keeping the document stable
+     */
+    private static final class NeverMatchingChain extends ExecuteChain {
+        @Override
+        public boolean check(GameDocument game, GameAction action) {
+            return false;
+        }
+
+        @Override
+        public void execute(GameDocument game, GameAction action) {
+        }
+
+        @Override
+        public List<ActionType> getActionTypes() {
+            return List.of(ActionType.MOVE);
+        }
+
+        @Override
+        public int sort() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChain;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for GameActionDispatcher
+ */
+class GameActionDispatcherTest {
+
+    private ValidateChain validateChain;
+    private ExecuteChain executeChain;
+    private GameActionDispatcher dispatcher;
+    private GameDocument game;
+    private GameAction move;
+
+    @BeforeEach
+    void setUp() {
+        validateChain = mock(ValidateChain.class);
+        when(validateChain.getActionTypes()).thenReturn(List.of(ActionType.MOVE));
+        when(validateChain.validateStatus()).thenReturn(GameStatus.PLAYING);
+
+        executeChain = mock(ExecuteChain.class);
+        when(executeChain.getActionTypes()).thenReturn(List.of(ActionType.MOVE));
+
+        ValidateChainHandler validateChainHandler = new ValidateChainHandler(List.of(validateChain));
+        validateChainHandler.init();
+        ExecuteChainHandler executeChainHandler = new ExecuteChainHandler(List.of(executeChain));
+        executeChainHandler.init();
+        dispatcher = new GameActionDispatcher(validateChainHandler, executeChainHandler);
+
+        game = GameDocument.builder()
+                .roomId(1L)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.PLAYING)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .actionHistory(new ArrayList<>())
+                .version(0L)
+                .build();
+        move = GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(100L)
+                .color(PlayerColor.BLACK)
+                .position(Position.of(7, 7))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Valid move is executed in the same dispatch")
+    void testValidMoveExecutes() {
+        when(validateChain.validate(game, move)).thenReturn(true);
+        when(executeChain.check(game, move)).thenReturn(true);
+
+        assertTrue(dispatcher.validateAndExecute(game, move));
+        verify(executeChain).execute(game, move);
+        assertEquals(1L, game.getVersion());
+        assertEquals(move, game.getLastAction());
+    }
+
+    @Test
+    @DisplayName("Invalid move is not executed")
+    void testInvalidMoveSkipsExecution() {
+        when(validateChain.validate(game, move)).thenReturn(false);
+
+        assertFalse(dispatcher.validateAndExecute(game, move));
+        verify(executeChain, never()).check(any(), any());
+        assertEquals(0L, game.getVersion());
+    }
+
+    @Test
+    @DisplayName("Move in a rejected game status is not validated or executed")
+    void testRejectedStatus() {
+        game.setStatus(GameStatus.FINISHED);
+
+        assertFalse(dispatcher.validateAndExecute(game, move));
+        verify(validateChain, never()).validate(any(), any());
+        verify(executeChain, never()).check(any(), any());
+    }
+}
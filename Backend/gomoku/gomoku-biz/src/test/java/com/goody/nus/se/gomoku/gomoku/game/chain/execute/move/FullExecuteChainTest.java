@@ -3,6 +3,7 @@ package com.goody.nus.se.gomoku.gomoku.game.chain.execute.move;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
@@ -52,22 +53,22 @@ class FullExecuteChainTest {
     @Test
     void testCheckWhenBoardWillBeFull() {
         // Fill all positions except (2, 2)
-        int[][] board = state.getBoard();
-        board[0][0] = PlayerColor.BLACK.getValue();
-        board[0][1] = PlayerColor.WHITE.getValue();
-        board[0][2] = PlayerColor.BLACK.getValue();
-        board[1][0] = PlayerColor.WHITE.getValue();
-        board[1][1] = PlayerColor.BLACK.getValue();
-        board[1][2] = PlayerColor.WHITE.getValue();
-        board[2][0] = PlayerColor.BLACK.getValue();
-        board[2][1] = PlayerColor.WHITE.getValue();
-        // board[2][2] is empty
+        BitBoard board = state.getBoard();
+        board.set(0, 0, PlayerColor.BLACK.getValue());
+        board.set(0, 1, PlayerColor.WHITE.getValue());
+        board.set(0, 2, PlayerColor.BLACK.getValue());
+        board.set(1, 0, PlayerColor.WHITE.getValue());
+        board.set(1, 1, PlayerColor.BLACK.getValue());
+        board.set(1, 2, PlayerColor.WHITE.getValue());
+        board.set(2, 0, PlayerColor.BLACK.getValue());
+        board.set(2, 1, PlayerColor.WHITE.getValue());
+        // (2, 2) is empty
 
         GameAction action = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(2, 2))
+                .position(Position.of(2, 2))
                 .build();
 
         assertTrue(chain.check(game, action));
@@ -76,16 +77,16 @@ class FullExecuteChainTest {
     @Test
     void testCheckWhenBoardWillNotBeFull() {
         // Leave multiple positions empty
-        int[][] board = state.getBoard();
-        board[0][0] = PlayerColor.BLACK.getValue();
-        board[0][1] = PlayerColor.WHITE.getValue();
-        // board[0][2], board[1][*], board[2][*] are empty
+        BitBoard board = state.getBoard();
+        board.set(0, 0, PlayerColor.BLACK.getValue());
+        board.set(0, 1, PlayerColor.WHITE.getValue());
+        // (0, 2), row 1 and row 2 are empty
 
         GameAction action = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(0, 2))
+                .position(Position.of(0, 2))
                 .build();
 
         assertFalse(chain.check(game, action));
@@ -94,15 +95,15 @@ class FullExecuteChainTest {
     @Test
     void testExecuteFullBoard() {
         // Fill all positions except (2, 2)
-        int[][] board = state.getBoard();
-        board[0][0] = PlayerColor.BLACK.getValue();
-        board[0][1] = PlayerColor.WHITE.getValue();
-        board[0][2] = PlayerColor.BLACK.getValue();
-        board[1][0] = PlayerColor.WHITE.getValue();
-        board[1][1] = PlayerColor.BLACK.getValue();
-        board[1][2] = PlayerColor.WHITE.getValue();
-        board[2][0] = PlayerColor.BLACK.getValue();
-        board[2][1] = PlayerColor.WHITE.getValue();
+        BitBoard board = state.getBoard();
+        board.set(0, 0, PlayerColor.BLACK.getValue());
+        board.set(0, 1, PlayerColor.WHITE.getValue());
+        board.set(0, 2, PlayerColor.BLACK.getValue());
+        board.set(1, 0, PlayerColor.WHITE.getValue());
+        board.set(1, 1, PlayerColor.BLACK.getValue());
+        board.set(1, 2, PlayerColor.WHITE.getValue());
+        board.set(2, 0, PlayerColor.BLACK.getValue());
+        board.set(2, 1, PlayerColor.WHITE.getValue());
 
         state.setTotalMoves(8);
 
@@ -110,14 +111,14 @@ class FullExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(2, 2))
+                .position(Position.of(2, 2))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
         chain.execute(game, action);
 
         // Verify stone is placed
-        assertEquals(PlayerColor.BLACK.getValue(), board[2][2]);
+        assertEquals(PlayerColor.BLACK.getValue(), board.get(2, 2));
 
         // Verify move count is incremented
         assertEquals(9, state.getTotalMoves());
@@ -136,21 +137,21 @@ class FullExecuteChainTest {
         game.setDrawProposerColor(PlayerColor.WHITE);
 
         // Fill all positions except (2, 2)
-        int[][] board = state.getBoard();
-        board[0][0] = PlayerColor.BLACK.getValue();
-        board[0][1] = PlayerColor.WHITE.getValue();
-        board[0][2] = PlayerColor.BLACK.getValue();
-        board[1][0] = PlayerColor.WHITE.getValue();
-        board[1][1] = PlayerColor.BLACK.getValue();
-        board[1][2] = PlayerColor.WHITE.getValue();
-        board[2][0] = PlayerColor.BLACK.getValue();
-        board[2][1] = PlayerColor.WHITE.getValue();
+        BitBoard board = state.getBoard();
+        board.set(0, 0, PlayerColor.BLACK.getValue());
+        board.set(0, 1, PlayerColor.WHITE.getValue());
+        board.set(0, 2, PlayerColor.BLACK.getValue());
+        board.set(1, 0, PlayerColor.WHITE.getValue());
+        board.set(1, 1, PlayerColor.BLACK.getValue());
+        board.set(1, 2, PlayerColor.WHITE.getValue());
+        board.set(2, 0, PlayerColor.BLACK.getValue());
+        board.set(2, 1, PlayerColor.WHITE.getValue());
 
         GameAction action = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(2, 2))
+                .position(Position.of(2, 2))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
@@ -48,7 +48,7 @@ class NormalMoveExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertTrue(chain.check(game, action));
@@ -60,14 +60,14 @@ class NormalMoveExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
         chain.execute(game, action);
 
         // Verify stone is placed
-        assertEquals(PlayerColor.BLACK.getValue(), game.getCurrentState().getBoard()[7][7]);
+        assertEquals(PlayerColor.BLACK.getValue(), game.getCurrentState().getBoard().get(7, 7));
 
         // Verify turn switched
         assertEquals(PlayerColor.WHITE, game.getCurrentState().getCurrentTurn());
@@ -87,7 +87,7 @@ class NormalMoveExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
@@ -44,10 +44,10 @@ class WinExecuteChainTest {
         state.setTotalMoves(0);
 
         // Setup a board with 4 black stones in a row
-        state.getBoard()[7][5] = PlayerColor.BLACK.getValue();
-        state.getBoard()[7][6] = PlayerColor.BLACK.getValue();
-        state.getBoard()[7][7] = PlayerColor.BLACK.getValue();
-        state.getBoard()[7][8] = PlayerColor.BLACK.getValue();
+        state.getBoard().set(7, 5, PlayerColor.BLACK.getValue());
+        state.getBoard().set(7, 6, PlayerColor.BLACK.getValue());
+        state.getBoard().set(7, 7, PlayerColor.BLACK.getValue());
+        state.getBoard().set(7, 8, PlayerColor.BLACK.getValue());
 
         game = GameDocument.builder()
                 .roomId(1L)
@@ -64,7 +64,7 @@ class WinExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(9).build())
+                .position(Position.of(7, 9))
                 .build();
 
         assertTrue(chain.check(game, action));
@@ -76,7 +76,7 @@ class WinExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(10).y(10).build())
+                .position(Position.of(10, 10))
                 .build();
 
         assertFalse(chain.check(game, action));
@@ -88,14 +88,14 @@ class WinExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(9).build())
+                .position(Position.of(7, 9))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
         chain.execute(game, action);
 
         // Verify stone is placed
-        assertEquals(PlayerColor.BLACK.getValue(), game.getCurrentState().getBoard()[7][9]);
+        assertEquals(PlayerColor.BLACK.getValue(), game.getCurrentState().getBoard().get(7, 9));
 
         // Verify game is finished
         assertEquals(GameStatus.FINISHED, game.getStatus());
@@ -115,7 +115,7 @@ class WinExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(9).build())
+                .position(Position.of(7, 9))
                 .timestamp(System.currentTimeMillis())
                 .build();
 
@@ -3,11 +3,11 @@ package com.goody.nus.se.gomoku.gomoku.game.chain.execute.restart;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveWriter;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
-import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
-import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -26,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,7 +41,10 @@ import static org.mockito.Mockito.when;
 class RestartAgreeExecuteChainTest {
 
     @Mock
-    private IGameHistoryService gameHistoryService;
+    private GameArchiveWriter gameArchiveWriter;
+
+    @Mock
+    private GameStateCache gameStateCache;
 
     @Mock
     private IGameRoomService gameRoomService;
@@ -48,6 +54,8 @@ class RestartAgreeExecuteChainTest {
 
     private GameDocument game;
 
+    private CompletableFuture<Void> archived;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -70,9 +78,9 @@ class RestartAgreeExecuteChainTest {
                 .whiteReady(true)
                 .build();
 
-        // Mock gameHistoryService.archiveGame()
-        when(gameHistoryService.archiveGame(any(GameDocument.class), anyInt(), anyString()))
-                .thenReturn(GameHistoryDocument.builder().build());
+        // Mock gameArchiveWriter.archive()
+        archived = new CompletableFuture<>();
+        when(gameArchiveWriter.archive(any(GameDocument.class), anyInt(), anyString())).thenReturn(archived);
     }
 
     @Test
@@ -105,7 +113,7 @@ class RestartAgreeExecuteChainTest {
         ArgumentCaptor<Integer> gameNumberCaptor = ArgumentCaptor.forClass(Integer.class);
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(gameHistoryService).archiveGame(
+        verify(gameArchiveWriter).archive(
                 gameCaptor.capture(),
                 gameNumberCaptor.capture(),
                 endReasonCaptor.capture()
@@ -115,6 +123,9 @@ class RestartAgreeExecuteChainTest {
         assertEquals(1, gameNumberCaptor.getValue());
         assertEquals("WIN", endReasonCaptor.getValue());
 
+        // Verify the reset is saved only after the archive
+        verify(gameStateCache).saveAfter(eq(1L), same(archived));
+
         // Verify game state was reset
         assertEquals(GameStatus.WAITING, game.getStatus());
         assertEquals(2, game.getGameCount()); // Incremented from 1 to 2
@@ -145,7 +156,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("DRAW", endReasonCaptor.getValue());
     }
@@ -169,7 +180,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("SURRENDER", endReasonCaptor.getValue());
     }
@@ -201,7 +212,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("UNKNOWN", endReasonCaptor.getValue());
     }
@@ -220,7 +231,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("ONGOING", endReasonCaptor.getValue());
     }
@@ -239,7 +250,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("ONGOING", endReasonCaptor.getValue());
     }
@@ -263,7 +274,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("TIMEOUT", endReasonCaptor.getValue());
     }
@@ -288,7 +299,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("DRAW", endReasonCaptor.getValue());
     }
@@ -308,7 +319,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<String> endReasonCaptor = ArgumentCaptor.forClass(String.class);
-        verify(gameHistoryService).archiveGame(any(), anyInt(), endReasonCaptor.capture());
+        verify(gameArchiveWriter).archive(any(), anyInt(), endReasonCaptor.capture());
 
         assertEquals("WIN", endReasonCaptor.getValue());
     }
@@ -327,7 +338,7 @@ class RestartAgreeExecuteChainTest {
         chain.execute(game, action);
 
         ArgumentCaptor<Integer> gameNumberCaptor = ArgumentCaptor.forClass(Integer.class);
-        verify(gameHistoryService).archiveGame(any(), gameNumberCaptor.capture(), anyString());
+        verify(gameArchiveWriter).archive(any(), gameNumberCaptor.capture(), anyString());
 
         assertEquals(1, gameNumberCaptor.getValue());
     }
@@ -57,11 +57,11 @@ class UndoAgreeExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis())
                 .build();
         game.getActionHistory().add(move1);
-        game.getCurrentState().getBoard()[7][7] = 1; // BLACK
+        game.getCurrentState().getBoard().set(7, 7, 1); // BLACK
         game.getCurrentState().setTotalMoves(1);
         game.getCurrentState().setCurrentTurn(PlayerColor.WHITE);
         game.setUndoProposerColor(PlayerColor.BLACK); // BLACK wants to undo their own move
@@ -77,7 +77,7 @@ class UndoAgreeExecuteChainTest {
         chain.execute(game, action);
 
         // Verify move is reverted
-        assertEquals(0, game.getCurrentState().getBoard()[7][7]);
+        assertEquals(0, game.getCurrentState().getBoard().get(7, 7));
         assertEquals(0, game.getCurrentState().getTotalMoves());
         assertEquals(PlayerColor.BLACK, game.getCurrentState().getCurrentTurn()); // BLACK gets to replay
         assertNull(game.getUndoProposerColor());
@@ -91,20 +91,20 @@ class UndoAgreeExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis())
                 .build();
         GameAction move2 = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(new Position(8, 8))
+                .position(Position.of(8, 8))
                 .timestamp(System.currentTimeMillis() + 1000)
                 .build();
         game.getActionHistory().add(move1);
         game.getActionHistory().add(move2);
-        game.getCurrentState().getBoard()[7][7] = 1; // BLACK
-        game.getCurrentState().getBoard()[8][8] = 2; // WHITE
+        game.getCurrentState().getBoard().set(7, 7, 1); // BLACK
+        game.getCurrentState().getBoard().set(8, 8, 2); // WHITE
         game.getCurrentState().setTotalMoves(2);
         game.getCurrentState().setCurrentTurn(PlayerColor.BLACK);
         game.setUndoProposerColor(PlayerColor.BLACK); // BLACK wants to undo opponent's move + their own
@@ -120,8 +120,8 @@ class UndoAgreeExecuteChainTest {
         chain.execute(game, action);
 
         // Verify both moves are reverted
-        assertEquals(0, game.getCurrentState().getBoard()[7][7]);
-        assertEquals(0, game.getCurrentState().getBoard()[8][8]);
+        assertEquals(0, game.getCurrentState().getBoard().get(7, 7));
+        assertEquals(0, game.getCurrentState().getBoard().get(8, 8));
         assertEquals(0, game.getCurrentState().getTotalMoves());
         assertEquals(PlayerColor.BLACK, game.getCurrentState().getCurrentTurn()); // BLACK gets to replay
         assertNull(game.getUndoProposerColor());
@@ -150,11 +150,11 @@ class UndoAgreeExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis())
                 .build();
         game.getActionHistory().add(move1);
-        game.getCurrentState().getBoard()[7][7] = 2; // WHITE
+        game.getCurrentState().getBoard().set(7, 7, 2); // WHITE
         game.getCurrentState().setTotalMoves(1);
         game.setUndoProposerColor(PlayerColor.BLACK); // BLACK wants to undo opponent's move + their own (but BLACK has no move)
 
@@ -175,29 +175,29 @@ class UndoAgreeExecuteChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(5, 5))
+                .position(Position.of(5, 5))
                 .timestamp(System.currentTimeMillis())
                 .build();
         GameAction move2 = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(new Position(6, 6))
+                .position(Position.of(6, 6))
                 .timestamp(System.currentTimeMillis() + 1000)
                 .build();
         GameAction move3 = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .timestamp(System.currentTimeMillis() + 2000)
                 .build();
         game.getActionHistory().add(move1);
         game.getActionHistory().add(move2);
         game.getActionHistory().add(move3);
-        game.getCurrentState().getBoard()[5][5] = 1; // BLACK
-        game.getCurrentState().getBoard()[6][6] = 2; // WHITE
-        game.getCurrentState().getBoard()[7][7] = 1; // BLACK
+        game.getCurrentState().getBoard().set(5, 5, 1); // BLACK
+        game.getCurrentState().getBoard().set(6, 6, 2); // WHITE
+        game.getCurrentState().getBoard().set(7, 7, 1); // BLACK
         game.getCurrentState().setTotalMoves(3);
         game.getCurrentState().setCurrentTurn(PlayerColor.WHITE);
         game.setUndoProposerColor(PlayerColor.BLACK); // BLACK wants to undo their last move
@@ -213,9 +213,9 @@ class UndoAgreeExecuteChainTest {
         chain.execute(game, action);
 
         // Verify only the last move is reverted
-        assertEquals(1, game.getCurrentState().getBoard()[5][5]);
-        assertEquals(2, game.getCurrentState().getBoard()[6][6]);
-        assertEquals(0, game.getCurrentState().getBoard()[7][7]); // Reverted
+        assertEquals(1, game.getCurrentState().getBoard().get(5, 5));
+        assertEquals(2, game.getCurrentState().getBoard().get(6, 6));
+        assertEquals(0, game.getCurrentState().getBoard().get(7, 7)); // Reverted
         assertEquals(2, game.getCurrentState().getTotalMoves());
         assertEquals(PlayerColor.BLACK, game.getCurrentState().getCurrentTurn());
         assertNull(game.getUndoProposerColor());
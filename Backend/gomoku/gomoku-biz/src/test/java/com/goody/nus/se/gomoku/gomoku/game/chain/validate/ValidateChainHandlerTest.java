@@ -0,0 +1,126 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain.validate;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for ValidateChainHandler
+ */
+class ValidateChainHandlerTest {
+
+    private ValidateChain first;
+    private ValidateChain second;
+    private ValidateChainHandler handler;
+    private GameDocument game;
+
+    @BeforeEach
+    void setUp() {
+        first = mockChain(ActionType.MOVE, GameStatus.PLAYING, 2);
+        second = mockChain(ActionType.MOVE, GameStatus.PLAYING, 1);
+        handler = new ValidateChainHandler(List.of(first, second));
+        handler.init();
+
+        game = GameDocument.builder()
+                .roomId(1L)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.PLAYING)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .actionHistory(new ArrayList<>())
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Resolved chains are sorted and shared across calls")
+    void testResolveReturnsSortedCompiledArray() {
+        ValidateChain[] chains = handler.resolve(ActionType.MOVE, GameStatus.PLAYING);
+
+        assertArrayEquals(new ValidateChain[]{second, first}, chains);
+        assertSame(chains, handler.resolve(ActionType.MOVE, GameStatus.PLAYING));
+    }
+
+    @Test
+    @DisplayName("A status not accepted by every chain resolves to null")
+    void testResolveRejectsMismatchedStatus() {
+        assertNull(handler.resolve(ActionType.MOVE, GameStatus.WAITING));
+        assertNull(handler.resolve(ActionType.MOVE, null));
+
+        game.setStatus(GameStatus.WAITING);
+        assertFalse(handler.handle(game, move()));
+        verify(first, never()).validate(any(), any());
+        verify(second, never()).validate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Action types without chains are valid in any status")
+    void testNoChainsIsValid() {
+        assertEquals(0, handler.resolve(ActionType.READY, GameStatus.FINISHED).length);
+
+        GameAction ready = GameAction.builder().type(ActionType.READY).playerId(100L).build();
+        assertTrue(handler.handle(game, ready));
+    }
+
+    @Test
+    @DisplayName("Chains stop at the first failure")
+    void testHandleStopsAtFirstFailure() {
+        GameAction action = move();
+        when(second.validate(game, action)).thenReturn(false);
+
+        assertFalse(handler.handle(game, action));
+        verify(first, never()).validate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Chains run in sort order")
+    void testHandleRunsInSortOrder() {
+        GameAction action = move();
+        when(second.validate(game, action)).thenReturn(true);
+        when(first.validate(game, action)).thenReturn(true);
+
+        assertTrue(handler.handle(game, action));
+        InOrder order = inOrder(second, first);
+        order.verify(second).validate(game, action);
+        order.verify(first).validate(game, action);
+    }
+
+    private static ValidateChain mockChain(ActionType type, GameStatus status, int sort) {
+        ValidateChain chain = mock(ValidateChain.class);
+        when(chain.getActionTypes()).thenReturn(List.of(type));
+        when(chain.validateStatus()).thenReturn(status);
+        when(chain.sort()).thenReturn(sort);
+        return chain;
+    }
+
+    private static GameAction move() {
+        return GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(100L)
+                .color(PlayerColor.BLACK)
+                .build();
+    }
+}
@@ -48,7 +48,7 @@ class BoardSizeValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertTrue(chain.validate(game, action));
@@ -60,19 +60,34 @@ class BoardSizeValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(15).y(7).build())
+                .position(Position.of(15, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
     }
 
+    @Test
+    void testValidateOnLargeBoard() {
+        game.setCurrentState(GameStateSnapshot.createEmpty(19));
+        GameAction action = GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(100L)
+                .color(PlayerColor.BLACK)
+                .position(Position.of(18, 15))
+                .build();
+
+        assertTrue(chain.validate(game, action));
+        action.setPosition(Position.of(19, 15));
+        assertFalse(chain.validate(game, action));
+    }
+
     @Test
     void testValidateWithNegativePosition() {
         GameAction action = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(-1).y(7).build())
+                .position(Position.of(-1, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
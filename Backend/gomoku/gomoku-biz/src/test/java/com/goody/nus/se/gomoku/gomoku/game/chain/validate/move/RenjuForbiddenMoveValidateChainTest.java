@@ -0,0 +1,92 @@
+package com.goody.nus.se.gomoku.gomoku.game.chain.validate.move;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for RenjuForbiddenMoveValidateChain
+ */
+class RenjuForbiddenMoveValidateChainTest {
+
+    private RenjuForbiddenMoveValidateChain chain;
+    private GameDocument game;
+
+    @BeforeEach
+    void setUp() {
+        chain = new RenjuForbiddenMoveValidateChain();
+
+        // Black double-three at (7, 7)
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.getBoard().set(7, 5, PlayerColor.BLACK.getValue());
+        state.getBoard().set(7, 6, PlayerColor.BLACK.getValue());
+        state.getBoard().set(5, 7, PlayerColor.BLACK.getValue());
+        state.getBoard().set(6, 7, PlayerColor.BLACK.getValue());
+
+        game = GameDocument.builder()
+                .roomId(1L)
+                .status(GameStatus.PLAYING)
+                .modeType("CASUAL_RENJU")
+                .currentState(state)
+                .build();
+    }
+
+    @Test
+    void testForbiddenMoveRejectedForBlack() {
+        assertFalse(chain.validate(game, move(PlayerColor.BLACK, 7, 7)));
+    }
+
+    @Test
+    void testFalseThreeIsNotADoubleThree() {
+        // Both points that would make the vertical three a straight four, (7, 4) and (7, 8),
+        // are overlines along their rows, so only the horizontal three counts
+        for (int x : new int[]{4, 5, 6, 8, 9}) {
+            game.getCurrentState().getBoard().set(x, 4, PlayerColor.BLACK.getValue());
+            game.getCurrentState().getBoard().set(x, 8, PlayerColor.BLACK.getValue());
+        }
+        assertTrue(chain.validate(game, move(PlayerColor.BLACK, 7, 7)));
+    }
+
+    @Test
+    void testAllowedMoveForBlack() {
+        assertTrue(chain.validate(game, move(PlayerColor.BLACK, 10, 10)));
+    }
+
+    @Test
+    void testWhiteIsNotRestricted() {
+        assertTrue(chain.validate(game, move(PlayerColor.WHITE, 7, 7)));
+    }
+
+    @Test
+    void testStandardModeIsNotRestricted() {
+        game.setModeType("CASUAL");
+        assertTrue(chain.validate(game, move(PlayerColor.BLACK, 7, 7)));
+    }
+
+    @Test
+    void testChainMetadata() {
+        assertEquals(GameStatus.PLAYING, chain.validateStatus());
+        assertEquals(List.of(ActionType.MOVE), chain.getActionTypes());
+        assertEquals(4, chain.sort());
+    }
+
+    private static GameAction move(PlayerColor color, int x, int y) {
+        return GameAction.builder()
+                .type(ActionType.MOVE)
+                .color(color)
+                .position(Position.of(x, y))
+                .build();
+    }
+}
@@ -31,7 +31,7 @@ class StonePositionValidateChainTest {
 
         GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
         // Place a black stone at (5, 5)
-        state.getBoard()[5][5] = PlayerColor.BLACK.getValue();
+        state.getBoard().set(5, 5, PlayerColor.BLACK.getValue());
 
         game = GameDocument.builder()
                 .roomId(1L)
@@ -53,7 +53,7 @@ class StonePositionValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertTrue(chain.validate(game, action));
@@ -65,7 +65,7 @@ class StonePositionValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(Position.builder().x(5).y(5).build())
+                .position(Position.of(5, 5))
                 .build();
 
         assertFalse(chain.validate(game, action));
@@ -91,7 +91,7 @@ class StonePositionValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
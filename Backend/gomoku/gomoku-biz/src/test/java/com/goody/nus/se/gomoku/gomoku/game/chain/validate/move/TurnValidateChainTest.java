@@ -52,7 +52,7 @@ class TurnValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertTrue(chain.validate(game, action));
@@ -64,7 +64,7 @@ class TurnValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
@@ -78,7 +78,7 @@ class TurnValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
@@ -90,7 +90,7 @@ class TurnValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(null)
-                .position(Position.builder().x(7).y(7).build())
+                .position(Position.of(7, 7))
                 .build();
 
         assertFalse(chain.validate(game, action));
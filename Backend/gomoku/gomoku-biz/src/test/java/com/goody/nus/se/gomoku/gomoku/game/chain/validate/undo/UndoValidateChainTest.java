@@ -51,7 +51,7 @@ class UndoValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .build();
         game.getActionHistory().add(move);
 
@@ -71,7 +71,7 @@ class UndoValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .build();
         game.getActionHistory().add(move);
         game.setUndoProposerColor(PlayerColor.WHITE); // Pending undo proposal
@@ -116,6 +116,26 @@ class UndoValidateChainTest {
         assertFalse(chain.validate(game, action));
     }
 
+    @Test
+    void testValidate_FailsWhenProposerHasNotMoved() {
+        // Only black has moved; white's undo would need to take back two moves
+        GameAction move = GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(100L)
+                .color(PlayerColor.BLACK)
+                .position(Position.of(7, 7))
+                .build();
+        game.getActionHistory().add(move);
+
+        GameAction action = GameAction.builder()
+                .type(ActionType.UNDO)
+                .playerId(200L)
+                .color(PlayerColor.WHITE)
+                .build();
+
+        assertFalse(chain.validate(game, action));
+    }
+
     @Test
     void testValidate_SuccessWithMultipleMoves() {
         // Add multiple moves
@@ -123,13 +143,13 @@ class UndoValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .build();
         GameAction move2 = GameAction.builder()
                 .type(ActionType.MOVE)
                 .playerId(200L)
                 .color(PlayerColor.WHITE)
-                .position(new Position(8, 8))
+                .position(Position.of(8, 8))
                 .build();
         game.getActionHistory().add(move1);
         game.getActionHistory().add(move2);
@@ -155,7 +175,7 @@ class UndoValidateChainTest {
                 .type(ActionType.MOVE)
                 .playerId(100L)
                 .color(PlayerColor.BLACK)
-                .position(new Position(7, 7))
+                .position(Position.of(7, 7))
                 .build();
         game.getActionHistory().add(ready);
         game.getActionHistory().add(move);
@@ -0,0 +1,136 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for ActionContextLoader
+ */
+class ActionContextLoaderTest {
+
+    @Mock
+    private IGameRoomService gameRoomService;
+
+    @Mock
+    private RoomCodeDao roomCodeDao;
+
+    private GameStateCacheProperties properties;
+    private ActionContextLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new GameStateCacheProperties();
+        loader = new ActionContextLoader(gameRoomService, new RoomTtlRenewer(roomCodeDao, new RoomTtlProperties()),
+                properties);
+    }
+
+    @Test
+    void testRoomMetadataIsLoadedOnce() {
+        when(gameRoomService.findById(1L)).thenReturn(room(1L, "ROOM1"));
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        ActionContext first = loader.load(1L);
+        ActionContext second = loader.load(1L);
+
+        assertSame(first.getRoom(), second.getRoom());
+        assertEquals("ROOM1", first.getRoom().getRoomCode());
+        assertEquals(1L, first.getRoom().getRoomId());
+        second.requireRoomCode();
+        verify(gameRoomService, times(1)).findById(1L);
+        // The TTL was just renewed, so the second action does not go to Redis
+        verify(roomCodeDao, times(1)).touchRoomAsync("ROOM1", 20);
+    }
+
+    @Test
+    void testMissingRoomIsNotCached() {
+        when(gameRoomService.findById(1L)).thenReturn(null, room(1L, "ROOM1"));
+
+        BizException e = assertThrows(BizException.class, () -> loader.room(1L));
+
+        assertEquals(ErrorCodeEnum.GAME_NOT_FOUND, e.getErrorCode());
+        assertEquals("ROOM1", loader.room(1L).getRoomCode());
+    }
+
+    @Test
+    void testExpiredRoomCodeFailsWhenRequired() {
+        when(gameRoomService.findById(1L)).thenReturn(room(1L, "ROOM1"));
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        ActionContext context = loader.load(1L);
+
+        BizException e = assertThrows(BizException.class, context::requireRoomCode);
+        assertEquals(ErrorCodeEnum.ROOM_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    void testRoomWithoutCodeSkipsRedis() {
+        when(gameRoomService.findById(1L)).thenReturn(room(1L, null));
+
+        ActionContext context = loader.load(1L);
+
+        assertThrows(BizException.class, context::requireRoomCode);
+        verify(roomCodeDao, never()).touchRoomAsync(anyString(), anyInt());
+    }
+
+    @Test
+    void testRedisFailureSurfacesItsCause() {
+        when(gameRoomService.findById(1L)).thenReturn(room(1L, "ROOM1"));
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("redis down")));
+
+        ActionContext context = loader.load(1L);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, context::requireRoomCode);
+        assertEquals("redis down", e.getMessage());
+    }
+
+    @Test
+    void testLeastRecentlyUsedRoomIsDroppedOverCapacity() {
+        properties.setMaxRooms(2);
+        loader = new ActionContextLoader(gameRoomService, new RoomTtlRenewer(roomCodeDao, new RoomTtlProperties()),
+                properties);
+        when(gameRoomService.findById(1L)).thenReturn(room(1L, "ROOM1"));
+        when(gameRoomService.findById(2L)).thenReturn(room(2L, "ROOM2"));
+        when(gameRoomService.findById(3L)).thenReturn(room(3L, "ROOM3"));
+
+        loader.room(1L);
+        loader.room(2L);
+        loader.room(1L);
+        loader.room(3L);
+        loader.room(1L);
+        loader.room(2L);
+
+        verify(gameRoomService, times(1)).findById(1L);
+        verify(gameRoomService, times(2)).findById(2L);
+    }
+
+    private static GameRoomDTO room(Long roomId, String roomCode) {
+        GameRoomDTO room = new GameRoomDTO();
+        room.setId(roomId);
+        room.setRoomCode(roomCode);
+        return room;
+    }
+}
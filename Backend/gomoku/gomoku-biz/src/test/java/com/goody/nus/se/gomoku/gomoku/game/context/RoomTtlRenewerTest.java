@@ -0,0 +1,119 @@
+package com.goody.nus.se.gomoku.gomoku.game.context;
+
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for RoomTtlRenewer
+ */
+class RoomTtlRenewerTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Mock
+    private RoomCodeDao roomCodeDao;
+
+    private RoomTtlProperties properties;
+    private RoomTtlRenewer renewer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new RoomTtlProperties();
+        properties.setTtlMinutes(20);
+        properties.setRenewBelowMinutes(15);
+        renewer = new RoomTtlRenewer(roomCodeDao, properties);
+    }
+
+    @Test
+    void testRenewsOnlyWhenTtlRunsLow() {
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20)).thenReturn(CompletableFuture.completedFuture(true));
+
+        assertTrue(renewer.renew("ROOM1", 0).join());
+        assertTrue(renewer.renew("ROOM1", 4 * MINUTE).join());
+        verify(roomCodeDao, times(1)).touchRoomAsync("ROOM1", 20);
+
+        assertTrue(renewer.renew("ROOM1", 5 * MINUTE).join());
+        verify(roomCodeDao, times(2)).touchRoomAsync("ROOM1", 20);
+    }
+
+    @Test
+    void testConcurrentActionsShareRenewalInFlight() {
+        CompletableFuture<Boolean> reply = new CompletableFuture<>();
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20)).thenReturn(reply);
+
+        CompletableFuture<Boolean> first = renewer.renew("ROOM1", 0);
+        CompletableFuture<Boolean> second = renewer.renew("ROOM1", 1);
+
+        assertSame(first, second);
+        reply.complete(true);
+        assertTrue(second.join());
+        verify(roomCodeDao, times(1)).touchRoomAsync("ROOM1", 20);
+    }
+
+    @Test
+    void testMissingRoomCodeIsAskedAgain() {
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20)).thenReturn(CompletableFuture.completedFuture(false));
+
+        assertFalse(renewer.renew("ROOM1", 0).join());
+        assertFalse(renewer.renew("ROOM1", 1).join());
+
+        verify(roomCodeDao, times(2)).touchRoomAsync("ROOM1", 20);
+        assertEquals(0, renewer.size());
+    }
+
+    @Test
+    void testFailedRenewalIsRetried() {
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("redis down")))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        assertThrows(Exception.class, () -> renewer.renew("ROOM1", 0).join());
+        assertTrue(renewer.renew("ROOM1", 1).join());
+
+        verify(roomCodeDao, times(2)).touchRoomAsync("ROOM1", 20);
+    }
+
+    @Test
+    void testForgetForcesRenewal() {
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        renewer.renew("ROOM1", 0).join();
+
+        renewer.forget("ROOM1");
+        renewer.renew("ROOM1", 1).join();
+
+        verify(roomCodeDao, times(2)).touchRoomAsync("ROOM1", 20);
+    }
+
+    @Test
+    void testExpiredRecordsAreTrimmedOverCapacity() {
+        properties.setMaxTrackedRooms(2);
+        when(roomCodeDao.touchRoomAsync("ROOM1", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(roomCodeDao.touchRoomAsync("ROOM2", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(roomCodeDao.touchRoomAsync("ROOM3", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        renewer.renew("ROOM1", 0).join();
+        renewer.renew("ROOM2", 10 * MINUTE).join();
+
+        renewer.renew("ROOM3", 21 * MINUTE).join();
+
+        // ROOM1 expired and was dropped, ROOM2 is still remembered
+        assertEquals(2, renewer.size());
+        renewer.renew("ROOM2", 12 * MINUTE).join();
+        verify(roomCodeDao, times(1)).touchRoomAsync("ROOM2", 20);
+    }
+}
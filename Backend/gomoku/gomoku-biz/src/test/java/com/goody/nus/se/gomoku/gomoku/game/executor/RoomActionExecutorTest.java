@@ -0,0 +1,148 @@
+package com.goody.nus.se.gomoku.gomoku.game.executor;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for RoomActionExecutor
+ */
+class RoomActionExecutorTest {
+
+    private RoomActionExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testActionsOfOneRoomRunInOrderWithoutOverlap() {
+        executor = create(4, 1000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int index = i;
+            futures.add(executor.submit(7L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(index);
+                running.decrementAndGet();
+                return index;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void testDifferentLanesRunInParallel() throws Exception {
+        executor = create(2, 10);
+        Long roomA = 1L;
+        Long roomB = 2L;
+        assertNotEquals(executor.laneOf(roomA), executor.laneOf(roomB));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> a = executor.submit(roomA, () -> awaitQuietly(bothStarted));
+        CompletableFuture<Boolean> b = executor.submit(roomB, () -> awaitQuietly(bothStarted));
+
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSaturatedLaneRejectsWithBackpressure() throws Exception {
+        executor = create(1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(1L, () -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.submit(1L, () -> true);
+        executor.submit(1L, () -> true);
+
+        assertEquals(2, executor.queueDepth(0));
+        BizException e = assertThrows(BizException.class, () -> executor.submit(1L, () -> true));
+        assertEquals(ErrorCodeEnum.GAME_ACTION_QUEUE_FULL, e.getErrorCode());
+        assertEquals(1, executor.rejectedCount());
+
+        release.countDown();
+    }
+
+    @Test
+    void testActionExceptionCompletesFuture() {
+        executor = create(1, 10);
+
+        CompletableFuture<Object> future = executor.submit(1L, () -> {
+            throw new BizException(ErrorCodeEnum.INVALID_GAME_ACTION);
+        });
+
+        Exception e = assertThrows(Exception.class, future::join);
+        assertTrue(e.getCause() instanceof BizException);
+    }
+
+    @Test
+    void testMetersArePublished() {
+        executor = create(3, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        executor.bindTo(registry);
+
+        assertEquals(3, registry.find("gomoku.action.lane.queue").gauges().size());
+        assertEquals(0.0, registry.get("gomoku.action.lane.queue").tag("lane", "2").gauge().value());
+        assertEquals(0.0, registry.get("gomoku.action.lane.rejected").functionCounter().count());
+    }
+
+    @Test
+    void testDefaultLaneCountFollowsProcessors() {
+        executor = create(0, 10);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), executor.getLaneCount());
+    }
+
+    private static RoomActionExecutor create(int lanes, int queueCapacity) {
+        RoomActionExecutorProperties properties = new RoomActionExecutorProperties();
+        properties.setLanes(lanes);
+        properties.setQueueCapacity(queueCapacity);
+        return new RoomActionExecutor(properties);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
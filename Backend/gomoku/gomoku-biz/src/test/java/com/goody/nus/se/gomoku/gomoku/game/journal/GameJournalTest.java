@@ -0,0 +1,308 @@
+package com.goody.nus.se.gomoku.gomoku.game.journal;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.BitBoardReadConverter;
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.BitBoardWriteConverter;
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.PositionReadConverter;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameJournal
+ */
+class GameJournalTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+    private static final int CHECKPOINT_MOVES = 3;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private MappingMongoConverter converter;
+    private GameJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(
+                new BitBoardWriteConverter(), new BitBoardReadConverter(), new PositionReadConverter()));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        journal = GameJournal.open(directory, SEGMENT_BYTES, false, CHECKPOINT_MOVES, converter);
+        when(gameRepository.insertIfAbsent(any())).thenReturn(true);
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void testDisabledJournalRecordsNothing() {
+        GameJournal disabled = GameJournal.disabled();
+
+        disabled.append(game(1L, 3L), 2L, true);
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.segmentCount());
+        assertEquals(0, disabled.recover(gameRepository));
+    }
+
+    @Test
+    void testRecoverReplaysNewestRecordOfEachRoom() throws IOException {
+        journal.append(game(1L, 3L), 2L, true);
+        journal.append(game(1L, 4L), 2L, true);
+        journal.append(game(2L, 7L), 6L, true);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game(1L, 2L)));
+        when(gameRepository.findByRoomId(2L)).thenReturn(Optional.of(game(2L, 6L)));
+
+        assertEquals(2, reopen().recover(gameRepository));
+
+        ArgumentCaptor<GameDocument> saved = ArgumentCaptor.forClass(GameDocument.class);
+        verify(gameRepository).replaceIfVersion(saved.capture(), eq(2L));
+        assertEquals(4L, saved.getValue().getVersion());
+        assertEquals(2, saved.getValue().getActionHistory().size());
+        assertEquals(Position.of(7, 8), saved.getValue().getActionHistory().get(1).getPosition());
+        verify(gameRepository).replaceIfVersion(any(), eq(6L));
+        assertEquals(0, segmentFiles());
+    }
+
+    @Test
+    void testRecoverSkipsRoomSavedAfterRecord() throws IOException {
+        journal.append(game(1L, 3L), 2L, true);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game(1L, 3L)));
+
+        assertEquals(0, reopen().recover(gameRepository));
+
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+    }
+
+    @Test
+    void testRecoverBumpsVersionOfChangeWithoutNewVersion() throws IOException {
+        journal.append(game(1L, 2L), 2L, true);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game(1L, 2L)));
+
+        reopen().recover(gameRepository);
+
+        ArgumentCaptor<GameDocument> saved = ArgumentCaptor.forClass(GameDocument.class);
+        verify(gameRepository).replaceIfVersion(saved.capture(), eq(2L));
+        assertEquals(3L, saved.getValue().getVersion());
+    }
+
+    @Test
+    void testRecoverInsertsRoomNeverSaved() throws IOException {
+        journal.append(game(1L, 0L), null, false);
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.empty());
+
+        assertEquals(1, reopen().recover(gameRepository));
+
+        verify(gameRepository).insertIfAbsent(any());
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
+    }
+
+    @Test
+    void testRecoverLeavesSegmentsWhenReplayFails() throws IOException {
+        journal.append(game(1L, 3L), 2L, true);
+        when(gameRepository.findByRoomId(1L)).thenThrow(new IllegalStateException("MongoDB down"));
+        GameJournal reopened = reopen();
+
+        try {
+            reopened.recover(gameRepository);
+        } catch (IllegalStateException expected) {
+            // Retried on the next start
+        }
+
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    void testReadStopsAtTornRecord() throws IOException {
+        journal.append(game(1L, 3L), 2L, true);
+        journal.append(game(2L, 7L), 6L, true);
+        journal.close();
+        Path segment = onlySegment();
+        int firstLength = GameJournal.read(segment).get(0).bson().length;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Corrupt a byte of the second record's document
+            long offset = 8 + 18 + firstLength + 8 + 18 + 4;
+            file.seek(offset);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        List<GameJournal.Record> records = GameJournal.read(segment);
+
+        assertEquals(1, records.size());
+        assertEquals(1L, records.get(0).roomId());
+    }
+
+    @Test
+    void testMovesAreJournaledAsDeltasAndReplayed() throws IOException {
+        GameDocument game = game(1L, 3L);
+        journal.append(game, 2L, true);
+        play(game, 8, 8, PlayerColor.BLACK);
+        journal.append(game, 2L, true);
+        play(game, 9, 9, PlayerColor.WHITE);
+        journal.append(game, 2L, true);
+        journal.close();
+
+        List<GameJournal.Record> records = GameJournal.read(onlySegment());
+        assertEquals(3, records.size());
+        assertFalse(records.get(0).isDelta());
+        assertTrue(records.get(1).isDelta());
+        assertEquals(5L, records.get(2).version());
+
+        when(gameRepository.findByRoomId(1L)).thenReturn(Optional.of(game(1L, 2L)));
+        assertEquals(1, reopen().recover(gameRepository));
+
+        ArgumentCaptor<GameDocument> saved = ArgumentCaptor.forClass(GameDocument.class);
+        verify(gameRepository).replaceIfVersion(saved.capture(), eq(2L));
+        GameDocument recovered = saved.getValue();
+        assertEquals(5L, recovered.getVersion());
+        assertEquals(4, recovered.getActionHistory().size());
+        assertEquals(Position.of(9, 9), recovered.getLastAction().getPosition());
+        assertEquals(200L, recovered.getLastAction().getPlayerId());
+        assertEquals(PlayerColor.BLACK.getValue(), recovered.getCurrentState().getBoard().get(8, 8));
+        assertEquals(PlayerColor.WHITE.getValue(), recovered.getCurrentState().getBoard().get(9, 9));
+        assertEquals(2, recovered.getCurrentState().getTotalMoves());
+    }
+
+    @Test
+    void testSnapshotAfterCheckpointMovesOrOtherChange() throws IOException {
+        GameDocument game = game(1L, 3L);
+        journal.append(game, 2L, true);
+        for (int i = 0; i <= CHECKPOINT_MOVES; i++) {
+            play(game, 10, i, i % 2 == 0 ? PlayerColor.BLACK : PlayerColor.WHITE);
+            journal.append(game, 2L, true);
+        }
+        // A change that is not a move
+        game.setVersion(game.getVersion() + 1);
+        game.addActionToHistory(GameAction.builder().type(ActionType.DRAW).color(PlayerColor.BLACK).build());
+        journal.append(game, 2L, true);
+        journal.close();
+
+        List<Boolean> deltas = GameJournal.read(onlySegment()).stream().map(GameJournal.Record::isDelta).toList();
+
+        assertEquals(List.of(false, true, true, true, false, false), deltas);
+    }
+
+    @Test
+    void testReleaseReclaimsSavedSegments() throws IOException {
+        GameDocument game = game(1L, 3L);
+        int perSegment = SEGMENT_BYTES / GameJournal.read(writeOne(game)).get(0).bson().length;
+        for (int i = 0; i <= perSegment; i++) {
+            journal.append(game, 2L, true);
+        }
+        journal.append(game(2L, 7L), 6L, true);
+        assertEquals(2, journal.segmentCount());
+
+        journal.release(1L);
+
+        assertEquals(1, journal.segmentCount());
+        assertEquals(1, segmentFiles());
+        assertTrue(journal.isEnabled());
+    }
+
+    private Path writeOne(GameDocument game) throws IOException {
+        Path other = Files.createDirectory(directory.resolve("probe"));
+        try (GameJournal probe = GameJournal.open(other, SEGMENT_BYTES, false, CHECKPOINT_MOVES, converter)) {
+            probe.append(game, 2L, true);
+        }
+        try (Stream<Path> files = Files.list(other)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private GameJournal reopen() throws IOException {
+        journal.close();
+        journal = GameJournal.open(directory, SEGMENT_BYTES, false, CHECKPOINT_MOVES, converter);
+        return journal;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).findFirst().orElseThrow();
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static GameDocument game(Long roomId, Long version) {
+        GameDocument game = GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.PLAYING)
+                .version(version)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .build();
+        game.getActionHistory().add(move(7, 7, PlayerColor.BLACK));
+        game.getActionHistory().add(move(7, 8, PlayerColor.WHITE));
+        return game;
+    }
+
+    /**
+     * Apply a move the way the execute chain does
+     */
+    private static void play(GameDocument game, int x, int y, PlayerColor color) {
+        GameAction action = move(x, y, color);
+        action.setTimestamp(1_700_000_000_000L + game.getActionHistory().size());
+        game.playMove(action, action.getTimestamp());
+        game.setVersion(game.getVersion() + 1);
+        game.setLastAction(action);
+        game.addActionToHistory(action);
+    }
+
+    private static GameAction move(int x, int y, PlayerColor color) {
+        return GameAction.builder()
+                .type(ActionType.MOVE)
+                .playerId(color == PlayerColor.BLACK ? 100L : 200L)
+                .position(Position.of(x, y))
+                .color(color)
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.goody.nus.se.gomoku.gomoku.game.lifecycle;
+
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameLifecycleJob
+ */
+class GameLifecycleJobTest {
+
+    private static final long NOW = TimeUnit.DAYS.toMillis(10);
+
+    @Mock
+    private GameRepository gameRepository;
+    @Mock
+    private IGameHistoryService gameHistoryService;
+    @Mock
+    private IGameRoomService gameRoomService;
+    @Mock
+    private RoomCodeDao roomCodeDao;
+    @Mock
+    private GameStateCache gameStateCache;
+
+    private GameLifecycleProperties properties;
+    private ExecutorService workers;
+    private GameLifecycleJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new GameLifecycleProperties();
+        properties.setBatchSize(2);
+        // Batches run inline unless a test needs a pool
+        job = new GameLifecycleJob(gameRepository, gameHistoryService, gameRoomService, roomCodeDao,
+                gameStateCache, properties, Runnable::run);
+        when(gameRepository.deleteIfVersion(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testScansWithRetentionCutoffs() throws InterruptedException {
+        when(gameRepository.findInactiveAfter(any(), anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, job.run(NOW));
+
+        verify(gameRepository).findInactiveAfter(isNull(), eq(NOW - TimeUnit.MINUTES.toMillis(60)),
+                eq(NOW - TimeUnit.DAYS.toMillis(1)), eq(2));
+        verify(gameHistoryService, never()).archiveAll(anyList());
+    }
+
+    @Test
+    void testArchivesLastGameThenRemovesIt() throws InterruptedException {
+        GameDocument finished = game(1L, GameStatus.FINISHED, 9, 3);
+        GameDocument abandoned = game(2L, GameStatus.PLAYING, 4, 1);
+        stubBatches(List.of(finished, abandoned));
+
+        assertEquals(2, job.run(NOW));
+
+        List<GameHistoryDocument> histories = archivedBatch();
+        assertEquals(List.of(3, 1), histories.stream().map(GameHistoryDocument::getGameNumber).toList());
+        assertEquals("WIN", histories.get(0).getEndReason());
+        assertEquals(GameLifecycleJob.ABANDONED, histories.get(1).getEndReason());
+        assertEquals(finished.getUpdateTime(), histories.get(0).getEndTime());
+        verify(gameRepository).deleteIfVersion(List.of(finished, abandoned));
+    }
+
+    @Test
+    void testGameWithoutMovesIsRemovedWithoutArchive() throws InterruptedException {
+        GameDocument reset = game(1L, GameStatus.WAITING, 0, 2);
+        stubBatches(List.of(reset));
+
+        assertEquals(1, job.run(NOW));
+
+        assertTrue(archivedBatch().isEmpty());
+        verify(gameRepository).deleteIfVersion(List.of(reset));
+    }
+
+    @Test
+    void testRoomsStillInUseAreKept() throws InterruptedException {
+        GameDocument cached = game(1L, GameStatus.FINISHED, 9, 1);
+        GameDocument roomAlive = game(2L, GameStatus.FINISHED, 9, 1);
+        GameDocument expired = game(3L, GameStatus.FINISHED, 9, 1);
+        stubBatches(List.of(cached, roomAlive), List.of(expired));
+        when(gameStateCache.contains(1L)).thenReturn(true);
+        when(gameRoomService.findById(2L)).thenReturn(GameRoomDTO.builder().id(2L).roomCode("ALIVE").build());
+        when(gameRoomService.findById(3L)).thenReturn(GameRoomDTO.builder().id(3L).roomCode("GONE").build());
+        when(roomCodeDao.exists("ALIVE")).thenReturn(true);
+
+        assertEquals(1, job.run(NOW));
+
+        verify(gameRepository).deleteIfVersion(List.of(expired));
+        verify(gameRepository).findInactiveAfter(eq(2L), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testFailedArchiveKeepsBatchForNextRun() throws InterruptedException {
+        stubBatches(List.of(game(1L, GameStatus.FINISHED, 9, 1)));
+        when(gameHistoryService.archiveAll(anyList())).thenThrow(new IllegalStateException("mongo down"));
+
+        assertEquals(0, job.run(NOW));
+
+        verify(gameRepository, never()).deleteIfVersion(anyList());
+    }
+
+    @Test
+    void testBatchesRunWithBoundedConcurrency() throws InterruptedException {
+        properties.setConcurrency(2);
+        workers = Executors.newFixedThreadPool(4);
+        job = new GameLifecycleJob(gameRepository, gameHistoryService, gameRoomService, roomCodeDao,
+                gameStateCache, properties, workers);
+        List<List<GameDocument>> batches = new ArrayList<>();
+        for (long roomId = 1; roomId <= 10; roomId += 2) {
+            batches.add(List.of(game(roomId, GameStatus.FINISHED, 9, 1), game(roomId + 1, GameStatus.FINISHED, 9, 1)));
+        }
+        batches.add(List.of());
+        stubBatches(batches.toArray(List[]::new));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(gameHistoryService.archiveAll(anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return 2;
+        });
+
+        assertEquals(10, job.run(NOW));
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @SafeVarargs
+    private void stubBatches(List<GameDocument>... batches) {
+        var stub = when(gameRepository.findInactiveAfter(any(), anyLong(), anyLong(), anyInt()));
+        for (List<GameDocument> batch : batches) {
+            stub = stub.thenReturn(batch);
+        }
+        stub.thenReturn(List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GameHistoryDocument> archivedBatch() {
+        ArgumentCaptor<List<GameHistoryDocument>> batch = ArgumentCaptor.forClass(List.class);
+        verify(gameHistoryService).archiveAll(batch.capture());
+        return batch.getValue();
+    }
+
+    private static GameDocument game(Long roomId, GameStatus status, int moves, int gameCount) {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.setTotalMoves(moves);
+        state.setWinner(status == GameStatus.FINISHED ? 1 : -1);
+        return GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(status)
+                .currentState(state)
+                .gameCount(gameCount)
+                .version(5L)
+                .updateTime(NOW - TimeUnit.DAYS.toMillis(2))
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameHistoryPage;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stand-in for {@link IGameHistoryService}
+ *
+ * <p>Archiving still builds the real {@link GameHistoryDocument} (including position hashes
+ * and replay checkpoints), so restarts cost what they cost in production minus the write.
+ */
+class InMemoryGameHistoryService implements IGameHistoryService {
+
+    private final List<GameHistoryDocument> history = new CopyOnWriteArrayList<>();
+
+    @Override
+    public GameHistoryDocument archiveGame(GameDocument gameDoc, Integer gameNumber, String endReason) {
+        GameHistoryDocument document = GameHistoryDocument.fromGameDocument(gameDoc, gameNumber, endReason);
+        history.add(document);
+        return document;
+    }
+
+    @Override
+    public int archiveAll(List<GameHistoryDocument> histories) {
+        int inserted = 0;
+        for (GameHistoryDocument document : histories) {
+            if (getGameByRoomIdAndNumber(document.getRoomId(), document.getGameNumber()).isEmpty()) {
+                history.add(document);
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<GameHistoryDocument> getHistoryByRoomId(Long roomId) {
+        return history.stream().filter(game -> Objects.equals(roomId, game.getRoomId())).toList();
+    }
+
+    @Override
+    public Optional<GameHistoryDocument> getGameByRoomIdAndNumber(Long roomId, Integer gameNumber) {
+        return history.stream()
+                .filter(game -> Objects.equals(roomId, game.getRoomId())
+                        && Objects.equals(gameNumber, game.getGameNumber()))
+                .findFirst();
+    }
+
+    @Override
+    public long countGamesByRoomId(Long roomId) {
+        return getHistoryByRoomId(roomId).size();
+    }
+
+    @Override
+    public List<GameHistoryDocument> getGamesByPlayerId(Long playerId) {
+        return history.stream()
+                .filter(game -> Objects.equals(playerId, game.getBlackPlayerId())
+                        || Objects.equals(playerId, game.getWhitePlayerId()))
+                .toList();
+    }
+
+    @Override
+    public List<GameHistoryDocument> getWinsByPlayerId(Long playerId) {
+        return history.stream().filter(game -> Objects.equals(playerId, game.getWinnerId())).toList();
+    }
+
+    @Override
+    public GameHistoryPage getGamesByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize) {
+        return page(game -> Objects.equals(playerId, game.getBlackPlayerId())
+                || Objects.equals(playerId, game.getWhitePlayerId()), beforeEndTime, pageSize);
+    }
+
+    @Override
+    public GameHistoryPage getWinsByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize) {
+        return page(game -> Objects.equals(playerId, game.getWinnerId()), beforeEndTime, pageSize);
+    }
+
+    @Override
+    public Stream<GameHistoryDocument> streamGamesByPlayerId(Long playerId) {
+        return getGamesByPlayerId(playerId).stream();
+    }
+
+    /**
+     * Pages on end time alone, since archived games here have no IDs
+     */
+    private GameHistoryPage page(Predicate<GameHistoryDocument> filter, Long beforeEndTime, int pageSize) {
+        List<GameHistoryDocument> games = history.stream()
+                .filter(filter)
+                .filter(game -> beforeEndTime == null || game.getEndTime() < beforeEndTime)
+                .sorted(Comparator.comparing(GameHistoryDocument::getEndTime).reversed())
+                .limit(pageSize + 1L)
+                .toList();
+        if (games.size() <= pageSize) {
+            return GameHistoryPage.builder().games(games).build();
+        }
+        return GameHistoryPage.builder()
+                .games(games.subList(0, pageSize))
+                .nextEndTime(games.get(pageSize - 1).getEndTime())
+                .build();
+    }
+
+    @Override
+    public long deleteHistoryByRoomId(Long roomId) {
+        List<GameHistoryDocument> removed = getHistoryByRoomId(roomId);
+        history.removeAll(removed);
+        return removed.size();
+    }
+
+    int size() {
+        return history.size();
+    }
+}
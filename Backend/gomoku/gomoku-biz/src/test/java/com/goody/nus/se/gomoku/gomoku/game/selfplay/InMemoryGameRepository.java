@@ -0,0 +1,75 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for {@link GameRepository}
+ *
+ * <p>Only the methods the game engine calls are implemented; everything else throws
+ * UnsupportedOperationException. Documents are stored by reference, so the harness measures
+ * the engine without serialization; the version each one was last written with is tracked
+ * separately for the conditional writes.
+ */
+final class InMemoryGameRepository {
+
+    private InMemoryGameRepository() {
+    }
+
+    /**
+     * Create a repository backed by the given map
+     */
+    static GameRepository create(Map<Long, GameDocument> store) {
+        Map<Long, Optional<Long>> versions = new ConcurrentHashMap<>();
+        return (GameRepository) Proxy.newProxyInstance(
+                GameRepository.class.getClassLoader(),
+                new Class<?>[]{GameRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        GameDocument game = (GameDocument) args[0];
+                        store.put(game.getRoomId(), game);
+                        versions.put(game.getRoomId(), Optional.ofNullable(game.getVersion()));
+                        yield game;
+                    }
+                    case "insertIfAbsent" -> {
+                        GameDocument game = (GameDocument) args[0];
+                        boolean inserted = store.putIfAbsent(game.getRoomId(), game) == null;
+                        if (inserted) {
+                            versions.put(game.getRoomId(), Optional.ofNullable(game.getVersion()));
+                        }
+                        yield inserted;
+                    }
+                    case "replaceIfVersion", "appendIfVersion" -> {
+                        GameDocument game = (GameDocument) args[0];
+                        Optional<Long> stored = versions.get(game.getRoomId());
+                        if (stored == null || !stored.equals(Optional.ofNullable((Long) args[1]))) {
+                            yield false;
+                        }
+                        store.put(game.getRoomId(), game);
+                        versions.put(game.getRoomId(), Optional.ofNullable(game.getVersion()));
+                        yield true;
+                    }
+                    case "findByRoomId", "findById" -> Optional.ofNullable(store.get((Long) args[0]));
+                    case "existsById" -> store.containsKey((Long) args[0]);
+                    case "count" -> (long) store.size();
+                    case "deleteAll" -> {
+                        store.clear();
+                        versions.clear();
+                        yield null;
+                    }
+                    case "toString" -> "InMemoryGameRepository" + store.keySet();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static GameRepository create() {
+        return create(new ConcurrentHashMap<>());
+    }
+}
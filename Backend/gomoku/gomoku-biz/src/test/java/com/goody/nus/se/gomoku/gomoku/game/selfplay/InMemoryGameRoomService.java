@@ -0,0 +1,85 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for {@link IGameRoomService}, replacing the MySQL-backed rooms
+ */
+class InMemoryGameRoomService implements IGameRoomService {
+
+    private final Map<Long, GameRoomDTO> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Override
+    public Long save(GameRoomDTO dto) {
+        if (dto.getId() == null) {
+            dto.setId(ids.incrementAndGet());
+        }
+        rooms.put(dto.getId(), dto);
+        return dto.getId();
+    }
+
+    @Override
+    public int saveBatch(List<GameRoomDTO> dtoList) {
+        dtoList.forEach(this::save);
+        return dtoList.size();
+    }
+
+    /**
+     * Selective update: only non-null fields are copied, like the MyBatis implementation
+     */
+    @Override
+    public int update(GameRoomDTO dto) {
+        GameRoomDTO room = rooms.get(dto.getId());
+        if (room == null) {
+            return 0;
+        }
+        if (dto.getRoomCode() != null) {
+            room.setRoomCode(dto.getRoomCode());
+        }
+        if (dto.getPlayer1Id() != null) {
+            room.setPlayer1Id(dto.getPlayer1Id());
+        }
+        if (dto.getPlayer2Id() != null) {
+            room.setPlayer2Id(dto.getPlayer2Id());
+        }
+        if (dto.getType() != null) {
+            room.setType(dto.getType());
+        }
+        if (dto.getStatus() != null) {
+            room.setStatus(dto.getStatus());
+        }
+        return 1;
+    }
+
+    @Override
+    public int deleteById(Long id) {
+        return rooms.remove(id) == null ? 0 : 1;
+    }
+
+    @Override
+    public GameRoomDTO findById(Long id) {
+        return rooms.get(id);
+    }
+
+    @Override
+    public List<GameRoomDTO> findAll() {
+        return new ArrayList<>(rooms.values());
+    }
+
+    @Override
+    public Long findRoomIdByRoomCode(String roomCode) {
+        return rooms.values().stream()
+                .filter(room -> roomCode.equals(room.getRoomCode()))
+                .map(GameRoomDTO::getId)
+                .findFirst()
+                .orElse(null);
+    }
+}
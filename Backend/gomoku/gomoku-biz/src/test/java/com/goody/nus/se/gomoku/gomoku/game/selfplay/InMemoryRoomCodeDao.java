@@ -0,0 +1,97 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory stand-in for the Redis-backed {@link RoomCodeDao}; TTLs are ignored
+ */
+class InMemoryRoomCodeDao implements RoomCodeDao {
+
+    private final Map<String, List<String>> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Integer> boardSizes = new ConcurrentHashMap<>();
+    private final Map<String, GameRuleEnum> rules = new ConcurrentHashMap<>();
+
+    @Override
+    public void createRoomCode(String roomCode, int ttlMinutes) {
+        rooms.putIfAbsent(roomCode, new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void createRoomCode(String roomCode, int ttlMinutes, int boardSize) {
+        createRoomCode(roomCode, ttlMinutes);
+        boardSizes.put(roomCode, boardSize);
+    }
+
+    @Override
+    public int getBoardSize(String roomCode) {
+        return boardSizes.getOrDefault(roomCode, BoardSizeEnum.STANDARD.getSize());
+    }
+
+    @Override
+    public void createRoomCode(String roomCode, int ttlMinutes, int boardSize, GameRuleEnum rule) {
+        createRoomCode(roomCode, ttlMinutes, boardSize);
+        rules.put(roomCode, rule);
+    }
+
+    @Override
+    public GameRuleEnum getRule(String roomCode) {
+        return rules.getOrDefault(roomCode, GameRuleEnum.STANDARD);
+    }
+
+    @Override
+    public boolean exists(String roomCode) {
+        return rooms.containsKey(roomCode);
+    }
+
+    @Override
+    public List<String> getPlayersByRoom(String roomCode) {
+        return new ArrayList<>(rooms.getOrDefault(roomCode, List.of()));
+    }
+
+    @Override
+    public void addPlayerToRoom(String roomCode, String playerId) {
+        rooms.computeIfAbsent(roomCode, key -> new CopyOnWriteArrayList<>()).add(playerId);
+    }
+
+    @Override
+    public void updateRoomTTL(String roomCode, int ttlMinutes) {
+    }
+
+    @Override
+    public CompletableFuture<Boolean> touchRoomAsync(String roomCode, int ttlMinutes) {
+        return CompletableFuture.completedFuture(exists(roomCode));
+    }
+
+    @Override
+    public void removePlayerFromRoom(String roomCode, String playerId) {
+        List<String> players = rooms.get(roomCode);
+        if (players != null) {
+            players.remove(playerId);
+        }
+    }
+
+    @Override
+    public void deleteRoom(String roomCode) {
+        rooms.remove(roomCode);
+        boardSizes.remove(roomCode);
+        rules.remove(roomCode);
+    }
+
+    @Override
+    public String findRoomCodeByPlayerId(String playerId) {
+        return rooms.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(playerId))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+}
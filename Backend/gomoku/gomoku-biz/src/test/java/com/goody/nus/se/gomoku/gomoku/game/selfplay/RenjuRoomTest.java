@@ -0,0 +1,122 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.request.GomokuActionRequest;
+import com.goody.nus.se.gomoku.gomoku.api.request.JoinRoomRequest;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.biz.service.IRoomBizService;
+import com.goody.nus.se.gomoku.gomoku.biz.service.impl.RoomBizServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveProperties;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveWriter;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContextLoader;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutorProperties;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
+import com.goody.nus.se.gomoku.gomoku.game.service.impl.GameServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.goody.nus.se.gomoku.gomoku.room.Impl.RoomCodeServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.service.impl.RoomStateServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A private Renju room, from creation through the real room, state and game services
+ */
+class RenjuRoomTest {
+
+    private static final String CREATOR = "100";
+    private static final String JOINER = "200";
+
+    private AnnotationConfigApplicationContext context;
+    private IRoomBizService roomBizService;
+    private IGameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(GameRepository.class, () -> InMemoryGameRepository.create());
+        context.registerBean(IGameRoomService.class, InMemoryGameRoomService::new);
+        context.registerBean(RoomCodeDao.class, InMemoryRoomCodeDao::new);
+        context.registerBean(IGameHistoryService.class, InMemoryGameHistoryService::new);
+        context.registerBean(IMatchService.class, () -> mock(IMatchService.class));
+        context.registerBean(GameArchiveProperties.class);
+        context.registerBean(GameArchiveWriter.class);
+        context.registerBean(RoomStateServiceImpl.class);
+        context.registerBean(RoomCodeServiceImpl.class);
+        context.registerBean(GameStateCacheProperties.class);
+        context.registerBean(GameJournal.class, GameJournal::disabled);
+        context.registerBean(GameStateCache.class);
+        context.registerBean(RoomTtlProperties.class);
+        context.registerBean(RoomTtlRenewer.class);
+        context.registerBean(ActionContextLoader.class);
+        context.registerBean(RoomActionExecutorProperties.class);
+        context.registerBean(RoomActionExecutor.class);
+        context.scan("com.goody.nus.se.gomoku.gomoku.game.chain");
+        context.registerBean(GameServiceImpl.class);
+        context.registerBean(RoomBizServiceImpl.class);
+        context.refresh();
+        roomBizService = context.getBean(IRoomBizService.class);
+        gameService = context.getBean(IGameService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("A Renju room rejects a black double-three")
+    void testForbiddenBlackMoveRejected() {
+        String roomCode = roomBizService.createRoom(CREATOR, null, "renju").getRoomCode();
+        roomBizService.joinRoom(new JoinRoomRequest(roomCode), CREATOR);
+        JoinRoomResponse joined = roomBizService.joinRoom(new JoinRoomRequest(roomCode), JOINER);
+        Long roomId = joined.getRoomId();
+
+        send(roomId, Long.parseLong(CREATOR), ActionType.READY, null);
+        GameStateResponse state = send(roomId, Long.parseLong(JOINER), ActionType.READY, null);
+        assertEquals(GameRuleEnum.RENJU, state.getRule());
+        assertEquals("PRIVATE", state.getModeType());
+
+        Long black = state.getBlackPlayerId();
+        Long white = state.getWhitePlayerId();
+        int[][] blackMoves = {{7, 5}, {7, 6}, {5, 7}, {6, 7}};
+        for (int i = 0; i < blackMoves.length; i++) {
+            send(roomId, black, ActionType.MOVE, Position.of(blackMoves[i][0], blackMoves[i][1]));
+            send(roomId, white, ActionType.MOVE, Position.of(0, 2 * i));
+        }
+
+        // Two open threes through (7, 7)
+        BizException e = assertThrows(BizException.class,
+                () -> send(roomId, black, ActionType.MOVE, Position.of(7, 7)));
+        assertEquals(ErrorCodeEnum.INVALID_GAME_ACTION, e.getErrorCode());
+
+        // Still black's turn, elsewhere is fine
+        send(roomId, black, ActionType.MOVE, Position.of(10, 10));
+    }
+
+    private GameStateResponse send(Long roomId, Long playerId, ActionType type, Position position) {
+        return gameService.executeAction(roomId, playerId,
+                GomokuActionRequest.builder().type(type).position(position).build());
+    }
+}
@@ -0,0 +1,328 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.request.GomokuActionRequest;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveProperties;
+import com.goody.nus.se.gomoku.gomoku.game.archive.GameArchiveWriter;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContextLoader;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
+import com.goody.nus.se.gomoku.gomoku.game.service.impl.GameServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Headless self-play driver for the game engine
+ *
+ * <p>Plays full games through the real {@link GameServiceImpl}, its game state cache and its
+ * validate and execute chains, wired in a plain Spring context with in-memory stand-ins for
+ * MySQL (rooms), Mongo (games, history) and Redis (room codes). Each game starts with both players READY, then the
+ * side to move plays a random empty cell or, with small probabilities, proposes an undo or a
+ * draw (answered by the opponent) or surrenders. Finished games are restarted in the same room.
+ *
+ * <p>Reports accepted actions per second, p50/p99 latency of {@code executeAction} and bytes
+ * allocated per action. Run {@link #main} for ad-hoc measurements; SelfPlayHarnessTest runs a
+ * short session as a regression gate.
+ */
+public class SelfPlayHarness {
+
+    private static final double SURRENDER_CHANCE = 0.004;
+    private static final double DRAW_CHANCE = 0.006;
+    private static final double UNDO_CHANCE = 0.03;
+    private static final double AGREE_CHANCE = 0.5;
+
+    private final int rooms;
+    private final long seed;
+    private final boolean quietLogging;
+
+    /**
+     * @param rooms        number of rooms the games are spread over
+     * @param seed         random seed, fixed seeds replay the same games
+     * @param quietLogging raise the log level to WARN during the run so console output
+     *                     does not dominate the measurement
+     */
+    public SelfPlayHarness(int rooms, long seed, boolean quietLogging) {
+        this.rooms = Math.max(1, rooms);
+        this.seed = seed;
+        this.quietLogging = quietLogging;
+    }
+
+    /**
+     * Usage: {@code SelfPlayHarness [games] [rooms] [seed]}
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int rooms = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        SelfPlayHarness harness = new SelfPlayHarness(rooms, seed, true);
+        // Warm-up run so the measured run sees JIT-compiled code
+        harness.run(Math.max(1, games / 5));
+        System.out.println(harness.run(games).summary());
+    }
+
+    /**
+     * Play the given number of games and report engine throughput
+     */
+    public SelfPlayReport run(int games) {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        Level previous = root.getLevel();
+        if (quietLogging) {
+            root.setLevel(Level.WARN);
+        }
+        try (AnnotationConfigApplicationContext context = createContext()) {
+            return new Session(context, games).play();
+        } finally {
+            root.setLevel(previous);
+        }
+    }
+
+    private static AnnotationConfigApplicationContext createContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(GameRepository.class, () -> InMemoryGameRepository.create());
+        context.registerBean(IGameRoomService.class, InMemoryGameRoomService::new);
+        context.registerBean(RoomCodeDao.class, InMemoryRoomCodeDao::new);
+        context.registerBean(IGameHistoryService.class, InMemoryGameHistoryService::new);
+        context.registerBean(GameArchiveProperties.class);
+        context.registerBean(GameArchiveWriter.class);
+        context.registerBean(GameStateCacheProperties.class);
+        context.registerBean(GameJournal.class, GameJournal::disabled);
+        context.registerBean(GameStateCache.class);
+        context.registerBean(RoomTtlProperties.class);
+        context.registerBean(RoomTtlRenewer.class);
+        context.registerBean(ActionContextLoader.class);
+        context.scan("com.goody.nus.se.gomoku.gomoku.game.chain");
+        context.registerBean(GameServiceImpl.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * State of one run
+     */
+    private final class Session {
+        private final IGameService gameService;
+        private final GameStateCache gameStateCache;
+        private final int targetGames;
+        private final Random random = new Random(seed);
+        private final Map<ActionType, Long> counts = new HashMap<>();
+        private final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        private long[] latencies = new long[1 << 16];
+        private long actions;
+        private long rejected;
+        private long wins;
+        private int finishedGames;
+
+        Session(AnnotationConfigApplicationContext context, int targetGames) {
+            this.gameService = context.getBean(IGameService.class);
+            this.gameStateCache = context.getBean(GameStateCache.class);
+            this.targetGames = targetGames;
+            IGameRoomService roomService = context.getBean(IGameRoomService.class);
+            RoomCodeDao roomCodeDao = context.getBean(RoomCodeDao.class);
+            for (long roomId = 1; roomId <= rooms; roomId++) {
+                String roomCode = "SELF" + roomId;
+                roomService.save(GameRoomDTO.builder()
+                        .id(roomId)
+                        .roomCode(roomCode)
+                        .player1Id(playerA(roomId))
+                        .player2Id(playerB(roomId))
+                        .status(RoomStatusEnum.MATCHED.getValue())
+                        .build());
+                roomCodeDao.createRoomCode(roomCode, 30);
+            }
+        }
+
+        SelfPlayReport play() {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long elapsed = 0;
+            // Round-robin one action per room so several documents stay live at once
+            while (finishedGames < targetGames) {
+                for (long roomId = 1; roomId <= rooms && finishedGames < targetGames; roomId++) {
+                    elapsed += step(roomId);
+                }
+            }
+            long wall = System.nanoTime() - start;
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(actions, latencies.length));
+            Arrays.sort(sorted);
+            return SelfPlayReport.builder()
+                    .games(finishedGames)
+                    .actions(actions)
+                    .rejectedActions(rejected)
+                    .moves(count(ActionType.MOVE))
+                    .undos(count(ActionType.UNDO_AGREE))
+                    .draws(count(ActionType.DRAW_AGREE))
+                    .surrenders(count(ActionType.SURRENDER))
+                    .restarts(count(ActionType.RESTART_AGREE))
+                    .wins(wins)
+                    .elapsedNanos(elapsed == 0 ? wall : elapsed)
+                    .p50Nanos(percentile(sorted, 0.50))
+                    .p99Nanos(percentile(sorted, 0.99))
+                    .bytesPerAction(allocatedBefore < 0 || actions == 0 ? -1 : (double) allocated / actions)
+                    .build();
+        }
+
+        /**
+         * Send the next action(s) for one room
+         *
+         * @return nanoseconds spent inside the engine
+         */
+        private long step(long roomId) {
+            // The harness is single-threaded, so peeking at the live cached document is safe
+            GameDocument game = gameStateCache.read(roomId, Function.identity());
+            if (game == null || game.getStatus() == GameStatus.WAITING) {
+                return ready(roomId, game);
+            }
+            if (game.getStatus() == GameStatus.FINISHED) {
+                finishedGames++;
+                if (game.getCurrentState().getWinner() != null && game.getCurrentState().getWinner() > 0
+                        && game.getLastAction() != null && game.getLastAction().getType() == ActionType.MOVE) {
+                    wins++;
+                }
+                Long proposer = random.nextBoolean() ? game.getBlackPlayerId() : game.getWhitePlayerId();
+                return send(roomId, proposer, ActionType.RESTART, null)
+                        + send(roomId, opponent(game, proposer), ActionType.RESTART_AGREE, null);
+            }
+
+            PlayerColor turn = game.getCurrentState().getCurrentTurn();
+            Long mover = turn == PlayerColor.BLACK ? game.getBlackPlayerId() : game.getWhitePlayerId();
+            double roll = random.nextDouble();
+            if (roll < SURRENDER_CHANCE) {
+                return send(roomId, mover, ActionType.SURRENDER, null);
+            }
+            if (roll < SURRENDER_CHANCE + DRAW_CHANCE) {
+                return send(roomId, mover, ActionType.DRAW, null)
+                        + send(roomId, opponent(game, mover), answer(ActionType.DRAW_AGREE, ActionType.DRAW_DISAGREE), null);
+            }
+            if (roll < SURRENDER_CHANCE + DRAW_CHANCE + UNDO_CHANCE && canProposeUndo(game, turn)) {
+                return send(roomId, mover, ActionType.UNDO, null)
+                        + send(roomId, opponent(game, mover), answer(ActionType.UNDO_AGREE, ActionType.UNDO_DISAGREE), null);
+            }
+            return send(roomId, mover, ActionType.MOVE, randomEmptyCell(game.getCurrentState().getBoard()));
+        }
+
+        /**
+         * Undo after the opponent's move also takes back the proposer's previous move
+         */
+        private boolean canProposeUndo(GameDocument game, PlayerColor proposer) {
+            int moves = game.getMoveCount();
+            return moves > 0 && moves >= (game.peekMove().getColor() == proposer ? 1 : 2);
+        }
+
+        private long ready(long roomId, GameDocument game) {
+            long elapsed = 0;
+            if (game == null || !Boolean.TRUE.equals(readyFlag(game, playerA(roomId)))) {
+                elapsed += send(roomId, playerA(roomId), ActionType.READY, null);
+            }
+            return elapsed + send(roomId, playerB(roomId), ActionType.READY, null);
+        }
+
+        private Boolean readyFlag(GameDocument game, Long playerId) {
+            if (playerId.equals(game.getBlackPlayerId())) {
+                return game.getBlackReady();
+            }
+            return playerId.equals(game.getWhitePlayerId()) ? game.getWhiteReady() : Boolean.FALSE;
+        }
+
+        private long send(long roomId, Long playerId, ActionType type, Position position) {
+            GomokuActionRequest request = new GomokuActionRequest();
+            request.setType(type);
+            request.setPosition(position);
+            long start = System.nanoTime();
+            try {
+                gameService.executeAction(roomId, playerId, request);
+            } catch (BizException e) {
+                rejected++;
+                return System.nanoTime() - start;
+            }
+            long elapsed = System.nanoTime() - start;
+            record(elapsed);
+            counts.merge(type, 1L, Long::sum);
+            return elapsed;
+        }
+
+        private void record(long nanos) {
+            if (actions < latencies.length) {
+                latencies[(int) actions] = nanos;
+            } else if (latencies.length < (1 << 24)) {
+                latencies = Arrays.copyOf(latencies, latencies.length << 1);
+                latencies[(int) actions] = nanos;
+            }
+            actions++;
+        }
+
+        private ActionType answer(ActionType agree, ActionType disagree) {
+            return random.nextDouble() < AGREE_CHANCE ? agree : disagree;
+        }
+
+        private Position randomEmptyCell(BitBoard board) {
+            int size = board.getSize();
+            int cells = size * size;
+            int start = random.nextInt(cells);
+            for (int i = 0; i < cells; i++) {
+                int index = (start + i) % cells;
+                if (board.isEmpty(index / size, index % size)) {
+                    return Position.of(index / size, index % size);
+                }
+            }
+            throw new IllegalStateException("No empty cell on a board that is still PLAYING");
+        }
+
+        private long count(ActionType type) {
+            return counts.getOrDefault(type, 0L);
+        }
+
+        private long allocatedBytes() {
+            if (threads instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return -1;
+        }
+
+        private Long opponent(GameDocument game, Long playerId) {
+            return playerId.equals(game.getBlackPlayerId()) ? game.getWhitePlayerId() : game.getBlackPlayerId();
+        }
+
+        private Long playerA(long roomId) {
+            return roomId * 2;
+        }
+
+        private Long playerB(long roomId) {
+            return roomId * 2 + 1;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
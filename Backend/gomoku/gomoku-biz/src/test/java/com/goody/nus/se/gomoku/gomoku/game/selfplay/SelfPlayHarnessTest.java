@@ -0,0 +1,52 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Short self-play session used as an engine regression gate
+ *
+ * <p>Throughput is only asserted when {@code -Dselfplay.minActionsPerSecond} is set, so the
+ * default build does not depend on machine speed.
+ */
+@Slf4j
+class SelfPlayHarnessTest {
+
+    private static final int GAMES = 300;
+
+    @Test
+    @DisplayName("Self-play games run to completion with every action accepted")
+    void testSelfPlay() {
+        SelfPlayReport report = new SelfPlayHarness(8, 42L, true).run(GAMES);
+        log.info("[SelfPlay] {}", report.summary());
+
+        assertEquals(GAMES, report.getGames());
+        assertEquals(0, report.getRejectedActions());
+        assertTrue(report.getMoves() > GAMES);
+        assertTrue(report.getWins() > 0);
+        assertTrue(report.getUndos() > 0);
+        assertTrue(report.getDraws() > 0);
+        assertTrue(report.getSurrenders() > 0);
+        assertTrue(report.getRestarts() >= GAMES);
+        assertTrue(report.getP99Nanos() >= report.getP50Nanos());
+
+        double minActionsPerSecond = Double.parseDouble(System.getProperty("selfplay.minActionsPerSecond", "0"));
+        assertTrue(report.getActionsPerSecond() >= minActionsPerSecond,
+                () -> "Throughput regressed: " + report.summary());
+    }
+
+    @Test
+    @DisplayName("A fixed seed replays the same games")
+    void testDeterministic() {
+        SelfPlayReport first = new SelfPlayHarness(4, 7L, true).run(20);
+        SelfPlayReport second = new SelfPlayHarness(4, 7L, true).run(20);
+
+        assertEquals(first.getActions(), second.getActions());
+        assertEquals(first.getMoves(), second.getMoves());
+        assertEquals(first.getWins(), second.getWins());
+    }
+}
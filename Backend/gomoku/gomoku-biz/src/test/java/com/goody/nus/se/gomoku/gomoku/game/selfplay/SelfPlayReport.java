@@ -0,0 +1,64 @@
+package com.goody.nus.se.gomoku.gomoku.game.selfplay;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Result of a {@link SelfPlayHarness} run
+ */
+@Data
+@Builder
+public class SelfPlayReport {
+    /**
+     * Finished games
+     */
+    private int games;
+
+    /**
+     * Actions accepted by the engine
+     */
+    private long actions;
+
+    /**
+     * Actions the engine rejected (the driver only sends legal actions, so this should be 0)
+     */
+    private long rejectedActions;
+
+    private long moves;
+    private long undos;
+    private long draws;
+    private long surrenders;
+    private long restarts;
+
+    /**
+     * Games won by five in a row
+     */
+    private long wins;
+
+    /**
+     * Wall-clock time spent inside executeAction
+     */
+    private long elapsedNanos;
+
+    private long p50Nanos;
+    private long p99Nanos;
+
+    /**
+     * Bytes allocated by the driver thread per accepted action, -1 if the JVM cannot tell
+     */
+    private double bytesPerAction;
+
+    public double getActionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : actions * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * One-line human readable summary
+     */
+    public String summary() {
+        return String.format("games=%d actions=%d rejected=%d actions/s=%.0f p50=%.1fus p99=%.1fus alloc=%.0fB/action"
+                        + " [moves=%d wins=%d undos=%d draws=%d surrenders=%d restarts=%d]",
+                games, actions, rejectedActions, getActionsPerSecond(), p50Nanos / 1000.0, p99Nanos / 1000.0,
+                bytesPerAction, moves, wins, undos, draws, surrenders, restarts);
+    }
+}
@@ -0,0 +1,135 @@
+package com.goody.nus.se.gomoku.gomoku.game.service.impl;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameReplayResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for GameReplayServiceImpl
+ */
+class GameReplayServiceImplTest {
+
+    private static final int MOVES = 40;
+
+    @Mock
+    private IGameHistoryService gameHistoryService;
+
+    @InjectMocks
+    private GameReplayServiceImpl replayService;
+
+    private GameHistoryDocument history;
+
+    private final List<BitBoard> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Play 40 moves on distinct cells, recording the board after every ply
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        List<GameAction> actions = new ArrayList<>();
+        actions.add(GameAction.builder().type(ActionType.READY).color(PlayerColor.BLACK).build());
+        expected.add(state.getBoard().copy());
+        for (int i = 0; i < MOVES; i++) {
+            PlayerColor color = i % 2 == 0 ? PlayerColor.BLACK : PlayerColor.WHITE;
+            Position position = Position.of((i * 7) % 15, (i * 4 + i / 15) % 15);
+            actions.add(GameAction.builder().type(ActionType.MOVE).color(color).position(position).build());
+            state.placeStone(position.getX(), position.getY(), color.getValue());
+            expected.add(state.getBoard().copy());
+        }
+
+        GameDocument game = GameDocument.builder()
+                .roomId(1L)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .currentState(state)
+                .actionHistory(actions)
+                .build();
+        history = GameHistoryDocument.fromGameDocument(game, 1, "WIN");
+    }
+
+    @Test
+    void testCheckpointsStoredEveryInterval() {
+        assertEquals(MOVES / GameHistoryDocument.CHECKPOINT_INTERVAL, history.getCheckpoints().size());
+        assertEquals(16, history.getCheckpoints().get(0).getPly());
+        assertEquals(expected.get(32), history.getCheckpoints().get(1).getBoard());
+    }
+
+    @Test
+    void testBoardAtEveryPly() {
+        for (int ply = 0; ply <= MOVES; ply++) {
+            assertEquals(expected.get(ply), replayService.boardAtPly(history, ply), "ply " + ply);
+        }
+    }
+
+    @Test
+    void testBoardAtPlyWithoutCheckpoints() {
+        history.setCheckpoints(null);
+        assertEquals(expected.get(MOVES), replayService.boardAtPly(history, MOVES));
+    }
+
+    @Test
+    void testFramesAcrossCheckpoint() {
+        List<BitBoard> frames = replayService.frames(history, 14, 18);
+        assertEquals(5, frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            assertEquals(expected.get(14 + i), frames.get(i));
+        }
+    }
+
+    @Test
+    void testGetFrames() {
+        when(gameHistoryService.getGameByRoomIdAndNumber(1L, 1)).thenReturn(Optional.of(history));
+
+        GameReplayResponse response = replayService.getFrames(1L, 1, 200L, 20, 20);
+
+        assertEquals(MOVES, response.getTotalPlies());
+        assertEquals(20, response.getFromPly());
+        assertEquals(List.of(expected.get(20)), response.getFrames());
+    }
+
+    @Test
+    void testGetFramesGameNotFound() {
+        when(gameHistoryService.getGameByRoomIdAndNumber(1L, 2)).thenReturn(Optional.empty());
+        assertThrows(BizException.class, () -> replayService.getFrames(1L, 2, 100L, 0, 0));
+    }
+
+    @Test
+    void testGetFramesRejectsPlayerNotInGame() {
+        when(gameHistoryService.getGameByRoomIdAndNumber(1L, 1)).thenReturn(Optional.of(history));
+
+        BizException e = assertThrows(BizException.class, () -> replayService.getFrames(1L, 1, 300L, 0, 0));
+
+        assertEquals(ErrorCodeEnum.PLAYER_NOT_IN_GAME, e.getErrorCode());
+    }
+
+    @Test
+    void testPlyOutOfRange() {
+        assertThrows(BizException.class, () -> replayService.boardAtPly(history, MOVES + 1));
+        assertThrows(BizException.class, () -> replayService.frames(history, 5, 4));
+        assertThrows(BizException.class, () -> replayService.frames(history, -1, 3));
+        assertEquals(0, replayService.boardAtPly(history, 0).stoneCount());
+    }
+}
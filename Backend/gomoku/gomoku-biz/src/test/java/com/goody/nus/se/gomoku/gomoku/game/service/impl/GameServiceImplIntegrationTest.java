@@ -9,6 +9,7 @@ import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
 import com.goody.nus.se.gomoku.gomoku.game.TestApplication;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
 import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
 import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
@@ -52,6 +53,8 @@ class GameServiceImplIntegrationTest {
     @Autowired
     private GameRepository gameRepository;
     @Autowired
+    private GameStateCache gameStateCache;
+    @Autowired
     private GameHistoryRepository gameHistoryRepository;
     @Autowired
     private IGameRoomService gameRoomService;
@@ -62,6 +65,7 @@ class GameServiceImplIntegrationTest {
     void setUp() {
         // Clean up test data before each test
         gameRepository.findByRoomId(ROOM_ID).ifPresent(game -> gameRepository.delete(game));
+        gameStateCache.invalidate(ROOM_ID);
         gameHistoryRepository.deleteByRoomId(ROOM_ID);
 
         // Clean up room code in Redis/cache if exists
@@ -95,6 +99,7 @@ class GameServiceImplIntegrationTest {
     void tearDown() {
         // Clean up test data after each test
         gameRepository.findByRoomId(ROOM_ID).ifPresent(game -> gameRepository.delete(game));
+        gameStateCache.invalidate(ROOM_ID);
         gameHistoryRepository.deleteByRoomId(ROOM_ID);
         gameRoomService.deleteById(ROOM_ID);
 
@@ -162,7 +167,7 @@ class GameServiceImplIntegrationTest {
         // Black places 5 stones in a row horizontally: (7,7), (7,8), (7,9), (7,10), (7,11)
         Long version1 = getCurrentVersion();
         final GameStateResponse resp1 = playMove(7, 7, blackPlayerId);
-        verifyMoveResponse(resp1, version1, PlayerColor.WHITE, GameStatus.PLAYING, new Position(7, 7));
+        verifyMoveResponse(resp1, version1, PlayerColor.WHITE, GameStatus.PLAYING, Position.of(7, 7));
 
         Long version2 = getCurrentVersion();
         final GameStateResponse resp2 = playMove(6, 7, whitePlayerId);
@@ -170,7 +175,7 @@ class GameServiceImplIntegrationTest {
 
         Long version3 = getCurrentVersion();
         final GameStateResponse resp3 = playMove(7, 8, blackPlayerId);
-        verifyMoveResponse(resp3, version3, PlayerColor.WHITE, GameStatus.PLAYING, new Position(7, 8));
+        verifyMoveResponse(resp3, version3, PlayerColor.WHITE, GameStatus.PLAYING, Position.of(7, 8));
 
         final GameStateResponse resp4 = playMove(6, 8, whitePlayerId);
         verifyMoveSuccess(resp4, PlayerColor.BLACK);
@@ -394,9 +399,9 @@ class GameServiceImplIntegrationTest {
         // Step 3: Verify board state before undo
         GameDocument gameBeforeUndo = gameRepository.findByRoomId(ROOM_ID).orElseThrow();
         assertEquals(3, gameBeforeUndo.getCurrentState().getTotalMoves());
-        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard()[7][7]); // Black
-        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard()[7][8]); // White
-        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard()[8][7]); // Black (mistake)
+        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard().get(7, 7)); // Black
+        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard().get(7, 8)); // White
+        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard().get(8, 7)); // Black (mistake)
         assertEquals(PlayerColor.WHITE, gameBeforeUndo.getCurrentState().getCurrentTurn());
 
         // Step 4: Black proposes undo (last move was Black's, so undo 1 move)
@@ -419,11 +424,11 @@ class GameServiceImplIntegrationTest {
         GameDocument gameAfterUndo = gameRepository.findByRoomId(ROOM_ID).orElseThrow();
 
         // Board should have last move removed (8,7)
-        assertEquals(0, gameAfterUndo.getCurrentState().getBoard()[8][7], "Position (8,7) should be empty after undo");
+        assertEquals(0, gameAfterUndo.getCurrentState().getBoard().get(8, 7), "Position (8,7) should be empty after undo");
 
         // First 2 moves should still exist
-        assertEquals(1, gameAfterUndo.getCurrentState().getBoard()[7][7], "Position (7,7) should still have black stone");
-        assertEquals(2, gameAfterUndo.getCurrentState().getBoard()[7][8], "Position (7,8) should still have white stone");
+        assertEquals(1, gameAfterUndo.getCurrentState().getBoard().get(7, 7), "Position (7,7) should still have black stone");
+        assertEquals(2, gameAfterUndo.getCurrentState().getBoard().get(7, 8), "Position (7,8) should still have white stone");
 
         // Total moves should be reduced by 1
         assertEquals(2, gameAfterUndo.getCurrentState().getTotalMoves(), "Total moves should be 2 after undoing");
@@ -473,10 +478,10 @@ class GameServiceImplIntegrationTest {
         // Step 3: Verify board state before undo
         GameDocument gameBeforeUndo = gameRepository.findByRoomId(ROOM_ID).orElseThrow();
         assertEquals(4, gameBeforeUndo.getCurrentState().getTotalMoves());
-        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard()[7][7]); // Black
-        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard()[7][8]); // White
-        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard()[8][7]); // Black
-        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard()[8][8]); // White (good move)
+        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard().get(7, 7)); // Black
+        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard().get(7, 8)); // White
+        assertEquals(1, gameBeforeUndo.getCurrentState().getBoard().get(8, 7)); // Black
+        assertEquals(2, gameBeforeUndo.getCurrentState().getBoard().get(8, 8)); // White (good move)
         assertEquals(PlayerColor.BLACK, gameBeforeUndo.getCurrentState().getCurrentTurn());
 
         // Step 4: Black proposes undo (last move was White's at 8,8, so undo 2 moves)
@@ -499,12 +504,12 @@ class GameServiceImplIntegrationTest {
         GameDocument gameAfterUndo = gameRepository.findByRoomId(ROOM_ID).orElseThrow();
 
         // Board should have last 2 moves removed
-        assertEquals(0, gameAfterUndo.getCurrentState().getBoard()[8][8], "Position (8,8) should be empty after undo");
-        assertEquals(0, gameAfterUndo.getCurrentState().getBoard()[8][7], "Position (8,7) should be empty after undo");
+        assertEquals(0, gameAfterUndo.getCurrentState().getBoard().get(8, 8), "Position (8,8) should be empty after undo");
+        assertEquals(0, gameAfterUndo.getCurrentState().getBoard().get(8, 7), "Position (8,7) should be empty after undo");
 
         // First 2 moves should still exist
-        assertEquals(1, gameAfterUndo.getCurrentState().getBoard()[7][7], "Position (7,7) should still have black stone");
-        assertEquals(2, gameAfterUndo.getCurrentState().getBoard()[7][8], "Position (7,8) should still have white stone");
+        assertEquals(1, gameAfterUndo.getCurrentState().getBoard().get(7, 7), "Position (7,7) should still have black stone");
+        assertEquals(2, gameAfterUndo.getCurrentState().getBoard().get(7, 8), "Position (7,8) should still have white stone");
 
         // Total moves should be reduced by 2
         assertEquals(2, gameAfterUndo.getCurrentState().getTotalMoves(), "Total moves should be 2 after undoing 2 moves");
@@ -567,9 +572,9 @@ class GameServiceImplIntegrationTest {
         GameDocument gameAfterDisagree = gameRepository.findByRoomId(ROOM_ID).orElseThrow();
 
         // All 3 moves should still be on the board
-        assertEquals(1, gameAfterDisagree.getCurrentState().getBoard()[7][7]);
-        assertEquals(2, gameAfterDisagree.getCurrentState().getBoard()[7][8]);
-        assertEquals(1, gameAfterDisagree.getCurrentState().getBoard()[8][7]);
+        assertEquals(1, gameAfterDisagree.getCurrentState().getBoard().get(7, 7));
+        assertEquals(2, gameAfterDisagree.getCurrentState().getBoard().get(7, 8));
+        assertEquals(1, gameAfterDisagree.getCurrentState().getBoard().get(8, 7));
 
         // Total moves should still be 3
         assertEquals(3, gameAfterDisagree.getCurrentState().getTotalMoves());
@@ -624,10 +629,10 @@ class GameServiceImplIntegrationTest {
 
         // Step 6: Verify board state unchanged (no undo occurred)
         // All original 3 moves should still exist, plus the new move at (8,8)
-        assertEquals(1, gameAfterMove.getCurrentState().getBoard()[7][7]);
-        assertEquals(2, gameAfterMove.getCurrentState().getBoard()[7][8]);
-        assertEquals(1, gameAfterMove.getCurrentState().getBoard()[8][7]);
-        assertEquals(2, gameAfterMove.getCurrentState().getBoard()[8][8]);
+        assertEquals(1, gameAfterMove.getCurrentState().getBoard().get(7, 7));
+        assertEquals(2, gameAfterMove.getCurrentState().getBoard().get(7, 8));
+        assertEquals(1, gameAfterMove.getCurrentState().getBoard().get(8, 7));
+        assertEquals(2, gameAfterMove.getCurrentState().getBoard().get(8, 8));
 
         // Total moves should be 4
         assertEquals(4, gameAfterMove.getCurrentState().getTotalMoves());
@@ -939,7 +944,7 @@ class GameServiceImplIntegrationTest {
     private GameStateResponse playMove(int x, int y, Long playerId) {
         GomokuActionRequest move = GomokuActionRequest.builder()
                 .type(ActionType.MOVE)
-                .position(new Position(x, y))
+                .position(Position.of(x, y))
                 .build();
         return gameService.executeAction(ROOM_ID, playerId, move);
     }
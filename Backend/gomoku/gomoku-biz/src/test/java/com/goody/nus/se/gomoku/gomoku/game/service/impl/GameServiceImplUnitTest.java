@@ -1,13 +1,24 @@
 package com.goody.nus.se.gomoku.gomoku.game.service.impl;
 
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
 import com.goody.nus.se.gomoku.common.exception.BizException;
 import com.goody.nus.se.gomoku.gomoku.api.request.GomokuActionRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
 import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.RoomTypeEnum;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.game.chain.GameActionDispatcher;
 import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
 import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContextLoader;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.game.service.GameActionListener;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import com.goody.nus.se.gomoku.gomoku.model.Position;
 import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
@@ -17,17 +28,27 @@ import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,18 +69,37 @@ class GameServiceImplUnitTest {
     @Mock
     private ExecuteChainHandler executeChainHandler;
 
+    @Mock
+    private GameActionDispatcher gameActionDispatcher;
+
     @Mock
     private IGameRoomService gameRoomService;
 
     @Mock
     private RoomCodeDao roomCodeDao;
 
-    @InjectMocks
+    @Mock
+    private GameActionListener gameActionListener;
+
     private GameServiceImpl gameService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Write-through, so every accepted action is saved before it returns
+        GameStateCacheProperties properties = new GameStateCacheProperties();
+        properties.setDurabilityWindowMillis(0);
+        DefaultListableBeanFactory listeners = new DefaultListableBeanFactory();
+        listeners.registerSingleton("gameActionListener", gameActionListener);
+        gameService = new GameServiceImpl(new GameStateCache(gameRepository, properties, GameJournal.disabled()), validateChainHandler,
+                executeChainHandler, gameActionDispatcher, new ActionContextLoader(gameRoomService,
+                new RoomTtlRenewer(roomCodeDao, new RoomTtlProperties()), properties),
+                roomCodeDao,
+                listeners.getBeanProvider(GameActionListener.class));
+        when(gameRepository.insertIfAbsent(any())).thenReturn(true);
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(true);
+        when(roomCodeDao.getRule(anyString())).thenReturn(GameRuleEnum.STANDARD);
+        when(roomCodeDao.getBoardSize(anyString())).thenReturn(15);
     }
 
     @Test
@@ -73,6 +113,7 @@ class GameServiceImplUnitTest {
 
         assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
         verify(gameRoomService).findById(roomId);
+        verify(gameActionListener, never()).afterAction(any(), any());
     }
 
     @Test
@@ -87,10 +128,22 @@ class GameServiceImplUnitTest {
         roomDTO.setStatus(RoomStatusEnum.FINISHED.getValue());
         roomDTO.setRoomCode("ABCD1234");
 
+        GameDocument game = GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.FINISHED)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .build();
+
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
 
-        assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
+        BizException e = assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
+        assertEquals(ErrorCodeEnum.GAME_NOT_FOUND, e.getErrorCode());
         verify(gameRoomService).findById(roomId);
+        verify(gameActionDispatcher, never()).validateAndExecute(any(), any());
     }
 
     @Test
@@ -114,17 +167,18 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
         gameService.executeAction(roomId, playerId, request);
 
         verify(gameRoomService).findById(roomId);
-        verify(roomCodeDao).updateRoomTTL("ABCD1234", 20);
+        verify(roomCodeDao).touchRoomAsync("ABCD1234", 20);
         verify(validateChainHandler).handle(any(), any());
         verify(executeChainHandler).handle(any(), any());
-        verify(gameRepository).save(any());
+        verify(gameRepository).replaceIfVersion(any(), any());
+        verify(gameActionListener).afterAction(roomId, playerId);
     }
 
     @Test
@@ -148,7 +202,7 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
@@ -179,7 +233,7 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
@@ -202,11 +256,11 @@ class GameServiceImplUnitTest {
         roomDTO.setRoomCode("ABCD1234");
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(false);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(false));
 
         assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
         verify(gameRoomService).findById(roomId);
-        verify(roomCodeDao).exists("ABCD1234");
+        verify(roomCodeDao).touchRoomAsync("ABCD1234", 20);
     }
 
     @Test
@@ -230,14 +284,14 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
 
         gameService.executeAction(roomId, playerId, request);
 
         verify(validateChainHandler, never()).handle(any(), any());
         verify(executeChainHandler).handle(any(), any());
-        verify(gameRepository).save(any());
+        verify(gameRepository).replaceIfVersion(any(), any());
     }
 
     @Test
@@ -246,7 +300,7 @@ class GameServiceImplUnitTest {
         Long playerId = 100L;
         GomokuActionRequest request = new GomokuActionRequest();
         request.setType(ActionType.MOVE);
-        request.setPosition(new Position(7, 7));
+        request.setPosition(Position.of(7, 7));
 
         GameRoomDTO roomDTO = new GameRoomDTO();
         roomDTO.setId(roomId);
@@ -262,13 +316,13 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
-        when(validateChainHandler.handle(any(), any())).thenReturn(false);
+        when(gameActionDispatcher.validateAndExecute(any(), any())).thenReturn(false);
 
         assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
-        verify(validateChainHandler).handle(any(), any());
-        verify(executeChainHandler, never()).handle(any(), any());
+        verify(gameActionDispatcher).validateAndExecute(any(), any());
+        verify(gameRepository, never()).replaceIfVersion(any(), any());
     }
 
     @Test
@@ -284,7 +338,7 @@ class GameServiceImplUnitTest {
         roomDTO.setRoomCode("ABCD1234");
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("ABCD1234")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.empty());
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
@@ -293,7 +347,33 @@ class GameServiceImplUnitTest {
         verify(gameRepository).findByRoomId(roomId);
         verify(validateChainHandler).handle(any(), any());
         verify(executeChainHandler).handle(any(), any());
-        verify(gameRepository).save(any());
+        verify(gameRepository).insertIfAbsent(any());
+    }
+
+    @Test
+    void testExecuteAction_CreateNewGame_UsesRoomRuleAndBoardSize() {
+        Long roomId = 1L;
+        GomokuActionRequest request = new GomokuActionRequest();
+        request.setType(ActionType.READY);
+
+        GameRoomDTO roomDTO = new GameRoomDTO();
+        roomDTO.setId(roomId);
+        roomDTO.setStatus(RoomStatusEnum.WAITING.getValue());
+        roomDTO.setType(RoomTypeEnum.PRIVATE.getValue());
+        roomDTO.setRoomCode("ABCD1234");
+
+        when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("ABCD1234", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(roomCodeDao.getRule("ABCD1234")).thenReturn(GameRuleEnum.RENJU);
+        when(roomCodeDao.getBoardSize("ABCD1234")).thenReturn(19);
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.empty());
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+
+        GameStateResponse response = gameService.executeAction(roomId, 100L, request);
+
+        assertEquals(GameRuleEnum.RENJU, response.getRule());
+        verify(gameRepository).insertIfAbsent(argThat(game -> "PRIVATE_RENJU".equals(game.getModeType())
+                && game.getCurrentState().getBoardSize() == 19));
     }
 
     @Test
@@ -433,14 +513,14 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("TESTROOM")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
         gameService.executeAction(roomId, playerId, request);
 
-        verify(roomCodeDao).updateRoomTTL("TESTROOM", 20);
-        verify(gameRepository).save(any());
+        verify(roomCodeDao).touchRoomAsync("TESTROOM", 20);
+        verify(gameRepository).replaceIfVersion(any(), any());
     }
 
     @Test
@@ -464,7 +544,7 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("TESTROOM")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
 
         assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
@@ -492,13 +572,13 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("TESTROOM")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
         gameService.executeAction(roomId, playerId, request);
 
-        verify(gameRepository).save(any());
+        verify(gameRepository).replaceIfVersion(any(), any());
         verify(executeChainHandler).handle(any(), any());
     }
 
@@ -523,13 +603,13 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("TESTROOM")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
         when(validateChainHandler.handle(any(), any())).thenReturn(true);
 
         gameService.executeAction(roomId, playerId, request);
 
-        verify(gameRepository).save(any());
+        verify(gameRepository).replaceIfVersion(any(), any());
         verify(executeChainHandler).handle(any(), any());
     }
 
@@ -554,10 +634,172 @@ class GameServiceImplUnitTest {
                 .build();
 
         when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
-        when(roomCodeDao.exists("TESTROOM")).thenReturn(true);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
         when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
 
         assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
         verify(gameRepository).findByRoomId(roomId);
     }
+
+    @Test
+    void testExecuteAction_VersionConflict_RetriesOnReloadedGame() {
+        Long roomId = 1L;
+        Long playerId = 100L;
+        GomokuActionRequest request = new GomokuActionRequest();
+        request.setType(ActionType.READY);
+
+        GameRoomDTO roomDTO = new GameRoomDTO();
+        roomDTO.setId(roomId);
+        roomDTO.setStatus(RoomStatusEnum.WAITING.getValue());
+        roomDTO.setRoomCode("TESTROOM");
+
+        GameDocument stale = waitingGame(roomId, 3L);
+        GameDocument fresh = waitingGame(roomId, 4L);
+
+        when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+        when(gameRepository.replaceIfVersion(any(), eq(3L))).thenReturn(false);
+        when(gameRepository.replaceIfVersion(any(), eq(4L))).thenReturn(true);
+
+        gameService.executeAction(roomId, playerId, request);
+
+        verify(gameRepository, times(2)).findByRoomId(roomId);
+        verify(executeChainHandler).handle(same(stale), any());
+        verify(executeChainHandler).handle(same(fresh), any());
+        verify(gameRepository).replaceIfVersion(same(fresh), eq(4L));
+    }
+
+    @Test
+    void testExecuteAction_VersionConflict_GivesUpAfterMaxAttempts() {
+        Long roomId = 1L;
+        Long playerId = 100L;
+        GomokuActionRequest request = new GomokuActionRequest();
+        request.setType(ActionType.READY);
+
+        GameRoomDTO roomDTO = new GameRoomDTO();
+        roomDTO.setId(roomId);
+        roomDTO.setStatus(RoomStatusEnum.WAITING.getValue());
+        roomDTO.setRoomCode("TESTROOM");
+
+        when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(roomId)).thenAnswer(invocation -> Optional.of(waitingGame(roomId, 3L)));
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(false);
+
+        BizException e = assertThrows(BizException.class, () -> gameService.executeAction(roomId, playerId, request));
+
+        assertEquals(ErrorCodeEnum.GAME_VERSION_CONFLICT, e.getErrorCode());
+        verify(gameRepository, times(GameServiceImpl.MAX_WRITE_ATTEMPTS)).replaceIfVersion(any(), any());
+    }
+
+    @Test
+    void testExecuteAction_RoomMetadataAndTtlLoadedOnce() {
+        Long roomId = 1L;
+        Long playerId = 100L;
+        GomokuActionRequest request = new GomokuActionRequest();
+        request.setType(ActionType.READY);
+
+        GameRoomDTO roomDTO = new GameRoomDTO();
+        roomDTO.setId(roomId);
+        roomDTO.setStatus(RoomStatusEnum.WAITING.getValue());
+        roomDTO.setRoomCode("TESTROOM");
+
+        when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(waitingGame(roomId, 0L)));
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+        when(gameRepository.appendIfVersion(any(), any(), anyInt(), anyLong())).thenReturn(true);
+
+        gameService.executeAction(roomId, playerId, request);
+        gameService.executeAction(roomId, playerId, request);
+
+        verify(gameRoomService, times(1)).findById(roomId);
+        verify(roomCodeDao, times(1)).touchRoomAsync("TESTROOM", 20);
+    }
+
+    @Test
+    void testGetStateSince_UnchangedReturnsNull() {
+        Long roomId = 1L;
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(waitingGame(roomId, 5L)));
+
+        assertNull(gameService.getStateSince(roomId, 100L, 5L));
+        GameStateResponse response = gameService.getStateSince(roomId, 100L, 4L);
+
+        assertNotNull(response);
+        assertEquals(5L, response.getVersion());
+        assertEquals(0, response.getHistoryOffset());
+    }
+
+    @Test
+    void testGetStateIfChanged_UnchangedReturnsNull() {
+        Long roomId = 1L;
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(waitingGame(roomId, 5L)));
+
+        assertNull(gameService.getStateIfChanged(roomId, 100L, 5L));
+        GameStateResponse response = gameService.getStateIfChanged(roomId, 100L, 4L);
+
+        assertNotNull(response);
+        assertEquals(5L, response.getVersion());
+    }
+
+    @Test
+    void testGetStateIfChanged_ValidatesPlayerFirst() {
+        Long roomId = 1L;
+        GameDocument game = waitingGame(roomId, 5L);
+        game.setStatus(GameStatus.PLAYING);
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(game));
+
+        BizException e = assertThrows(BizException.class, () -> gameService.getStateIfChanged(roomId, 300L, 5L));
+
+        assertEquals(ErrorCodeEnum.PLAYER_NOT_IN_GAME, e.getErrorCode());
+    }
+
+    @Test
+    void testGetStateSince_ReturnsOnlyNewActions() {
+        Long roomId = 1L;
+        Long playerId = 100L;
+        GomokuActionRequest request = new GomokuActionRequest();
+        request.setType(ActionType.READY);
+
+        GameRoomDTO roomDTO = new GameRoomDTO();
+        roomDTO.setId(roomId);
+        roomDTO.setStatus(RoomStatusEnum.WAITING.getValue());
+        roomDTO.setRoomCode("TESTROOM");
+
+        when(gameRoomService.findById(roomId)).thenReturn(roomDTO);
+        when(roomCodeDao.touchRoomAsync("TESTROOM", 20)).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(roomId)).thenReturn(Optional.of(waitingGame(roomId, 0L)));
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+        when(gameRepository.appendIfVersion(any(), any(), anyInt(), anyLong())).thenReturn(true);
+        doAnswer(invocation -> {
+            GameDocument game = invocation.getArgument(0);
+            game.addActionToHistory(invocation.getArgument(1));
+            game.setVersion(game.getVersion() + 1);
+            return null;
+        }).when(executeChainHandler).handle(any(), any());
+
+        gameService.executeAction(roomId, playerId, request);
+        gameService.executeAction(roomId, playerId, request);
+        GameStateResponse delta = gameService.getStateSince(roomId, playerId, 1L);
+        GameStateResponse full = gameService.getStateSince(roomId, playerId, null);
+
+        assertEquals(1, delta.getHistoryOffset());
+        assertEquals(1, delta.getActionHistory().size());
+        assertEquals(0, full.getHistoryOffset());
+        assertEquals(2, full.getActionHistory().size());
+    }
+
+    private static GameDocument waitingGame(Long roomId, Long version) {
+        return GameDocument.builder()
+                .roomId(roomId)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.WAITING)
+                .version(version)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .build();
+    }
 }
@@ -0,0 +1,145 @@
+package com.goody.nus.se.gomoku.gomoku.game.util;
+
+import com.goody.nus.se.gomoku.gomoku.game.util.RenjuPatternTable.Verdict;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for RenjuPatternTable
+ */
+class RenjuPatternTableTest {
+
+    private BitBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitBoard(15);
+    }
+
+    @Test
+    void testEmptyBoardAllowed() {
+        assertEquals(Verdict.ALLOWED, check(7, 7));
+    }
+
+    @Test
+    void testExactFive() {
+        black(7, 3, 7, 4, 7, 5, 7, 6);
+        assertEquals(Verdict.FIVE, check(7, 7));
+    }
+
+    @Test
+    void testFiveAtBoardEdge() {
+        black(7, 0, 7, 1, 7, 2, 7, 3);
+        assertEquals(Verdict.FIVE, check(7, 4));
+    }
+
+    @Test
+    void testOverline() {
+        black(7, 2, 7, 3, 7, 4, 7, 6, 7, 7);
+        assertEquals(Verdict.OVERLINE, check(7, 5));
+    }
+
+    @Test
+    void testOverlineBeyondNineCellWindow() {
+        // Five would end at (7, 7); the stone at (7, 8) sits just past it
+        black(7, 3, 7, 4, 7, 5, 7, 6, 7, 8);
+        assertEquals(Verdict.OVERLINE, check(7, 7));
+    }
+
+    @Test
+    void testDoubleFourAcrossLines() {
+        black(7, 4, 7, 5, 7, 6, 4, 7, 5, 7, 6, 7);
+        assertEquals(Verdict.DOUBLE_FOUR, check(7, 7));
+    }
+
+    @Test
+    void testDoubleFourInOneLine() {
+        // X.XXX.X after the move at (7, 4)
+        black(7, 1, 7, 3, 7, 5, 7, 7);
+        assertEquals(Verdict.DOUBLE_FOUR, check(7, 4));
+    }
+
+    @Test
+    void testDoubleThree() {
+        black(7, 5, 7, 6, 5, 7, 6, 7);
+        assertEquals(Verdict.DOUBLE_THREE, check(7, 7));
+    }
+
+    @Test
+    void testDoubleThreeWithSplitThree() {
+        // Horizontal X.XX and vertical XX. both become open threes
+        black(7, 4, 7, 6, 5, 7, 6, 7);
+        assertEquals(Verdict.DOUBLE_THREE, check(7, 7));
+    }
+
+    @Test
+    void testFalseThreeDoesNotCount() {
+        // Vertical X.XX can only become a straight four at (7, 5), an overline along row 5
+        black(7, 4, 7, 6, 5, 7, 6, 7);
+        black(4, 5, 5, 5, 6, 5, 8, 5, 9, 5);
+        assertEquals(Verdict.ALLOWED, check(7, 7));
+    }
+
+    @Test
+    void testThreeWithOneAllowedCompletionCounts() {
+        // (5, 7) and (6, 7) make a three completed at (4, 7) or (8, 7); only (8, 7) is forbidden
+        black(7, 5, 7, 6, 5, 7, 6, 7);
+        black(8, 4, 8, 5, 8, 6, 8, 8, 8, 9);
+        assertEquals(Verdict.DOUBLE_THREE, check(7, 7));
+    }
+
+    @Test
+    void testBlockedThreeIsNotOpen() {
+        black(7, 5, 7, 6, 5, 7, 6, 7);
+        white(7, 8);
+        assertEquals(Verdict.ALLOWED, check(7, 7));
+    }
+
+    @Test
+    void testFourThreeAllowed() {
+        black(7, 4, 7, 5, 7, 6, 5, 7, 6, 7);
+        white(7, 3);
+        assertEquals(Verdict.ALLOWED, check(7, 7));
+    }
+
+    @Test
+    void testLargeBoardDoubleThree() {
+        board = new BitBoard(19);
+        black(9, 7, 9, 8, 7, 9, 8, 9);
+        assertEquals(Verdict.DOUBLE_THREE, check(9, 9));
+    }
+
+    @Test
+    void testLargeBoardOverlineAtFarEdge() {
+        board = new BitBoard(19);
+        black(18, 13, 18, 14, 18, 15, 18, 17, 18, 18);
+        assertEquals(Verdict.OVERLINE, check(18, 16));
+    }
+
+    @Test
+    void testLargeBoardFiveAtFarCorner() {
+        board = new BitBoard(19);
+        black(14, 14, 15, 15, 16, 16, 17, 17);
+        assertEquals(Verdict.FIVE, check(18, 18));
+    }
+
+    private Verdict check(int x, int y) {
+        return RenjuPatternTable.check(board, Position.of(x, y));
+    }
+
+    private void black(int... coordinates) {
+        for (int i = 0; i < coordinates.length; i += 2) {
+            board.set(coordinates[i], coordinates[i + 1], BitBoard.BLACK);
+        }
+    }
+
+    private void white(int... coordinates) {
+        for (int i = 0; i < coordinates.length; i += 2) {
+            board.set(coordinates[i], coordinates[i + 1], BitBoard.WHITE);
+        }
+    }
+}
@@ -67,7 +67,7 @@ class MatchBizServiceImplTest {
         assertEquals("queued", response.getStatus());
         verify(matchService).match(request, playerId);
         verify(roomCodeService, never()).saveRoomRecord(any(), any(), any(), anyByte());
-        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any());
+        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -88,7 +88,7 @@ class MatchBizServiceImplTest {
         assertEquals("matched", response.getStatus());
         verify(matchService).match(request, playerId);
         verify(roomCodeService, never()).saveRoomRecord(any(), any(), any(), anyByte());
-        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any());
+        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -110,7 +110,7 @@ class MatchBizServiceImplTest {
         assertEquals("matched", response.getStatus());
         verify(matchService).match(request, playerId);
         verify(roomCodeService, never()).saveRoomRecord(any(), any(), any(), anyByte());
-        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any());
+        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -132,7 +132,7 @@ class MatchBizServiceImplTest {
         assertEquals("matched", response.getStatus());
         verify(matchService).match(request, playerId);
         verify(roomCodeService, never()).saveRoomRecord(any(), any(), any(), anyByte());
-        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any());
+        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -162,7 +162,7 @@ class MatchBizServiceImplTest {
         verify(matchService).match(request, playerId);
         verify(gameRoomService).findRoomIdByRoomCode(roomCode);
         verify(roomCodeService).saveRoomRecord(roomCode, 100L, 200L, (byte) 0);
-        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "CASUAL");
+        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "CASUAL", 15);
     }
 
     @Test
@@ -192,7 +192,7 @@ class MatchBizServiceImplTest {
         verify(matchService).match(request, playerId);
         verify(gameRoomService).findRoomIdByRoomCode(roomCode);
         verify(roomCodeService).saveRoomRecord(roomCode, 100L, 200L, (byte) 1);
-        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "RANKED");
+        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "RANKED", 15);
     }
 
     @Test
@@ -221,7 +221,7 @@ class MatchBizServiceImplTest {
         verify(matchService).match(request, playerId);
         verify(gameRoomService).findRoomIdByRoomCode(roomCode);
         verify(roomCodeService, never()).saveRoomRecord(any(), any(), any(), anyByte());
-        verify(roomStateService).initializeGameState(existingRoomId, 100L, 200L, "CASUAL");
+        verify(roomStateService).initializeGameState(existingRoomId, 100L, 200L, "CASUAL", 15);
     }
 
     @Test
@@ -248,7 +248,7 @@ class MatchBizServiceImplTest {
         assertNotNull(response);
         assertEquals("matched", response.getStatus());
         assertEquals(roomId, response.getRoomId());
-        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "CASUAL");
+        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "CASUAL", 15);
     }
 
     @Test
@@ -275,7 +275,7 @@ class MatchBizServiceImplTest {
         assertNotNull(response);
         assertEquals("matched", response.getStatus());
         assertEquals(roomId, response.getRoomId());
-        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "RANKED");
+        verify(roomStateService).initializeGameState(roomId, 100L, 200L, "RANKED", 15);
     }
 
     @Test
@@ -0,0 +1,74 @@
+package com.goody.nus.se.gomoku.gomoku.enums;
+
+/**
+ * First-class board sizes
+ *
+ * <p>Matchmaking queues exist only for these sizes. Private rooms may also pick a custom
+ * size between {@link #MIN_CUSTOM_SIZE} and {@link #MAX_CUSTOM_SIZE}.
+ */
+public enum BoardSizeEnum {
+    /**
+     * Standard 15x15 Gomoku board
+     */
+    STANDARD(15),
+
+    /**
+     * 19x19 Go-sized board
+     */
+    LARGE(19);
+
+    /**
+     * Smallest custom board edge length accepted for private rooms
+     */
+    public static final int MIN_CUSTOM_SIZE = 9;
+
+    /**
+     * Largest custom board edge length accepted for private rooms
+     */
+    public static final int MAX_CUSTOM_SIZE = 25;
+
+    private final int size;
+
+    BoardSizeEnum(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the first-class size with the given edge length
+     *
+     * @param size board edge length
+     * @return the enum value, or null for a custom size
+     */
+    public static BoardSizeEnum fromSize(int size) {
+        for (BoardSizeEnum value : BoardSizeEnum.values()) {
+            if (value.size == size) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a private room may be created with this edge length
+     *
+     * @param size board edge length
+     * @return true for first-class sizes and sizes within the custom range
+     */
+    public static boolean isSupported(int size) {
+        return fromSize(size) != null || (size >= MIN_CUSTOM_SIZE && size <= MAX_CUSTOM_SIZE);
+    }
+
+    /**
+     * Resolve an optional requested size
+     *
+     * @param size requested edge length, may be null
+     * @return the requested size, or the standard size when none was given
+     */
+    public static int orDefault(Integer size) {
+        return size != null ? size : STANDARD.size;
+    }
+}
@@ -0,0 +1,84 @@
+package com.goody.nus.se.gomoku.gomoku.enums;
+
+/**
+ * Game rule variant
+ *
+ * <p>Selected per room through a suffix on GameDocument.modeType, e.g. "CASUAL" plays
+ * standard Gomoku and "CASUAL_RENJU" plays Renju. The part before the suffix stays the
+ * ranking mode (RANKED, CASUAL, PRIVATE).
+ */
+public enum GameRuleEnum {
+    /**
+     * Free-style Gomoku: five or more in a row wins, no forbidden moves
+     */
+    STANDARD,
+
+    /**
+     * Renju: black may not play double-three, double-four or overline
+     */
+    RENJU;
+
+    /**
+     * Separator between the ranking mode and the rule suffix in modeType
+     */
+    public static final String SEPARATOR = "_";
+
+    private static final String RENJU_SUFFIX = SEPARATOR + "RENJU";
+
+    /**
+     * Resolve an optional requested rule
+     *
+     * @param name rule name, case-insensitive, may be null
+     * @return the named rule, STANDARD when none was given, or null if the name is unknown
+     */
+    public static GameRuleEnum orDefault(String name) {
+        if (name == null || name.isBlank()) {
+            return STANDARD;
+        }
+        for (GameRuleEnum rule : values()) {
+            if (rule.name().equalsIgnoreCase(name.trim())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the rule variant from a room's modeType
+     *
+     * @param modeType mode type, optionally suffixed with a rule (e.g. "CASUAL_RENJU")
+     * @return the rule, STANDARD when no suffix is present
+     */
+    public static GameRuleEnum fromModeType(String modeType) {
+        // Case-insensitive suffix match without allocating, this runs on every move
+        if (modeType != null && modeType.length() >= RENJU_SUFFIX.length()
+                && modeType.regionMatches(true, modeType.length() - RENJU_SUFFIX.length(),
+                RENJU_SUFFIX, 0, RENJU_SUFFIX.length())) {
+            return RENJU;
+        }
+        return STANDARD;
+    }
+
+    /**
+     * Strip the rule suffix, leaving the ranking mode
+     *
+     * @param modeType mode type, optionally suffixed with a rule
+     * @return the ranking mode (RANKED, CASUAL, PRIVATE), or null if modeType is null
+     */
+    public static String rankingModeType(String modeType) {
+        if (fromModeType(modeType) == STANDARD) {
+            return modeType;
+        }
+        return modeType.substring(0, modeType.length() - RENJU_SUFFIX.length());
+    }
+
+    /**
+     * Build a modeType carrying this rule
+     *
+     * @param rankingModeType ranking mode (RANKED, CASUAL, PRIVATE)
+     * @return the mode type with the rule suffix, unchanged for STANDARD
+     */
+    public String toModeType(String rankingModeType) {
+        return this == STANDARD ? rankingModeType : rankingModeType + SEPARATOR + name();
+    }
+}
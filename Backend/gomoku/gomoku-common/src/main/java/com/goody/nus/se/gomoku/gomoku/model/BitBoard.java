@@ -0,0 +1,360 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.goody.nus.se.gomoku.gomoku.model.codec.BitBoardJsonDeserializer;
+import com.goody.nus.se.gomoku.gomoku.model.codec.BitBoardJsonSerializer;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Compact Gomoku board backed by one bit-plane per color
+ *
+ * <p>Cell (x, y) maps to bit index {@code x * size + y}. Each plane is a {@code long[]}
+ * with one bit per cell, so a 15x15 board needs 4 longs per color instead of 225 ints.
+ * Cell values follow the legacy {@code int[][]} convention: 0=empty, 1=black, 2=white.
+ *
+ * <p>The board also keeps a stone counter and, once a run query is made, a
+ * {@link RunLengthIndex} that every {@link #set(int, int, int)} updates incrementally, so
+ * win and full-board checks are constant-time lookups instead of scans.
+ */
+@JsonSerialize(using = BitBoardJsonSerializer.class)
+@JsonDeserialize(using = BitBoardJsonDeserializer.class)
+public final class BitBoard implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cell value for an empty intersection
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * Cell value for a black stone (matches PlayerColor.BLACK)
+     */
+    public static final int BLACK = 1;
+
+    /**
+     * Cell value for a white stone (matches PlayerColor.WHITE)
+     */
+    public static final int WHITE = 2;
+
+    /**
+     * Number of line directions reported by the run queries
+     * (0=vertical, 1=horizontal, 2=diagonal, 3=anti-diagonal)
+     */
+    public static final int DIRECTION_COUNT = RunLengthIndex.DIRECTIONS.length;
+
+    private final int size;
+    private final long[] black;
+    private final long[] white;
+    private int stones;
+
+    /**
+     * Lazily built on the first run query, then maintained by every mutation
+     */
+    private transient RunLengthIndex runs;
+
+    /**
+     * Create an empty board
+     *
+     * @param size board edge length
+     */
+    public BitBoard(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid board size: " + size);
+        }
+        this.size = size;
+        this.black = new long[wordCount(size)];
+        this.white = new long[wordCount(size)];
+    }
+
+    private BitBoard(int size, long[] black, long[] white, int stones) {
+        this.size = size;
+        this.black = black;
+        this.white = white;
+        this.stones = stones;
+    }
+
+    /**
+     * Build a board from the legacy {@code int[][]} representation
+     *
+     * @param cells square matrix of 0/1/2 values
+     * @return the packed board
+     */
+    public static BitBoard fromArray(int[][] cells) {
+        BitBoard board = new BitBoard(cells.length);
+        for (int x = 0; x < cells.length; x++) {
+            for (int y = 0; y < cells[x].length; y++) {
+                if (cells[x][y] != EMPTY) {
+                    board.set(x, y, cells[x][y]);
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Build a board from packed little-endian plane bytes (see {@link #toBytes(int)})
+     *
+     * @param size  board edge length
+     * @param black black plane bytes
+     * @param white white plane bytes
+     * @return the packed board
+     */
+    public static BitBoard fromBytes(int size, byte[] black, byte[] white) {
+        BitBoard board = new BitBoard(size);
+        readPlane(black, board.black);
+        readPlane(white, board.white);
+        board.stones = board.count(BLACK) + board.count(WHITE);
+        return board;
+    }
+
+    /**
+     * Number of longs needed to hold one plane for the given board size
+     */
+    public static int wordCount(int size) {
+        return (size * size + 63) >>> 6;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the cell value at (x, y)
+     *
+     * @return 0=empty, 1=black, 2=white
+     */
+    public int get(int x, int y) {
+        return getAt(x * size + y);
+    }
+
+    /**
+     * Get the cell value at a {@link BoardGeometry} cell index
+     *
+     * @return 0=empty, 1=black, 2=white
+     */
+    public int getAt(int index) {
+        long mask = 1L << index;
+        if ((black[index >>> 6] & mask) != 0) {
+            return BLACK;
+        }
+        if ((white[index >>> 6] & mask) != 0) {
+            return WHITE;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Check whether the cell at a {@link BoardGeometry} cell index holds a stone of the given color
+     *
+     * @param color 1=black, 2=white
+     */
+    public boolean isAt(int index, int color) {
+        long[] plane = color == BLACK ? black : white;
+        return (plane[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check whether (x, y) holds a stone of the given color
+     */
+    public boolean is(int x, int y, int color) {
+        if (color == EMPTY) {
+            return isEmpty(x, y);
+        }
+        int index = x * size + y;
+        long[] plane = color == BLACK ? black : white;
+        return (plane[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check whether (x, y) is empty
+     */
+    public boolean isEmpty(int x, int y) {
+        int index = x * size + y;
+        return ((black[index >>> 6] | white[index >>> 6]) & (1L << index)) == 0;
+    }
+
+    /**
+     * Set the cell value at (x, y), replacing any existing stone
+     *
+     * @param color 0=empty, 1=black, 2=white
+     */
+    public void set(int x, int y, int color) {
+        if (color != EMPTY && color != BLACK && color != WHITE) {
+            throw new IllegalArgumentException("Invalid cell value: " + color);
+        }
+        int previous = get(x, y);
+        if (previous == color) {
+            return;
+        }
+        int index = x * size + y;
+        int word = index >>> 6;
+        long mask = 1L << index;
+        if (previous != EMPTY) {
+            (previous == BLACK ? black : white)[word] &= ~mask;
+            stones--;
+            if (runs != null) {
+                runs.remove(this, x, y, previous);
+            }
+        }
+        if (color != EMPTY) {
+            (color == BLACK ? black : white)[word] |= mask;
+            stones++;
+            if (runs != null) {
+                runs.place(this, x, y, color);
+            }
+        }
+    }
+
+    /**
+     * Remove any stone at (x, y)
+     */
+    public void clear(int x, int y) {
+        set(x, y, EMPTY);
+    }
+
+    /**
+     * Count stones of one color using popcount
+     *
+     * @param color 1=black, 2=white
+     */
+    public int count(int color) {
+        long[] plane = color == BLACK ? black : white;
+        int total = 0;
+        for (long word : plane) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    /**
+     * Count all stones on the board (maintained incrementally)
+     */
+    public int stoneCount() {
+        return stones;
+    }
+
+    /**
+     * Check whether every intersection is occupied
+     */
+    public boolean isFull() {
+        return stoneCount() == size * size;
+    }
+
+    /**
+     * Length of the same-colored run through the stone at (x, y) in one direction
+     *
+     * @param direction 0..{@link #DIRECTION_COUNT}-1
+     * @return run length, 0 if the cell is empty
+     */
+    public int runLength(int x, int y, int direction) {
+        return runs().runLength(x, y, direction);
+    }
+
+    /**
+     * Longest run through the stone at (x, y) over all four directions
+     *
+     * @return longest run length, 0 if the cell is empty
+     */
+    public int longestRun(int x, int y) {
+        RunLengthIndex index = runs();
+        int longest = 0;
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            longest = Math.max(longest, index.runLength(x, y, d));
+        }
+        return longest;
+    }
+
+    /**
+     * Longest run a stone of the given color would form if placed on the empty cell (x, y)
+     *
+     * @param color 1=black, 2=white
+     * @return longest run length over all four directions, including the placed stone
+     */
+    public int longestRunIfPlaced(int x, int y, int color) {
+        RunLengthIndex index = runs();
+        int longest = 0;
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            longest = Math.max(longest, index.runLengthIfPlaced(this, x, y, color, d));
+        }
+        return longest;
+    }
+
+    private RunLengthIndex runs() {
+        if (runs == null) {
+            runs = new RunLengthIndex(this);
+        }
+        return runs;
+    }
+
+    /**
+     * Create an independent copy of this board
+     */
+    public BitBoard copy() {
+        return new BitBoard(size, black.clone(), white.clone(), stones);
+    }
+
+    /**
+     * Expand to the legacy {@code int[][]} representation
+     */
+    public int[][] toArray() {
+        int[][] cells = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                cells[x][y] = get(x, y);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Pack one color plane into little-endian bytes, one bit per cell
+     *
+     * @param color 1=black, 2=white
+     * @return {@code ceil(size * size / 8)} bytes
+     */
+    public byte[] toBytes(int color) {
+        long[] plane = color == BLACK ? black : white;
+        byte[] bytes = new byte[(size * size + 7) >>> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (plane[i >>> 3] >>> ((i & 7) << 3));
+        }
+        return bytes;
+    }
+
+    private static void readPlane(byte[] bytes, long[] plane) {
+        if (bytes == null) {
+            return;
+        }
+        int length = Math.min(bytes.length, plane.length << 3);
+        for (int i = 0; i < length; i++) {
+            plane[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BitBoard other)) {
+            return false;
+        }
+        return size == other.size && Arrays.equals(black, other.black) && Arrays.equals(white, other.white);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(size);
+        result = 31 * result + Arrays.hashCode(black);
+        result = 31 * result + Arrays.hashCode(white);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BitBoard(size=" + size + ", black=" + count(BLACK) + ", white=" + count(WHITE) + ")";
+    }
+}
@@ -0,0 +1,30 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Packed board stored at a fixed ply of an archived game
+ * Lets replay seek to any ply by applying at most one checkpoint interval of moves
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of moves applied to reach this board
+     */
+    private Integer ply;
+
+    /**
+     * Board after {@code ply} moves
+     */
+    private BitBoard board;
+}
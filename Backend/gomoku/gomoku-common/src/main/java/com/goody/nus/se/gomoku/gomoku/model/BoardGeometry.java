@@ -0,0 +1,116 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed neighbor tables for one board size
+ *
+ * <p>Cells are addressed by {@code x * size + y} as in {@link BitBoard}. For each of the four
+ * line directions the tables hold the index of the next and previous cell along the line, or
+ * {@link #OFF_BOARD} past an edge, so walking a line is one array read per step instead of
+ * recomputing coordinates and bounds-checking both axes.
+ *
+ * <p>The first-class 15x15 and 19x19 geometries are built at class load and returned without
+ * a map lookup; custom sizes are built once on first use and cached.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Neighbor index returned past an edge
+     */
+    public static final int OFF_BOARD = -1;
+
+    /**
+     * Line directions as (dx, dy): vertical, horizontal, diagonal (\), anti-diagonal (/)
+     */
+    static final int[][] DIRECTIONS = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+    private static final BoardGeometry STANDARD = new BoardGeometry(BoardSizeEnum.STANDARD.getSize());
+    private static final BoardGeometry LARGE = new BoardGeometry(BoardSizeEnum.LARGE.getSize());
+    private static final Map<Integer, BoardGeometry> CUSTOM = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int cellCount;
+    private final int[][] next;
+    private final int[][] previous;
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        this.cellCount = size * size;
+        this.next = new int[DIRECTIONS.length][cellCount];
+        this.previous = new int[DIRECTIONS.length][cellCount];
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int dx = DIRECTIONS[d][0];
+            int dy = DIRECTIONS[d][1];
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    next[d][x * size + y] = indexOrOffBoard(x + dx, y + dy);
+                    previous[d][x * size + y] = indexOrOffBoard(x - dx, y - dy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the geometry for a board size
+     *
+     * @param size board edge length
+     * @return the shared geometry
+     */
+    public static BoardGeometry of(int size) {
+        if (size == STANDARD.size) {
+            return STANDARD;
+        }
+        if (size == LARGE.size) {
+            return LARGE;
+        }
+        return CUSTOM.computeIfAbsent(size, BoardGeometry::new);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of intersections on the board
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Cell index of (x, y), which must be on the board
+     */
+    public int index(int x, int y) {
+        return x * size + y;
+    }
+
+    /**
+     * Next cell along a direction
+     *
+     * @param direction 0..3, see {@link BitBoard#DIRECTION_COUNT}
+     * @param index     current cell index
+     * @return the neighbor index, or {@link #OFF_BOARD}
+     */
+    public int next(int direction, int index) {
+        return next[direction][index];
+    }
+
+    /**
+     * Previous cell along a direction
+     *
+     * @param direction 0..3, see {@link BitBoard#DIRECTION_COUNT}
+     * @param index     current cell index
+     * @return the neighbor index, or {@link #OFF_BOARD}
+     */
+    public int previous(int direction, int index) {
+        return previous[direction][index];
+    }
+
+    private int indexOrOffBoard(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size ? x * size + y : OFF_BOARD;
+    }
+}
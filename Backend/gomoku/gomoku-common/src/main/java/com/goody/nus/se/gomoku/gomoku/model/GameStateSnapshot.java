@@ -1,5 +1,6 @@
 package com.goody.nus.se.gomoku.gomoku.model;
 
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,15 +21,15 @@ public class GameStateSnapshot implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * Board size (default 15 for standard Gomoku)
+     * Board size (default 15 for standard Gomoku, see {@link BoardSizeEnum})
      */
     @Builder.Default
-    private Integer boardSize = 15;
+    private Integer boardSize = BoardSizeEnum.STANDARD.getSize();
 
     /**
-     * Board: 0=empty, 1=black, 2=white
+     * Board: 0=empty, 1=black, 2=white, packed as one bit-plane per color
      */
-    private int[][] board;
+    private BitBoard board;
 
     /**
      * Current turn (BLACK or WHITE)
@@ -52,10 +53,16 @@ public class GameStateSnapshot implements Serializable {
     private Long snapshotTime;
 
     /**
-     * Initialize an empty board
+     * 64-bit Zobrist hash of the board and side to move (see {@link ZobristKeys})
+     * Maintained incrementally by {@link #placeStone}, {@link #removeStone} and {@link #changeTurn}
+     */
+    private Long zobristHash;
+
+    /**
+     * Initialize an empty standard-size board
      */
     public static GameStateSnapshot createEmpty() {
-        return createEmpty(15);
+        return createEmpty(BoardSizeEnum.STANDARD.getSize());
     }
 
     /**
@@ -64,11 +71,12 @@ public class GameStateSnapshot implements Serializable {
     public static GameStateSnapshot createEmpty(int boardSize) {
         return GameStateSnapshot.builder()
                 .boardSize(boardSize)
-                .board(new int[boardSize][boardSize])
+                .board(new BitBoard(boardSize))
                 .currentTurn(PlayerColor.BLACK)
                 .winner(-1)
                 .totalMoves(0)
                 .snapshotTime(System.currentTimeMillis())
+                .zobristHash(ZobristKeys.sideToMove(PlayerColor.BLACK))
                 .build();
     }
 
@@ -76,13 +84,8 @@ public class GameStateSnapshot implements Serializable {
      * Create a deep copy of the current state
      */
     public GameStateSnapshot deepCopy() {
-        int size = this.boardSize != null ? this.boardSize : 15;
-        int[][] newBoard = new int[size][size];
-        if (this.board != null) {
-            for (int i = 0; i < size; i++) {
-                System.arraycopy(this.board[i], 0, newBoard[i], 0, size);
-            }
-        }
+        int size = BoardSizeEnum.orDefault(this.boardSize);
+        BitBoard newBoard = this.board != null ? this.board.copy() : new BitBoard(size);
 
         return GameStateSnapshot.builder()
                 .boardSize(this.boardSize)
@@ -91,6 +94,56 @@ public class GameStateSnapshot implements Serializable {
                 .winner(this.winner)
                 .totalMoves(this.totalMoves)
                 .snapshotTime(System.currentTimeMillis())
+                .zobristHash(this.zobristHash)
                 .build();
     }
+
+    /**
+     * Place a stone and update the position hash
+     *
+     * @param color 1=black, 2=white
+     */
+    public void placeStone(int x, int y, int color) {
+        ensureZobristHash();
+        int size = this.board.getSize();
+        int previous = this.board.get(x, y);
+        if (previous != BitBoard.EMPTY) {
+            this.zobristHash ^= ZobristKeys.stone(size, x, y, previous);
+        }
+        this.board.set(x, y, color);
+        if (color != BitBoard.EMPTY) {
+            this.zobristHash ^= ZobristKeys.stone(size, x, y, color);
+        }
+    }
+
+    /**
+     * Remove the stone at (x, y), if any, and update the position hash
+     */
+    public void removeStone(int x, int y) {
+        ensureZobristHash();
+        int color = this.board.get(x, y);
+        if (color == BitBoard.EMPTY) {
+            return;
+        }
+        this.board.clear(x, y);
+        this.zobristHash ^= ZobristKeys.stone(this.board.getSize(), x, y, color);
+    }
+
+    /**
+     * Change the side to move and update the position hash
+     */
+    public void changeTurn(PlayerColor turn) {
+        ensureZobristHash();
+        this.zobristHash ^= ZobristKeys.sideToMove(this.currentTurn) ^ ZobristKeys.sideToMove(turn);
+        this.currentTurn = turn;
+    }
+
+    /**
+     * Snapshots persisted before hashing was introduced have no hash yet; compute it once
+     */
+    private void ensureZobristHash() {
+        if (this.zobristHash == null) {
+            this.zobristHash = ZobristKeys.hash(this.board, this.currentTurn);
+        }
+    }
 }
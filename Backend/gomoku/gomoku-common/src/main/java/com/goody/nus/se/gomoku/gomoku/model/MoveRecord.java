@@ -0,0 +1,36 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Entry of the move stack kept alongside the action history
+ * Records where a stone was placed and which action in the history placed it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Stone position
+     */
+    private Position position;
+
+    /**
+     * Stone color
+     */
+    private PlayerColor color;
+
+    /**
+     * Index of the MOVE action in the action history
+     */
+    private Integer actionIndex;
+}
@@ -1,28 +1,75 @@
 package com.goody.nus.se.gomoku.gomoku.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 /**
  * Represents a position on the Gomoku board
+ *
+ * <p>Positions are immutable. {@link #of(int, int)} returns a shared instance for every cell
+ * of every supported board size, and JSON requests and stored documents are read
+ * through it, so the move path does not allocate a new Position per action. There is no
+ * public constructor, so every position is created through it.
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
 public class Position {
     /**
-     * X coordinate (0-14)
+     * Largest board edge whose cells are interned, the largest supported board
+     */
+    public static final int MAX_CACHED_SIZE = BoardSizeEnum.MAX_CUSTOM_SIZE;
+
+    private static final Position[] CACHE = new Position[MAX_CACHED_SIZE * MAX_CACHED_SIZE];
+
+    static {
+        for (int x = 0; x < MAX_CACHED_SIZE; x++) {
+            for (int y = 0; y < MAX_CACHED_SIZE; y++) {
+                CACHE[x * MAX_CACHED_SIZE + y] = new Position(x, y);
+            }
+        }
+    }
+
+    /**
+     * X coordinate, from 0 to board size - 1
      */
     private int x;
 
     /**
-     * Y coordinate (0-14)
+     * Y coordinate, from 0 to board size - 1
      */
     private int y;
 
+    /**
+     * For frameworks that instantiate by reflection
+     */
+    Position() {
+    }
+
+    private Position(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Get the position for (x, y), shared for cells inside the cached range
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return the interned instance, or a new one outside the cached range
+     */
+    @JsonCreator
+    public static Position of(@JsonProperty("x") int x, @JsonProperty("y") int y) {
+        if (x >= 0 && x < MAX_CACHED_SIZE && y >= 0 && y < MAX_CACHED_SIZE) {
+            return CACHE[x * MAX_CACHED_SIZE + y];
+        }
+        return new Position(x, y);
+    }
+
     /**
      * Validate if position is within board bounds
      */
@@ -0,0 +1,123 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+/**
+ * Incremental run-length index for a {@link BitBoard}
+ *
+ * <p>For each of the four line directions, every occupied cell stores the length of the
+ * same-colored run it belongs to (empty cells store 0). Placing a stone merges at most two
+ * neighboring runs and removing one splits at most one, so updates only touch the run through
+ * the changed cell, which is bounded by the win length during a live game. Queries such as
+ * "how long is the run through (x, y)" or "how long would it be if a stone were placed here"
+ * are constant-time lookups.
+ *
+ * <p>Runs are walked through the board size's {@link BoardGeometry} neighbor tables, so no
+ * step recomputes coordinates or bounds-checks them.
+ *
+ * <p>Instances are owned by their board and kept in sync by {@link BitBoard#set(int, int, int)}.
+ */
+final class RunLengthIndex {
+
+    /**
+     * Line directions as (dx, dy): vertical, horizontal, diagonal (\), anti-diagonal (/)
+     */
+    static final int[][] DIRECTIONS = BoardGeometry.DIRECTIONS;
+
+    private final BoardGeometry geometry;
+    private final short[][] runs;
+
+    /**
+     * Build the index from the current board contents in one pass per direction
+     */
+    RunLengthIndex(BitBoard board) {
+        this.geometry = BoardGeometry.of(board.getSize());
+        int cells = geometry.getCellCount();
+        this.runs = new short[DIRECTIONS.length][cells];
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            for (int index = 0; index < cells; index++) {
+                int color = board.getAt(index);
+                // Only start counting at the first stone of each run
+                if (color == BitBoard.EMPTY || sameColor(board, geometry.previous(d, index), color)) {
+                    continue;
+                }
+                int length = 1;
+                for (int cell = geometry.next(d, index); sameColor(board, cell, color); cell = geometry.next(d, cell)) {
+                    length++;
+                }
+                fill(d, index, length, length);
+            }
+        }
+    }
+
+    /**
+     * Length of the run through the stone at (x, y) in one direction, 0 if empty
+     */
+    int runLength(int x, int y, int direction) {
+        return runs[direction][geometry.index(x, y)];
+    }
+
+    /**
+     * Length the run through (x, y) would have if a stone of the given color were placed there
+     */
+    int runLengthIfPlaced(BitBoard board, int x, int y, int color, int direction) {
+        int index = geometry.index(x, y);
+        return neighborRun(board, geometry.previous(direction, index), color, direction) + 1
+                + neighborRun(board, geometry.next(direction, index), color, direction);
+    }
+
+    /**
+     * Merge the runs adjacent to a newly placed stone (called after the bit is set)
+     */
+    void place(BitBoard board, int x, int y, int color) {
+        int index = geometry.index(x, y);
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int before = neighborRun(board, geometry.previous(d, index), color, d);
+            int after = neighborRun(board, geometry.next(d, index), color, d);
+            fill(d, walkBack(d, index, before), before + 1 + after, before + 1 + after);
+        }
+    }
+
+    /**
+     * Split the run a removed stone belonged to (called after the bit is cleared)
+     */
+    void remove(BitBoard board, int x, int y, int color) {
+        int index = geometry.index(x, y);
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int before = 0;
+            int start = index;
+            for (int cell = geometry.previous(d, index); sameColor(board, cell, color); cell = geometry.previous(d, cell)) {
+                before++;
+                start = cell;
+            }
+            int total = runs[d][index];
+            int after = Math.max(total - before - 1, 0);
+            fill(d, start, before, before);
+            if (after > 0) {
+                fill(d, geometry.next(d, index), after, after);
+            }
+            runs[d][index] = 0;
+        }
+    }
+
+    private int neighborRun(BitBoard board, int index, int color, int direction) {
+        return sameColor(board, index, color) ? runs[direction][index] : 0;
+    }
+
+    private static boolean sameColor(BitBoard board, int index, int color) {
+        return index != BoardGeometry.OFF_BOARD && board.isAt(index, color);
+    }
+
+    private int walkBack(int direction, int index, int steps) {
+        for (int i = 0; i < steps; i++) {
+            index = geometry.previous(direction, index);
+        }
+        return index;
+    }
+
+    private void fill(int direction, int start, int cells, int length) {
+        int index = start;
+        for (int i = 0; i < cells; i++) {
+            runs[direction][index] = (short) length;
+            index = geometry.next(direction, index);
+        }
+    }
+}
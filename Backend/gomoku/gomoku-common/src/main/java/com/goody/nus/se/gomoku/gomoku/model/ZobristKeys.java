@@ -0,0 +1,110 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zobrist keys for 64-bit position hashing
+ *
+ * <p>A position hash is the XOR of one key per occupied (cell, color) pair plus a side-to-move
+ * key when WHITE is to move, so placing or removing a stone, or passing the turn, is a single
+ * XOR. Keys are generated from a fixed seed with SplitMix64, which keeps hashes stable across
+ * JVM restarts so they can be persisted and indexed in MongoDB.
+ */
+public final class ZobristKeys {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SEED = 0x5A0B1E57C0DE600DL;
+
+    /**
+     * XORed into the hash while WHITE is to move
+     */
+    private static final long WHITE_TO_MOVE = mix64(SEED);
+
+    /**
+     * Key tables per board size, indexed by {@code (x * size + y) * 2 + (color - 1)}
+     */
+    private static final Map<Integer, long[]> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Tables for the first-class sizes, read on every stone without a map lookup
+     */
+    private static final long[] STANDARD_TABLE = table(BoardSizeEnum.STANDARD.getSize());
+    private static final long[] LARGE_TABLE = table(BoardSizeEnum.LARGE.getSize());
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * Key for a stone of the given color at (x, y)
+     *
+     * @param size  board edge length
+     * @param color 1=black, 2=white
+     */
+    public static long stone(int size, int x, int y, int color) {
+        return keys(size)[((x * size + y) << 1) + color - 1];
+    }
+
+    /**
+     * Key for the side to move (BLACK and no turn contribute nothing)
+     */
+    public static long sideToMove(PlayerColor turn) {
+        return turn == PlayerColor.WHITE ? WHITE_TO_MOVE : 0L;
+    }
+
+    /**
+     * Compute a position hash from scratch
+     *
+     * @param board the board
+     * @param turn  side to move, may be null
+     * @return the 64-bit Zobrist hash
+     */
+    public static long hash(BitBoard board, PlayerColor turn) {
+        long hash = sideToMove(turn);
+        if (board == null) {
+            return hash;
+        }
+        int size = board.getSize();
+        long[] keys = keys(size);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int color = board.get(x, y);
+                if (color != BitBoard.EMPTY) {
+                    hash ^= keys[((x * size + y) << 1) + color - 1];
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long[] keys(int size) {
+        if (size == BoardSizeEnum.STANDARD.getSize()) {
+            return STANDARD_TABLE;
+        }
+        if (size == BoardSizeEnum.LARGE.getSize()) {
+            return LARGE_TABLE;
+        }
+        return table(size);
+    }
+
+    private static long[] table(int size) {
+        return TABLES.computeIfAbsent(size, s -> {
+            long[] keys = new long[s * s * 2];
+            long state = SEED ^ (s * GOLDEN_GAMMA);
+            for (int i = 0; i < keys.length; i++) {
+                state += GOLDEN_GAMMA;
+                keys[i] = mix64(state);
+            }
+            return keys;
+        });
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
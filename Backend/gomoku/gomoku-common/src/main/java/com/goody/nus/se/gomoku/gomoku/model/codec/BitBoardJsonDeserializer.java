@@ -0,0 +1,44 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Reads a {@link BitBoard} written by {@link BitBoardJsonSerializer}
+ *
+ * <p>The legacy nested-array form ({@code [[0,1,2],...]}) is still accepted so that
+ * older clients and cached payloads keep working.
+ */
+public class BitBoardJsonDeserializer extends StdDeserializer<BitBoard> {
+
+    public BitBoardJsonDeserializer() {
+        super(BitBoard.class);
+    }
+
+    @Override
+    public BitBoard deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonNode node = parser.readValueAsTree();
+        if (node.isArray()) {
+            int[][] cells = new int[node.size()][];
+            for (int x = 0; x < node.size(); x++) {
+                JsonNode row = node.get(x);
+                cells[x] = new int[row.size()];
+                for (int y = 0; y < row.size(); y++) {
+                    cells[x][y] = row.get(y).asInt();
+                }
+            }
+            return BitBoard.fromArray(cells);
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        int size = node.path("size").asInt(15);
+        byte[] black = node.hasNonNull("black") ? decoder.decode(node.get("black").asText()) : null;
+        byte[] white = node.hasNonNull("white") ? decoder.decode(node.get("white").asText()) : null;
+        return BitBoard.fromBytes(size, black, white);
+    }
+}
@@ -0,0 +1,32 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Writes a {@link BitBoard} as {@code {"size":15,"black":"<base64>","white":"<base64>"}}
+ *
+ * <p>Each plane is the output of {@link BitBoard#toBytes(int)}: bit {@code x * size + y}
+ * of the little-endian byte stream is set when (x, y) holds a stone of that color.
+ */
+public class BitBoardJsonSerializer extends StdSerializer<BitBoard> {
+
+    public BitBoardJsonSerializer() {
+        super(BitBoard.class);
+    }
+
+    @Override
+    public void serialize(BitBoard board, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Base64.Encoder encoder = Base64.getEncoder();
+        gen.writeStartObject();
+        gen.writeNumberField("size", board.getSize());
+        gen.writeStringField("black", encoder.encodeToString(board.toBytes(BitBoard.BLACK)));
+        gen.writeStringField("white", encoder.encodeToString(board.toBytes(BitBoard.WHITE)));
+        gen.writeEndObject();
+    }
+}
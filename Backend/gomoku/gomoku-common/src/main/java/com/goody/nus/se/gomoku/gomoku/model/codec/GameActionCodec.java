@@ -0,0 +1,163 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs a {@link GameAction} into a single {@code long} for storage
+ *
+ * <p>Bit layout, least significant first:
+ * <pre>
+ *  0-4   action type ordinal
+ *  5-6   color (0=none, 1=black, 2=white)
+ *  7     player flag (1 when playerId is the player of that color)
+ *  8-17  cell index + 1 ({@code x * size + y}, 0 when there is no position)
+ *  18-63 timestamp - base + 1 (0 when there is no timestamp)
+ * </pre>
+ * The player ID is not stored; it is restored from the seat of the packed color, so an action
+ * can only be packed when its playerId is null or matches that seat (see {@link #canEncode}).
+ * The 46-bit delta covers about 2,200 years of milliseconds past the base time.
+ */
+public final class GameActionCodec {
+
+    private static final int TYPE_BITS = 5;
+    private static final int COLOR_SHIFT = TYPE_BITS;
+    private static final int PLAYER_SHIFT = COLOR_SHIFT + 2;
+    private static final int CELL_SHIFT = PLAYER_SHIFT + 1;
+    private static final int CELL_BITS = 10;
+    private static final int TIME_SHIFT = CELL_SHIFT + CELL_BITS;
+
+    private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final long MAX_DELTA = (1L << (Long.SIZE - TIME_SHIFT)) - 2;
+
+    private static final ActionType[] TYPES = ActionType.values();
+
+    /**
+     * Largest board edge whose cell index fits the cell field
+     */
+    public static final int MAX_BOARD_SIZE = 31;
+
+    private GameActionCodec() {
+    }
+
+    /**
+     * Check whether an action survives a round trip through {@link #encode}
+     *
+     * @param action        the action
+     * @param baseTime      base timestamp for deltas
+     * @param boardSize     board edge length
+     * @param blackPlayerId black seat
+     * @param whitePlayerId white seat
+     */
+    public static boolean canEncode(GameAction action, long baseTime, int boardSize,
+                                    Long blackPlayerId, Long whitePlayerId) {
+        if (action == null || action.getType() == null || boardSize > MAX_BOARD_SIZE) {
+            return false;
+        }
+        Position position = action.getPosition();
+        if (position != null && !position.isValid(boardSize)) {
+            return false;
+        }
+        Long timestamp = action.getTimestamp();
+        if (timestamp != null && (timestamp < baseTime || timestamp - baseTime > MAX_DELTA)) {
+            return false;
+        }
+        Long playerId = action.getPlayerId();
+        return playerId == null
+                || (action.getColor() != null && playerId.equals(seat(action.getColor(), blackPlayerId, whitePlayerId)));
+    }
+
+    /**
+     * Pack an action; the caller must have checked {@link #canEncode}
+     */
+    public static long encode(GameAction action, long baseTime, int boardSize) {
+        long packed = action.getType().ordinal();
+        PlayerColor color = action.getColor();
+        if (color != null) {
+            packed |= (long) color.getValue() << COLOR_SHIFT;
+        }
+        if (action.getPlayerId() != null) {
+            packed |= 1L << PLAYER_SHIFT;
+        }
+        Position position = action.getPosition();
+        if (position != null) {
+            packed |= (long) (position.getX() * boardSize + position.getY() + 1) << CELL_SHIFT;
+        }
+        if (action.getTimestamp() != null) {
+            packed |= (action.getTimestamp() - baseTime + 1) << TIME_SHIFT;
+        }
+        return packed;
+    }
+
+    /**
+     * Unpack an action, restoring the player ID from the seat of its color
+     */
+    public static GameAction decode(long packed, long baseTime, int boardSize,
+                                    Long blackPlayerId, Long whitePlayerId) {
+        int colorValue = (int) (packed >>> COLOR_SHIFT) & 0b11;
+        PlayerColor color = colorValue == 0 ? null : PlayerColor.fromValue(colorValue);
+        boolean hasPlayer = ((packed >>> PLAYER_SHIFT) & 1) != 0;
+        int cell = (int) ((packed >>> CELL_SHIFT) & CELL_MASK);
+        long delta = packed >>> TIME_SHIFT;
+        return GameAction.builder()
+                .type(TYPES[(int) (packed & TYPE_MASK)])
+                .color(color)
+                .playerId(hasPlayer ? seat(color, blackPlayerId, whitePlayerId) : null)
+                .position(cell == 0 ? null : Position.of((cell - 1) / boardSize, (cell - 1) % boardSize))
+                .timestamp(delta == 0 ? null : baseTime + delta - 1)
+                .build();
+    }
+
+    /**
+     * Pack a whole history
+     *
+     * @return the packed actions, or null if any action cannot be packed
+     */
+    public static long[] encodeAll(List<GameAction> actions, long baseTime, int boardSize,
+                                   Long blackPlayerId, Long whitePlayerId) {
+        long[] packed = new long[actions.size()];
+        for (int i = 0; i < packed.length; i++) {
+            GameAction action = actions.get(i);
+            if (!canEncode(action, baseTime, boardSize, blackPlayerId, whitePlayerId)) {
+                return null;
+            }
+            packed[i] = encode(action, baseTime, boardSize);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpack a whole history
+     */
+    public static List<GameAction> decodeAll(List<? extends Number> packed, long baseTime, int boardSize,
+                                             Long blackPlayerId, Long whitePlayerId) {
+        List<GameAction> actions = new ArrayList<>(packed.size());
+        for (Number value : packed) {
+            actions.add(decode(value.longValue(), baseTime, boardSize, blackPlayerId, whitePlayerId));
+        }
+        return actions;
+    }
+
+    /**
+     * Smallest timestamp in the list, used as the delta base
+     */
+    public static long baseTime(List<GameAction> actions) {
+        long base = Long.MAX_VALUE;
+        for (GameAction action : actions) {
+            if (action != null && action.getTimestamp() != null) {
+                base = Math.min(base, action.getTimestamp());
+            }
+        }
+        return base == Long.MAX_VALUE ? 0L : base;
+    }
+
+    private static Long seat(PlayerColor color, Long blackPlayerId, Long whitePlayerId) {
+        return color == PlayerColor.BLACK ? blackPlayerId : whitePlayerId;
+    }
+}
@@ -0,0 +1,188 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes a finished game's action history as one byte array for archival
+ *
+ * <p>Every action is an unsigned varint head followed by a varint timestamp:
+ * <pre>
+ *  head &lt; cells   MOVE on cell {@code head} ({@code x * size + y}) by the color to move,
+ *                 played by that color's seat; the color to move is BLACK at first and
+ *                 then the opponent of the last move
+ *  head &gt;= cells  any other action, tag = head - cells:
+ *                 bit 0 player flag, bits 1-2 color (0=none), bit 3 position follows
+ *                 as a varint cell, bits 4+ action type ordinal
+ *  timestamp      zigzag(timestamp - previous timestamp) + 1, 0 when there is none
+ * </pre>
+ * On a 15x15 board a move takes one or two bytes plus usually two or three for its time,
+ * against a subdocument of about 90 bytes. As in {@link GameActionCodec}, player IDs are
+ * restored from the seats, so a history can only be encoded when every action's playerId is
+ * null or the seat of its color.
+ */
+public final class MoveListCodec {
+
+    private static final int PLAYER_FLAG = 1;
+    private static final int COLOR_SHIFT = 1;
+    private static final int POSITION_FLAG = 1 << 3;
+    private static final int TYPE_SHIFT = 4;
+
+    private static final ActionType[] TYPES = ActionType.values();
+
+    private MoveListCodec() {
+    }
+
+    /**
+     * Encode a history
+     *
+     * @param actions       the actions in play order
+     * @param boardSize     board edge length
+     * @param blackPlayerId black seat
+     * @param whitePlayerId white seat
+     * @return the encoded history, or null if any action cannot be encoded
+     */
+    public static byte[] encode(List<GameAction> actions, int boardSize, Long blackPlayerId, Long whitePlayerId) {
+        int cells = boardSize * boardSize;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(actions.size() * 4);
+        PlayerColor toMove = PlayerColor.BLACK;
+        long previousTime = 0L;
+        for (GameAction action : actions) {
+            if (action == null || action.getType() == null) {
+                return null;
+            }
+            PlayerColor color = action.getColor();
+            Position position = action.getPosition();
+            Long playerId = action.getPlayerId();
+            if (position != null && !position.isValid(boardSize)) {
+                return null;
+            }
+            if (playerId != null && (color == null || !playerId.equals(seat(color, blackPlayerId, whitePlayerId)))) {
+                return null;
+            }
+
+            if (action.getType() == ActionType.MOVE && color == toMove && position != null && playerId != null) {
+                writeVarint(out, cell(position, boardSize));
+            } else {
+                long tag = (long) action.getType().ordinal() << TYPE_SHIFT;
+                if (playerId != null) {
+                    tag |= PLAYER_FLAG;
+                }
+                if (color != null) {
+                    tag |= (long) color.getValue() << COLOR_SHIFT;
+                }
+                if (position != null) {
+                    tag |= POSITION_FLAG;
+                }
+                writeVarint(out, cells + tag);
+                if (position != null) {
+                    writeVarint(out, cell(position, boardSize));
+                }
+            }
+            if (action.getType() == ActionType.MOVE && color != null) {
+                toMove = color.getOpponent();
+            }
+
+            Long timestamp = action.getTimestamp();
+            if (timestamp == null) {
+                writeVarint(out, 0L);
+            } else {
+                long delta = timestamp - previousTime;
+                writeVarint(out, ((delta << 1) ^ (delta >> 63)) + 1);
+                previousTime = timestamp;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a history written by {@link #encode}
+     *
+     * @throws IllegalArgumentException if the bytes are truncated
+     */
+    public static List<GameAction> decode(byte[] bytes, int boardSize, Long blackPlayerId, Long whitePlayerId) {
+        int cells = boardSize * boardSize;
+        List<GameAction> actions = new ArrayList<>();
+        int[] cursor = {0};
+        PlayerColor toMove = PlayerColor.BLACK;
+        long previousTime = 0L;
+        while (cursor[0] < bytes.length) {
+            long head = readVarint(bytes, cursor);
+            GameAction.GameActionBuilder action = GameAction.builder();
+            ActionType type;
+            PlayerColor color;
+            if (head < cells) {
+                type = ActionType.MOVE;
+                color = toMove;
+                action.type(type)
+                        .color(color)
+                        .playerId(seat(color, blackPlayerId, whitePlayerId))
+                        .position(position((int) head, boardSize));
+            } else {
+                long tag = head - cells;
+                int colorValue = (int) (tag >>> COLOR_SHIFT) & 0b11;
+                type = TYPES[(int) (tag >>> TYPE_SHIFT)];
+                color = colorValue == 0 ? null : PlayerColor.fromValue(colorValue);
+                action.type(type)
+                        .color(color)
+                        .playerId((tag & PLAYER_FLAG) != 0 ? seat(color, blackPlayerId, whitePlayerId) : null);
+                if ((tag & POSITION_FLAG) != 0) {
+                    action.position(position((int) readVarint(bytes, cursor), boardSize));
+                }
+            }
+            if (type == ActionType.MOVE && color != null) {
+                toMove = color.getOpponent();
+            }
+
+            long time = readVarint(bytes, cursor);
+            if (time != 0) {
+                long zigzag = time - 1;
+                previousTime += (zigzag >>> 1) ^ -(zigzag & 1);
+                action.timestamp(previousTime);
+            }
+            actions.add(action.build());
+        }
+        return actions;
+    }
+
+    private static int cell(Position position, int boardSize) {
+        return position.getX() * boardSize + position.getY();
+    }
+
+    private static Position position(int cell, int boardSize) {
+        return Position.of(cell / boardSize, cell % boardSize);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] cursor) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (cursor[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated move list");
+            }
+            byte b = bytes[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in move list");
+    }
+
+    private static Long seat(PlayerColor color, Long blackPlayerId, Long whitePlayerId) {
+        return color == PlayerColor.BLACK ? blackPlayerId : whitePlayerId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.goody.nus.se.gomoku.gomoku.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for BoardSizeEnum
+ */
+class BoardSizeEnumTest {
+
+    @Test
+    @DisplayName("Should resolve first-class sizes only")
+    void testFromSize() {
+        assertEquals(BoardSizeEnum.STANDARD, BoardSizeEnum.fromSize(15));
+        assertEquals(BoardSizeEnum.LARGE, BoardSizeEnum.fromSize(19));
+        assertNull(BoardSizeEnum.fromSize(13));
+    }
+
+    @Test
+    @DisplayName("Should accept first-class and in-range custom sizes")
+    void testIsSupported() {
+        assertTrue(BoardSizeEnum.isSupported(15));
+        assertTrue(BoardSizeEnum.isSupported(BoardSizeEnum.MIN_CUSTOM_SIZE));
+        assertTrue(BoardSizeEnum.isSupported(BoardSizeEnum.MAX_CUSTOM_SIZE));
+        assertFalse(BoardSizeEnum.isSupported(BoardSizeEnum.MIN_CUSTOM_SIZE - 1));
+        assertFalse(BoardSizeEnum.isSupported(BoardSizeEnum.MAX_CUSTOM_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should default a missing size to 15")
+    void testOrDefault() {
+        assertEquals(15, BoardSizeEnum.orDefault(null));
+        assertEquals(19, BoardSizeEnum.orDefault(19));
+    }
+}
@@ -0,0 +1,46 @@
+package com.goody.nus.se.gomoku.gomoku.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test for GameRuleEnum
+ */
+class GameRuleEnumTest {
+
+    @Test
+    @DisplayName("Should resolve the rule from the modeType suffix")
+    void testFromModeType() {
+        assertEquals(GameRuleEnum.STANDARD, GameRuleEnum.fromModeType(null));
+        assertEquals(GameRuleEnum.STANDARD, GameRuleEnum.fromModeType("RANKED"));
+        assertEquals(GameRuleEnum.RENJU, GameRuleEnum.fromModeType("CASUAL_RENJU"));
+        assertEquals(GameRuleEnum.RENJU, GameRuleEnum.fromModeType("private_renju"));
+    }
+
+    @Test
+    @DisplayName("Should strip the rule suffix to get the ranking mode")
+    void testRankingModeType() {
+        assertNull(GameRuleEnum.rankingModeType(null));
+        assertEquals("RANKED", GameRuleEnum.rankingModeType("RANKED"));
+        assertEquals("PRIVATE", GameRuleEnum.rankingModeType("PRIVATE_RENJU"));
+    }
+
+    @Test
+    @DisplayName("Should build a modeType carrying the rule")
+    void testToModeType() {
+        assertEquals("CASUAL", GameRuleEnum.STANDARD.toModeType("CASUAL"));
+        assertEquals("CASUAL_RENJU", GameRuleEnum.RENJU.toModeType("CASUAL"));
+    }
+
+    @Test
+    @DisplayName("Should resolve a requested rule, defaulting to STANDARD")
+    void testOrDefault() {
+        assertEquals(GameRuleEnum.STANDARD, GameRuleEnum.orDefault(null));
+        assertEquals(GameRuleEnum.STANDARD, GameRuleEnum.orDefault(" "));
+        assertEquals(GameRuleEnum.RENJU, GameRuleEnum.orDefault("renju"));
+        assertNull(GameRuleEnum.orDefault("pente"));
+    }
+}
@@ -0,0 +1,232 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for BitBoard
+ */
+class BitBoardTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should set, get and clear cells across word boundaries")
+    void testSetGetClear() {
+        BitBoard board = new BitBoard(15);
+        board.set(0, 0, BitBoard.BLACK);
+        board.set(4, 4, BitBoard.WHITE);   // index 64, first bit of word 1
+        board.set(14, 14, BitBoard.BLACK); // index 224, last cell
+
+        assertEquals(BitBoard.BLACK, board.get(0, 0));
+        assertEquals(BitBoard.WHITE, board.get(4, 4));
+        assertEquals(BitBoard.BLACK, board.get(14, 14));
+        assertTrue(board.is(4, 4, BitBoard.WHITE));
+        assertFalse(board.is(4, 4, BitBoard.BLACK));
+        assertTrue(board.isEmpty(7, 7));
+
+        board.set(4, 4, BitBoard.BLACK);
+        assertEquals(BitBoard.BLACK, board.get(4, 4));
+        assertEquals(0, board.count(BitBoard.WHITE));
+
+        board.clear(4, 4);
+        assertTrue(board.isEmpty(4, 4));
+        assertEquals(2, board.stoneCount());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cell values and sizes")
+    void testInvalidValues() {
+        BitBoard board = new BitBoard(15);
+        assertThrows(IllegalArgumentException.class, () -> board.set(0, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(0));
+    }
+
+    @Test
+    @DisplayName("Should detect a full board with popcount")
+    void testIsFull() {
+        BitBoard board = new BitBoard(3);
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y < 3; y++) {
+                board.set(x, y, (x + y) % 2 + 1);
+            }
+        }
+        assertTrue(board.isFull());
+        assertEquals(9, board.stoneCount());
+
+        board.clear(1, 1);
+        assertFalse(board.isFull());
+    }
+
+    @Test
+    @DisplayName("Copy should be independent of the original")
+    void testCopy() {
+        BitBoard board = new BitBoard(15);
+        board.set(7, 7, BitBoard.BLACK);
+
+        BitBoard copy = board.copy();
+        assertNotSame(board, copy);
+        assertEquals(board, copy);
+
+        copy.set(7, 8, BitBoard.WHITE);
+        assertTrue(board.isEmpty(7, 8));
+    }
+
+    @Test
+    @DisplayName("Should round-trip through int[][] and plane bytes")
+    void testArrayAndBytesRoundTrip() {
+        int[][] cells = new int[19][19];
+        cells[0][18] = 1;
+        cells[9][9] = 2;
+        cells[18][0] = 1;
+
+        BitBoard board = BitBoard.fromArray(cells);
+        assertArrayEquals(cells, board.toArray());
+
+        byte[] black = board.toBytes(BitBoard.BLACK);
+        assertEquals((19 * 19 + 7) / 8, black.length);
+        assertEquals(board, BitBoard.fromBytes(19, black, board.toBytes(BitBoard.WHITE)));
+    }
+
+    @Test
+    @DisplayName("Should serialize to compact JSON and read it back")
+    void testJsonRoundTrip() throws Exception {
+        BitBoard board = new BitBoard(15);
+        board.set(7, 7, BitBoard.BLACK);
+        board.set(7, 8, BitBoard.WHITE);
+
+        String json = mapper.writeValueAsString(board);
+        JsonNode node = mapper.readTree(json);
+        assertEquals(15, node.get("size").asInt());
+        assertTrue(node.get("black").isTextual());
+        assertTrue(node.get("white").isTextual());
+
+        assertEquals(board, mapper.readValue(json, BitBoard.class));
+    }
+
+    @Test
+    @DisplayName("Should read the legacy nested-array JSON form")
+    void testJsonLegacyArray() throws Exception {
+        BitBoard board = mapper.readValue("[[1,0,2],[0,0,0],[0,0,1]]", BitBoard.class);
+
+        assertEquals(3, board.getSize());
+        assertEquals(BitBoard.BLACK, board.get(0, 0));
+        assertEquals(BitBoard.WHITE, board.get(0, 2));
+        assertEquals(BitBoard.BLACK, board.get(2, 2));
+        assertEquals(3, board.stoneCount());
+    }
+
+    @Test
+    @DisplayName("Snapshot deep copy should copy the board")
+    void testSnapshotDeepCopy() {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty();
+        state.getBoard().set(3, 3, BitBoard.WHITE);
+
+        GameStateSnapshot copy = state.deepCopy();
+        copy.getBoard().clear(3, 3);
+
+        assertEquals(BitBoard.WHITE, state.getBoard().get(3, 3));
+    }
+
+    @Test
+    @DisplayName("Should merge runs when a stone joins two segments")
+    void testRunLengthMerge() {
+        BitBoard board = new BitBoard(15);
+        board.set(7, 5, BitBoard.BLACK);
+        board.set(7, 6, BitBoard.BLACK);
+        board.set(7, 8, BitBoard.BLACK);
+        board.set(7, 9, BitBoard.BLACK);
+
+        assertEquals(2, board.runLength(7, 5, 1));
+        assertEquals(5, board.longestRunIfPlaced(7, 7, BitBoard.BLACK));
+        assertEquals(1, board.longestRunIfPlaced(7, 7, BitBoard.WHITE));
+
+        board.set(7, 7, BitBoard.BLACK);
+        assertEquals(5, board.runLength(7, 5, 1));
+        assertEquals(5, board.longestRun(7, 9));
+        assertEquals(1, board.runLength(7, 7, 0));
+    }
+
+    @Test
+    @DisplayName("Should split runs when a stone is removed")
+    void testRunLengthSplit() {
+        BitBoard board = new BitBoard(15);
+        for (int i = 0; i < 5; i++) {
+            board.set(3 + i, 3 + i, BitBoard.WHITE);
+        }
+        assertEquals(5, board.runLength(5, 5, 2));
+
+        board.clear(4, 4);
+        assertEquals(1, board.runLength(3, 3, 2));
+        assertEquals(3, board.runLength(5, 5, 2));
+        assertEquals(0, board.runLength(4, 4, 2));
+        assertEquals(4, board.stoneCount());
+    }
+
+    @Test
+    @DisplayName("Should keep incremental run lengths equal to a fresh rebuild")
+    void testRunLengthMatchesRebuild() {
+        for (int size : new int[]{9, 15, 19}) {
+            Random random = new Random(42);
+            BitBoard board = new BitBoard(size);
+            board.longestRun(0, 0); // build the index so later mutations are incremental
+            for (int step = 0; step < 2000; step++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                board.set(x, y, random.nextInt(3));
+            }
+
+            BitBoard rebuilt = BitBoard.fromArray(board.toArray());
+            assertEquals(rebuilt.stoneCount(), board.stoneCount());
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    for (int d = 0; d < BitBoard.DIRECTION_COUNT; d++) {
+                        assertEquals(rebuilt.runLength(x, y, d), board.runLength(x, y, d), "size " + size);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop runs at the edges of a 19x19 board")
+    void testRunLengthLargeBoardEdges() {
+        BitBoard board = new BitBoard(19);
+        for (int i = 0; i < 5; i++) {
+            board.set(18 - i, i, BitBoard.BLACK);
+            board.set(14 + i, 18, BitBoard.WHITE);
+        }
+        assertEquals(5, board.runLength(18, 0, 3));
+        assertEquals(5, board.longestRun(16, 2));
+        assertEquals(5, board.runLength(18, 18, 0));
+        assertEquals(6, board.longestRunIfPlaced(13, 18, BitBoard.WHITE));
+
+        // (0, 18) and (1, 0) are adjacent in row-major order but not on the board
+        for (int y = 0; y < 4; y++) {
+            board.set(1, y, BitBoard.BLACK);
+        }
+        assertEquals(1, board.longestRunIfPlaced(0, 18, BitBoard.BLACK));
+    }
+
+    @Test
+    @DisplayName("Should read cells by geometry index")
+    void testGetAtIndex() {
+        BitBoard board = new BitBoard(19);
+        board.set(3, 4, BitBoard.WHITE);
+        int index = BoardGeometry.of(19).index(3, 4);
+        assertEquals(BitBoard.WHITE, board.getAt(index));
+        assertTrue(board.isAt(index, BitBoard.WHITE));
+        assertFalse(board.isAt(index, BitBoard.BLACK));
+    }
+}
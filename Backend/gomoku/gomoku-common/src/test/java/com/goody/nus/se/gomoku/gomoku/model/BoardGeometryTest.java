@@ -0,0 +1,50 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit test for BoardGeometry
+ */
+class BoardGeometryTest {
+
+    @Test
+    @DisplayName("Should share one geometry per board size")
+    void testOfIsCached() {
+        assertSame(BoardGeometry.of(15), BoardGeometry.of(15));
+        assertSame(BoardGeometry.of(19), BoardGeometry.of(19));
+        assertSame(BoardGeometry.of(13), BoardGeometry.of(13));
+        assertEquals(361, BoardGeometry.of(19).getCellCount());
+    }
+
+    @Test
+    @DisplayName("Should link neighbors along each direction and stop at the edges")
+    void testNeighbors() {
+        BoardGeometry geometry = BoardGeometry.of(19);
+        int corner = geometry.index(0, 18);
+
+        assertEquals(geometry.index(1, 18), geometry.next(0, corner));
+        assertEquals(BoardGeometry.OFF_BOARD, geometry.previous(0, corner));
+        assertEquals(BoardGeometry.OFF_BOARD, geometry.next(1, corner));
+        assertEquals(geometry.index(0, 17), geometry.previous(1, corner));
+        assertEquals(BoardGeometry.OFF_BOARD, geometry.next(2, corner));
+        assertEquals(geometry.index(1, 17), geometry.next(3, corner));
+        assertEquals(BoardGeometry.OFF_BOARD, geometry.previous(3, corner));
+    }
+
+    @Test
+    @DisplayName("Should visit exactly size cells walking a full row")
+    void testWalkRow() {
+        for (int size : new int[]{9, 15, 19, 25}) {
+            BoardGeometry geometry = BoardGeometry.of(size);
+            int cells = 0;
+            for (int index = geometry.index(4, 0); index != BoardGeometry.OFF_BOARD; index = geometry.next(1, index)) {
+                cells++;
+            }
+            assertEquals(size, cells);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.goody.nus.se.gomoku.gomoku.model;
+
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit test for ZobristKeys and the incremental hash on GameStateSnapshot
+ */
+class ZobristKeysTest {
+
+    @Test
+    @DisplayName("Should keep the incremental hash equal to a full recompute")
+    void testIncrementalMatchesRecompute() {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        assertEquals(ZobristKeys.hash(state.getBoard(), state.getCurrentTurn()), state.getZobristHash());
+
+        state.placeStone(7, 7, PlayerColor.BLACK.getValue());
+        state.changeTurn(PlayerColor.WHITE);
+        state.placeStone(7, 8, PlayerColor.WHITE.getValue());
+        state.changeTurn(PlayerColor.BLACK);
+
+        assertEquals(ZobristKeys.hash(state.getBoard(), state.getCurrentTurn()), state.getZobristHash());
+    }
+
+    @Test
+    @DisplayName("Should restore the previous hash when moves are undone")
+    void testUndoRestoresHash() {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.placeStone(3, 4, PlayerColor.BLACK.getValue());
+        state.changeTurn(PlayerColor.WHITE);
+        long before = state.getZobristHash();
+
+        state.placeStone(5, 5, PlayerColor.WHITE.getValue());
+        state.changeTurn(PlayerColor.BLACK);
+        assertNotEquals(before, state.getZobristHash());
+
+        state.removeStone(5, 5);
+        state.changeTurn(PlayerColor.WHITE);
+        assertEquals(before, state.getZobristHash());
+    }
+
+    @Test
+    @DisplayName("Should distinguish side to move and transposed move orders reach the same hash")
+    void testSideToMoveAndTransposition() {
+        BitBoard board = new BitBoard(15);
+        board.set(1, 1, BitBoard.BLACK);
+        assertNotEquals(ZobristKeys.hash(board, PlayerColor.BLACK), ZobristKeys.hash(board, PlayerColor.WHITE));
+
+        GameStateSnapshot first = GameStateSnapshot.createEmpty(15);
+        first.placeStone(1, 1, BitBoard.BLACK);
+        first.placeStone(2, 2, BitBoard.BLACK);
+        GameStateSnapshot second = GameStateSnapshot.createEmpty(15);
+        second.placeStone(2, 2, BitBoard.BLACK);
+        second.placeStone(1, 1, BitBoard.BLACK);
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+    }
+
+    @Test
+    @DisplayName("Should compute a missing hash lazily for snapshots persisted without one")
+    void testLegacySnapshotWithoutHash() {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        state.getBoard().set(0, 0, BitBoard.WHITE);
+        state.setZobristHash(null);
+
+        state.placeStone(0, 1, BitBoard.BLACK);
+        assertEquals(ZobristKeys.hash(state.getBoard(), state.getCurrentTurn()), state.getZobristHash());
+    }
+}
@@ -0,0 +1,118 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for GameActionCodec and Position interning
+ */
+class GameActionCodecTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+    private static final Long BLACK_ID = 100L;
+    private static final Long WHITE_ID = 200L;
+
+    @Test
+    @DisplayName("Should round-trip every action type, cell and color")
+    void testRoundTrip() {
+        for (ActionType type : ActionType.values()) {
+            for (PlayerColor color : PlayerColor.values()) {
+                GameAction action = GameAction.builder()
+                        .type(type)
+                        .color(color)
+                        .playerId(color == PlayerColor.BLACK ? BLACK_ID : WHITE_ID)
+                        .position(Position.of(14, 3))
+                        .timestamp(BASE + 123_456L)
+                        .build();
+
+                assertTrue(GameActionCodec.canEncode(action, BASE, 15, BLACK_ID, WHITE_ID));
+                long packed = GameActionCodec.encode(action, BASE, 15);
+                assertEquals(action, GameActionCodec.decode(packed, BASE, 15, BLACK_ID, WHITE_ID));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep null position, timestamp, color and player")
+    void testNullFields() {
+        GameAction action = GameAction.builder().type(ActionType.SURRENDER).build();
+
+        long packed = GameActionCodec.encode(action, BASE, 15);
+        GameAction decoded = GameActionCodec.decode(packed, BASE, 15, BLACK_ID, WHITE_ID);
+
+        assertEquals(ActionType.SURRENDER, decoded.getType());
+        assertNull(decoded.getPosition());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getColor());
+        assertNull(decoded.getPlayerId());
+    }
+
+    @Test
+    @DisplayName("Should refuse actions whose player does not hold the seat of their color")
+    void testCannotEncodeMismatchedSeat() {
+        GameAction action = GameAction.builder()
+                .type(ActionType.MOVE)
+                .color(PlayerColor.BLACK)
+                .playerId(WHITE_ID)
+                .position(Position.of(7, 7))
+                .timestamp(BASE)
+                .build();
+
+        assertFalse(GameActionCodec.canEncode(action, BASE, 15, BLACK_ID, WHITE_ID));
+        assertNull(GameActionCodec.encodeAll(List.of(action), BASE, 15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Should refuse timestamps before the base time")
+    void testCannotEncodeNegativeDelta() {
+        GameAction action = GameAction.builder().type(ActionType.READY).timestamp(BASE - 1).build();
+
+        assertFalse(GameActionCodec.canEncode(action, BASE, 15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Should use the smallest timestamp as base and round-trip a history")
+    void testEncodeAllDecodeAll() {
+        List<GameAction> history = List.of(
+                GameAction.builder().type(ActionType.READY).color(PlayerColor.BLACK).playerId(BLACK_ID)
+                        .timestamp(BASE + 5).build(),
+                GameAction.builder().type(ActionType.MOVE).color(PlayerColor.BLACK).playerId(BLACK_ID)
+                        .position(Position.of(7, 7)).timestamp(BASE).build());
+
+        long base = GameActionCodec.baseTime(history);
+        long[] packed = GameActionCodec.encodeAll(history, base, 15, BLACK_ID, WHITE_ID);
+
+        assertEquals(BASE, base);
+        List<Long> values = Arrays.stream(packed).boxed().toList();
+        assertEquals(history, GameActionCodec.decodeAll(values, base, 15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Positions on every supported board are shared, including from JSON")
+    void testPositionInterning() throws Exception {
+        assertSame(Position.of(3, 4), Position.of(3, 4));
+        int last = BoardSizeEnum.MAX_CUSTOM_SIZE - 1;
+        assertSame(Position.of(last, last), Position.of(last, last));
+        assertNotSame(Position.of(40, 4), Position.of(40, 4));
+        assertEquals(Position.of(40, 4), Position.of(40, 4));
+
+        Position parsed = new ObjectMapper().readValue("{\"x\":3,\"y\":4}", Position.class);
+        assertSame(Position.of(3, 4), parsed);
+    }
+}
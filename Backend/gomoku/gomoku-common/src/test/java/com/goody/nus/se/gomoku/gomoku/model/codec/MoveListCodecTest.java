@@ -0,0 +1,128 @@
+package com.goody.nus.se.gomoku.gomoku.model.codec;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for MoveListCodec
+ */
+class MoveListCodecTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+    private static final Long BLACK_ID = 100L;
+    private static final Long WHITE_ID = 200L;
+
+    @Test
+    @DisplayName("Should round-trip every action type and color")
+    void testRoundTrip() {
+        List<GameAction> actions = new ArrayList<>();
+        long time = BASE;
+        for (ActionType type : ActionType.values()) {
+            for (PlayerColor color : PlayerColor.values()) {
+                actions.add(action(type, color, Position.of(14, 3), time += 1_500L));
+            }
+        }
+
+        byte[] encoded = MoveListCodec.encode(actions, 15, BLACK_ID, WHITE_ID);
+
+        assertEquals(actions, MoveListCodec.decode(encoded, 15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep null position, timestamp, color and player")
+    void testNullFields() {
+        List<GameAction> actions = List.of(
+                GameAction.builder().type(ActionType.SURRENDER).build(),
+                GameAction.builder().type(ActionType.MOVE).color(PlayerColor.BLACK).position(Position.of(0, 0)).build());
+
+        List<GameAction> decoded = MoveListCodec.decode(MoveListCodec.encode(actions, 15, BLACK_ID, WHITE_ID),
+                15, BLACK_ID, WHITE_ID);
+
+        assertEquals(actions, decoded);
+        assertNull(decoded.get(0).getTimestamp());
+        assertNull(decoded.get(1).getPlayerId());
+    }
+
+    @Test
+    @DisplayName("Should store an alternating move with its time in a few bytes")
+    void testMovesAreCompact() {
+        List<GameAction> actions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            PlayerColor color = i % 2 == 0 ? PlayerColor.BLACK : PlayerColor.WHITE;
+            actions.add(action(ActionType.MOVE, color, Position.of(i / 15, i % 15), BASE + i * 3_000L));
+        }
+
+        byte[] encoded = MoveListCodec.encode(actions, 15, BLACK_ID, WHITE_ID);
+
+        // First timestamp is absolute; every later move is a 1-byte cell plus a 2-byte delta
+        assertTrue(encoded.length <= 100 * 3 + 8, "encoded " + encoded.length + " bytes");
+        List<GameAction> decoded = MoveListCodec.decode(encoded, 15, BLACK_ID, WHITE_ID);
+        assertEquals(actions, decoded);
+        assertSame(Position.of(6, 9), decoded.get(99).getPosition());
+    }
+
+    @Test
+    @DisplayName("Should keep moves out of turn, such as two moves by the same color")
+    void testMoveOutOfTurn() {
+        List<GameAction> actions = List.of(
+                action(ActionType.MOVE, PlayerColor.WHITE, Position.of(7, 7), BASE),
+                action(ActionType.MOVE, PlayerColor.WHITE, Position.of(7, 8), BASE - 10L),
+                action(ActionType.MOVE, PlayerColor.BLACK, Position.of(7, 9), BASE + 10L));
+
+        assertEquals(actions, MoveListCodec.decode(MoveListCodec.encode(actions, 15, BLACK_ID, WHITE_ID),
+                15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Should refuse a history whose player no longer holds the seat of their color")
+    void testRejectsChangedSeat() {
+        List<GameAction> actions = List.of(action(ActionType.MOVE, PlayerColor.WHITE, Position.of(7, 7), BASE));
+
+        assertNull(MoveListCodec.encode(actions, 15, BLACK_ID, 300L));
+    }
+
+    @Test
+    @DisplayName("Should refuse positions outside the board")
+    void testRejectsOffBoardPosition() {
+        List<GameAction> actions = List.of(action(ActionType.MOVE, PlayerColor.BLACK, Position.of(15, 0), BASE));
+
+        assertNull(MoveListCodec.encode(actions, 15, BLACK_ID, WHITE_ID));
+    }
+
+    @Test
+    @DisplayName("Should encode an empty history as no bytes and reject truncated input")
+    void testEmptyAndTruncated() {
+        assertArrayEquals(new byte[0], MoveListCodec.encode(List.of(), 15, BLACK_ID, WHITE_ID));
+        assertEquals(List.of(), MoveListCodec.decode(new byte[0], 15, BLACK_ID, WHITE_ID));
+
+        byte[] encoded = MoveListCodec.encode(
+                List.of(action(ActionType.MOVE, PlayerColor.BLACK, Position.of(7, 7), BASE)), 15, BLACK_ID, WHITE_ID);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> MoveListCodec.decode(truncated, 15, BLACK_ID, WHITE_ID));
+    }
+
+    private static GameAction action(ActionType type, PlayerColor color, Position position, long timestamp) {
+        return GameAction.builder()
+                .type(type)
+                .color(color)
+                .playerId(color == PlayerColor.BLACK ? BLACK_ID : WHITE_ID)
+                .position(position)
+                .timestamp(timestamp)
+                .build();
+    }
+}
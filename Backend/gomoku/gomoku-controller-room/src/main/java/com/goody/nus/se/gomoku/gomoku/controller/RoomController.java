@@ -1,5 +1,6 @@
 package com.goody.nus.se.gomoku.gomoku.controller;
 
+import com.goody.nus.se.gomoku.gomoku.api.request.CreateRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.request.JoinRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.CreateRoomResponse;
@@ -53,16 +54,22 @@ public class RoomController {
      * <p>Endpoint: POST /api/lobby/create-room
      *
      * <p>Validates that player is not in match queue before creating room.
+     * The optional body picks the board size and the rule; without it the room plays standard
+     * Gomoku on 15x15.
      *
+     * @param request  Create room request containing the board size and rule, may be absent
      * @param playerId Player ID from request header
      * @return CompletionStage with ApiResult containing room code
      * @author LiYuanXing, Haotian
      */
     @PostMapping("/create-room")
-    public CompletionStage<ApiResult<CreateRoomResponse>> createRoom(@RequestHeader("X-User-Id") String playerId) {
+    public CompletionStage<ApiResult<CreateRoomResponse>> createRoom(@RequestBody(required = false) CreateRoomRequest request,
+                                                                      @RequestHeader("X-User-Id") String playerId) {
+        Integer boardSize = request != null ? request.getBoardSize() : null;
+        String rule = request != null ? request.getRule() : null;
         return CompletableFuture.supplyAsync(() -> {
-            log.info("Create room: playerId={}", playerId);
-            CreateRoomResponse response = roomBizService.createRoom(playerId);
+            log.info("Create room: playerId={}, boardSize={}, rule={}", playerId, boardSize, rule);
+            CreateRoomResponse response = roomBizService.createRoom(playerId, boardSize, rule);
             return ApiResult.success(response);
         }, bizThreadPool);
     }
@@ -1,13 +1,22 @@
 package com.goody.nus.se.gomoku.gomoku.controller;
 
 import com.goody.nus.se.gomoku.gomoku.api.request.GomokuActionRequest;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameReplayResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.event.GameEventProperties;
+import com.goody.nus.se.gomoku.gomoku.event.GameEventRegistry;
+import com.goody.nus.se.gomoku.gomoku.event.GameStateWaiters;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameReplayService;
 import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
 import com.goody.nus.se.gomoku.web.base.response.ApiResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -16,9 +25,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 
@@ -28,11 +40,17 @@ import java.util.concurrent.Executor;
  * <p>Provides REST API endpoints for Gomoku game interaction:
  * <ul>
  *   <li>POST /api/game/{roomId}/action - Execute game action (READY, MOVE, SURRENDER)</li>
- *   <li>GET /api/game/{roomId}/state - Query current game state (for polling)</li>
+ *   <li>GET /api/game/{roomId}/state - Query current game state (for polling, conditional on version)</li>
+ *   <li>GET /api/game/{roomId}/state/wait - Long-poll for the next game state change</li>
+ *   <li>GET /api/game/{roomId}/events - Stream of game state changes (SSE)</li>
+ *   <li>GET /api/game/{roomId}/replay/{gameNumber} - Boards for a ply range of an archived game</li>
  * </ul>
  *
  * <p>Uses async processing with CompletionStage to handle concurrent requests efficiently.
- * Frontend should poll the state endpoint periodically to get updates.
+ * Actions run on {@link RoomActionExecutor}, so each room's actions are applied one at a time;
+ * queries run on the shared business thread pool.
+ * Frontend should subscribe to the event stream to get updates, and long-poll the state
+ * only while the stream is unavailable.
  *
  * @author Goody
  * @version 1.0
@@ -45,6 +63,11 @@ import java.util.concurrent.Executor;
 public class GameController {
 
     private final IGameService gameService;
+    private final IGameReplayService gameReplayService;
+    private final RoomActionExecutor roomActionExecutor;
+    private final GameEventRegistry gameEventRegistry;
+    private final GameStateWaiters gameStateWaiters;
+    private final GameEventProperties gameEventProperties;
 
     @Autowired
     @Lazy
@@ -66,17 +89,18 @@ public class GameController {
      * @param playerId Player ID (query parameter, from authentication)
      * @param request  Action request containing type and optional position
      * @return CompletionStage with ApiResult containing updated game state
+     * @throws com.goody.nus.se.gomoku.common.exception.BizException if the room's action queue is full
      */
     @PostMapping("/{roomId}/action")
     public CompletionStage<ApiResult<GameStateResponse>> executeAction(@PathVariable Long roomId,
                                                                        @RequestHeader("X-User-Id") Long playerId,
                                                                        @Valid @RequestBody GomokuActionRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
+        return roomActionExecutor.submit(roomId, () -> {
             log.info("Execute action: roomId={}, playerId={}, actionType={}",
                     roomId, playerId, request.getType());
-            GameStateResponse response = gameService.executeAction(roomId, playerId, request);
-            return ApiResult.success(response);
-        }, bizThreadPool);
+            // Streams and long-polls are notified by the service, see GameActionListener
+            return ApiResult.success(gameService.executeAction(roomId, playerId, request));
+        });
     }
 
     /**
@@ -86,19 +110,165 @@ public class GameController {
      * Frontend should call this endpoint periodically (e.g., every 1-2 seconds)
      * to stay updated with game changes.
      *
-     * <p>Endpoint: GET /api/game/{roomId}/state
+     * <p>Polls can be made conditional on the game version, which is also sent as the ETag:
+     * <ul>
+     *   <li>{@code sinceVersion}: 304 if the game is still at that version, otherwise the state
+     *       with only the actions added since (see {@link GameStateResponse#getHistoryOffset()})</li>
+     *   <li>{@code If-None-Match}: 304 if the ETag still matches, otherwise the full state</li>
+     * </ul>
      *
-     * @param roomId   Room ID (path variable)
-     * @param playerId Player ID (query parameter, for access validation)
-     * @return CompletionStage with ApiResult containing current game state
+     * <p>Endpoint: GET /api/game/{roomId}/state?sinceVersion=v
+     *
+     * @param roomId       Room ID (path variable)
+     * @param playerId     Player ID (query parameter, for access validation)
+     * @param sinceVersion Version the caller already has (optional)
+     * @param ifNoneMatch  ETag of the state the caller already has (optional)
+     * @return CompletionStage with ApiResult containing current game state, or an empty 304
      */
     @GetMapping("/{roomId}/state")
-    public CompletionStage<ApiResult<GameStateResponse>> getState(@PathVariable Long roomId,
-                                                                  @RequestHeader("X-User-Id") Long playerId) {
+    public CompletionStage<ResponseEntity<ApiResult<GameStateResponse>>> getState(
+            @PathVariable Long roomId,
+            @RequestHeader("X-User-Id") Long playerId,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return CompletableFuture.supplyAsync(() -> {
-            log.debug("Get game state: roomId={}, playerId={}", roomId, playerId);
-            GameStateResponse response = gameService.getState(roomId, playerId);
+            log.debug("Get game state: roomId={}, playerId={}, sinceVersion={}", roomId, playerId, sinceVersion);
+            if (sinceVersion != null) {
+                GameStateResponse response = gameService.getStateSince(roomId, playerId, sinceVersion);
+                return response == null ? notModified(sinceVersion) : withETag(response);
+            }
+            Long knownVersion = versionOf(ifNoneMatch);
+            GameStateResponse response = gameService.getStateIfChanged(roomId, playerId, knownVersion);
+            return response == null ? notModified(knownVersion) : withETag(response);
+        }, bizThreadPool);
+    }
+
+    /**
+     * Wait for the game state to change
+     *
+     * <p>Long-poll variant of the state query for clients without SSE. The request is held,
+     * without occupying a thread, until the game moves past {@code sinceVersion}; it then
+     * returns the state with only the actions added since, like the conditional query. If
+     * nothing changes within {@code timeoutMillis} (capped by configuration) it returns an
+     * empty 304 and the client asks again. Without {@code sinceVersion} the full state is
+     * returned at once, or on the room's first action if its game has not been created yet.
+     *
+     * <p>Endpoint: GET /api/game/{roomId}/state/wait?sinceVersion=v
+     *
+     * @param roomId        Room ID (path variable)
+     * @param playerId      Player ID (from authentication)
+     * @param sinceVersion  Version the caller already has (optional)
+     * @param timeoutMillis How long to wait at most (optional)
+     * @return DeferredResult with ApiResult containing the changed game state, or an empty 304
+     */
+    @GetMapping("/{roomId}/state/wait")
+    public DeferredResult<ResponseEntity<ApiResult<GameStateResponse>>> waitState(
+            @PathVariable Long roomId,
+            @RequestHeader("X-User-Id") Long playerId,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestParam(required = false) Long timeoutMillis) {
+        log.debug("Wait game state: roomId={}, playerId={}, sinceVersion={}", roomId, playerId, sinceVersion);
+        long maxWait = gameEventProperties.getLongPollTimeoutMillis();
+        long timeout = timeoutMillis == null ? maxWait : Math.max(1, Math.min(timeoutMillis, maxWait));
+        DeferredResult<ResponseEntity<ApiResult<GameStateResponse>>> result = new DeferredResult<>(timeout,
+                () -> sinceVersion == null ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).build() : notModified(sinceVersion));
+
+        CompletableFuture<GameStateResponse> change = gameStateWaiters.await(roomId, playerId, sinceVersion);
+        change.whenComplete((response, error) -> {
+            if (error == null) {
+                result.setResult(withETag(response));
+            } else if (!change.isCancelled()) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        // Timed out or the client went away: stop waiting
+        result.onCompletion(() -> change.cancel(false));
+        return result;
+    }
+
+    /**
+     * Subscribe to game state changes
+     *
+     * <p>Each {@code state} event carries the state with only the actions added since the
+     * previous event (see {@link GameStateResponse#getHistoryOffset()}) and has the game version
+     * as its id. The first event is the full state; a reconnecting client sends the last id it
+     * received as {@code Last-Event-ID} and gets only what it missed. Comment lines are sent
+     * periodically as keepalives.
+     *
+     * <p>Endpoint: GET /api/game/{roomId}/events
+     *
+     * @param roomId      Room ID (path variable)
+     * @param playerId    Player ID (from authentication)
+     * @param lastEventId Version of the last event received (optional)
+     * @return SSE stream of game states
+     */
+    @GetMapping("/{roomId}/events")
+    public SseEmitter events(@PathVariable Long roomId,
+                             @RequestHeader("X-User-Id") Long playerId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.debug("Subscribe game events: roomId={}, playerId={}, lastEventId={}", roomId, playerId, lastEventId);
+        return gameEventRegistry.subscribe(roomId, playerId, lastEventId);
+    }
+
+    /**
+     * Query boards of an archived game for a ply range asynchronously
+     *
+     * <p>Used by the replay viewer. Ply 0 is the empty board; omitting {@code to}
+     * returns the single board at {@code from}.
+     *
+     * <p>Endpoint: GET /api/game/{roomId}/replay/{gameNumber}?from=k&to=m
+     *
+     * @param roomId     Room ID (path variable)
+     * @param gameNumber Game number in the room (path variable)
+     * @param playerId   Player ID (from authentication), must have played the game
+     * @param from       First ply (inclusive)
+     * @param to         Last ply (inclusive), defaults to {@code from}
+     * @return CompletionStage with ApiResult containing one board per ply
+     */
+    @GetMapping("/{roomId}/replay/{gameNumber}")
+    public CompletionStage<ApiResult<GameReplayResponse>> getReplay(@PathVariable Long roomId,
+                                                                    @PathVariable Integer gameNumber,
+                                                                    @RequestHeader("X-User-Id") Long playerId,
+                                                                    @RequestParam(defaultValue = "0") int from,
+                                                                    @RequestParam(required = false) Integer to) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.debug("Get replay: roomId={}, gameNumber={}, playerId={}, from={}, to={}",
+                    roomId, gameNumber, playerId, from, to);
+            GameReplayResponse response = gameReplayService.getFrames(roomId, gameNumber, playerId, from,
+                    to != null ? to : from);
             return ApiResult.success(response);
         }, bizThreadPool);
     }
+
+    private static ResponseEntity<ApiResult<GameStateResponse>> withETag(GameStateResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.getVersion() != null) {
+            builder.eTag(eTag(response.getVersion()));
+        }
+        return builder.body(ApiResult.success(response));
+    }
+
+    private static ResponseEntity<ApiResult<GameStateResponse>> notModified(Long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version an {@code If-None-Match} header names, or null if it is not one of our ETags
+     */
+    private static Long versionOf(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.length() < 3
+                || !ifNoneMatch.startsWith("\"") || !ifNoneMatch.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(ifNoneMatch.substring(1, ifNoneMatch.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
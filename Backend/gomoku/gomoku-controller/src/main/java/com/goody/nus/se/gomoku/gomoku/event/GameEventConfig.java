@@ -0,0 +1,12 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Game state event stream and long-poll configuration
+ */
+@Configuration
+@EnableConfigurationProperties(GameEventProperties.class)
+public class GameEventConfig {
+}
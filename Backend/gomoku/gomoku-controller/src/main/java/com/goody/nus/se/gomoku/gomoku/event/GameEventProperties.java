@@ -0,0 +1,27 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Game state event stream and long-poll configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "gomoku.game-events")
+public class GameEventProperties {
+
+    /**
+     * Milliseconds between keepalive comments on every open stream
+     */
+    private long heartbeatMillis = 15_000;
+
+    /**
+     * Milliseconds a stream stays open before the client has to reconnect
+     */
+    private long timeoutMillis = 30 * 60 * 1000;
+
+    /**
+     * Longest time in milliseconds a long-poll state request is held before it answers 304
+     */
+    private long longPollTimeoutMillis = 25_000;
+}
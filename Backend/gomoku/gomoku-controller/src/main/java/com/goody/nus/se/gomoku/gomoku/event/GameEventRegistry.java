@@ -0,0 +1,261 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.service.GameActionListener;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes game state changes to the players of a room over SSE
+ *
+ * <p>Every event carries the state as a delta against the previous event (see
+ * {@link GameStateResponse#getHistoryOffset()}) and has the game version as its id, so a
+ * client reconnecting with {@code Last-Event-ID} only receives what it missed.
+ *
+ * <p>Subscribing and publishing both run on the room's lane of {@link RoomActionExecutor}, so a
+ * new stream neither misses nor repeats a version between its first event and the next action.
+ * The stream is returned right away and joins its room once the lane gets to it; a stream that
+ * cannot join is closed with the error, and the client falls back to polling until it
+ * reconnects.
+ * Every applied action is published, whichever path applied it (see {@link GameActionListener}).
+ * The sends to one stream happen in order on the business thread pool, so a slow client never
+ * holds up the lane. Open streams get a comment line every heartbeat interval to keep proxies
+ * from closing them.
+ */
+@Slf4j
+@Component
+public class GameEventRegistry implements GameActionListener {
+
+    static final String EVENT_NAME = "state";
+
+    private final IGameService gameService;
+    private final RoomActionExecutor roomActionExecutor;
+    private final GameEventProperties properties;
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+
+    @Autowired
+    @Lazy
+    private Executor bizThreadPool;
+
+    public GameEventRegistry(IGameService gameService, RoomActionExecutor roomActionExecutor,
+                             GameEventProperties properties) {
+        this.gameService = gameService;
+        this.roomActionExecutor = roomActionExecutor;
+        this.properties = properties;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-event-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                properties.getHeartbeatMillis(), properties.getHeartbeatMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a state stream for a player
+     *
+     * <p>The first event is the full state, or with {@code lastEventId} only what changed since
+     * that version; there is none if the game has not started or nothing changed. The stream is
+     * completed with an error if the player is not in the room's game or the room's lane is full.
+     *
+     * @param roomId      room ID
+     * @param playerId    player ID
+     * @param lastEventId version the client already has, or null
+     * @return the stream
+     */
+    public SseEmitter subscribe(Long roomId, Long playerId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            rooms.computeIfPresent(roomId, (id, room) -> {
+                room.subscribers.remove(subscriber);
+                return room.subscribers.isEmpty() ? null : room;
+            });
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        try {
+            roomActionExecutor.submit(roomId, () -> register(roomId, playerId, lastEventId, subscriber))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            log.debug("[GameEventRegistry] Failed to subscribe playerId={} to roomId={}: {}",
+                                    playerId, roomId, cause.getMessage());
+                            emitter.completeWithError(cause);
+                        }
+                    });
+        } catch (BizException e) {
+            // Lane full: the client reconnects later
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void afterAction(Long roomId, Long playerId) {
+        publish(roomId, playerId);
+    }
+
+    /**
+     * Send what an action changed to the room's streams; must run on the room's lane right after
+     * the action
+     *
+     * @param roomId   room ID
+     * @param playerId player who acted
+     */
+    public void publish(Long roomId, Long playerId) {
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+        GameStateResponse delta;
+        try {
+            delta = gameService.getStateSince(roomId, playerId, room.version);
+        } catch (BizException e) {
+            log.debug("[GameEventRegistry] Nothing to publish for roomId={}: {}", roomId, e.getMessage());
+            return;
+        }
+        if (delta == null) {
+            return;
+        }
+        room.version = delta.getVersion();
+        for (Subscriber subscriber : room.subscribers) {
+            subscriber.send(stateEvent(delta));
+        }
+    }
+
+    /**
+     * Open streams across all rooms
+     */
+    public int size() {
+        return rooms.values().stream().mapToInt(room -> room.subscribers.size()).sum();
+    }
+
+    /**
+     * Join a stream to its room and send its first event; runs on the room's lane
+     */
+    private Void register(Long roomId, Long playerId, Long lastEventId, Subscriber subscriber) {
+        GameStateResponse first;
+        Long version;
+        try {
+            if (lastEventId == null) {
+                first = gameService.getState(roomId, playerId);
+                version = first.getVersion();
+            } else {
+                first = gameService.getStateSince(roomId, playerId, lastEventId);
+                version = first == null ? lastEventId : first.getVersion();
+            }
+        } catch (BizException e) {
+            if (e.getErrorCode() != ErrorCodeEnum.GAME_NOT_FOUND) {
+                throw e;
+            }
+            // The first action creates the game and is published in full
+            first = null;
+            version = null;
+        }
+
+        Long current = version;
+        rooms.compute(roomId, (id, room) -> {
+            if (subscriber.closed) {
+                // The client left before the lane got to it
+                return room;
+            }
+            Room joined = room == null ? new Room() : room;
+            joined.version = current;
+            joined.subscribers.add(subscriber);
+            return joined;
+        });
+        if (first != null) {
+            subscriber.send(stateEvent(first));
+        }
+        log.debug("[GameEventRegistry] Subscribed playerId={} to roomId={} at version={}", playerId, roomId, version);
+        return null;
+    }
+
+    private void sendHeartbeats() {
+        for (Room room : rooms.values()) {
+            for (Subscriber subscriber : room.subscribers) {
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder stateEvent(GameStateResponse state) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(EVENT_NAME).data(state, MediaType.APPLICATION_JSON);
+        if (state.getVersion() != null) {
+            event.id(String.valueOf(state.getVersion()));
+        }
+        return event;
+    }
+
+    /**
+     * Close every stream on shutdown, clients reconnect to another instance
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Room room : rooms.values()) {
+            for (Subscriber subscriber : room.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private static final class Room {
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        /**
+         * Version of the last state sent to the room's streams, only touched on the room's lane
+         */
+        private Long version;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queue an event behind the ones already being sent to this stream
+         */
+        private synchronized void send(SseEmitter.SseEventBuilder event) {
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    emitter.send(event);
+                } catch (Exception e) {
+                    // The client went away; completing removes the stream
+                    log.debug("[GameEventRegistry] Failed to send SSE: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                }
+            }, bizThreadPool);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.service.GameActionListener;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-poll waiters for game state changes, per room
+ *
+ * <p>A waiter is parked until the room's game moves past the version its client holds, then
+ * completed with the state carrying only the actions added since (see
+ * {@link GameStateResponse#getHistoryOffset()}). Parking and signalling both run on the room's
+ * lane of {@link RoomActionExecutor}, so no change can slip in between the version check and
+ * the park; no thread is held while a waiter is parked. Waiters are signalled after every applied
+ * action, whichever path applied it (see {@link GameActionListener}). Timeouts are left to the
+ * caller, which cancels the future to drop the waiter.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameStateWaiters implements GameActionListener {
+
+    private final IGameService gameService;
+    private final RoomActionExecutor roomActionExecutor;
+    private final Map<Long, Set<Waiter>> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Wait for the room's game to change
+     *
+     * <p>The future completes at once if the game is already past {@code sinceVersion}. A room
+     * without a game yet is waited on until its first action.
+     *
+     * @param roomId       room ID
+     * @param playerId     player ID
+     * @param sinceVersion version the client holds, or null for the current state
+     * @return future with the changed state, or failed with a BizException if the player is not
+     * in the game; cancel it to stop waiting
+     * @throws BizException with GAME_ACTION_QUEUE_FULL if the room's lane is saturated
+     */
+    public CompletableFuture<GameStateResponse> await(Long roomId, Long playerId, Long sinceVersion) {
+        Waiter waiter = new Waiter(playerId, sinceVersion, new CompletableFuture<>());
+        // A waiter that completes or is cancelled by its caller leaves at once
+        waiter.future.whenComplete((state, error) -> remove(roomId, waiter));
+        roomActionExecutor.submit(roomId, () -> {
+            park(roomId, waiter);
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                waiter.future.completeExceptionally(error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return waiter.future;
+    }
+
+    @Override
+    public void afterAction(Long roomId, Long playerId) {
+        signal(roomId);
+    }
+
+    /**
+     * Complete the room's waiters after an action; must run on the room's lane right after it
+     *
+     * @param roomId room ID
+     */
+    public void signal(Long roomId) {
+        Set<Waiter> waiters = rooms.remove(roomId);
+        if (waiters == null) {
+            return;
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.future.isDone()) {
+                continue;
+            }
+            try {
+                GameStateResponse state = gameService.getStateSince(roomId, waiter.playerId, waiter.sinceVersion);
+                if (state == null) {
+                    add(roomId, waiter);
+                } else {
+                    waiter.future.complete(state);
+                }
+            } catch (BizException e) {
+                waiter.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Parked waiters across all rooms
+     */
+    public int size() {
+        return rooms.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void park(Long roomId, Waiter waiter) {
+        try {
+            GameStateResponse state = gameService.getStateSince(roomId, waiter.playerId, waiter.sinceVersion);
+            if (state != null) {
+                waiter.future.complete(state);
+                return;
+            }
+        } catch (BizException e) {
+            if (e.getErrorCode() != ErrorCodeEnum.GAME_NOT_FOUND) {
+                throw e;
+            }
+            // The room's first action creates the game
+        }
+        add(roomId, waiter);
+    }
+
+    private void add(Long roomId, Waiter waiter) {
+        rooms.compute(roomId, (id, waiters) -> {
+            Set<Waiter> joined = waiters == null ? ConcurrentHashMap.newKeySet() : waiters;
+            joined.add(waiter);
+            return joined;
+        });
+        if (waiter.future.isDone()) {
+            // Cancelled while being added, after its own removal ran
+            remove(roomId, waiter);
+        }
+    }
+
+    private void remove(Long roomId, Waiter waiter) {
+        rooms.computeIfPresent(roomId, (id, waiters) -> {
+            waiters.remove(waiter);
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+
+    private static final class Waiter {
+
+        private final Long playerId;
+        private final Long sinceVersion;
+        private final CompletableFuture<GameStateResponse> future;
+
+        private Waiter(Long playerId, Long sinceVersion, CompletableFuture<GameStateResponse> future) {
+            this.playerId = playerId;
+            this.sinceVersion = sinceVersion;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
+import com.goody.nus.se.gomoku.common.exception.BizException;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutorProperties;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameEventRegistry
+ */
+class GameEventRegistryTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long PLAYER_ID = 100L;
+
+    @Mock
+    private IGameService gameService;
+
+    private RoomActionExecutor roomActionExecutor;
+    private GameEventRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomActionExecutor = new RoomActionExecutor(new RoomActionExecutorProperties());
+        registry = registry(roomActionExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        roomActionExecutor.shutdown();
+    }
+
+    @Test
+    void testSubscriberJoinsRoomOnItsLane() {
+        when(gameService.getState(ROOM_ID, PLAYER_ID)).thenReturn(GameStateResponse.builder().version(3L).build());
+
+        assertNotNull(registry.subscribe(ROOM_ID, PLAYER_ID, null));
+        awaitLane();
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testRejectedSubscriberIsNotJoined() {
+        when(gameService.getState(ROOM_ID, PLAYER_ID))
+                .thenThrow(new BizException(ErrorCodeEnum.PLAYER_NOT_IN_GAME, PLAYER_ID, ROOM_ID));
+
+        assertNotNull(registry.subscribe(ROOM_ID, PLAYER_ID, null));
+        awaitLane();
+
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testFullLaneClosesStreamInsteadOfThrowing() {
+        RoomActionExecutor fullExecutor = mock(RoomActionExecutor.class);
+        when(fullExecutor.submit(anyLong(), any()))
+                .thenThrow(new BizException(ErrorCodeEnum.GAME_ACTION_QUEUE_FULL, ROOM_ID));
+        GameEventRegistry fullRegistry = registry(fullExecutor);
+
+        SseEmitter emitter = fullRegistry.subscribe(ROOM_ID, PLAYER_ID, null);
+
+        assertNotNull(emitter);
+        assertEquals(0, fullRegistry.size());
+        fullRegistry.shutdown();
+    }
+
+    private GameEventRegistry registry(RoomActionExecutor executor) {
+        GameEventRegistry eventRegistry = new GameEventRegistry(gameService, executor, new GameEventProperties());
+        ReflectionTestUtils.setField(eventRegistry, "bizThreadPool", (Executor) Runnable::run);
+        return eventRegistry;
+    }
+
+    /**
+     * Tasks on a lane run in order, so this returns once the subscription has run
+     */
+    private void awaitLane() {
+        roomActionExecutor.submit(ROOM_ID, () -> null).join();
+    }
+}
@@ -0,0 +1,163 @@
+package com.goody.nus.se.gomoku.gomoku.event;
+
+import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
+import com.goody.nus.se.gomoku.gomoku.api.response.GameStateResponse;
+import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.biz.service.impl.RoomBizServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.controller.GameController;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCache;
+import com.goody.nus.se.gomoku.gomoku.game.cache.GameStateCacheProperties;
+import com.goody.nus.se.gomoku.gomoku.game.chain.GameActionDispatcher;
+import com.goody.nus.se.gomoku.gomoku.game.chain.execute.ExecuteChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.chain.validate.ValidateChainHandler;
+import com.goody.nus.se.gomoku.gomoku.game.context.ActionContextLoader;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlProperties;
+import com.goody.nus.se.gomoku.gomoku.game.context.RoomTtlRenewer;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutor;
+import com.goody.nus.se.gomoku.gomoku.game.executor.RoomActionExecutorProperties;
+import com.goody.nus.se.gomoku.gomoku.game.journal.GameJournal;
+import com.goody.nus.se.gomoku.gomoku.game.service.GameActionListener;
+import com.goody.nus.se.gomoku.gomoku.game.service.IGameReplayService;
+import com.goody.nus.se.gomoku.gomoku.game.service.impl.GameServiceImpl;
+import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameRepository;
+import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
+import com.goody.nus.se.gomoku.gomoku.room.Service.RoomCodeService;
+import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
+import com.goody.nus.se.gomoku.web.base.response.ApiResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Long-polls are completed by every path that applies an action, not only the game controller
+ */
+class GameStateWaitersTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String ROOM_CODE = "ABCD1234";
+    private static final Long BLACK = 100L;
+    private static final Long WHITE = 200L;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private ValidateChainHandler validateChainHandler;
+
+    @Mock
+    private ExecuteChainHandler executeChainHandler;
+
+    @Mock
+    private GameActionDispatcher gameActionDispatcher;
+
+    @Mock
+    private IGameRoomService gameRoomService;
+
+    @Mock
+    private RoomCodeDao roomCodeDao;
+
+    @Mock
+    private RoomCodeService roomCodeService;
+
+    private RoomActionExecutor roomActionExecutor;
+    private GameController gameController;
+    private RoomBizServiceImpl roomBizService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomActionExecutor = new RoomActionExecutor(new RoomActionExecutorProperties());
+
+        GameStateCacheProperties properties = new GameStateCacheProperties();
+        properties.setDurabilityWindowMillis(0);
+        DefaultListableBeanFactory listeners = new DefaultListableBeanFactory();
+        RoomTtlRenewer roomTtlRenewer = new RoomTtlRenewer(roomCodeDao, new RoomTtlProperties());
+        GameServiceImpl gameService = new GameServiceImpl(new GameStateCache(gameRepository, properties, GameJournal.disabled()),
+                validateChainHandler, executeChainHandler, gameActionDispatcher,
+                new ActionContextLoader(gameRoomService, roomTtlRenewer, properties),
+                roomCodeDao,
+                listeners.getBeanProvider(GameActionListener.class));
+        GameStateWaiters gameStateWaiters = new GameStateWaiters(gameService, roomActionExecutor);
+        listeners.registerSingleton("gameStateWaiters", gameStateWaiters);
+
+        gameController = new GameController(gameService, mock(IGameReplayService.class), roomActionExecutor,
+                mock(GameEventRegistry.class), gameStateWaiters, new GameEventProperties());
+
+        roomBizService = new RoomBizServiceImpl();
+        ReflectionTestUtils.setField(roomBizService, "roomCodeService", roomCodeService);
+        ReflectionTestUtils.setField(roomBizService, "gameService", gameService);
+        ReflectionTestUtils.setField(roomBizService, "gameRoomService", gameRoomService);
+        ReflectionTestUtils.setField(roomBizService, "matchService", mock(IMatchService.class));
+        ReflectionTestUtils.setField(roomBizService, "roomActionExecutor", roomActionExecutor);
+        ReflectionTestUtils.setField(roomBizService, "roomTtlRenewer", roomTtlRenewer);
+
+        GameRoomDTO room = new GameRoomDTO();
+        room.setId(ROOM_ID);
+        room.setRoomCode(ROOM_CODE);
+        room.setStatus(RoomStatusEnum.PLAYING.getValue());
+        GameDocument game = GameDocument.builder()
+                .roomId(ROOM_ID)
+                .blackPlayerId(BLACK)
+                .whitePlayerId(WHITE)
+                .status(GameStatus.PLAYING)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .version(3L)
+                .build();
+        when(gameRoomService.findRoomIdByRoomCode(ROOM_CODE)).thenReturn(ROOM_ID);
+        when(gameRoomService.findById(ROOM_ID)).thenReturn(room);
+        when(roomCodeDao.touchRoomAsync(anyString(), anyInt())).thenReturn(CompletableFuture.completedFuture(true));
+        when(gameRepository.findByRoomId(ROOM_ID)).thenReturn(Optional.of(game));
+        when(gameRepository.replaceIfVersion(any(), any())).thenReturn(true);
+        when(validateChainHandler.handle(any(), any())).thenReturn(true);
+        when(roomCodeService.leaveRoom(any(), anyString())).thenReturn(new LeaveRoomResponse());
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomActionExecutor.shutdown();
+    }
+
+    @Test
+    void testLeaveRoomCompletesPendingWait() throws Exception {
+        DeferredResult<ResponseEntity<ApiResult<GameStateResponse>>> result =
+                gameController.waitState(ROOM_ID, WHITE, 3L, 10_000L);
+        // Parking runs on the room's lane, wait for it before the opponent leaves
+        roomActionExecutor.submit(ROOM_ID, () -> null).get(5, TimeUnit.SECONDS);
+        assertFalse(result.hasResult());
+
+        LeaveRoomRequest request = new LeaveRoomRequest();
+        request.setRoomCode(ROOM_CODE);
+        roomBizService.leaveRoom(request, String.valueOf(BLACK));
+
+        assertTrue(result.hasResult());
+        @SuppressWarnings("unchecked")
+        ResponseEntity<ApiResult<GameStateResponse>> response =
+                (ResponseEntity<ApiResult<GameStateResponse>>) result.getResult();
+        assertEquals(4L, response.getBody().getData().getVersion());
+    }
+}
@@ -0,0 +1,37 @@
+package com.goody.nus.se.gomoku.gomoku.model.dto;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a player's game history, newest first
+ *
+ * <p>The next page is requested with {@code nextEndTime} and {@code nextId}, which are null on
+ * the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameHistoryPage {
+
+    /**
+     * Games of this page, without their action history, position hashes, checkpoints or final board
+     */
+    private List<GameHistoryDocument> games;
+
+    /**
+     * End time of the last game on this page, or null if there are no more games
+     */
+    private Long nextEndTime;
+
+    /**
+     * ID of the last game on this page, or null if there are no more games
+     */
+    private String nextId;
+}
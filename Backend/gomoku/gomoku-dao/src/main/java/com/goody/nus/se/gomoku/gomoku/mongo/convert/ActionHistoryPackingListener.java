@@ -0,0 +1,88 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.codec.GameActionCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores {@link GameDocument#getActionHistory()} as packed longs instead of subdocuments
+ *
+ * <p>On save the {@code actionHistory} array is replaced by {@code packedActions} (one int64
+ * per action, see {@link GameActionCodec}) plus {@code actionBaseTime}, and the derivable
+ * {@code moveStack} is dropped. If any action cannot be packed, for example because its player
+ * no longer holds the seat of its color, the document is stored unchanged. On load the packed
+ * form is expanded back, so the entity and the API model are the same either way, and legacy
+ * documents are read as before.
+ */
+@Component
+public class ActionHistoryPackingListener extends AbstractMongoEventListener<GameDocument> {
+
+    static final String ACTION_HISTORY = "actionHistory";
+    static final String MOVE_STACK = "moveStack";
+    public static final String PACKED_ACTIONS = "packedActions";
+    public static final String ACTION_BASE_TIME = "actionBaseTime";
+
+    /**
+     * Base time a save of the game stores its history with
+     *
+     * @return the {@code actionBaseTime} of the packed form, or null if the history is stored unpacked
+     */
+    public static Long packedBaseTime(GameDocument game) {
+        List<GameAction> history = game.getActionHistory();
+        if (history == null) {
+            return null;
+        }
+        long baseTime = GameActionCodec.baseTime(history);
+        return GameActionCodec.encodeAll(history, baseTime, game.getBoardSize(),
+                game.getBlackPlayerId(), game.getWhitePlayerId()) == null ? null : baseTime;
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<GameDocument> event) {
+        GameDocument game = event.getSource();
+        Document document = event.getDocument();
+        List<GameAction> history = game.getActionHistory();
+        if (document == null || history == null) {
+            return;
+        }
+        long baseTime = GameActionCodec.baseTime(history);
+        long[] packed = GameActionCodec.encodeAll(history, baseTime, game.getBoardSize(),
+                game.getBlackPlayerId(), game.getWhitePlayerId());
+        if (packed == null) {
+            return;
+        }
+        List<Long> values = new ArrayList<>(packed.length);
+        for (long value : packed) {
+            values.add(value);
+        }
+        document.remove(ACTION_HISTORY);
+        document.remove(MOVE_STACK);
+        document.put(PACKED_ACTIONS, values);
+        document.put(ACTION_BASE_TIME, baseTime);
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<GameDocument> event) {
+        Document document = event.getDocument();
+        if (document == null || !(document.get(PACKED_ACTIONS) instanceof List<?> packed)) {
+            return;
+        }
+        GameDocument game = event.getSource();
+        Number baseTime = (Number) document.get(ACTION_BASE_TIME);
+        List<Number> values = new ArrayList<>(packed.size());
+        for (Object value : packed) {
+            values.add((Number) value);
+        }
+        // Resets the move stack, which is rebuilt from the history on first use
+        game.setActionHistory(GameActionCodec.decodeAll(values, baseTime == null ? 0L : baseTime.longValue(),
+                game.getBoardSize(), game.getBlackPlayerId(), game.getWhitePlayerId()));
+    }
+}
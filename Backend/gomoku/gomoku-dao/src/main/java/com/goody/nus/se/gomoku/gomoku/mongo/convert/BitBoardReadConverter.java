@@ -0,0 +1,32 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads a {@link BitBoard} written by {@link BitBoardWriteConverter}
+ */
+@Component
+@ReadingConverter
+public class BitBoardReadConverter implements Converter<Document, BitBoard> {
+
+    @Override
+    public BitBoard convert(Document source) {
+        Integer size = source.getInteger("size", 15);
+        return BitBoard.fromBytes(size, bytes(source.get("black")), bytes(source.get("white")));
+    }
+
+    private static byte[] bytes(Object value) {
+        if (value instanceof Binary binary) {
+            return binary.getData();
+        }
+        if (value instanceof byte[] raw) {
+            return raw;
+        }
+        return null;
+    }
+}
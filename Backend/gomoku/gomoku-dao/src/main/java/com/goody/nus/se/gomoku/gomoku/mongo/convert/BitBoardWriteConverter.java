@@ -0,0 +1,27 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores a {@link BitBoard} as {@code {size, black: BinData, white: BinData}}
+ *
+ * <p>A 15x15 board takes two 29-byte binaries instead of 15 nested int32 arrays.
+ */
+@Component
+@WritingConverter
+public class BitBoardWriteConverter implements Converter<BitBoard, Document> {
+
+    @Override
+    public Document convert(BitBoard source) {
+        Document document = new Document();
+        document.put("size", source.getSize());
+        document.put("black", new Binary(source.toBytes(BitBoard.BLACK)));
+        document.put("white", new Binary(source.toBytes(BitBoard.WHITE)));
+        return document;
+    }
+}
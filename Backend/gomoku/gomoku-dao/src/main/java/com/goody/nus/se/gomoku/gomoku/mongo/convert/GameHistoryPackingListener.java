@@ -0,0 +1,85 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.codec.MoveListCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stores {@link GameHistoryDocument#getActionHistory()} as one binary move list
+ *
+ * <p>On save the {@code actionHistory} array is replaced by {@code moves} (see
+ * {@link MoveListCodec}), and the board is dropped from {@code finalState}, whose other fields,
+ * including the indexed Zobrist hash, stay queryable. On load the history is decoded and the
+ * final board rebuilt by replaying its moves; undone moves are removed from the history, so
+ * the replay ends on the final position. Histories that cannot be encoded are stored
+ * unchanged, and archives written before this listener are read as before.
+ */
+@Component
+public class GameHistoryPackingListener extends AbstractMongoEventListener<GameHistoryDocument> {
+
+    static final String ACTION_HISTORY = "actionHistory";
+    static final String FINAL_STATE = "finalState";
+    static final String BOARD = "board";
+    public static final String MOVES = "moves";
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<GameHistoryDocument> event) {
+        GameHistoryDocument history = event.getSource();
+        Document document = event.getDocument();
+        List<GameAction> actions = history.getActionHistory();
+        if (document == null || actions == null) {
+            return;
+        }
+        byte[] moves = MoveListCodec.encode(actions, boardSize(history),
+                history.getBlackPlayerId(), history.getWhitePlayerId());
+        if (moves == null) {
+            return;
+        }
+        document.remove(ACTION_HISTORY);
+        document.put(MOVES, new Binary(moves));
+        if (document.get(FINAL_STATE) instanceof Document finalState) {
+            finalState.remove(BOARD);
+        }
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<GameHistoryDocument> event) {
+        Document document = event.getDocument();
+        if (document == null || !(document.get(MOVES) instanceof Binary moves)) {
+            return;
+        }
+        GameHistoryDocument history = event.getSource();
+        int boardSize = boardSize(history);
+        List<GameAction> actions = MoveListCodec.decode(moves.getData(), boardSize,
+                history.getBlackPlayerId(), history.getWhitePlayerId());
+        history.setActionHistory(actions);
+
+        GameStateSnapshot finalState = history.getFinalState();
+        if (finalState != null && finalState.getBoard() == null) {
+            BitBoard board = new BitBoard(boardSize);
+            for (GameAction action : actions) {
+                if (action.getType() == ActionType.MOVE && action.getPosition() != null && action.getColor() != null) {
+                    board.set(action.getPosition().getX(), action.getPosition().getY(), action.getColor().getValue());
+                }
+            }
+            finalState.setBoard(board);
+        }
+    }
+
+    private static int boardSize(GameHistoryDocument history) {
+        GameStateSnapshot finalState = history.getFinalState();
+        return finalState != null ? BoardSizeEnum.orDefault(finalState.getBoardSize()) : BoardSizeEnum.STANDARD.getSize();
+    }
+}
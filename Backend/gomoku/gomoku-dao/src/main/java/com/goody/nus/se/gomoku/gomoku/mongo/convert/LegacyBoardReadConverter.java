@@ -0,0 +1,32 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads boards stored in the legacy nested-array form ({@code [[0,1,2],...]})
+ *
+ * <p>Documents written before the switch to {@link BitBoard} are converted on load
+ * and re-written in the packed form on their next save.
+ */
+@Component
+@ReadingConverter
+public class LegacyBoardReadConverter implements Converter<List<?>, BitBoard> {
+
+    @Override
+    public BitBoard convert(List<?> source) {
+        int[][] cells = new int[source.size()][];
+        for (int x = 0; x < source.size(); x++) {
+            List<?> row = (List<?>) source.get(x);
+            cells[x] = new int[row.size()];
+            for (int y = 0; y < row.size(); y++) {
+                cells[x][y] = ((Number) row.get(y)).intValue();
+            }
+        }
+        return BitBoard.fromArray(cells);
+    }
+}
@@ -0,0 +1,21 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads stored {@code {x, y}} subdocuments through {@link Position#of(int, int)}
+ * so loaded games share the interned instances
+ */
+@Component
+@ReadingConverter
+public class PositionReadConverter implements Converter<Document, Position> {
+
+    @Override
+    public Position convert(Document source) {
+        return Position.of(source.getInteger("x", 0), source.getInteger("y", 0));
+    }
+}
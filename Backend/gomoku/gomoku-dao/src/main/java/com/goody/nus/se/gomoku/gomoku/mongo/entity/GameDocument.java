@@ -1,18 +1,24 @@
 package com.goody.nus.se.gomoku.gomoku.mongo.entity;
 
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.MoveRecord;
 import jakarta.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -23,6 +29,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "games")
+@CompoundIndexes({
+        @CompoundIndex(name = "position_hash_idx", def = "{'currentState.zobristHash': 1}"),
+        @CompoundIndex(name = "status_update_idx", def = "{'status': 1, 'updateTime': 1}")
+})
 public class GameDocument {
 
     /**
@@ -69,6 +79,12 @@ public class GameDocument {
     @Builder.Default
     private List<GameAction> actionHistory = new ArrayList<>();
 
+    /**
+     * Move stack: one entry per MOVE in actionHistory, in play order
+     * Null for documents stored before the stack existed; rebuilt from actionHistory on first use
+     */
+    private List<MoveRecord> moveStack;
+
     /**
      * Version for optimistic locking and state tracking
      */
@@ -121,9 +137,19 @@ public class GameDocument {
     private String modeType;
 
     /**
-     * Create a new game document for a room
+     * Create a new game document for a room on a standard-size board
      */
     public static GameDocument createNewGameWithRandomBlack(Long roomId, Long playerId, String modeType) {
+        return createNewGameWithRandomBlack(roomId, playerId, modeType, BoardSizeEnum.STANDARD.getSize());
+    }
+
+    /**
+     * Create a new game document for a room
+     *
+     * @param boardSize board edge length
+     */
+    public static GameDocument createNewGameWithRandomBlack(Long roomId, Long playerId, String modeType,
+                                                            int boardSize) {
         long now = System.currentTimeMillis();
         final boolean isBlack = now % 2 == 0;
         return GameDocument.builder()
@@ -132,9 +158,10 @@ public class GameDocument {
                 .whitePlayerId(isBlack ? null : playerId)
                 .blackReady(false)
                 .whiteReady(false)
-                .currentState(GameStateSnapshot.createEmpty())
+                .currentState(GameStateSnapshot.createEmpty(boardSize))
                 .lastAction(null)
                 .actionHistory(new ArrayList<>())
+                .moveStack(new ArrayList<>())
                 .version(0L)
                 .createTime(now)
                 .updateTime(now)
@@ -152,7 +179,117 @@ public class GameDocument {
         if (this.actionHistory == null) {
             this.actionHistory = new ArrayList<>();
         }
+        ensureMoveStack();
         this.actionHistory.add(action);
+        if (action.getType() == ActionType.MOVE) {
+            this.moveStack.add(MoveRecord.builder()
+                    .position(action.getPosition())
+                    .color(action.getColor())
+                    .actionIndex(this.actionHistory.size() - 1)
+                    .build());
+        }
+    }
+
+    /**
+     * Replace the action history; the move stack is rebuilt from it on next use
+     */
+    public void setActionHistory(List<GameAction> actionHistory) {
+        this.actionHistory = actionHistory;
+        this.moveStack = null;
+    }
+
+    /**
+     * Board edge length of the current game, standard size if no state is set yet
+     */
+    public int getBoardSize() {
+        return this.currentState == null ? BoardSizeEnum.STANDARD.getSize()
+                : BoardSizeEnum.orDefault(this.currentState.getBoardSize());
+    }
+
+    /**
+     * Number of moves currently on the board
+     */
+    public int getMoveCount() {
+        ensureMoveStack();
+        return this.moveStack.size();
+    }
+
+    /**
+     * Get the most recent move without removing it
+     *
+     * @return the last move, or null if no moves were made
+     */
+    public MoveRecord peekMove() {
+        ensureMoveStack();
+        return this.moveStack.isEmpty() ? null : this.moveStack.get(this.moveStack.size() - 1);
+    }
+
+    /**
+     * Pop the most recent move and drop its MOVE action from the history
+     * Only actions recorded after that move shift, so this costs O(1) in game length
+     *
+     * @return the removed move, or null if no moves were made
+     */
+    public MoveRecord popMove() {
+        ensureMoveStack();
+        if (this.moveStack.isEmpty()) {
+            return null;
+        }
+        MoveRecord move = this.moveStack.remove(this.moveStack.size() - 1);
+        this.actionHistory.remove((int) move.getActionIndex());
+        return move;
+    }
+
+    /**
+     * Get the last N moves in play order
+     *
+     * @param count maximum number of moves
+     * @return unmodifiable view of at most {@code count} moves
+     */
+    public List<MoveRecord> getLastMoves(int count) {
+        ensureMoveStack();
+        int size = this.moveStack.size();
+        return Collections.unmodifiableList(this.moveStack.subList(Math.max(0, size - count), size));
+    }
+
+    /**
+     * Rebuild the move stack from actionHistory for documents stored without one
+     */
+    private void ensureMoveStack() {
+        if (this.moveStack != null) {
+            return;
+        }
+        this.moveStack = new ArrayList<>();
+        if (this.actionHistory == null) {
+            return;
+        }
+        for (int i = 0; i < this.actionHistory.size(); i++) {
+            GameAction action = this.actionHistory.get(i);
+            if (action.getType() == ActionType.MOVE) {
+                this.moveStack.add(MoveRecord.builder()
+                        .position(action.getPosition())
+                        .color(action.getColor())
+                        .actionIndex(i)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Play a move that neither wins nor fills the board: place the stone, count it and pass
+     * the turn. A move implicitly rejects pending draw and undo proposals, so both are cleared.
+     *
+     * @param action       the MOVE action
+     * @param snapshotTime time to stamp on the state
+     */
+    public void playMove(GameAction action, long snapshotTime) {
+        clearDrawProposal();
+        clearUndoProposal();
+        this.currentState.placeStone(action.getPosition().getX(), action.getPosition().getY(),
+                action.getColor().getValue());
+        this.currentState.setTotalMoves(this.currentState.getTotalMoves() + 1);
+        this.currentState.changeTurn(action.getColor().getOpponent());
+        this.currentState.setSnapshotTime(snapshotTime);
     }
 
     /**
@@ -202,7 +339,7 @@ public class GameDocument {
      *
      * <p>This method resets the game to initial state while:
      * <ul>
-     *   <li>Keeping the same roomId and player IDs</li>
+     *   <li>Keeping the same roomId, player IDs and board size</li>
      *   <li>Swapping player colors for fairness</li>
      *   <li>Incrementing game count</li>
      *   <li>Clearing all game state and proposals</li>
@@ -218,10 +355,11 @@ public class GameDocument {
         this.blackPlayerId = this.whitePlayerId;
         this.whitePlayerId = tempBlackId;
 
-        // Reset game state
-        this.currentState = GameStateSnapshot.createEmpty();
+        // Reset game state, keeping the board size chosen for the room
+        this.currentState = GameStateSnapshot.createEmpty(getBoardSize());
         this.lastAction = null;
         this.actionHistory = new ArrayList<>();
+        this.moveStack = new ArrayList<>();
 
         // Reset ready status
         this.blackReady = false;
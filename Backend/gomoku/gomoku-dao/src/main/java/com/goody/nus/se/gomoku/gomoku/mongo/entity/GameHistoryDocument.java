@@ -1,5 +1,8 @@
 package com.goody.nus.se.gomoku.gomoku.mongo.entity;
 
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.model.BoardCheckpoint;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
 import lombok.AllArgsConstructor;
@@ -11,6 +14,7 @@ import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +29,11 @@ import java.util.List;
  *   <li>Separation of concerns: Active games (GameDocument) vs historical games (GameHistoryDocument)</li>
  *   <li>Complete record: Stores full action history and final state for replay/analysis</li>
  *   <li>Queryable: Indexed by roomId and gameNumber for efficient retrieval</li>
+ *   <li>Player history: Indexed by each seat and by winner, newest first, for keyset pages</li>
+ *   <li>Position lookup: Zobrist hashes of every position reached are multikey-indexed</li>
+ *   <li>Seekable replay: A packed board is checkpointed every {@value #CHECKPOINT_INTERVAL} plies</li>
+ *   <li>Compact: The history is stored as a binary move list and the final board is rebuilt
+ *       from it on load (see GameHistoryPackingListener)</li>
  * </ul>
  *
  * @author Claude
@@ -37,10 +46,20 @@ import java.util.List;
 @AllArgsConstructor
 @Document(collection = "game_history")
 @CompoundIndexes({
-        @CompoundIndex(name = "room_game_idx", def = "{'roomId': 1, 'gameNumber': 1}", unique = true)
+        @CompoundIndex(name = "room_game_idx", def = "{'roomId': 1, 'gameNumber': 1}", unique = true),
+        @CompoundIndex(name = "position_hash_idx", def = "{'positionHashes': 1}"),
+        @CompoundIndex(name = "final_hash_idx", def = "{'finalState.zobristHash': 1}"),
+        @CompoundIndex(name = "black_end_idx", def = "{'blackPlayerId': 1, 'endTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "white_end_idx", def = "{'whitePlayerId': 1, 'endTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "winner_end_idx", def = "{'winnerId': 1, 'endTime': -1, '_id': -1}")
 })
 public class GameHistoryDocument {
 
+    /**
+     * Number of plies (moves) between stored board checkpoints
+     */
+    public static final int CHECKPOINT_INTERVAL = 16;
+
     /**
      * Auto-generated document ID
      */
@@ -103,6 +122,17 @@ public class GameHistoryDocument {
      */
     private String endReason;
 
+    /**
+     * Zobrist hash of every position reached, one per move in play order
+     * (each with the opponent of the mover to move), for "games that reached this position" lookups
+     */
+    private List<Long> positionHashes;
+
+    /**
+     * Packed boards at every {@link #CHECKPOINT_INTERVAL}-th ply, in ply order
+     */
+    private List<BoardCheckpoint> checkpoints;
+
     /**
      * Create a history record from a finished GameDocument
      *
@@ -116,6 +146,9 @@ public class GameHistoryDocument {
      */
     public static GameHistoryDocument fromGameDocument(GameDocument gameDoc, Integer gameNumber, String endReason) {
         Long winnerId = determineWinnerId(gameDoc);
+        List<Long> positionHashes = new ArrayList<>();
+        List<BoardCheckpoint> checkpoints = new ArrayList<>();
+        replayMoves(gameDoc, positionHashes, checkpoints);
 
         return GameHistoryDocument.builder()
                 .roomId(gameDoc.getRoomId())
@@ -129,9 +162,76 @@ public class GameHistoryDocument {
                 .winnerId(winnerId)
                 .totalMoves(gameDoc.getCurrentState() != null ? gameDoc.getCurrentState().getTotalMoves() : 0)
                 .endReason(endReason)
+                .positionHashes(positionHashes)
+                .checkpoints(checkpoints)
                 .build();
     }
 
+    /**
+     * Determine how a finished game ended from its state and last action
+     *
+     * @param gameDoc The game document
+     * @return End reason: WIN, DRAW, SURRENDER, TIMEOUT, or ONGOING/UNKNOWN if not finished
+     */
+    public static String determineEndReason(GameDocument gameDoc) {
+        if (gameDoc.getCurrentState() == null) {
+            return "UNKNOWN";
+        }
+
+        Integer winner = gameDoc.getCurrentState().getWinner();
+        if (winner == null || winner == -1) {
+            return "ONGOING"; // Shouldn't happen
+        } else if (winner == 0) {
+            return "DRAW";
+        } else {
+            // Check last action for more specific reason
+            GameAction lastAction = gameDoc.getLastAction();
+            if (lastAction != null) {
+                ActionType lastType = lastAction.getType();
+                if (lastType == ActionType.SURRENDER) {
+                    return "SURRENDER";
+                } else if (lastType == ActionType.TIMEOUT) {
+                    return "TIMEOUT";
+                } else if (lastType == ActionType.DRAW_AGREE) {
+                    return "DRAW";
+                }
+            }
+            return "WIN"; // Normal win by making 5 in a row
+        }
+    }
+
+    /**
+     * Replay the MOVE actions on an empty board, collecting the hash after each move
+     * and a board checkpoint every {@link #CHECKPOINT_INTERVAL} moves
+     *
+     * @param gameDoc The game document
+     * @param hashes Receives position hashes in play order
+     * @param checkpoints Receives board checkpoints in ply order
+     */
+    private static void replayMoves(GameDocument gameDoc, List<Long> hashes, List<BoardCheckpoint> checkpoints) {
+        if (gameDoc.getActionHistory() == null) {
+            return;
+        }
+
+        GameStateSnapshot state = gameDoc.getCurrentState();
+        int boardSize = state != null ? BoardSizeEnum.orDefault(state.getBoardSize()) : BoardSizeEnum.STANDARD.getSize();
+        GameStateSnapshot replay = GameStateSnapshot.createEmpty(boardSize);
+        for (GameAction action : gameDoc.getActionHistory()) {
+            if (action.getType() != ActionType.MOVE || action.getPosition() == null || action.getColor() == null) {
+                continue;
+            }
+            replay.placeStone(action.getPosition().getX(), action.getPosition().getY(), action.getColor().getValue());
+            replay.changeTurn(action.getColor().getOpponent());
+            hashes.add(replay.getZobristHash());
+            if (hashes.size() % CHECKPOINT_INTERVAL == 0) {
+                checkpoints.add(BoardCheckpoint.builder()
+                        .ply(hashes.size())
+                        .board(replay.getBoard().copy())
+                        .build());
+            }
+        }
+    }
+
     /**
      * Determine the winner's player ID from game state
      *
@@ -18,7 +18,7 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface GameHistoryRepository extends MongoRepository<GameHistoryDocument, String> {
+public interface GameHistoryRepository extends MongoRepository<GameHistoryDocument, String>, GameHistoryRepositoryCustom {
 
     /**
      * Find all games for a specific room, ordered by game number
@@ -50,7 +50,10 @@ public interface GameHistoryRepository extends MongoRepository<GameHistoryDocume
      *
      * @param playerId The player ID
      * @return List of game history records where player was either black or white
+     * @deprecated Loads every complete game of the player; use {@link #findPlayerGamesBefore}
+     * or {@link #streamPlayerGames}
      */
+    @Deprecated
     List<GameHistoryDocument> findByBlackPlayerIdOrWhitePlayerId(Long playerId, Long playerId2);
 
     /**
@@ -58,9 +61,19 @@ public interface GameHistoryRepository extends MongoRepository<GameHistoryDocume
      *
      * @param playerId The player ID
      * @return List of game history records won by this player
+     * @deprecated Loads every complete game the player won; use {@link #findPlayerWinsBefore}
      */
+    @Deprecated
     List<GameHistoryDocument> findByWinnerId(Long playerId);
 
+    /**
+     * Find all games that reached a position at any point, by Zobrist hash
+     *
+     * @param positionHash The Zobrist hash of the position
+     * @return List of game history records whose positionHashes contain the hash
+     */
+    List<GameHistoryDocument> findByPositionHashesContaining(Long positionHash);
+
     /**
      * Delete all game history for a room
      *
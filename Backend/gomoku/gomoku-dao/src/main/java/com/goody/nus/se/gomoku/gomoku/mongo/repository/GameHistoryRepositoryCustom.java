@@ -0,0 +1,48 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bounded queries over a player's game history, newest first
+ *
+ * <p>Pages are keyset-paginated on {@code (endTime, _id)} descending, which the
+ * {@code black_end_idx}, {@code white_end_idx} and {@code winner_end_idx} indexes serve without
+ * an in-memory sort, so a page costs the same however many games the player has.
+ */
+public interface GameHistoryRepositoryCustom {
+
+    /**
+     * Find a page of games a player took part in, as list-view summaries
+     *
+     * @param playerId      the player ID
+     * @param beforeEndTime end time of the last game of the previous page, or null for the first page
+     * @param beforeId      ID of the last game of the previous page, or null for the first page
+     * @param limit         maximum number of games
+     * @return the games, without action history, position hashes, checkpoints or final board
+     */
+    List<GameHistoryDocument> findPlayerGamesBefore(Long playerId, Long beforeEndTime, String beforeId, int limit);
+
+    /**
+     * Find a page of games a player won, as list-view summaries
+     *
+     * @param playerId      the player ID
+     * @param beforeEndTime end time of the last game of the previous page, or null for the first page
+     * @param beforeId      ID of the last game of the previous page, or null for the first page
+     * @param limit         maximum number of games
+     * @return the games, without action history, position hashes, checkpoints or final board
+     */
+    List<GameHistoryDocument> findPlayerWinsBefore(Long playerId, Long beforeEndTime, String beforeId, int limit);
+
+    /**
+     * Stream every game a player took part in, complete, over a server-side cursor
+     *
+     * <p>The stream holds the cursor open and must be closed by the caller.
+     *
+     * @param playerId the player ID
+     * @return the games, newest first
+     */
+    Stream<GameHistoryDocument> streamPlayerGames(Long playerId);
+}
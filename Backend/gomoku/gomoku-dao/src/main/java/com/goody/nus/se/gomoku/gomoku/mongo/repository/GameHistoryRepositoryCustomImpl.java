@@ -0,0 +1,82 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.GameHistoryPackingListener;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate implementation of {@link GameHistoryRepositoryCustom}
+ *
+ * <p>The seat query is an {@code $or} with one branch per seat, each carrying the keyset bound,
+ * so MongoDB walks both seat indexes in order and merges them instead of sorting.
+ */
+@RequiredArgsConstructor
+public class GameHistoryRepositoryCustomImpl implements GameHistoryRepositoryCustom {
+
+    /**
+     * Documents fetched per round trip while streaming
+     */
+    static final int STREAM_BATCH_SIZE = 100;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "endTime", "id");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<GameHistoryDocument> findPlayerGamesBefore(Long playerId, Long beforeEndTime, String beforeId,
+                                                           int limit) {
+        Criteria criteria = new Criteria().orOperator(
+                before(Criteria.where("blackPlayerId").is(playerId), beforeEndTime, beforeId),
+                before(Criteria.where("whitePlayerId").is(playerId), beforeEndTime, beforeId));
+        return mongoTemplate.find(summaries(criteria, limit), GameHistoryDocument.class);
+    }
+
+    @Override
+    public List<GameHistoryDocument> findPlayerWinsBefore(Long playerId, Long beforeEndTime, String beforeId,
+                                                          int limit) {
+        Criteria criteria = before(Criteria.where("winnerId").is(playerId), beforeEndTime, beforeId);
+        return mongoTemplate.find(summaries(criteria, limit), GameHistoryDocument.class);
+    }
+
+    @Override
+    public Stream<GameHistoryDocument> streamPlayerGames(Long playerId) {
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("blackPlayerId").is(playerId),
+                        Criteria.where("whitePlayerId").is(playerId)))
+                .with(NEWEST_FIRST)
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, GameHistoryDocument.class);
+    }
+
+    /**
+     * Restrict a query to games ending before the keyset position, newest first
+     */
+    private static Criteria before(Criteria criteria, Long endTime, String id) {
+        if (endTime == null) {
+            return criteria;
+        }
+        if (id == null) {
+            return criteria.and("endTime").lt(endTime);
+        }
+        // The range on endTime bounds the index scan; the tie on endTime is broken by _id
+        return criteria.and("endTime").lte(endTime)
+                .orOperator(Criteria.where("endTime").lt(endTime), Criteria.where("id").lt(id));
+    }
+
+    /**
+     * Page query that leaves out the fields only a replay needs
+     */
+    private static Query summaries(Criteria criteria, int limit) {
+        Query query = Query.query(criteria).with(NEWEST_FIRST).limit(limit);
+        query.fields().exclude("actionHistory", GameHistoryPackingListener.MOVES, "positionHashes",
+                "checkpoints", "finalState.board");
+        return query;
+    }
+}
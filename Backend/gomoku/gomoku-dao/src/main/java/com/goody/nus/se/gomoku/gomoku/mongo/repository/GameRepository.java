@@ -4,16 +4,22 @@ import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * MongoDB repository for game documents
  */
 @Repository
-public interface GameRepository extends MongoRepository<GameDocument, Long> {
+public interface GameRepository extends MongoRepository<GameDocument, Long>, GameRepositoryCustom {
 
     /**
      * Find game by room ID
      */
     Optional<GameDocument> findByRoomId(Long roomId);
+
+    /**
+     * Find active games currently at a position, by Zobrist hash (position_hash_idx)
+     */
+    List<GameDocument> findByCurrentStateZobristHash(Long zobristHash);
 }
@@ -0,0 +1,78 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+
+import java.util.List;
+
+/**
+ * Conditional writes for game documents, keyed on roomId and {@link GameDocument#getVersion()}
+ *
+ * <p>Lets several service instances update the same room without distributed locks: a write
+ * only succeeds if the stored document is still the one the writer read.
+ */
+public interface GameRepositoryCustom {
+
+    /**
+     * Insert a game that has never been stored
+     *
+     * @param game the new game
+     * @return false if a game already exists for the room
+     */
+    boolean insertIfAbsent(GameDocument game);
+
+    /**
+     * Replace the stored game if its version is still the expected one
+     *
+     * @param game            the updated game, whose version must differ from expectedVersion
+     * @param expectedVersion version of the stored document the update was based on
+     * @return false if the stored game has another version or no longer exists
+     */
+    boolean replaceIfVersion(GameDocument game, Long expectedVersion);
+
+    /**
+     * Write the changes of actions appended since the expected version, if that version is
+     * still the stored one
+     *
+     * <p>Only the fields an action can change are written: the new actions are pushed onto the
+     * packed history and the board, turn, counters, status, proposals and last action are set.
+     * Resets, undos and seat changes rewrite the history and need {@link #replaceIfVersion}.
+     *
+     * @param game            the updated game, whose version must differ from expectedVersion
+     * @param expectedVersion version of the stored document the update was based on
+     * @param appendedFrom    index of the first action in the history not yet stored
+     * @param actionBaseTime  base time the stored history is packed with, every appended action
+     *                        must be packable against it
+     * @return false if the stored game has another version or no longer exists
+     */
+    boolean appendIfVersion(GameDocument game, Long expectedVersion, int appendedFrom, long actionBaseTime);
+
+    /**
+     * Check whether the stored game of a room still has the given version, without loading it
+     *
+     * @param roomId  room ID
+     * @param version version the caller holds
+     * @return false if the stored game has another version or does not exist
+     */
+    boolean existsWithVersion(Long roomId, Long version);
+
+    /**
+     * Find a batch of games that have not changed for a while, in roomId order
+     *
+     * <p>Served by {@code status_update_idx}; batches are keyset-paginated on roomId.
+     *
+     * @param afterRoomId     roomId of the last game of the previous batch, or null for the first batch
+     * @param finishedBefore  finished games last updated before this time are returned
+     * @param abandonedBefore unfinished games last updated before this time are returned
+     * @param limit           maximum number of games
+     * @return the games, complete
+     */
+    List<GameDocument> findInactiveAfter(Long afterRoomId, long finishedBefore, long abandonedBefore, int limit);
+
+    /**
+     * Delete games that are still stored with the version they were read with, in one bulk write
+     *
+     * @param games the games to delete
+     * @return number of games deleted; games changed since they were read are kept
+     */
+    int deleteIfVersion(List<GameDocument> games);
+}
@@ -0,0 +1,116 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.codec.GameActionCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.convert.ActionHistoryPackingListener;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MongoTemplate implementation of {@link GameRepositoryCustom}
+ *
+ * <p>Inserts and replacements go through the template's save events, so the action history is
+ * packed as for {@code save}; appends push onto that packed form directly.
+ */
+@RequiredArgsConstructor
+public class GameRepositoryCustomImpl implements GameRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean insertIfAbsent(GameDocument game) {
+        try {
+            mongoTemplate.insert(game);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean replaceIfVersion(GameDocument game, Long expectedVersion) {
+        Query query = versionQuery(game.getRoomId(), expectedVersion);
+        // Only the match matters, do not ship the previous document back
+        query.fields().include("roomId");
+        return mongoTemplate.findAndReplace(query, game) != null;
+    }
+
+    @Override
+    public boolean appendIfVersion(GameDocument game, Long expectedVersion, int appendedFrom, long actionBaseTime) {
+        List<GameAction> history = game.getActionHistory();
+        List<Long> packed = new ArrayList<>(history.size() - appendedFrom);
+        for (GameAction action : history.subList(appendedFrom, history.size())) {
+            packed.add(GameActionCodec.encode(action, actionBaseTime, game.getBoardSize()));
+        }
+        GameStateSnapshot state = game.getCurrentState();
+        // The board is a pair of fixed-size bit planes, so it is set whole rather than per cell
+        Update update = new Update()
+                .push(ActionHistoryPackingListener.PACKED_ACTIONS).each(packed.toArray())
+                .set("currentState.board", state.getBoard())
+                .set("currentState.currentTurn", state.getCurrentTurn())
+                .set("currentState.winner", state.getWinner())
+                .set("currentState.totalMoves", state.getTotalMoves())
+                .set("currentState.snapshotTime", state.getSnapshotTime())
+                .set("currentState.zobristHash", state.getZobristHash())
+                .set("lastAction", game.getLastAction())
+                .set("blackReady", game.getBlackReady())
+                .set("whiteReady", game.getWhiteReady())
+                .set("status", game.getStatus())
+                .set("drawProposerColor", game.getDrawProposerColor())
+                .set("undoProposerColor", game.getUndoProposerColor())
+                .set("restartProposerColor", game.getRestartProposerColor())
+                .set("updateTime", game.getUpdateTime())
+                .set("version", game.getVersion());
+        UpdateResult result = mongoTemplate.updateFirst(versionQuery(game.getRoomId(), expectedVersion), update,
+                GameDocument.class);
+        return result != null && result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean existsWithVersion(Long roomId, Long version) {
+        return mongoTemplate.exists(versionQuery(roomId, version), GameDocument.class);
+    }
+
+    @Override
+    public List<GameDocument> findInactiveAfter(Long afterRoomId, long finishedBefore, long abandonedBefore,
+                                                int limit) {
+        Criteria criteria = new Criteria().orOperator(
+                Criteria.where("status").is(GameStatus.FINISHED).and("updateTime").lt(finishedBefore),
+                Criteria.where("status").ne(GameStatus.FINISHED).and("updateTime").lt(abandonedBefore));
+        if (afterRoomId != null) {
+            criteria = criteria.and("roomId").gt(afterRoomId);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "roomId")).limit(limit);
+        return mongoTemplate.find(query, GameDocument.class);
+    }
+
+    @Override
+    public int deleteIfVersion(List<GameDocument> games) {
+        if (games.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameDocument.class);
+        for (GameDocument game : games) {
+            bulk.remove(versionQuery(game.getRoomId(), game.getVersion()));
+        }
+        return bulk.execute().getDeletedCount();
+    }
+
+    private static Query versionQuery(Long roomId, Long expectedVersion) {
+        // A null version also matches legacy documents stored without one
+        return Query.query(Criteria.where("roomId").is(roomId).and("version").is(expectedVersion));
+    }
+}
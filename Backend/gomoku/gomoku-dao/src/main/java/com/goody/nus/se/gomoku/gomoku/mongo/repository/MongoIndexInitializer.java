@@ -0,0 +1,50 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on {@link GameDocument} and {@link GameHistoryDocument} at startup
+ *
+ * <p>Automatic index creation is off, so without this the player history queries of
+ * {@link GameHistoryRepositoryCustom} and the inactive game scan of {@link GameRepositoryCustom}
+ * would scan their collections. Creating an index that already exists is a no-op; a failure is
+ * logged and does not stop the application.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(GameDocument.class, GameHistoryDocument.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(document);
+                for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                    indexOps.createIndex(index);
+                }
+                log.info("[MongoIndex] Indexes ensured on {}", mongoTemplate.getCollectionName(document));
+            } catch (RuntimeException e) {
+                log.warn("[MongoIndex] Failed to create indexes of {}", document.getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -1,13 +1,60 @@
 package com.goody.nus.se.gomoku.gomoku.room;
 
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface RoomCodeDao {
      void createRoomCode(String roomCode, int ttlMinutes);
+
+     /**
+      * Create a room code whose game is played on a board of the given size
+      *
+      * @param roomCode   the room code
+      * @param ttlMinutes time to live in minutes
+      * @param boardSize  board edge length chosen by the room creator
+      */
+     void createRoomCode(String roomCode, int ttlMinutes, int boardSize);
+
+     /**
+      * Board size chosen when the room was created
+      *
+      * @param roomCode the room code
+      * @return board edge length, the standard size if none was recorded
+      */
+     int getBoardSize(String roomCode);
+
+     /**
+      * Create a room code whose game is played on a board of the given size under the given rule
+      *
+      * @param roomCode   the room code
+      * @param ttlMinutes time to live in minutes
+      * @param boardSize  board edge length chosen by the room creator
+      * @param rule       game rule chosen by the room creator
+      */
+     void createRoomCode(String roomCode, int ttlMinutes, int boardSize, GameRuleEnum rule);
+
+     /**
+      * Game rule chosen when the room was created
+      *
+      * @param roomCode the room code
+      * @return the rule, STANDARD if none was recorded
+      */
+     GameRuleEnum getRule(String roomCode);
      boolean exists(String roomCode);
      List<String> getPlayersByRoom(String roomCode);
      void addPlayerToRoom(String roomCode, String playerId);
      void updateRoomTTL(String roomCode, int ttlMinutes);
+
+     /**
+      * Check that a room code exists and extend the TTL of its keys, in one round trip
+      *
+      * @param roomCode   the room code
+      * @param ttlMinutes time to live in minutes
+      * @return future completed with whether the room code exists
+      */
+     CompletableFuture<Boolean> touchRoomAsync(String roomCode, int ttlMinutes);
      void removePlayerFromRoom(String roomCode, String playerId);
      void deleteRoom(String roomCode);
 
@@ -1,10 +1,13 @@
 package com.goody.nus.se.gomoku.gomoku.room;
 
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.redis.service.RedisService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 
@@ -16,12 +19,45 @@ public class RoomCodeDaoImpl implements RoomCodeDao {
     private static final String ROOM_KEY_PREFIX = "room:";
     private static final String ROOM_PLAYERS_SUFFIX = ":players";
     private static final String ROOM_STATUS_SUFFIX = ":status";
+    private static final String ROOM_BOARD_SIZE_SUFFIX = ":boardSize";
+    private static final String ROOM_RULE_SUFFIX = ":rule";
     @Override
     public void createRoomCode(String roomCode, int ttlMinutes) {
         redisService.set(ROOM_KEY_PREFIX + roomCode + ROOM_STATUS_SUFFIX, "waiting", ttlMinutes, TimeUnit.MINUTES);
         redisService.set(ROOM_KEY_PREFIX + roomCode, "active", ttlMinutes, TimeUnit.MINUTES);
     }
 
+    @Override
+    public void createRoomCode(String roomCode, int ttlMinutes, int boardSize) {
+        createRoomCode(roomCode, ttlMinutes);
+        // Standard rooms keep no size key, so rooms created before sizes existed read the same
+        if (boardSize != BoardSizeEnum.STANDARD.getSize()) {
+            redisService.set(ROOM_KEY_PREFIX + roomCode + ROOM_BOARD_SIZE_SUFFIX, String.valueOf(boardSize),
+                    ttlMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public int getBoardSize(String roomCode) {
+        String boardSize = redisService.get(ROOM_KEY_PREFIX + roomCode + ROOM_BOARD_SIZE_SUFFIX);
+        return boardSize == null ? BoardSizeEnum.STANDARD.getSize() : Integer.parseInt(boardSize);
+    }
+
+    @Override
+    public void createRoomCode(String roomCode, int ttlMinutes, int boardSize, GameRuleEnum rule) {
+        createRoomCode(roomCode, ttlMinutes, boardSize);
+        // Likewise standard rooms keep no rule key
+        if (rule != GameRuleEnum.STANDARD) {
+            redisService.set(ROOM_KEY_PREFIX + roomCode + ROOM_RULE_SUFFIX, rule.name(), ttlMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public GameRuleEnum getRule(String roomCode) {
+        String rule = redisService.get(ROOM_KEY_PREFIX + roomCode + ROOM_RULE_SUFFIX);
+        return rule == null ? GameRuleEnum.STANDARD : GameRuleEnum.valueOf(rule);
+    }
+
     @Override
     public boolean exists(String roomCode) {
         return redisService.exists(ROOM_KEY_PREFIX + roomCode);
@@ -39,9 +75,14 @@ public class RoomCodeDaoImpl implements RoomCodeDao {
     
     @Override
     public void updateRoomTTL(String roomCode, int ttlMinutes) {
-        redisService.expire(ROOM_KEY_PREFIX + roomCode, ttlMinutes, TimeUnit.MINUTES);
-        redisService.expire(ROOM_KEY_PREFIX + roomCode + ROOM_PLAYERS_SUFFIX, ttlMinutes, TimeUnit.MINUTES);
-        redisService.expire(ROOM_KEY_PREFIX + roomCode + ROOM_STATUS_SUFFIX, ttlMinutes, TimeUnit.MINUTES);
+        touchRoomAsync(roomCode, ttlMinutes).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> touchRoomAsync(String roomCode, int ttlMinutes) {
+        // EXPIRE only succeeds on an existing key, so the reply for the room key is the existence check
+        return redisService.expireAsync(roomKeys(roomCode), ttlMinutes, TimeUnit.MINUTES)
+                .thenApply(replies -> replies.get(0));
     }
 
     @Override
@@ -49,11 +90,25 @@ public class RoomCodeDaoImpl implements RoomCodeDao {
         redisService.getList(ROOM_KEY_PREFIX + roomCode + ROOM_PLAYERS_SUFFIX).remove(playerId);
     }
 
+    /**
+     * Every key of a room, the room key itself first
+     */
+    private static List<String> roomKeys(String roomCode) {
+        return List.of(
+                ROOM_KEY_PREFIX + roomCode,
+                ROOM_KEY_PREFIX + roomCode + ROOM_PLAYERS_SUFFIX,
+                ROOM_KEY_PREFIX + roomCode + ROOM_STATUS_SUFFIX,
+                ROOM_KEY_PREFIX + roomCode + ROOM_BOARD_SIZE_SUFFIX,
+                ROOM_KEY_PREFIX + roomCode + ROOM_RULE_SUFFIX);
+    }
+
     @Override
     public void deleteRoom(String roomCode) {
         redisService.delete(ROOM_KEY_PREFIX + roomCode);
         redisService.delete(ROOM_KEY_PREFIX + roomCode + ROOM_PLAYERS_SUFFIX);
         redisService.delete(ROOM_KEY_PREFIX + roomCode + ROOM_STATUS_SUFFIX);
+        redisService.delete(ROOM_KEY_PREFIX + roomCode + ROOM_BOARD_SIZE_SUFFIX);
+        redisService.delete(ROOM_KEY_PREFIX + roomCode + ROOM_RULE_SUFFIX);
     }
 
     @Override
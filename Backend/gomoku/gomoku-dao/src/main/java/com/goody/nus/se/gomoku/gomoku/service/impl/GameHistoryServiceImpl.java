@@ -1,15 +1,24 @@
 package com.goody.nus.se.gomoku.gomoku.service.impl;
 
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameHistoryPage;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
 import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameHistoryRepository;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameHistoryService;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Game history service implementation
@@ -24,9 +33,17 @@ import java.util.Optional;
 @Service
 public class GameHistoryServiceImpl implements IGameHistoryService {
 
+    /**
+     * Largest page a caller may request
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private GameHistoryRepository gameHistoryRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     /**
      * Archive a finished game to history
      *
@@ -55,6 +72,44 @@ public class GameHistoryServiceImpl implements IGameHistoryService {
         return saved;
     }
 
+    /**
+     * Archive a batch of history records in one unordered bulk insert
+     *
+     * <p>Duplicates on the unique room_game_idx index mean the record was archived by an earlier
+     * attempt and are not errors; any other failure is thrown so the batch can be retried.
+     *
+     * @param histories The history records
+     * @return Number of records newly inserted
+     */
+    @Override
+    public int archiveAll(List<GameHistoryDocument> histories) {
+        if (histories.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameHistoryDocument.class);
+        bulk.insert(histories);
+        int inserted;
+        try {
+            inserted = bulk.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            if (!onlyDuplicates(e.getErrors())) {
+                throw e;
+            }
+            inserted = e.getResult().getInsertedCount();
+        } catch (MongoBulkWriteException e) {
+            if (!onlyDuplicates(e.getWriteErrors())) {
+                throw e;
+            }
+            inserted = e.getWriteResult().getInsertedCount();
+        }
+        log.info("[GameHistory] Archived batch: size={}, inserted={}", histories.size(), inserted);
+        return inserted;
+    }
+
+    private static boolean onlyDuplicates(List<BulkWriteError> errors) {
+        return errors.stream().allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+    }
+
     /**
      * Get all game history for a room
      *
@@ -100,6 +155,7 @@ public class GameHistoryServiceImpl implements IGameHistoryService {
      * @return List of games where player was either black or white
      */
     @Override
+    @Deprecated
     public List<GameHistoryDocument> getGamesByPlayerId(Long playerId) {
         log.debug("[GameHistory] Querying games for player: {}", playerId);
         // MongoDB query needs same parameter twice for OR condition
@@ -113,11 +169,76 @@ public class GameHistoryServiceImpl implements IGameHistoryService {
      * @return List of games won by this player
      */
     @Override
+    @Deprecated
     public List<GameHistoryDocument> getWinsByPlayerId(Long playerId) {
         log.debug("[GameHistory] Querying wins for player: {}", playerId);
         return gameHistoryRepository.findByWinnerId(playerId);
     }
 
+    /**
+     * Get a page of the games a player participated in, newest first
+     *
+     * @param playerId The player ID
+     * @param beforeEndTime End time of the last game of the previous page, or null
+     * @param beforeId ID of the last game of the previous page, or null
+     * @param pageSize Maximum number of games
+     * @return The page
+     */
+    @Override
+    public GameHistoryPage getGamesByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize) {
+        int size = pageSize(pageSize);
+        log.debug("[GameHistory] Querying games page for player: {}, before={}/{}, size={}",
+                playerId, beforeEndTime, beforeId, size);
+        // One extra game tells whether another page follows
+        return page(gameHistoryRepository.findPlayerGamesBefore(playerId, beforeEndTime, beforeId, size + 1), size);
+    }
+
+    /**
+     * Get a page of the games a player won, newest first
+     *
+     * @param playerId The player ID
+     * @param beforeEndTime End time of the last game of the previous page, or null
+     * @param beforeId ID of the last game of the previous page, or null
+     * @param pageSize Maximum number of games
+     * @return The page
+     */
+    @Override
+    public GameHistoryPage getWinsByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize) {
+        int size = pageSize(pageSize);
+        log.debug("[GameHistory] Querying wins page for player: {}, before={}/{}, size={}",
+                playerId, beforeEndTime, beforeId, size);
+        return page(gameHistoryRepository.findPlayerWinsBefore(playerId, beforeEndTime, beforeId, size + 1), size);
+    }
+
+    /**
+     * Stream every complete game a player participated in, newest first
+     *
+     * @param playerId The player ID
+     * @return The games; must be closed by the caller
+     */
+    @Override
+    public Stream<GameHistoryDocument> streamGamesByPlayerId(Long playerId) {
+        log.debug("[GameHistory] Streaming games for player: {}", playerId);
+        return gameHistoryRepository.streamPlayerGames(playerId);
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    private static GameHistoryPage page(List<GameHistoryDocument> games, int size) {
+        if (games.size() <= size) {
+            return GameHistoryPage.builder().games(games).build();
+        }
+        List<GameHistoryDocument> page = new ArrayList<>(games.subList(0, size));
+        GameHistoryDocument last = page.get(size - 1);
+        return GameHistoryPage.builder()
+                .games(page)
+                .nextEndTime(last.getEndTime())
+                .nextId(last.getId())
+                .build();
+    }
+
     /**
      * Delete all game history for a room
      *
@@ -52,7 +52,8 @@ public class RoomStateServiceImpl implements IRoomStateService {
      * @throws BizException with INTERNAL_ERROR if persistence fails unexpectedly
      */
     @Override
-    public GameDocument initializeGameState(Long roomId, Long player1Id, Long player2Id, String modeType) {
+    public GameDocument initializeGameState(Long roomId, Long player1Id, Long player2Id, String modeType,
+                                            int boardSize) {
         // Check if game state already exists (idempotency)
         GameDocument existingGame = gameRepository.findByRoomId(roomId).orElse(null);
         if (existingGame != null) {
@@ -71,7 +72,7 @@ public class RoomStateServiceImpl implements IRoomStateService {
                 .whitePlayerId(player1IsBlack ? player2Id : player1Id)
                 .blackReady(false)
                 .whiteReady(false)
-                .currentState(GameStateSnapshot.createEmpty())
+                .currentState(GameStateSnapshot.createEmpty(boardSize))
                 .lastAction(null)
                 .actionHistory(new ArrayList<>())
                 .version(0L)
@@ -87,9 +88,9 @@ public class RoomStateServiceImpl implements IRoomStateService {
             // Persist to MongoDB
             GameDocument savedDocument = gameRepository.save(gameDocument);
 
-            log.info("[RoomState] Initialized game state: roomId={}, black={}, white={}, status={}",
+            log.info("[RoomState] Initialized game state: roomId={}, black={}, white={}, status={}, boardSize={}",
                     roomId, savedDocument.getBlackPlayerId(), savedDocument.getWhitePlayerId(),
-                    savedDocument.getStatus());
+                    savedDocument.getStatus(), boardSize);
 
             return savedDocument;
         } catch (DuplicateKeyException e) {
@@ -1,10 +1,12 @@
 package com.goody.nus.se.gomoku.gomoku.service.interfaces;
 
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameHistoryPage;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Game history service interface
@@ -39,6 +41,17 @@ public interface IGameHistoryService {
      */
     GameHistoryDocument archiveGame(GameDocument gameDoc, Integer gameNumber, String endReason);
 
+    /**
+     * Archive a batch of history records in one bulk write
+     *
+     * <p>Idempotent: a record whose roomId and gameNumber are already archived is skipped, so a
+     * batch that failed part way can be written again as a whole.
+     *
+     * @param histories The history records, built with {@link GameHistoryDocument#fromGameDocument}
+     * @return Number of records newly inserted
+     */
+    int archiveAll(List<GameHistoryDocument> histories);
+
     /**
      * Get all game history for a room
      *
@@ -69,7 +82,10 @@ public interface IGameHistoryService {
      *
      * @param playerId The player ID
      * @return List of games where player was either black or white
+     * @deprecated Unbounded; use {@link #getGamesByPlayerId(Long, Long, String, int)} for list
+     * views or {@link #streamGamesByPlayerId} for exports
      */
+    @Deprecated
     List<GameHistoryDocument> getGamesByPlayerId(Long playerId);
 
     /**
@@ -77,9 +93,46 @@ public interface IGameHistoryService {
      *
      * @param playerId The player ID
      * @return List of games won by this player
+     * @deprecated Unbounded; use {@link #getWinsByPlayerId(Long, Long, String, int)}
      */
+    @Deprecated
     List<GameHistoryDocument> getWinsByPlayerId(Long playerId);
 
+    /**
+     * Get a page of the games a player participated in, newest first
+     *
+     * <p>Games are summaries for list views: action history, position hashes, checkpoints and
+     * the final board are not loaded.
+     *
+     * @param playerId The player ID
+     * @param beforeEndTime {@link GameHistoryPage#getNextEndTime()} of the previous page, or null for the first page
+     * @param beforeId {@link GameHistoryPage#getNextId()} of the previous page, or null for the first page
+     * @param pageSize Maximum number of games, capped by the service
+     * @return The page
+     */
+    GameHistoryPage getGamesByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize);
+
+    /**
+     * Get a page of the games a player won, newest first, as summaries for list views
+     *
+     * @param playerId The player ID
+     * @param beforeEndTime {@link GameHistoryPage#getNextEndTime()} of the previous page, or null for the first page
+     * @param beforeId {@link GameHistoryPage#getNextId()} of the previous page, or null for the first page
+     * @param pageSize Maximum number of games, capped by the service
+     * @return The page
+     */
+    GameHistoryPage getWinsByPlayerId(Long playerId, Long beforeEndTime, String beforeId, int pageSize);
+
+    /**
+     * Stream every complete game a player participated in, newest first, for exports
+     *
+     * <p>Games are read from a server-side cursor in batches; the caller must close the stream.
+     *
+     * @param playerId The player ID
+     * @return The games
+     */
+    Stream<GameHistoryDocument> streamGamesByPlayerId(Long playerId);
+
     /**
      * Delete all game history for a room
      *
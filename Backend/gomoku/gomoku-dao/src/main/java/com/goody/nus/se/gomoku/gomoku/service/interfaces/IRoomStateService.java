@@ -1,5 +1,6 @@
 package com.goody.nus.se.gomoku.gomoku.service.interfaces;
 
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 
 /**
@@ -43,5 +44,23 @@ public interface IRoomStateService {
      * @return The initialized GameDocument
      * @throws com.goody.nus.se.gomoku.common.exception.BizException if initialization fails
      */
-    GameDocument initializeGameState(Long roomId, Long player1Id, Long player2Id, String modeType);
+    default GameDocument initializeGameState(Long roomId, Long player1Id, Long player2Id, String modeType) {
+        return initializeGameState(roomId, player1Id, player2Id, modeType, BoardSizeEnum.STANDARD.getSize());
+    }
+
+    /**
+     * Initialize game state in MongoDB on a board of the given size
+     *
+     * <p>Same as {@link #initializeGameState(Long, Long, Long, String)}, with the empty board
+     * created at the size chosen when the room was created or matched.
+     *
+     * @param roomId    The room ID
+     * @param player1Id First player's user ID
+     * @param player2Id Second player's user ID
+     * @param modeType  Game mode type (RANKED, CASUAL, PRIVATE)
+     * @param boardSize Board edge length (see {@link BoardSizeEnum})
+     * @return The initialized GameDocument
+     * @throws com.goody.nus.se.gomoku.common.exception.BizException if initialization fails
+     */
+    GameDocument initializeGameState(Long roomId, Long player1Id, Long player2Id, String modeType, int boardSize);
 }
@@ -0,0 +1,107 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for ActionHistoryPackingListener
+ */
+class ActionHistoryPackingListenerTest {
+
+    private MappingMongoConverter converter;
+    private ActionHistoryPackingListener listener;
+    private GameDocument game;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(
+                new BitBoardWriteConverter(), new BitBoardReadConverter(), new LegacyBoardReadConverter(),
+                new PositionReadConverter()));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        listener = new ActionHistoryPackingListener();
+
+        game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "CASUAL");
+        game.setBlackPlayerId(100L);
+        game.setWhitePlayerId(200L);
+        game.addActionToHistory(action(ActionType.READY, PlayerColor.BLACK, null, 1_000L));
+        game.addActionToHistory(action(ActionType.MOVE, PlayerColor.BLACK, Position.of(7, 7), 2_000L));
+        game.addActionToHistory(action(ActionType.MOVE, PlayerColor.WHITE, Position.of(7, 8), 3_000L));
+    }
+
+    @Test
+    @DisplayName("Should replace the action subdocuments with packed longs and read them back")
+    void testRoundTrip() {
+        Document document = save(game);
+
+        assertFalse(document.containsKey(ActionHistoryPackingListener.ACTION_HISTORY));
+        assertFalse(document.containsKey(ActionHistoryPackingListener.MOVE_STACK));
+        assertEquals(3, ((List<?>) document.get(ActionHistoryPackingListener.PACKED_ACTIONS)).size());
+        assertEquals(1_000L, document.get(ActionHistoryPackingListener.ACTION_BASE_TIME));
+
+        GameDocument loaded = load(document);
+        assertEquals(game.getActionHistory(), loaded.getActionHistory());
+        assertEquals(2, loaded.getMoveCount());
+        assertSame(Position.of(7, 8), loaded.peekMove().getPosition());
+    }
+
+    @Test
+    @DisplayName("Should keep the legacy form when a player no longer holds their seat")
+    void testFallsBackWhenSeatChanged() {
+        game.setWhitePlayerId(300L);
+
+        Document document = save(game);
+
+        assertTrue(document.containsKey(ActionHistoryPackingListener.ACTION_HISTORY));
+        assertFalse(document.containsKey(ActionHistoryPackingListener.PACKED_ACTIONS));
+        assertEquals(game.getActionHistory(), load(document).getActionHistory());
+    }
+
+    private Document save(GameDocument source) {
+        Document document = new Document();
+        converter.write(source, document);
+        listener.onBeforeSave(new BeforeSaveEvent<>(source, document, "games"));
+        return document;
+    }
+
+    private GameDocument load(Document document) {
+        GameDocument loaded = converter.read(GameDocument.class, document);
+        listener.onAfterConvert(new AfterConvertEvent<>(document, loaded, "games"));
+        return loaded;
+    }
+
+    private static GameAction action(ActionType type, PlayerColor color, Position position, long timestamp) {
+        return GameAction.builder()
+                .type(type)
+                .color(color)
+                .playerId(color == PlayerColor.BLACK ? 100L : 200L)
+                .position(position)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Unit test for the BitBoard Mongo converters
+ */
+class BitBoardConverterTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(
+                new BitBoardWriteConverter(), new BitBoardReadConverter(), new LegacyBoardReadConverter()));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Should store the board as two binary planes and read it back")
+    void testRoundTrip() {
+        GameDocument game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "CASUAL");
+        game.getCurrentState().getBoard().set(7, 7, BitBoard.BLACK);
+        game.getCurrentState().getBoard().set(7, 8, BitBoard.WHITE);
+
+        Document document = new Document();
+        converter.write(game, document);
+
+        Document board = (Document) ((Document) document.get("currentState")).get("board");
+        assertEquals(15, board.get("size"));
+        assertInstanceOf(Binary.class, board.get("black"));
+        assertEquals(29, ((Binary) board.get("black")).length());
+
+        GameDocument read = converter.read(GameDocument.class, document);
+        assertEquals(game.getCurrentState().getBoard(), read.getCurrentState().getBoard());
+    }
+
+    @Test
+    @DisplayName("Should read boards stored as legacy nested arrays")
+    void testReadLegacyBoard() {
+        Document state = new Document("boardSize", 3)
+                .append("board", List.of(List.of(1, 0, 0), List.of(0, 2, 0), List.of(0, 0, 1)))
+                .append("totalMoves", 3);
+
+        GameStateSnapshot read = converter.read(GameStateSnapshot.class, state);
+
+        assertEquals(3, read.getBoard().getSize());
+        assertEquals(BitBoard.BLACK, read.getBoard().get(0, 0));
+        assertEquals(BitBoard.WHITE, read.getBoard().get(1, 1));
+        assertEquals(3, read.getBoard().stoneCount());
+    }
+}
@@ -0,0 +1,130 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.convert;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.BitBoard;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for GameHistoryPackingListener
+ */
+class GameHistoryPackingListenerTest {
+
+    private MappingMongoConverter converter;
+    private GameHistoryPackingListener listener;
+    private GameDocument game;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(
+                new BitBoardWriteConverter(), new BitBoardReadConverter(), new LegacyBoardReadConverter(),
+                new PositionReadConverter()));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        listener = new GameHistoryPackingListener();
+
+        game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "CASUAL");
+        game.setBlackPlayerId(100L);
+        game.setWhitePlayerId(200L);
+        play(action(ActionType.READY, PlayerColor.BLACK, null, 1_000L));
+        play(action(ActionType.MOVE, PlayerColor.BLACK, Position.of(7, 7), 2_000L));
+        play(action(ActionType.MOVE, PlayerColor.WHITE, Position.of(7, 8), 3_000L));
+        play(action(ActionType.MOVE, PlayerColor.BLACK, Position.of(8, 8), 4_000L));
+        play(action(ActionType.SURRENDER, PlayerColor.WHITE, null, 5_000L));
+    }
+
+    @Test
+    @DisplayName("Should store the history as a move list without the final board and rebuild both")
+    void testRoundTrip() {
+        GameHistoryDocument history = GameHistoryDocument.fromGameDocument(game, 1, "SURRENDER");
+
+        Document document = save(history);
+
+        assertFalse(document.containsKey(GameHistoryPackingListener.ACTION_HISTORY));
+        assertTrue(document.get(GameHistoryPackingListener.MOVES) instanceof Binary);
+        Document finalState = (Document) document.get(GameHistoryPackingListener.FINAL_STATE);
+        assertFalse(finalState.containsKey(GameHistoryPackingListener.BOARD));
+        assertEquals(history.getFinalState().getZobristHash(), finalState.get("zobristHash"));
+
+        GameHistoryDocument loaded = load(document);
+        assertEquals(history.getActionHistory(), loaded.getActionHistory());
+        assertEquals(history.getFinalState().getBoard(), loaded.getFinalState().getBoard());
+        assertEquals(BitBoard.WHITE, loaded.getFinalState().getBoard().get(7, 8));
+        assertEquals(history.getPositionHashes(), loaded.getPositionHashes());
+    }
+
+    @Test
+    @DisplayName("Should keep the legacy form when a player no longer holds their seat")
+    void testFallsBackWhenSeatChanged() {
+        GameHistoryDocument history = GameHistoryDocument.fromGameDocument(game, 1, "SURRENDER");
+        history.setWhitePlayerId(300L);
+
+        Document document = save(history);
+
+        assertTrue(document.containsKey(GameHistoryPackingListener.ACTION_HISTORY));
+        assertFalse(document.containsKey(GameHistoryPackingListener.MOVES));
+        assertTrue(((Document) document.get(GameHistoryPackingListener.FINAL_STATE))
+                .containsKey(GameHistoryPackingListener.BOARD));
+        GameHistoryDocument loaded = load(document);
+        assertEquals(history.getActionHistory(), loaded.getActionHistory());
+        assertEquals(history.getFinalState().getBoard(), loaded.getFinalState().getBoard());
+    }
+
+    private void play(GameAction action) {
+        game.addActionToHistory(action);
+        if (action.getType() == ActionType.MOVE) {
+            GameStateSnapshot state = game.getCurrentState();
+            state.placeStone(action.getPosition().getX(), action.getPosition().getY(), action.getColor().getValue());
+            state.changeTurn(action.getColor().getOpponent());
+        }
+    }
+
+    private Document save(GameHistoryDocument source) {
+        Document document = new Document();
+        converter.write(source, document);
+        listener.onBeforeSave(new BeforeSaveEvent<>(source, document, "game_history"));
+        return document;
+    }
+
+    private GameHistoryDocument load(Document document) {
+        GameHistoryDocument loaded = converter.read(GameHistoryDocument.class, document);
+        listener.onAfterConvert(new AfterConvertEvent<>(document, loaded, "game_history"));
+        return loaded;
+    }
+
+    private static GameAction action(ActionType type, PlayerColor color, Position position, long timestamp) {
+        return GameAction.builder()
+                .type(type)
+                .color(color)
+                .playerId(color == PlayerColor.BLACK ? 100L : 200L)
+                .position(position)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -5,10 +5,13 @@ import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.MoveRecord;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -302,4 +305,73 @@ class GameDocumentTest {
         assertEquals(999L, game.getRoomId());
         assertEquals(6, game.getGameCount());
     }
+
+    @Test
+    @DisplayName("Should keep the room's board size in reset")
+    void testResetForNewGamePreservesBoardSize() {
+        GameDocument game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "PRIVATE", 19);
+        game.getCurrentState().placeStone(18, 18, 1);
+
+        game.resetForNewGame();
+
+        assertEquals(19, game.getBoardSize());
+        assertEquals(19, game.getCurrentState().getBoard().getSize());
+        assertEquals(0, game.getCurrentState().getBoard().stoneCount());
+    }
+
+    @Test
+    @DisplayName("Should push MOVE actions onto the move stack with their history index")
+    void testMoveStackPush() {
+        GameDocument game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "CASUAL");
+        game.addActionToHistory(GameAction.builder().type(ActionType.READY).color(PlayerColor.BLACK).build());
+        game.addActionToHistory(move(PlayerColor.BLACK, 7, 7));
+        game.addActionToHistory(move(PlayerColor.WHITE, 7, 8));
+
+        assertEquals(2, game.getMoveCount());
+        MoveRecord last = game.peekMove();
+        assertEquals(PlayerColor.WHITE, last.getColor());
+        assertEquals(Position.of(7, 8), last.getPosition());
+        assertEquals(2, last.getActionIndex());
+
+        List<MoveRecord> lastMoves = game.getLastMoves(5);
+        assertEquals(2, lastMoves.size());
+        assertEquals(Position.of(7, 7), lastMoves.get(0).getPosition());
+    }
+
+    @Test
+    @DisplayName("Should pop the last move and remove only its action from history")
+    void testMoveStackPop() {
+        GameDocument game = GameDocument.createNewGameWithRandomBlack(1L, 100L, "CASUAL");
+        game.addActionToHistory(move(PlayerColor.BLACK, 7, 7));
+        GameAction undo = GameAction.builder().type(ActionType.UNDO).color(PlayerColor.BLACK).build();
+        game.addActionToHistory(undo);
+
+        MoveRecord popped = game.popMove();
+
+        assertEquals(Position.of(7, 7), popped.getPosition());
+        assertEquals(0, game.getMoveCount());
+        assertEquals(List.of(undo), game.getActionHistory());
+        assertNull(game.popMove());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the move stack for documents stored without one")
+    void testMoveStackRebuiltFromHistory() {
+        List<GameAction> history = new ArrayList<>();
+        history.add(GameAction.builder().type(ActionType.READY).color(PlayerColor.WHITE).build());
+        history.add(move(PlayerColor.BLACK, 1, 1));
+        GameDocument game = GameDocument.builder().roomId(1L).actionHistory(history).build();
+
+        assertNull(game.getMoveStack());
+        assertEquals(1, game.getMoveCount());
+        assertEquals(1, game.peekMove().getActionIndex());
+    }
+
+    private static GameAction move(PlayerColor color, int x, int y) {
+        return GameAction.builder()
+                .type(ActionType.MOVE)
+                .color(color)
+                .position(Position.of(x, y))
+                .build();
+    }
 }
@@ -4,6 +4,7 @@ import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
 import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
 import com.goody.nus.se.gomoku.gomoku.model.GameAction;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -286,4 +287,31 @@ class GameHistoryDocumentTest {
         assertEquals(30, history.getTotalMoves());
         assertEquals("WIN", history.getEndReason());
     }
+
+    @Test
+    @DisplayName("Should record a Zobrist hash for every position reached")
+    void testFromGameDocumentPositionHashes() {
+        GameStateSnapshot state = GameStateSnapshot.createEmpty(15);
+        List<GameAction> actions = new ArrayList<>();
+        actions.add(GameAction.builder().type(ActionType.READY).color(PlayerColor.BLACK).build());
+        actions.add(GameAction.builder().type(ActionType.MOVE).color(PlayerColor.BLACK)
+                .position(Position.of(7, 7)).build());
+        actions.add(GameAction.builder().type(ActionType.MOVE).color(PlayerColor.WHITE)
+                .position(Position.of(7, 8)).build());
+        state.placeStone(7, 7, PlayerColor.BLACK.getValue());
+        state.changeTurn(PlayerColor.WHITE);
+        state.placeStone(7, 8, PlayerColor.WHITE.getValue());
+        state.changeTurn(PlayerColor.BLACK);
+
+        GameDocument gameDoc = GameDocument.builder()
+                .roomId(1L)
+                .currentState(state)
+                .actionHistory(actions)
+                .build();
+
+        GameHistoryDocument history = GameHistoryDocument.fromGameDocument(gameDoc, 1, "WIN");
+
+        assertEquals(2, history.getPositionHashes().size());
+        assertEquals(state.getZobristHash(), history.getPositionHashes().get(1));
+    }
 }
@@ -0,0 +1,104 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameHistoryRepositoryCustomImpl
+ */
+class GameHistoryRepositoryCustomImplTest {
+
+    private static final Document NEWEST_FIRST = new Document("endTime", -1).append("id", -1);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private GameHistoryRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new GameHistoryRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void testFirstPageOfPlayerGamesQueriesBothSeatsWithoutBulkyFields() {
+        repository.findPlayerGamesBefore(100L, null, null, 21);
+
+        Query query = capturedFind();
+        assertEquals(new Document("$or", List.of(
+                new Document("blackPlayerId", 100L),
+                new Document("whitePlayerId", 100L))), query.getQueryObject());
+        assertEquals(NEWEST_FIRST, query.getSortObject());
+        assertEquals(21, query.getLimit());
+        Document fields = query.getFieldsObject();
+        assertEquals(0, fields.get("actionHistory"));
+        assertEquals(0, fields.get("moves"));
+        assertEquals(0, fields.get("positionHashes"));
+        assertEquals(0, fields.get("checkpoints"));
+        assertEquals(0, fields.get("finalState.board"));
+    }
+
+    @Test
+    void testLaterPageCarriesKeysetBoundInEachSeatBranch() {
+        repository.findPlayerGamesBefore(100L, 5_000L, "abc", 21);
+
+        List<?> branches = (List<?>) capturedFind().getQueryObject().get("$or");
+        assertEquals(2, branches.size());
+        for (Object branch : branches) {
+            Document criteria = (Document) branch;
+            assertEquals(new Document("$lte", 5_000L), criteria.get("endTime"));
+            assertEquals(List.of(
+                    new Document("endTime", new Document("$lt", 5_000L)),
+                    new Document("id", new Document("$lt", "abc"))), criteria.get("$or"));
+        }
+    }
+
+    @Test
+    void testPlayerWinsPageUsesWinnerOnly() {
+        repository.findPlayerWinsBefore(100L, 5_000L, null, 11);
+
+        Query query = capturedFind();
+        assertEquals(new Document("winnerId", 100L).append("endTime", new Document("$lt", 5_000L)),
+                query.getQueryObject());
+        assertEquals(NEWEST_FIRST, query.getSortObject());
+        assertEquals(11, query.getLimit());
+    }
+
+    @Test
+    void testStreamReadsCompleteGamesInBatches() {
+        when(mongoTemplate.stream(any(Query.class), eq(GameHistoryDocument.class))).thenReturn(Stream.empty());
+
+        repository.streamPlayerGames(100L).close();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(GameHistoryDocument.class));
+        assertEquals(NEWEST_FIRST, query.getValue().getSortObject());
+        assertEquals(GameHistoryRepositoryCustomImpl.STREAM_BATCH_SIZE,
+                query.getValue().getMeta().getCursorBatchSize());
+        assertFalse(query.getValue().getFieldsObject().containsKey("actionHistory"));
+    }
+
+    private Query capturedFind() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(GameHistoryDocument.class));
+        return query.getValue();
+    }
+}
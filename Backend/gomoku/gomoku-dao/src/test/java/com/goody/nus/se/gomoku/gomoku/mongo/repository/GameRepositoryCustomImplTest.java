@@ -0,0 +1,207 @@
+package com.goody.nus.se.gomoku.gomoku.mongo.repository;
+
+import com.goody.nus.se.gomoku.gomoku.enums.ActionType;
+import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
+import com.goody.nus.se.gomoku.gomoku.enums.PlayerColor;
+import com.goody.nus.se.gomoku.gomoku.model.GameAction;
+import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.Position;
+import com.goody.nus.se.gomoku.gomoku.model.codec.GameActionCodec;
+import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for GameRepositoryCustomImpl
+ */
+class GameRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private GameRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new GameRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void testInsertIfAbsent() {
+        GameDocument game = GameDocument.builder().roomId(1L).version(0L).build();
+
+        assertTrue(repository.insertIfAbsent(game));
+        verify(mongoTemplate).insert(game);
+    }
+
+    @Test
+    void testInsertIfAbsentReportsExistingGame() {
+        GameDocument game = GameDocument.builder().roomId(1L).version(0L).build();
+        when(mongoTemplate.insert(game)).thenThrow(new DuplicateKeyException("E11000"));
+
+        assertFalse(repository.insertIfAbsent(game));
+    }
+
+    @Test
+    void testReplaceIfVersionMatchesRoomAndVersion() {
+        GameDocument game = GameDocument.builder().roomId(7L).version(5L).build();
+        when(mongoTemplate.findAndReplace(any(Query.class), same(game))).thenReturn(game);
+
+        assertTrue(repository.replaceIfVersion(game, 4L));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndReplace(query.capture(), same(game));
+        Document criteria = query.getValue().getQueryObject();
+        assertEquals(7L, criteria.get("roomId"));
+        assertEquals(4L, criteria.get("version"));
+        assertEquals(new Document("roomId", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void testReplaceIfVersionReportsConflict() {
+        GameDocument game = GameDocument.builder().roomId(7L).version(5L).build();
+        when(mongoTemplate.findAndReplace(any(Query.class), same(game))).thenReturn(null);
+
+        assertFalse(repository.replaceIfVersion(game, 4L));
+    }
+
+    @Test
+    void testExistsWithVersionMatchesRoomAndVersion() {
+        when(mongoTemplate.exists(any(Query.class), eq(GameDocument.class))).thenReturn(true);
+
+        assertTrue(repository.existsWithVersion(7L, 4L));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).exists(query.capture(), eq(GameDocument.class));
+        assertEquals(7L, query.getValue().getQueryObject().get("roomId"));
+        assertEquals(4L, query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    void testAppendIfVersionPushesOnlyNewActions() {
+        GameDocument game = playingGame();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(GameDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertTrue(repository.appendIfVersion(game, 4L, 1, 1_000L));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(GameDocument.class));
+        assertEquals(7L, query.getValue().getQueryObject().get("roomId"));
+        assertEquals(4L, query.getValue().getQueryObject().get("version"));
+
+        Document updateObject = update.getValue().getUpdateObject();
+        Update.Modifiers push = (Update.Modifiers) ((Document) updateObject.get("$push")).get("packedActions");
+        List<?> pushed = List.of((Object[]) push.getModifiers().iterator().next().getValue());
+        assertEquals(List.of(GameActionCodec.encode(game.getActionHistory().get(1), 1_000L, 15)), pushed);
+        Document set = (Document) updateObject.get("$set");
+        assertEquals(5L, set.get("version"));
+        assertEquals(PlayerColor.BLACK, set.get("currentState.currentTurn"));
+        assertEquals(2, set.get("currentState.totalMoves"));
+        assertEquals(game.getLastAction(), set.get("lastAction"));
+        assertFalse(set.containsKey("actionHistory"));
+    }
+
+    @Test
+    void testAppendIfVersionReportsConflict() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(GameDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertFalse(repository.appendIfVersion(playingGame(), 4L, 1, 1_000L));
+    }
+
+    @Test
+    void testFindInactiveAfterSeparatesFinishedFromAbandoned() {
+        repository.findInactiveAfter(null, 5_000L, 1_000L, 50);
+
+        Query query = capturedFind();
+        assertEquals(new Document("$or", List.of(
+                new Document("status", GameStatus.FINISHED).append("updateTime", new Document("$lt", 5_000L)),
+                new Document("status", new Document("$ne", GameStatus.FINISHED))
+                        .append("updateTime", new Document("$lt", 1_000L)))), query.getQueryObject());
+        assertEquals(new Document("roomId", 1), query.getSortObject());
+        assertEquals(50, query.getLimit());
+    }
+
+    @Test
+    void testFindInactiveAfterContinuesAfterLastRoom() {
+        repository.findInactiveAfter(42L, 5_000L, 1_000L, 50);
+
+        assertEquals(new Document("$gt", 42L), capturedFind().getQueryObject().get("roomId"));
+    }
+
+    @Test
+    void testDeleteIfVersionRemovesEachGameAtItsVersion() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameDocument.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()));
+
+        int deleted = repository.deleteIfVersion(List.of(
+                GameDocument.builder().roomId(1L).version(3L).build(),
+                GameDocument.builder().roomId(2L).version(9L).build()));
+
+        assertEquals(1, deleted);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(2)).remove(query.capture());
+        assertEquals(new Document("roomId", 2L).append("version", 9L), query.getAllValues().get(1).getQueryObject());
+    }
+
+    @Test
+    void testDeleteIfVersionSkipsEmptyBatch() {
+        assertEquals(0, repository.deleteIfVersion(List.of()));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(GameDocument.class));
+    }
+
+    private Query capturedFind() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(GameDocument.class));
+        return query.getValue();
+    }
+
+    private static GameDocument playingGame() {
+        GameDocument game = GameDocument.builder()
+                .roomId(7L)
+                .blackPlayerId(100L)
+                .whitePlayerId(200L)
+                .status(GameStatus.PLAYING)
+                .version(5L)
+                .currentState(GameStateSnapshot.createEmpty(15))
+                .build();
+        game.addActionToHistory(GameAction.builder().type(ActionType.MOVE).playerId(100L)
+                .color(PlayerColor.BLACK).position(Position.of(7, 7)).timestamp(1_000L).build());
+        GameAction second = GameAction.builder().type(ActionType.MOVE).playerId(200L)
+                .color(PlayerColor.WHITE).position(Position.of(7, 8)).timestamp(2_000L).build();
+        game.addActionToHistory(second);
+        game.setLastAction(second);
+        game.getCurrentState().setCurrentTurn(PlayerColor.BLACK);
+        game.getCurrentState().setTotalMoves(2);
+        return game;
+    }
+}
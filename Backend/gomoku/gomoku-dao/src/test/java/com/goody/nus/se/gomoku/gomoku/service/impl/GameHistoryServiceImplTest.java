@@ -2,27 +2,42 @@ package com.goody.nus.se.gomoku.gomoku.service.impl;
 
 import com.goody.nus.se.gomoku.gomoku.enums.GameStatus;
 import com.goody.nus.se.gomoku.gomoku.model.GameStateSnapshot;
+import com.goody.nus.se.gomoku.gomoku.model.dto.GameHistoryPage;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameDocument;
 import com.goody.nus.se.gomoku.gomoku.mongo.entity.GameHistoryDocument;
 import com.goody.nus.se.gomoku.gomoku.mongo.repository.GameHistoryRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +53,9 @@ class GameHistoryServiceImplTest {
     @Mock
     private GameHistoryRepository gameHistoryRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private GameHistoryServiceImpl gameHistoryService;
 
@@ -128,6 +146,63 @@ class GameHistoryServiceImplTest {
         verify(gameHistoryRepository, times(endReasons.length)).save(any(GameHistoryDocument.class));
     }
 
+    // ==================== ArchiveAll Tests ====================
+
+    @Test
+    void archiveAll_withBatch_shouldInsertInOneBulkWrite() {
+        // Given
+        List<GameHistoryDocument> histories = List.of(
+                GameHistoryDocument.fromGameDocument(testGameDoc, 1, "WIN"),
+                GameHistoryDocument.fromGameDocument(testGameDoc, 2, "DRAW"));
+        BulkOperations bulk = mockBulk();
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()));
+
+        // When
+        int inserted = gameHistoryService.archiveAll(histories);
+
+        // Then
+        assertEquals(2, inserted);
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, GameHistoryDocument.class);
+        verify(bulk).insert(histories);
+    }
+
+    @Test
+    void archiveAll_withAlreadyArchivedGame_shouldSkipDuplicate() {
+        // Given
+        BulkOperations bulk = mockBulk();
+        when(bulk.execute()).thenThrow(bulkFailure(11000));
+
+        // When
+        int inserted = gameHistoryService.archiveAll(List.of(
+                GameHistoryDocument.fromGameDocument(testGameDoc, 1, "WIN"),
+                GameHistoryDocument.fromGameDocument(testGameDoc, 2, "WIN")));
+
+        // Then
+        assertEquals(1, inserted);
+    }
+
+    @Test
+    void archiveAll_withOtherWriteError_shouldThrow() {
+        // Given
+        BulkOperations bulk = mockBulk();
+        when(bulk.execute()).thenThrow(bulkFailure(121));
+
+        // When & Then
+        assertThrows(BulkOperationException.class, () -> gameHistoryService.archiveAll(List.of(
+                GameHistoryDocument.fromGameDocument(testGameDoc, 1, "WIN"),
+                GameHistoryDocument.fromGameDocument(testGameDoc, 2, "WIN"))));
+    }
+
+    @Test
+    void archiveAll_withEmptyBatch_shouldNotWrite() {
+        // When
+        int inserted = gameHistoryService.archiveAll(List.of());
+
+        // Then
+        assertEquals(0, inserted);
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(GameHistoryDocument.class));
+    }
+
     // ==================== GetHistoryByRoomId Tests ====================
 
     @Test
@@ -416,6 +491,77 @@ class GameHistoryServiceImplTest {
         verify(gameHistoryRepository, times(1)).findByWinnerId(player2);
     }
 
+    // ==================== Player History Page Tests ====================
+
+    @Test
+    void getGamesByPlayerIdPage_withMoreGames_shouldReturnCursorOfLastGame() {
+        // Given - one game more than the page size
+        Long playerId = 100L;
+        GameHistoryDocument first = createMockHistory(1L, 1, "Win");
+        first.setEndTime(3_000L);
+        GameHistoryDocument second = createMockHistory(2L, 1, "Win");
+        second.setEndTime(2_000L);
+        GameHistoryDocument third = createMockHistory(3L, 1, "Win");
+        third.setEndTime(1_000L);
+        when(gameHistoryRepository.findPlayerGamesBefore(playerId, 5_000L, "history_9_1", 3))
+                .thenReturn(Arrays.asList(first, second, third));
+
+        // When
+        GameHistoryPage page = gameHistoryService.getGamesByPlayerId(playerId, 5_000L, "history_9_1", 2);
+
+        // Then
+        assertEquals(List.of(first, second), page.getGames());
+        assertEquals(2_000L, page.getNextEndTime());
+        assertEquals("history_2_1", page.getNextId());
+    }
+
+    @Test
+    void getGamesByPlayerIdPage_withLastPage_shouldReturnNoCursor() {
+        // Given
+        Long playerId = 100L;
+        when(gameHistoryRepository.findPlayerGamesBefore(playerId, null, null, 3))
+                .thenReturn(Arrays.asList(createMockHistory(1L, 1, "Win")));
+
+        // When
+        GameHistoryPage page = gameHistoryService.getGamesByPlayerId(playerId, null, null, 2);
+
+        // Then
+        assertEquals(1, page.getGames().size());
+        assertNull(page.getNextEndTime());
+        assertNull(page.getNextId());
+    }
+
+    @Test
+    void getWinsByPlayerIdPage_shouldCapPageSize() {
+        // Given
+        Long playerId = 100L;
+        when(gameHistoryRepository.findPlayerWinsBefore(eq(playerId), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList());
+
+        // When
+        gameHistoryService.getWinsByPlayerId(playerId, null, null, 10_000);
+        gameHistoryService.getWinsByPlayerId(playerId, null, null, 0);
+
+        // Then - at most MAX_PAGE_SIZE games plus the look-ahead, at least one
+        verify(gameHistoryRepository, times(1))
+                .findPlayerWinsBefore(playerId, null, null, GameHistoryServiceImpl.MAX_PAGE_SIZE + 1);
+        verify(gameHistoryRepository, times(1)).findPlayerWinsBefore(playerId, null, null, 2);
+    }
+
+    @Test
+    void streamGamesByPlayerId_shouldDelegateToCursor() {
+        // Given
+        Long playerId = 100L;
+        GameHistoryDocument game = createMockHistory(1L, 1, "Win");
+        when(gameHistoryRepository.streamPlayerGames(playerId)).thenReturn(Stream.of(game));
+
+        // When
+        try (Stream<GameHistoryDocument> games = gameHistoryService.streamGamesByPlayerId(playerId)) {
+            // Then
+            assertEquals(List.of(game), games.toList());
+        }
+    }
+
     // ==================== DeleteHistoryByRoomId Tests ====================
 
     @Test
@@ -465,6 +611,23 @@ class GameHistoryServiceImplTest {
 
     // ==================== Helper Methods ====================
 
+    private BulkOperations mockBulk() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameHistoryDocument.class)).thenReturn(bulk);
+        return bulk;
+    }
+
+    /**
+     * Bulk failure where the first of two inserts succeeded and the second failed with the given code
+     */
+    private static BulkOperationException bulkFailure(int code) {
+        BulkWriteError error = new BulkWriteError(code, "write failed", new BsonDocument(), 1);
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(error), null, new ServerAddress(), Set.of());
+        return new BulkOperationException("bulk write failed", cause);
+    }
+
     private GameHistoryDocument createMockHistory(Long roomId, Integer gameNumber, String endReason) {
         GameHistoryDocument history = new GameHistoryDocument();
         history.setId("history_" + roomId + "_" + gameNumber);
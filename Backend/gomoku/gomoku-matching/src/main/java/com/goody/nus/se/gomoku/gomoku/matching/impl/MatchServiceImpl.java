@@ -5,6 +5,8 @@ import com.goody.nus.se.gomoku.common.exception.BizException;
 import com.goody.nus.se.gomoku.gomoku.api.request.MatchRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.CancelMatchResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.MatchResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.matching.service.IMatchService;
 import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
@@ -13,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -22,6 +25,8 @@ import java.util.concurrent.TimeUnit;
  * Match service implementation
  *
  * <p>Handles player matching for casual and ranked modes.
+ * Each first-class board size and rule has its own queue per mode, so players are only paired
+ * with players who asked for the same board and rule.
  * Supports idempotent match requests by checking player status before adding to queue.
  *
  * <p>Match flow:
@@ -47,6 +52,7 @@ public class MatchServiceImpl implements IMatchService {
 
     private static final String CASUAL_QUEUE = "match:casual";
     private static final String RANKED_QUEUE = "match:ranked";
+    private static final List<String> QUEUE_KEYS = buildQueueKeys();
     private static final int ROOM_TTL_MINUTES = 3;
     private static final int QUEUE_EXPIRE_MINUTES = 3;
 
@@ -56,14 +62,24 @@ public class MatchServiceImpl implements IMatchService {
      * <p>This method is idempotent - calling it multiple times with same playerId
      * will return consistent results without side effects.
      *
-     * @param request  match request containing mode (casual/ranked)
+     * @param request  match request containing mode (casual/ranked), optional board size and rule
      * @param playerId player ID
      * @return match response with status (waiting/matched), room code, and players
+     * @throws BizException with INVALID_BOARD_SIZE if the size has no match queue, or with
+     *                      INVALID_GAME_RULE if the rule is unknown
      */
     @Override
     public MatchResponse match(MatchRequest request, String playerId) {
         String mode = request.getMode();
-        String queueKey = getQueueKey(mode);
+        int boardSize = BoardSizeEnum.orDefault(request.getBoardSize());
+        if (BoardSizeEnum.fromSize(boardSize) == null) {
+            throw new BizException(ErrorCodeEnum.INVALID_BOARD_SIZE, boardSize);
+        }
+        GameRuleEnum rule = GameRuleEnum.orDefault(request.getRule());
+        if (rule == null) {
+            throw new BizException(ErrorCodeEnum.INVALID_GAME_RULE, request.getRule());
+        }
+        String queueKey = getQueueKey(mode, boardSize, rule);
 
         log.info("[Match] Processing match request for player {} in {} mode", playerId, mode);
 
@@ -74,11 +90,11 @@ public class MatchServiceImpl implements IMatchService {
         }
 
         // Step 2: Check if player is in a different queue (mutual exclusion check)
-        String existingQueue = findPlayerQueue(playerId);
-        if (existingQueue != null && !existingQueue.equalsIgnoreCase(mode)) {
+        String existingQueueKey = findPlayerQueueKey(playerId);
+        if (existingQueueKey != null && !existingQueueKey.equals(queueKey)) {
             log.warn("[Match] Player {} already in {} queue, cannot join {} queue",
-                    playerId, existingQueue, mode);
-            throw new BizException(ErrorCodeEnum.PLAYER_IN_MATCH_QUEUE, existingQueue);
+                    playerId, existingQueueKey, queueKey);
+            throw new BizException(ErrorCodeEnum.PLAYER_IN_MATCH_QUEUE, queueMode(existingQueueKey));
         }
 
         // Step 3: Check if player is already in current queue (idempotency check)
@@ -91,7 +107,7 @@ public class MatchServiceImpl implements IMatchService {
         addPlayerToQueue(queueKey, playerId);
 
         // Step 5: Try to match players
-        MatchResponse response = tryMatchPlayers(queueKey, mode);
+        MatchResponse response = tryMatchPlayers(queueKey, mode, boardSize, rule);
 
         // Step 6: Update queue TTL to prevent stale data
         updateQueueExpiration(queueKey);
@@ -101,13 +117,46 @@ public class MatchServiceImpl implements IMatchService {
     }
 
     /**
-     * Get Redis queue key for given match mode
+     * Get Redis queue key for given match mode, board size and rule
      *
-     * @param mode match mode (casual/ranked)
+     * <p>The standard size and rule keep the original key so queued players survive a deploy.
+     *
+     * @param mode      match mode (casual/ranked)
+     * @param boardSize first-class board edge length
+     * @param rule      game rule
      * @return Redis queue key
      */
-    private String getQueueKey(String mode) {
-        return "casual".equalsIgnoreCase(mode) ? CASUAL_QUEUE : RANKED_QUEUE;
+    private static String getQueueKey(String mode, int boardSize, GameRuleEnum rule) {
+        String queueKey = "casual".equalsIgnoreCase(mode) ? CASUAL_QUEUE : RANKED_QUEUE;
+        if (boardSize != BoardSizeEnum.STANDARD.getSize()) {
+            queueKey = queueKey + ":" + boardSize;
+        }
+        return rule == GameRuleEnum.STANDARD ? queueKey : queueKey + ":" + rule.name().toLowerCase();
+    }
+
+    /**
+     * Every queue key, casual before ranked and standard size and rule first within each mode
+     */
+    private static List<String> buildQueueKeys() {
+        List<String> queueKeys = new ArrayList<>();
+        for (String mode : List.of("casual", "ranked")) {
+            for (GameRuleEnum rule : GameRuleEnum.values()) {
+                for (BoardSizeEnum boardSize : BoardSizeEnum.values()) {
+                    queueKeys.add(getQueueKey(mode, boardSize.getSize(), rule));
+                }
+            }
+        }
+        return List.copyOf(queueKeys);
+    }
+
+    /**
+     * Get the match mode a queue key belongs to
+     *
+     * @param queueKey Redis queue key
+     * @return match mode ("casual" or "ranked")
+     */
+    private static String queueMode(String queueKey) {
+        return queueKey.startsWith(CASUAL_QUEUE) ? "casual" : "ranked";
     }
 
     /**
@@ -196,11 +245,13 @@ public class MatchServiceImpl implements IMatchService {
      * <p>If queue has at least 2 players, match the last two players and create a room.
      * Otherwise, return waiting response.
      *
-     * @param queueKey Redis queue key
-     * @param mode     match mode
+     * @param queueKey  Redis queue key
+     * @param mode      match mode
+     * @param boardSize board edge length of the queue
+     * @param rule      game rule of the queue
      * @return MatchResponse with match result
      */
-    private MatchResponse tryMatchPlayers(String queueKey, String mode) {
+    private MatchResponse tryMatchPlayers(String queueKey, String mode, int boardSize, GameRuleEnum rule) {
         int queueSize = redisService.lSize(queueKey);
 
         // Not enough players to match
@@ -221,7 +272,7 @@ public class MatchServiceImpl implements IMatchService {
 
         // Create room for matched players
         String roomCode = generateRoomCode();
-        createMatchedRoom(roomCode, playerA, playerB);
+        createMatchedRoom(roomCode, playerA, playerB, boardSize, rule);
 
         // Remove matched players from queue
         removePlayersFromQueue(queueKey, playerA, playerB);
@@ -249,12 +300,15 @@ public class MatchServiceImpl implements IMatchService {
     /**
      * Create room for matched players
      *
-     * @param roomCode room code
-     * @param playerA  first player ID
-     * @param playerB  second player ID
+     * @param roomCode  room code
+     * @param playerA   first player ID
+     * @param playerB   second player ID
+     * @param boardSize board edge length
+     * @param rule      game rule
      */
-    private void createMatchedRoom(String roomCode, String playerA, String playerB) {
-        roomCodeDao.createRoomCode(roomCode, ROOM_TTL_MINUTES);
+    private void createMatchedRoom(String roomCode, String playerA, String playerB, int boardSize,
+                                   GameRuleEnum rule) {
+        roomCodeDao.createRoomCode(roomCode, ROOM_TTL_MINUTES, boardSize, rule);
         roomCodeDao.addPlayerToRoom(roomCode, playerA);
         roomCodeDao.addPlayerToRoom(roomCode, playerB);
         log.debug("[Match] Created room {} with players {} and {}", roomCode, playerA, playerB);
@@ -292,20 +346,25 @@ public class MatchServiceImpl implements IMatchService {
      */
     @Override
     public String findPlayerQueue(String playerId) {
-        log.debug("[Match] Searching for player {} in match queues", playerId);
+        String queueKey = findPlayerQueueKey(playerId);
+        return queueKey == null ? null : queueMode(queueKey);
+    }
 
-        // Check casual queue
-        List<String> casualQueue = redisService.lRange(CASUAL_QUEUE, 0, -1);
-        if (casualQueue != null && casualQueue.contains(playerId)) {
-            log.debug("[Match] Player {} found in casual queue", playerId);
-            return "casual";
-        }
+    /**
+     * Find the key of the queue the player is currently in
+     *
+     * @param playerId player ID to search for
+     * @return Redis queue key if player in queue, null if not in any queue
+     */
+    private String findPlayerQueueKey(String playerId) {
+        log.debug("[Match] Searching for player {} in match queues", playerId);
 
-        // Check ranked queue
-        List<String> rankedQueue = redisService.lRange(RANKED_QUEUE, 0, -1);
-        if (rankedQueue != null && rankedQueue.contains(playerId)) {
-            log.debug("[Match] Player {} found in ranked queue", playerId);
-            return "ranked";
+        for (String queueKey : QUEUE_KEYS) {
+            List<String> queue = redisService.lRange(queueKey, 0, -1);
+            if (queue != null && queue.contains(playerId)) {
+                log.debug("[Match] Player {} found in queue {}", playerId, queueKey);
+                return queueKey;
+            }
         }
 
         log.debug("[Match] Player {} not found in any match queue", playerId);
@@ -317,7 +376,7 @@ public class MatchServiceImpl implements IMatchService {
      *
      * <p>Implementation follows high cohesion and low coupling principles:
      * <ul>
-     *   <li>Reuses {@link #findPlayerQueue(String)} to locate player's queue (DRY principle)</li>
+     *   <li>Reuses the queue lookup behind {@link #findPlayerQueue(String)} (DRY principle)</li>
      *   <li>Encapsulates queue removal logic in private method for better modularity</li>
      *   <li>Idempotent operation - safe to call multiple times</li>
      * </ul>
@@ -336,17 +395,17 @@ public class MatchServiceImpl implements IMatchService {
     public CancelMatchResponse cancelMatch(String playerId) {
         log.info("[Match] Processing cancel match request for player {}", playerId);
 
-        // Step 1: Find which queue the player is in (reuse existing method)
-        String queueMode = findPlayerQueue(playerId);
+        // Step 1: Find which queue the player is in
+        String queueKey = findPlayerQueueKey(playerId);
 
         // Step 2: If player not in any queue, return not_in_queue status
-        if (queueMode == null) {
+        if (queueKey == null) {
             log.info("[Match] Player {} not found in any queue, nothing to cancel", playerId);
             return buildCancelResponse("not_in_queue", "You are not currently in any match queue", null);
         }
 
         // Step 3: Remove player from the queue
-        String queueKey = getQueueKey(queueMode);
+        String queueMode = queueMode(queueKey);
         removePlayerFromQueue(queueKey, playerId);
 
         log.info("[Match] Successfully canceled match for player {} from {} queue", playerId, queueMode);
@@ -1,9 +1,11 @@
 package com.goody.nus.se.gomoku.gomoku.matching.impl;
 
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
 import com.goody.nus.se.gomoku.common.exception.BizException;
 import com.goody.nus.se.gomoku.gomoku.api.request.MatchRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.CancelMatchResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.MatchResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
 import com.goody.nus.se.gomoku.redis.service.RedisService;
@@ -45,6 +47,8 @@ class MatchServiceImplTest {
 
     private static final String CASUAL_QUEUE = "match:casual";
     private static final String RANKED_QUEUE = "match:ranked";
+    private static final String CASUAL_LARGE_QUEUE = "match:casual:19";
+    private static final String CASUAL_RENJU_QUEUE = "match:casual:renju";
 
     @BeforeEach
     void setUp() {
@@ -72,6 +76,88 @@ class MatchServiceImplTest {
         verify(redisService).expire(CASUAL_QUEUE, 3, TimeUnit.MINUTES);
     }
 
+    @Test
+    void match_LargeBoard_UsesSizeSpecificQueue() {
+        // Given
+        MatchRequest request = new MatchRequest();
+        request.setMode("casual");
+        request.setBoardSize(19);
+        String playerId = "100";
+
+        when(roomCodeDao.findRoomCodeByPlayerId(playerId)).thenReturn(null);
+        when(redisService.lSize(CASUAL_LARGE_QUEUE)).thenReturn(1);
+
+        // When
+        MatchResponse response = matchService.match(request, playerId);
+
+        // Then
+        assertEquals("waiting", response.getStatus());
+        verify(redisService).lPush(CASUAL_LARGE_QUEUE, playerId);
+        verify(redisService, never()).lPush(eq(CASUAL_QUEUE), anyString());
+    }
+
+    @Test
+    void match_Renju_UsesRuleSpecificQueue() {
+        // Given
+        MatchRequest request = new MatchRequest();
+        request.setMode("casual");
+        request.setRule("renju");
+        String playerId = "100";
+
+        when(roomCodeDao.findRoomCodeByPlayerId(playerId)).thenReturn(null);
+        when(redisService.lSize(CASUAL_RENJU_QUEUE)).thenReturn(1);
+
+        // When
+        MatchResponse response = matchService.match(request, playerId);
+
+        // Then
+        assertEquals("waiting", response.getStatus());
+        verify(redisService).lPush(CASUAL_RENJU_QUEUE, playerId);
+        verify(redisService, never()).lPush(eq(CASUAL_QUEUE), anyString());
+    }
+
+    @Test
+    void match_UnknownRule_Throws() {
+        // Given
+        MatchRequest request = new MatchRequest();
+        request.setMode("casual");
+        request.setRule("pente");
+
+        // When & Then
+        BizException exception = assertThrows(BizException.class, () -> matchService.match(request, "100"));
+        assertEquals(ErrorCodeEnum.INVALID_GAME_RULE, exception.getErrorCode());
+        verify(redisService, never()).lPush(anyString(), anyString());
+    }
+
+    @Test
+    void match_CustomBoardSize_Throws() {
+        // Given - custom sizes are for private rooms only
+        MatchRequest request = new MatchRequest();
+        request.setMode("casual");
+        request.setBoardSize(13);
+
+        // When & Then
+        BizException exception = assertThrows(BizException.class, () -> matchService.match(request, "100"));
+        assertEquals(ErrorCodeEnum.INVALID_BOARD_SIZE, exception.getErrorCode());
+        verify(redisService, never()).lPush(anyString(), anyString());
+    }
+
+    @Test
+    void match_SameModeOtherBoardSize_Throws() {
+        // Given - player already waits in the 15x15 casual queue
+        MatchRequest request = new MatchRequest();
+        request.setMode("casual");
+        request.setBoardSize(19);
+        String playerId = "100";
+
+        when(roomCodeDao.findRoomCodeByPlayerId(playerId)).thenReturn(null);
+        when(redisService.lRange(CASUAL_QUEUE, 0, -1)).thenReturn(List.of(playerId));
+
+        // When & Then
+        assertThrows(BizException.class, () -> matchService.match(request, playerId));
+        verify(redisService, never()).lPush(anyString(), anyString());
+    }
+
     @Test
     void match_RankedMode_QueueKeySelection() {
         // Given
@@ -263,7 +349,7 @@ class MatchServiceImplTest {
         assertEquals(6, response.getRoomCode().length());
         assertEquals(2, response.getPlayers().size());
         assertTrue(response.getMessage().contains("Matched with another player"));
-        verify(roomCodeDao).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
         verify(roomCodeDao, times(2)).addPlayerToRoom(anyString(), anyString());
         verify(mockRList).remove("100");
         verify(mockRList).remove("200");
@@ -295,7 +381,7 @@ class MatchServiceImplTest {
         assertNotNull(response.getRoomCode());
         assertEquals(2, response.getPlayers().size());
         verify(redisService).lRange(RANKED_QUEUE, 1, 2); // Last 2 players (indices 1 and 2)
-        verify(roomCodeDao).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
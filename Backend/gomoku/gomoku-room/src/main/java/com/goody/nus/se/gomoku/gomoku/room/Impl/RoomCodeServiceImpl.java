@@ -6,6 +6,8 @@ import com.goody.nus.se.gomoku.gomoku.api.request.JoinRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.BoardSizeEnum;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomStatusEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomTypeEnum;
 import com.goody.nus.se.gomoku.gomoku.model.dto.GameRoomDTO;
@@ -42,11 +44,34 @@ public class RoomCodeServiceImpl implements RoomCodeService {
      */
     @Override
     public String createRoom() {
+        return createRoom(BoardSizeEnum.STANDARD.getSize());
+    }
+
+    /**
+     * create room code service on a board of the given size
+     *
+     * @throws BizException with INVALID_BOARD_SIZE if the size is not supported
+     */
+    @Override
+    public String createRoom(int boardSize) {
+        return createRoom(boardSize, GameRuleEnum.STANDARD);
+    }
+
+    /**
+     * create room code service on a board of the given size under the given rule
+     *
+     * @throws BizException with INVALID_BOARD_SIZE if the size is not supported
+     */
+    @Override
+    public String createRoom(int boardSize, GameRuleEnum rule) {
+        if (!BoardSizeEnum.isSupported(boardSize)) {
+            throw new BizException(ErrorCodeEnum.INVALID_BOARD_SIZE, boardSize);
+        }
         int maxTry = 10, ttlMinutes = 3, bound = 1000000;
         String roomCode = String.format("%06d", new Random().nextInt(bound));
         for (int trying = 0; trying < maxTry; trying++) {
             if (!roomCodeDao.exists(roomCode)) {
-                roomCodeDao.createRoomCode(roomCode, ttlMinutes);
+                roomCodeDao.createRoomCode(roomCode, ttlMinutes, boardSize, rule);
                 return roomCode;
             }
         }
@@ -63,6 +88,14 @@ public class RoomCodeServiceImpl implements RoomCodeService {
         if (!roomCodeDao.exists(request.getRoomCode())) {
             return new JoinRoomResponse("Not Found", null);
         }
+
+        // A joiner who asked for a specific size must not land on a different board
+        if (request.getBoardSize() != null) {
+            int boardSize = roomCodeDao.getBoardSize(request.getRoomCode());
+            if (request.getBoardSize() != boardSize) {
+                throw new BizException(ErrorCodeEnum.BOARD_SIZE_MISMATCH, boardSize, request.getBoardSize());
+            }
+        }
         List<String> players = roomCodeDao.getPlayersByRoom(request.getRoomCode());
 
         // Check if player is already in the room (deduplication for idempotency)
@@ -104,8 +137,11 @@ public class RoomCodeServiceImpl implements RoomCodeService {
 
                 // Step 2: Initialize game state in MongoDB (games collection)
                 // This ensures that when clients query game state, the document already exists
-                roomStateService.initializeGameState(roomId, player1Id, player2Id, "PRIVATE");
-                log.info("[RoomCode] Initialized game state in MongoDB: roomId={}, modeType=PRIVATE", roomId);
+                int boardSize = roomCodeDao.getBoardSize(request.getRoomCode());
+                String modeType = roomCodeDao.getRule(request.getRoomCode()).toModeType("PRIVATE");
+                roomStateService.initializeGameState(roomId, player1Id, player2Id, modeType, boardSize);
+                log.info("[RoomCode] Initialized game state in MongoDB: roomId={}, modeType={}, boardSize={}",
+                        roomId, modeType, boardSize);
             }
 
             return new JoinRoomResponse(roomId, "matched", updatedPlayers);
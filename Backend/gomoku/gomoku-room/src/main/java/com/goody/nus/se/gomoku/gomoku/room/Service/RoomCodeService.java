@@ -4,10 +4,28 @@ import com.goody.nus.se.gomoku.gomoku.api.request.JoinRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 
 public interface RoomCodeService {
     String createRoom();
 
+    /**
+     * Create a room code whose game is played on a board of the given size
+     *
+     * @param boardSize board edge length, a first-class or supported custom size
+     * @return the room code
+     */
+    String createRoom(int boardSize);
+
+    /**
+     * Create a room code whose game is played on a board of the given size under the given rule
+     *
+     * @param boardSize board edge length, a first-class or supported custom size
+     * @param rule      game rule
+     * @return the room code
+     */
+    String createRoom(int boardSize, GameRuleEnum rule);
+
     JoinRoomResponse joinRoom(JoinRoomRequest request, String playerId);
 
     LeaveRoomResponse leaveRoom(LeaveRoomRequest request, String playerId);
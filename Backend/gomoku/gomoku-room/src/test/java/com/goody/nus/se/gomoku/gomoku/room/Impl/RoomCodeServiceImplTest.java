@@ -1,10 +1,12 @@
 package com.goody.nus.se.gomoku.gomoku.room.Impl;
 
+import com.goody.nus.se.gomoku.common.errorcode.ErrorCodeEnum;
 import com.goody.nus.se.gomoku.common.exception.BizException;
 import com.goody.nus.se.gomoku.gomoku.api.request.JoinRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.request.LeaveRoomRequest;
 import com.goody.nus.se.gomoku.gomoku.api.response.JoinRoomResponse;
 import com.goody.nus.se.gomoku.gomoku.api.response.LeaveRoomResponse;
+import com.goody.nus.se.gomoku.gomoku.enums.GameRuleEnum;
 import com.goody.nus.se.gomoku.gomoku.enums.RoomTypeEnum;
 import com.goody.nus.se.gomoku.gomoku.room.RoomCodeDao;
 import com.goody.nus.se.gomoku.gomoku.service.interfaces.IGameRoomService;
@@ -56,6 +58,7 @@ class RoomCodeServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(roomCodeDao.getRule(anyString())).thenReturn(GameRuleEnum.STANDARD);
     }
 
     @Test
@@ -70,7 +73,7 @@ class RoomCodeServiceImplTest {
         assertNotNull(roomCode);
         assertEquals(6, roomCode.length());
         verify(roomCodeDao, times(1)).exists(anyString());
-        verify(roomCodeDao, times(1)).createRoomCode(eq(roomCode), eq(3));
+        verify(roomCodeDao, times(1)).createRoomCode(eq(roomCode), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
@@ -89,7 +92,7 @@ class RoomCodeServiceImplTest {
         assertNotNull(roomCode);
         assertEquals(6, roomCode.length());
         verify(roomCodeDao, times(4)).exists(anyString());
-        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
@@ -106,7 +109,7 @@ class RoomCodeServiceImplTest {
         assertNotNull(roomCode);
         assertEquals(6, roomCode.length());
         verify(roomCodeDao, times(2)).exists(anyString());
-        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
@@ -130,7 +133,7 @@ class RoomCodeServiceImplTest {
         assertNotNull(roomCode);
         assertEquals(6, roomCode.length());
         verify(roomCodeDao, times(9)).exists(anyString());
-        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
@@ -155,7 +158,7 @@ class RoomCodeServiceImplTest {
         assertNotNull(roomCode);
         assertEquals(6, roomCode.length());
         verify(roomCodeDao, times(10)).exists(anyString());
-        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3));
+        verify(roomCodeDao, times(1)).createRoomCode(anyString(), eq(3), eq(15), eq(GameRuleEnum.STANDARD));
     }
 
     @Test
@@ -166,7 +169,89 @@ class RoomCodeServiceImplTest {
         // When & Then
         assertThrows(BizException.class, () -> roomCodeService.createRoom());
         verify(roomCodeDao, times(10)).exists(anyString());
-        verify(roomCodeDao, never()).createRoomCode(anyString(), anyInt());
+        verify(roomCodeDao, never()).createRoomCode(anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void createRoom_LargeBoard_RecordsBoardSize() {
+        // Given
+        when(roomCodeDao.exists(anyString())).thenReturn(false);
+
+        // When
+        String roomCode = roomCodeService.createRoom(19);
+
+        // Then
+        verify(roomCodeDao).createRoomCode(eq(roomCode), eq(3), eq(19), eq(GameRuleEnum.STANDARD));
+    }
+
+    @Test
+    void createRoom_UnsupportedBoardSize_Throws() {
+        // When & Then
+        BizException exception = assertThrows(BizException.class, () -> roomCodeService.createRoom(40));
+        assertEquals(ErrorCodeEnum.INVALID_BOARD_SIZE, exception.getErrorCode());
+        verify(roomCodeDao, never()).createRoomCode(anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void joinRoom_BoardSizeMismatch_Throws() {
+        // Given - room was created for 19x19, joiner expects 15x15
+        JoinRoomRequest request = new JoinRoomRequest("123456", 15);
+        when(roomCodeDao.exists("123456")).thenReturn(true);
+        when(roomCodeDao.getBoardSize("123456")).thenReturn(19);
+
+        // When & Then
+        BizException exception = assertThrows(BizException.class, () -> roomCodeService.joinRoom(request, "200"));
+        assertEquals(ErrorCodeEnum.BOARD_SIZE_MISMATCH, exception.getErrorCode());
+        verify(roomCodeDao, never()).addPlayerToRoom(anyString(), anyString());
+    }
+
+    @Test
+    void joinRoom_CustomBoard_InitializesGameWithRoomBoardSize() {
+        // Given
+        JoinRoomRequest request = new JoinRoomRequest("123456", 13);
+        when(roomCodeDao.exists("123456")).thenReturn(true);
+        when(roomCodeDao.getBoardSize("123456")).thenReturn(13);
+        when(roomCodeDao.getPlayersByRoom("123456"))
+                .thenReturn(Collections.singletonList("100"))
+                .thenReturn(Arrays.asList("100", "200"));
+        when(gameRoomService.save(any())).thenReturn(1L);
+
+        // When
+        roomCodeService.joinRoom(request, "200");
+
+        // Then
+        verify(roomStateService).initializeGameState(eq(1L), eq(100L), eq(200L), eq("PRIVATE"), eq(13));
+    }
+
+    @Test
+    void createRoom_Renju_RecordsRule() {
+        // Given
+        when(roomCodeDao.exists(anyString())).thenReturn(false);
+
+        // When
+        String roomCode = roomCodeService.createRoom(15, GameRuleEnum.RENJU);
+
+        // Then
+        verify(roomCodeDao).createRoomCode(eq(roomCode), eq(3), eq(15), eq(GameRuleEnum.RENJU));
+    }
+
+    @Test
+    void joinRoom_RenjuRoom_InitializesRenjuGame() {
+        // Given
+        JoinRoomRequest request = new JoinRoomRequest("123456");
+        when(roomCodeDao.exists("123456")).thenReturn(true);
+        when(roomCodeDao.getBoardSize("123456")).thenReturn(15);
+        when(roomCodeDao.getRule("123456")).thenReturn(GameRuleEnum.RENJU);
+        when(roomCodeDao.getPlayersByRoom("123456"))
+                .thenReturn(Collections.singletonList("100"))
+                .thenReturn(Arrays.asList("100", "200"));
+        when(gameRoomService.save(any())).thenReturn(1L);
+
+        // When
+        roomCodeService.joinRoom(request, "200");
+
+        // Then
+        verify(roomStateService).initializeGameState(eq(1L), eq(100L), eq(200L), eq("PRIVATE_RENJU"), eq(15));
     }
 
     @Test
@@ -297,6 +382,7 @@ class RoomCodeServiceImplTest {
                 .thenReturn(Collections.singletonList("100")) // First call: 1 player
                 .thenReturn(Arrays.asList("100", "200")); // Second call: 2 players
         when(gameRoomService.save(any())).thenReturn(roomId);
+        when(roomCodeDao.getBoardSize("123456")).thenReturn(15);
 
         // When
         JoinRoomResponse response = roomCodeService.joinRoom(request, playerId);
@@ -311,7 +397,7 @@ class RoomCodeServiceImplTest {
         verify(roomCodeDao).addPlayerToRoom("123456", "200");
         verify(roomCodeDao).updateRoomTTL("123456", 20);
         verify(gameRoomService).save(any());
-        verify(roomStateService).initializeGameState(eq(roomId), eq(100L), eq(200L), eq("PRIVATE"));
+        verify(roomStateService).initializeGameState(eq(roomId), eq(100L), eq(200L), eq("PRIVATE"), eq(15));
     }
 
     @Test
@@ -339,7 +425,7 @@ class RoomCodeServiceImplTest {
         verify(roomCodeDao).addPlayerToRoom("123456", "200");
         verify(roomCodeDao).updateRoomTTL("123456", 20);
         verify(gameRoomService, never()).save(any());
-        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any());
+        verify(roomStateService, never()).initializeGameState(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -4,12 +4,24 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * MongoDB Configuration
@@ -23,11 +35,28 @@ public class MongoClientConfig extends AbstractMongoClientConfiguration {
     private String uri;
     private String database;
 
+    /**
+     * Converter beans contributed by service modules (e.g. compact board codecs)
+     * Only beans annotated with {@link ReadingConverter} or {@link WritingConverter} are registered
+     */
+    @Autowired(required = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<Converter<?, ?>> converters = Collections.emptyList();
+
     @Override
     protected String getDatabaseName() {
         return database;
     }
 
+    @Override
+    protected void configureConverters(MongoCustomConversions.MongoConverterConfigurationAdapter adapter) {
+        converters.stream()
+                .filter(converter -> AnnotationUtils.findAnnotation(converter.getClass(), ReadingConverter.class) != null
+                        || AnnotationUtils.findAnnotation(converter.getClass(), WritingConverter.class) != null)
+                .forEach(adapter::registerConverter);
+    }
+
     @Override
     public MongoClient mongoClient() {
         ConnectionString connectionString = new ConnectionString(uri);
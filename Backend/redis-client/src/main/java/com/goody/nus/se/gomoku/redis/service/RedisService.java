@@ -6,10 +6,12 @@ import org.redisson.api.*;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -87,6 +89,23 @@ public class RedisService {
         return redissonClient.getBucket(key).expire(Duration.ofMillis(timeUnit.toMillis(time)));
     }
 
+    /**
+     * Set expiration time on several keys in one pipelined round trip
+     *
+     * @return future of whether each key existed and got the expiration, in key order
+     */
+    public CompletableFuture<List<Boolean>> expireAsync(List<String> keys, long time, TimeUnit timeUnit) {
+        Duration duration = Duration.ofMillis(timeUnit.toMillis(time));
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<Boolean>> replies = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            replies.add(batch.getBucket(key).expireAsync(duration));
+        }
+        // Every reply is complete once the batch is
+        return batch.executeAsync().toCompletableFuture()
+                .thenApply(result -> replies.stream().map(reply -> reply.toCompletableFuture().join()).toList());
+    }
+
     // ==================== Hash Operations ====================
 
     /**
@@ -0,0 +1,27 @@
+package com.goody.nus.se.gomoku.web.base.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Business thread pool configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "biz-thread-pool")
+public class BizThreadPoolProperties {
+
+    /**
+     * Core pool size
+     */
+    private int corePoolSize = 10;
+
+    /**
+     * Maximum pool size
+     */
+    private int maxPoolSize = 20;
+
+    /**
+     * Queue capacity, beyond which tasks run on the caller's thread
+     */
+    private int queueCapacity = 200;
+}
@@ -1,5 +1,6 @@
 package com.goody.nus.se.gomoku.web.base.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -14,17 +15,18 @@ import java.util.concurrent.ThreadPoolExecutor;
  * @version 1.0, 2025/10/2
  */
 @Configuration
+@EnableConfigurationProperties(BizThreadPoolProperties.class)
 public class ThreadPoolConfig {
 
     @Bean("bizThreadPool")
-    public Executor bizThreadPool() {
+    public Executor bizThreadPool(BizThreadPoolProperties properties) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         // Core pool size
-        executor.setCorePoolSize(10);
+        executor.setCorePoolSize(properties.getCorePoolSize());
         // Maximum pool size
-        executor.setMaxPoolSize(20);
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
         // Queue capacity
-        executor.setQueueCapacity(200);
+        executor.setQueueCapacity(properties.getQueueCapacity());
         // Thread name prefix
         executor.setThreadNamePrefix("biz-thread-");
         // Keep alive time (seconds)
@@ -1,4 +1,4 @@
-import {api} from "./client";
+import {api, API_BASE_URL} from "./client";
 
 const GAME_ENDPOINTS = [
   "/api/gomoku/game",
@@ -70,12 +70,91 @@ function buildQuery(params) {
 /**
  * Fetch game state
  * @param {string|number} roomId - Room ID
- * @returns {Promise<Object>} Game state data
+ * @param {number} [sinceVersion] - Version the caller already holds; the response then only
+ *   carries the actions after it (see historyOffset)
+ * @returns {Promise<Object|null>} Game state data, or null if unchanged since sinceVersion
  */
-export async function fetchGameState(roomId) {
+export async function fetchGameState(roomId, sinceVersion) {
   const normalizedRoomId = normalizeRoomId(roomId);
-  const res = await requestGame("get", `/${normalizedRoomId}/state`);
-  return res?.data || res;
+  const query =
+    sinceVersion === undefined || sinceVersion === null
+      ? ""
+      : buildQuery({ sinceVersion });
+  try {
+    const res = await requestGame("get", `/${normalizedRoomId}/state${query}`);
+    return res?.data || res;
+  } catch (error) {
+    if (error?.status === 304) {
+      return null;
+    }
+    throw error;
+  }
+}
+
+/**
+ * Wait for the game state to change (long poll)
+ * @param {string|number} roomId - Room ID
+ * @param {number} [sinceVersion] - Version the caller already holds; the response then only
+ *   carries the actions after it (see historyOffset)
+ * @returns {Promise<Object|null>} Game state data, or null if nothing changed before the
+ *   server's wait timed out
+ */
+export async function waitGameState(roomId, sinceVersion) {
+  const normalizedRoomId = normalizeRoomId(roomId);
+  const query =
+    sinceVersion === undefined || sinceVersion === null
+      ? ""
+      : buildQuery({ sinceVersion });
+  try {
+    const res = await requestGame(
+      "get",
+      `/${normalizedRoomId}/state/wait${query}`
+    );
+    return res?.data || res;
+  } catch (error) {
+    if (error?.status === 304) {
+      return null;
+    }
+    throw error;
+  }
+}
+
+/**
+ * Subscribe to game state events over SSE
+ *
+ * Each event carries the state with only the actions added since the previous event
+ * (see historyOffset). The browser reconnects by itself and resumes from the last event.
+ * @param {string|number} roomId - Room ID
+ * @param {string} token - Auth token, sent as a query parameter since EventSource cannot set headers
+ * @param {Object} handlers - {onState(state), onOpen(), onDisconnect()}; the caller should poll
+ *   between onDisconnect and the next onOpen
+ * @returns {Function} Closes the stream
+ */
+export function subscribeGameEvents(roomId, token, handlers = {}) {
+  const { onState, onOpen, onDisconnect } = handlers;
+  if (typeof EventSource === "undefined") {
+    onDisconnect?.();
+    return () => {};
+  }
+  const url = new URL(
+    `/api/gomoku/game/${normalizeRoomId(roomId)}/events`,
+    API_BASE_URL
+  );
+  if (token) {
+    url.searchParams.set("token", token);
+  }
+  const source = new EventSource(url.toString(), { withCredentials: true });
+  source.onopen = () => onOpen?.();
+  source.addEventListener("state", (event) => {
+    try {
+      onState?.(JSON.parse(event.data));
+    } catch (_e) {
+      // Ignore malformed events; the next one or a poll catches up
+    }
+  });
+  // Unless the server refused the stream, the browser retries with Last-Event-ID
+  source.onerror = () => onDisconnect?.();
+  return () => source.close();
 }
 
 /**
@@ -219,6 +298,8 @@ export async function respondRestart(roomId, playerId, accept) {
 
 export const gameApi = {
   fetchGameState,
+  waitGameState,
+  subscribeGameEvents,
   sendGameAction,
   readyUp,
   makeMove,
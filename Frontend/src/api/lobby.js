@@ -51,10 +51,18 @@ function normalizePlayerId(playerId) {
 /**
  * Create a new room
  * @param {string|number} playerId - Player ID
+ * @param {number} [boardSize] - Board edge length (15, 19 or custom), defaults to 15
+ * @param {string} [rule] - "STANDARD" or "RENJU", defaults to STANDARD
  * @returns {Promise<Object>} Room information containing roomCode and roomId
  */
-export async function createRoom(playerId) {
+export async function createRoom(playerId, boardSize, rule) {
   const payload = { playerId: normalizePlayerId(playerId) };
+  if (boardSize) {
+    payload.boardSize = boardSize;
+  }
+  if (rule) {
+    payload.rule = rule;
+  }
   const res = await postWithFallback("/create-room", payload);
   return res?.data || res;
 }
@@ -63,13 +71,17 @@ export async function createRoom(playerId) {
  * Join a room
  * @param {string} roomCode - Room code
  * @param {string|number} playerId - Player ID
+ * @param {number} [boardSize] - Expected board edge length; omit to accept the room's size
  * @returns {Promise<Object>} Room information and player list
  */
-export async function joinRoom(roomCode, playerId) {
+export async function joinRoom(roomCode, playerId, boardSize) {
   const payload = {
     roomCode: normalizeCode(roomCode),
     playerId: normalizePlayerId(playerId),
   };
+  if (boardSize) {
+    payload.boardSize = boardSize;
+  }
   const res = await postWithFallback("/join-room", payload);
   return res?.data || res;
 }
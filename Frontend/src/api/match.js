@@ -34,13 +34,21 @@ function normalizePlayerId(playerId) {
  * Start matching for casual or ranked game
  * @param {string} mode - "casual" or "ranked"
  * @param {string} playerId - Player ID
+ * @param {number} [boardSize] - 15 or 19, defaults to 15
+ * @param {string} [rule] - "STANDARD" or "RENJU", defaults to STANDARD
  * @returns {Promise<{status: string, roomCode?: string, roomId?: number, players?: string[], message: string}>}
  */
-export async function startMatch(mode, playerId) {
+export async function startMatch(mode, playerId, boardSize, rule) {
   const payload = {
     mode: mode || "casual",
     playerId: normalizePlayerId(playerId),
   };
+  if (boardSize) {
+    payload.boardSize = boardSize;
+  }
+  if (rule) {
+    payload.rule = rule;
+  }
   const res = await postWithFallback("", payload);
   return res?.data || res;
 }
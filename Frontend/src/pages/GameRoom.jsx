@@ -117,6 +117,25 @@ function normalizePlayerProfile(raw, fallbackId) {
   };
 }
 
+// A polled or streamed state with historyOffset > 0 only carries the actions after that index;
+// splice them onto the history we already hold
+function mergeGameState(prev, next) {
+  if (prev?.version != null && next?.version != null && next.version < prev.version) {
+    // A late poll or event must not roll back a newer state
+    return prev;
+  }
+  const offset = next?.historyOffset;
+  if (!offset || !Array.isArray(prev?.actionHistory)) {
+    return next;
+  }
+  return {
+    ...next,
+    actionHistory: prev.actionHistory
+      .slice(0, offset)
+      .concat(next.actionHistory || []),
+  };
+}
+
 
 export default function GameRoom() {
   const {
@@ -193,6 +212,7 @@ export default function GameRoom() {
   const [pendingRestartRequest, setPendingRestartRequest] = useState(false);
 
   const pollTimerRef = useRef(null);
+  const gameVersionRef = useRef(null);
   const pollCallbackRef = useRef(() => {});
   const lastOutcomeRef = useRef(null);
   const communicationRef = useRef(null);
@@ -204,6 +224,10 @@ export default function GameRoom() {
   const lastDrawProposerRef = useRef(null);
   const lastUndoRequesterRef = useRef(null);
 
+  useEffect(() => {
+    gameVersionRef.current = gameState?.version ?? null;
+  }, [gameState]);
+
   // Redirect if missing critical info
   useEffect(() => {
     if (!roomId && !roomCode) {
@@ -377,7 +401,7 @@ export default function GameRoom() {
     };
   }, [knownPlayers, playerProfiles]);
 
-  // Poll backend for game state every 2 seconds
+  // Follow game state over the event stream, long-polling the backend while it is down
   useEffect(() => {
     if (!roomId || !playerId) {
       setLoadingGame(false);
@@ -385,37 +409,57 @@ export default function GameRoom() {
     }
 
     let cancelled = false;
+    let streaming = false;
+
+    const applyState = (state) => {
+      setGameState((prev) => mergeGameState(prev, state));
+      setLobbyStatus((prev) => prev || "matched");
+      const players = [];
+      if (state?.blackPlayerId) {
+        players.push(String(state.blackPlayerId));
+      }
+      if (state?.whitePlayerId) {
+        players.push(String(state.whitePlayerId));
+      }
+      if (players.length > 0) {
+        const next = Array.from(new Set(players));
+        setKnownPlayers((prev) => {
+          if (
+            prev.length === next.length &&
+            prev.every((value, index) => value === next[index])
+          ) {
+            return prev;
+          }
+          return next;
+        });
+      } else {
+        setKnownPlayers((prev) => (prev.length ? [] : prev));
+      }
+      setGameError("");
+    };
 
     const poll = async () => {
+      if (streaming) {
+        // The event stream delivers changes; keep the timer so polling resumes if it drops
+        pollTimerRef.current = setTimeout(() => poll(), POLL_INTERVAL_MS);
+        return;
+      }
+      let delay = POLL_INTERVAL_MS;
       try {
-        const state = await gameApi.fetchGameState(roomId);
-        if (cancelled) {
-          return;
-        }
-        setGameState(state);
-        setLobbyStatus((prev) => prev || "matched");
-        const players = [];
-        if (state?.blackPlayerId) {
-          players.push(String(state.blackPlayerId));
-        }
-        if (state?.whitePlayerId) {
-          players.push(String(state.whitePlayerId));
+        // Once we hold a version, the server holds the request until the game moves past it
+        const version = gameVersionRef.current;
+        const state =
+          version == null
+            ? await gameApi.fetchGameState(roomId)
+            : await gameApi.waitGameState(roomId, version);
+        if (version != null) {
+          delay = 0;
         }
-        if (players.length > 0) {
-          const next = Array.from(new Set(players));
-          setKnownPlayers((prev) => {
-            if (
-              prev.length === next.length &&
-              prev.every((value, index) => value === next[index])
-            ) {
-              return prev;
-            }
-            return next;
-          });
-        } else {
-          setKnownPlayers((prev) => (prev.length ? [] : prev));
+        if (cancelled || !state) {
+          // null: nothing changed before the wait timed out
+          return;
         }
-        setGameError("");
+        applyState(state);
       } catch (err) {
         if (cancelled) {
           return;
@@ -433,7 +477,7 @@ export default function GameRoom() {
         if (!cancelled) {
           setLoadingGame(false);
           // Always schedule next poll to ensure continuous polling
-          pollTimerRef.current = setTimeout(() => poll(), POLL_INTERVAL_MS);
+          pollTimerRef.current = setTimeout(() => poll(), delay);
         }
       }
     };
@@ -441,11 +485,28 @@ export default function GameRoom() {
     // Store poll function in ref for manual refresh
     pollCallbackRef.current = poll;
 
+    const { token } = getAuthData() || {};
+    const closeStream = gameApi.subscribeGameEvents(roomId, token, {
+      onOpen: () => {
+        streaming = true;
+        setLoadingGame(false);
+      },
+      onState: (state) => {
+        if (!cancelled) {
+          applyState(state);
+        }
+      },
+      onDisconnect: () => {
+        streaming = false;
+      },
+    });
+
     // Start polling immediately
     poll();
 
     return () => {
       cancelled = true;
+      closeStream();
       if (pollTimerRef.current) {
         clearTimeout(pollTimerRef.current);
       }
@@ -45,6 +45,24 @@ describe("board utilities", () => {
     ]);
   });
 
+  it("maps packed bit-plane snapshot to board colors", () => {
+    // 3x3: black at indices 0, 4, 8 (0b100010001), white at 2, 3 (0b1100)
+    const snapshot = {
+      boardSize: 3,
+      board: {
+        size: 3,
+        black: btoa(String.fromCharCode(0x11, 0x01)),
+        white: btoa(String.fromCharCode(0x0c, 0x00)),
+      },
+    };
+
+    expect(mapBoardSnapshot(snapshot)).toEqual([
+      ["black", null, "white"],
+      ["white", "black", null],
+      [null, null, "black"],
+    ]);
+  });
+
   it("returns empty board when snapshot missing", () => {
     const emptyBoard = mapBoardSnapshot(null);
     expect(emptyBoard).toHaveLength(BOARD_DEFAULT_SIZE);
@@ -15,20 +15,56 @@ export const WIN_DIRECTIONS = [
 export const createEmptyBoard = (size = BOARD_DEFAULT_SIZE) =>
   Array.from({ length: size }, () => Array.from({ length: size }, () => null));
 
-export const mapBoardSnapshot = (snapshot) => {
-  if (!snapshot || !Array.isArray(snapshot.board)) {
-    return createEmptyBoard(snapshot?.boardSize || BOARD_DEFAULT_SIZE);
+const CELL_COLORS = { 1: "black", 2: "white" };
+
+const decodePlane = (encoded) => {
+  if (typeof encoded !== "string" || !encoded) {
+    return new Uint8Array(0);
   }
+  const binary = atob(encoded);
+  const bytes = new Uint8Array(binary.length);
+  for (let i = 0; i < binary.length; i += 1) {
+    bytes[i] = binary.charCodeAt(i);
+  }
+  return bytes;
+};
+
+const hasBit = (bytes, index) =>
+  (index >> 3) < bytes.length && ((bytes[index >> 3] >> (index & 7)) & 1) === 1;
+
+/**
+ * Decode the compact bit-plane board ({ size, black, white } with base64
+ * planes, bit index = row * size + col) into a 2D color array.
+ */
+const mapPackedBoard = (packed) => {
+  const size = packed.size || BOARD_DEFAULT_SIZE;
+  const black = decodePlane(packed.black);
+  const white = decodePlane(packed.white);
 
-  return snapshot.board.map((row) =>
-    row.map((value) => {
-      if (value === 1) return "black";
-      if (value === 2) return "white";
+  return Array.from({ length: size }, (_, row) =>
+    Array.from({ length: size }, (_, col) => {
+      const index = row * size + col;
+      if (hasBit(black, index)) return "black";
+      if (hasBit(white, index)) return "white";
       return null;
     })
   );
 };
 
+export const mapBoardSnapshot = (snapshot) => {
+  const board = snapshot?.board;
+
+  if (board && !Array.isArray(board) && typeof board === "object") {
+    return mapPackedBoard(board);
+  }
+
+  if (!Array.isArray(board)) {
+    return createEmptyBoard(snapshot?.boardSize || BOARD_DEFAULT_SIZE);
+  }
+
+  return board.map((row) => row.map((value) => CELL_COLORS[value] ?? null));
+};
+
 export function findWinningSequence(board, targetColor, requiredCount = 5) {
   if (!Array.isArray(board) || !board.length || !targetColor) {
     return [];